@@ -0,0 +1,78 @@
+package com.application.server.codec;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Decodes the members of a GeoJSON FeatureCollection's top-level "features" array as the body streams in.
+ *
+ * The tokens of one feature are buffered until its closing brace and then bound, so memory holds one feature
+ * plus one network buffer however large the collection is, and each feature is emitted while the rest of the
+ * response is still downloading. Every other member of the collection (metadata, bbox) is skipped.
+ */
+public final class GeoJsonFeatureDecoder<T> extends StreamingJsonDecoder<T> {
+    private static final String FEATURES = "features";
+
+    private final ObjectMapper objectMapper;
+    private final Class<T> type;
+
+    public GeoJsonFeatureDecoder(ObjectMapper objectMapper, Class<T> type) {
+        super(objectMapper.getFactory());
+        this.objectMapper = objectMapper;
+        this.type = type;
+    }
+
+    @Override
+    TokenState<T> newState() {
+        return new FeatureState();
+    }
+
+    private final class FeatureState implements TokenState<T> {
+        private int depth;
+        private boolean expectFeatures; // the last token was the "features" key of the collection object
+        private int arrayDepth = -1;    // depth inside the features array, -1 outside it
+        private TokenBuffer feature;
+        private int featureDepth;
+
+        @Override
+        public void accept(JsonParser parser, JsonToken token, List<T> decoded) throws IOException {
+            if (feature != null) {
+                feature.copyCurrentEvent(parser);
+                if (token.isStructStart()) {
+                    featureDepth++;
+                } else if (token.isStructEnd() && --featureDepth == 0) {
+                    decoded.add(objectMapper.readValue(feature.asParser(objectMapper), type));
+                    feature = null;
+                }
+                return;
+            }
+
+            if (arrayDepth == 0 && token == JsonToken.START_OBJECT) {
+                feature = new TokenBuffer(parser);
+                feature.copyCurrentEvent(parser);
+                featureDepth = 1;
+                return;
+            }
+
+            if (token.isStructStart()) {
+                if (expectFeatures && token == JsonToken.START_ARRAY) {
+                    arrayDepth = 0;
+                } else if (arrayDepth >= 0) {
+                    arrayDepth++; // a non-object member of the array, skipped
+                }
+                depth++;
+            } else if (token.isStructEnd()) {
+                if (arrayDepth >= 0) {
+                    arrayDepth--; // -1 again once the features array closes
+                }
+                depth--;
+            }
+            expectFeatures = token == JsonToken.FIELD_NAME && depth == 1 && FEATURES.equals(parser.currentName());
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.application.server.codec;
+
+import com.application.server.model.Satellite.Satellite;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.NumberInput;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Decodes a Space-Track GP response (a JSON array of flat records) into {@link Satellite}s straight from the
+ * parser's tokens, without data binding or an intermediate token buffer.
+ *
+ * Space-Track sends numbers as strings; they are parsed from the parser's character buffer rather than via a
+ * String. Object types, country codes and launch/decay dates repeat across the catalog and are pooled per body.
+ * The epoch is parsed once into primitives. The forty or so GP fields Satellite does not carry are skipped
+ * without materializing their text.
+ */
+public final class GpRecordDecoder extends StreamingJsonDecoder<Satellite> {
+    private static final int MAX_POOLED_VALUES = 4096;
+
+    public GpRecordDecoder() {
+        super(new JsonFactory());
+    }
+
+    @Override
+    TokenState<Satellite> newState() {
+        return new RecordState();
+    }
+
+    private static final class RecordState implements TokenState<Satellite> {
+        private final TextPool<String> strings = new TextPool<>(Function.identity(), MAX_POOLED_VALUES);
+        private final TextPool<LocalDate> dates = new TextPool<>(LocalDate::parse, MAX_POOLED_VALUES);
+        private int recordDepth; // 1 inside a record, more inside a nested value; 0 between records
+
+        private int noradCatId;
+        private String objectName;
+        private String objectType;
+        private String countryCode;
+        private LocalDate launchDate;
+        private LocalDate decayDate;
+        private String epoch;
+        private long epochSeconds;
+        private int epochNanos;
+        private String tleLine1;
+        private String tleLine2;
+        private double inclination;
+        private double eccentricity;
+        private double period;
+        private double apoapsis;
+        private double periapsis;
+        private double semimajorAxis;
+
+        @Override
+        public void accept(JsonParser parser, JsonToken token, List<Satellite> decoded) throws IOException {
+            if (recordDepth == 0) {
+                if (token == JsonToken.START_OBJECT) {
+                    recordDepth = 1;
+                    reset();
+                }
+                return; // the enclosing array
+            }
+
+            if (token.isStructStart()) {
+                recordDepth++;
+            } else if (token.isStructEnd()) {
+                if (--recordDepth == 0) {
+                    decoded.add(new Satellite(noradCatId, objectName, objectType, countryCode, launchDate, decayDate,
+                            epoch, epochSeconds, epochNanos, tleLine1, tleLine2, inclination, eccentricity, period,
+                            apoapsis, periapsis, semimajorAxis));
+                }
+            } else if (recordDepth == 1 && token != JsonToken.FIELD_NAME) {
+                field(parser, token);
+            }
+        }
+
+        // Field names come from the parser's symbol table, so the switch hashes are cached
+        private void field(JsonParser parser, JsonToken token) throws IOException {
+            switch (parser.currentName()) {
+                case "NORAD_CAT_ID" -> noradCatId = (int) number(parser, token);
+                case "OBJECT_NAME" -> objectName = text(parser, token);
+                case "OBJECT_TYPE" -> objectType = pooled(parser, token, strings);
+                case "COUNTRY_CODE" -> countryCode = pooled(parser, token, strings);
+                case "LAUNCH_DATE" -> launchDate = date(parser, token);
+                case "DECAY_DATE" -> decayDate = date(parser, token);
+                case "EPOCH" -> epoch(text(parser, token));
+                case "TLE_LINE1" -> tleLine1 = text(parser, token);
+                case "TLE_LINE2" -> tleLine2 = text(parser, token);
+                case "INCLINATION" -> inclination = number(parser, token);
+                case "ECCENTRICITY" -> eccentricity = number(parser, token);
+                case "PERIOD" -> period = number(parser, token);
+                case "APOAPSIS" -> apoapsis = number(parser, token);
+                case "PERIAPSIS" -> periapsis = number(parser, token);
+                case "SEMIMAJOR_AXIS" -> semimajorAxis = number(parser, token);
+                default -> {
+                    // not carried by Satellite
+                }
+            }
+        }
+
+        private void reset() {
+            noradCatId = 0;
+            objectName = null;
+            objectType = null;
+            countryCode = null;
+            launchDate = null;
+            decayDate = null;
+            epoch = null;
+            epochSeconds = 0;
+            epochNanos = 0;
+            tleLine1 = null;
+            tleLine2 = null;
+            inclination = 0;
+            eccentricity = 0;
+            period = 0;
+            apoapsis = 0;
+            periapsis = 0;
+            semimajorAxis = 0;
+        }
+
+        // "yyyy-MM-ddTHH:mm:ss[.fraction]" in UTC
+        private void epoch(String text) {
+            epoch = text;
+            if (text == null) {
+                epochSeconds = 0;
+                epochNanos = 0;
+                return;
+            }
+            if (text.length() < 19 || text.charAt(4) != '-' || text.charAt(7) != '-' || text.charAt(10) != 'T'
+                    || text.charAt(13) != ':' || text.charAt(16) != ':') {
+                throw new IllegalArgumentException("Malformed EPOCH '" + text + "'");
+            }
+
+            long days = daysFromCivil(digits(text, 0, 4), digits(text, 5, 2), digits(text, 8, 2));
+            epochSeconds = days * 86_400 + digits(text, 11, 2) * 3_600L + digits(text, 14, 2) * 60L + digits(text, 17, 2);
+
+            int nanos = 0;
+            if (text.length() > 19) {
+                int fractionDigits = text.length() - 20;
+                if (text.charAt(19) != '.' || fractionDigits < 1 || fractionDigits > 9) {
+                    throw new IllegalArgumentException("Malformed EPOCH '" + text + "'");
+                }
+                nanos = digits(text, 20, fractionDigits);
+                for (int i = fractionDigits; i < 9; i++) {
+                    nanos *= 10;
+                }
+            }
+            epochNanos = nanos;
+        }
+
+        private static String text(JsonParser parser, JsonToken token) throws IOException {
+            return token == JsonToken.VALUE_NULL ? null : parser.getText();
+        }
+
+        private static String pooled(JsonParser parser, JsonToken token, TextPool<String> pool) throws IOException {
+            if (token == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            return pool.get(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+        }
+
+        // Empty dates are null, as with Jackson's LocalDate binding
+        private LocalDate date(JsonParser parser, JsonToken token) throws IOException {
+            if (token == JsonToken.VALUE_NULL || parser.getTextLength() == 0) {
+                return null;
+            }
+            return dates.get(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+        }
+
+        // Quoted or bare; null and empty are 0, as with Jackson's coercion into primitives
+        private static double number(JsonParser parser, JsonToken token) throws IOException {
+            return switch (token) {
+                case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> parser.getDoubleValue();
+                case VALUE_STRING -> parser.getTextLength() == 0
+                        ? 0
+                        : NumberInput.parseDouble(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength(), true);
+                case VALUE_NULL -> 0;
+                default -> throw new IllegalArgumentException("Expected a number for " + parser.currentName() + " but found " + token);
+            };
+        }
+
+        private static int digits(String text, int offset, int length) {
+            int value = 0;
+            for (int i = offset; i < offset + length; i++) {
+                char c = text.charAt(i);
+                if (c < '0' || c > '9') {
+                    throw new IllegalArgumentException("Malformed EPOCH '" + text + "'");
+                }
+                value = value * 10 + (c - '0');
+            }
+            return value;
+        }
+
+        // Days since 1970-01-01 of a proleptic Gregorian date
+        private static long daysFromCivil(int year, int month, int day) {
+            if (month < 1 || month > 12 || day < 1 || day > 31) {
+                throw new IllegalArgumentException("Malformed EPOCH date " + year + "-" + month + "-" + day);
+            }
+            int y = month <= 2 ? year - 1 : year;
+            int era = Math.floorDiv(y, 400);
+            int yearOfEra = y - era * 400;
+            int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+            int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+            return era * 146_097L + dayOfEra - 719_468;
+        }
+    }
+}
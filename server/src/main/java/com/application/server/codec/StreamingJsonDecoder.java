@@ -0,0 +1,117 @@
+package com.application.server.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pushes a response body through Jackson's non-blocking parser one network buffer at a time and hands every
+ * token to a per-body {@link TokenState}, which emits values as soon as they are complete. Nothing but the
+ * state's own buffers outlives a DataBuffer, so memory stays flat however large the body is.
+ */
+abstract class StreamingJsonDecoder<T> {
+    private final JsonFactory jsonFactory;
+
+    // Receives every token of one body in order; decoded values go to the list
+    interface TokenState<T> {
+        void accept(JsonParser parser, JsonToken token, List<T> decoded) throws IOException;
+    }
+
+    StreamingJsonDecoder(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    abstract TokenState<T> newState();
+
+    public Flux<T> decode(Flux<DataBuffer> body) {
+        return Flux.defer(() -> {
+            Session session = new Session(newState());
+            return body.concatMapIterable(buffer -> {
+                        try {
+                            return session.feed(buffer);
+                        } finally {
+                            DataBufferUtils.release(buffer);
+                        }
+                    })
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(session.endOfInput())))
+                    .doFinally(signal -> session.close());
+        });
+    }
+
+    private final class Session {
+        private final TokenState<T> state;
+        private final JsonParser parser;
+        private final ByteBufferFeeder feeder;
+        private int depth;
+
+        Session(TokenState<T> state) {
+            this.state = state;
+            try {
+                parser = jsonFactory.createNonBlockingByteBufferParser();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+        }
+
+        List<T> feed(DataBuffer buffer) {
+            List<T> decoded = new ArrayList<>();
+            try (DataBuffer.ByteBufferIterator chunks = buffer.readableByteBuffers()) {
+                while (chunks.hasNext()) {
+                    ByteBuffer chunk = chunks.next();
+                    feeder.feedInput(chunk);
+                    drain(decoded); // the parser reads the chunk in place, so consume it before the buffer is released
+                }
+            } catch (IOException | IllegalArgumentException | DateTimeException e) {
+                throw new DecodingException("Malformed JSON body: " + e.getMessage(), e);
+            }
+            return decoded;
+        }
+
+        List<T> endOfInput() {
+            List<T> decoded = new ArrayList<>();
+            feeder.endOfInput();
+            try {
+                drain(decoded);
+            } catch (IOException | IllegalArgumentException | DateTimeException e) {
+                throw new DecodingException("Malformed JSON body: " + e.getMessage(), e);
+            }
+            if (depth != 0) {
+                throw new DecodingException("JSON body ended inside an unterminated value");
+            }
+            return decoded;
+        }
+
+        void close() {
+            try {
+                parser.close();
+            } catch (IOException ignored) {
+                // nothing left to release
+            }
+        }
+
+        private void drain(List<T> decoded) throws IOException {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                if (token.isStructStart()) {
+                    depth++;
+                } else if (token.isStructEnd()) {
+                    depth--;
+                }
+                state.accept(parser, token, decoded);
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.application.server.codec;
+
+import java.util.function.Function;
+
+/**
+ * Canonical values for low-cardinality text, looked up straight from the parser's character buffer so a repeated
+ * value costs neither a String nor the value built from it. Open addressing keyed by String.hashCode();
+ * past maxEntries distinct values it stops remembering new ones and simply builds them.
+ */
+final class TextPool<T> {
+    private final Function<String, T> factory;
+    private final int maxEntries;
+    private String[] keys = new String[64];
+    private Object[] values = new Object[64];
+    private int size;
+
+    TextPool(Function<String, T> factory, int maxEntries) {
+        this.factory = factory;
+        this.maxEntries = maxEntries;
+    }
+
+    @SuppressWarnings("unchecked")
+    T get(char[] text, int offset, int length) {
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + text[i];
+        }
+
+        int mask = keys.length - 1;
+        int slot = spread(hash) & mask;
+        for (String key = keys[slot]; key != null; key = keys[slot]) {
+            if (matches(key, text, offset, length)) {
+                return (T) values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        String key = new String(text, offset, length);
+        T value = factory.apply(key);
+        if (size < maxEntries) {
+            keys[slot] = key;
+            values[slot] = value;
+            if (++size * 2 > keys.length) {
+                grow();
+            }
+        }
+        return value;
+    }
+
+    private void grow() {
+        String[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new String[oldKeys.length * 2];
+        values = new Object[oldKeys.length * 2];
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = spread(oldKeys[i].hashCode()) & mask;
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static boolean matches(String key, char[] text, int offset, int length) {
+        if (key.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (key.charAt(i) != text[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
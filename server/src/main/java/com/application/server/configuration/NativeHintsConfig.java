@@ -0,0 +1,42 @@
+package com.application.server.configuration;
+
+import com.application.server.model.Earthquake.Earthquake;
+import com.application.server.model.Earthquake.EarthquakeEntity;
+import com.application.server.model.Satellite.Satellite;
+import com.application.server.model.Satellite.SatelliteDTO;
+import com.application.server.model.Satellite.SatelliteEntity;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+// Registers reflection metadata for the AOT/native build (see the "native" profile in pom.xml)
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.ModelRuntimeHints.class)
+public class NativeHintsConfig {
+
+    static class ModelRuntimeHints implements RuntimeHintsRegistrar {
+        private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // Jackson types decoded from WebClient bodies are invisible to AOT inference
+            bindingRegistrar.registerReflectionHints(hints.reflection(),
+                    Satellite.class,
+                    SatelliteDTO.class,
+                    Earthquake.class);
+
+            // R2DBC entities are instantiated and populated reflectively by the mapping context
+            for (Class<?> entity : new Class<?>[] { SatelliteEntity.class, EarthquakeEntity.class }) {
+                hints.reflection().registerType(entity,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS,
+                        MemberCategory.DECLARED_FIELDS);
+            }
+
+            hints.resources().registerPattern("schema.sql");
+        }
+    }
+}
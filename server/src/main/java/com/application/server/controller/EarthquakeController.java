@@ -1,24 +1,90 @@
 package com.application.server.controller;
 
-import com.application.server.model.Earthquake.Earthquake;
+import com.application.server.model.Earthquake.BackfillReport;
+import com.application.server.model.Earthquake.EarthquakeEntity;
+import com.application.server.model.Earthquake.EarthquakeHeatmap;
+import com.application.server.model.Earthquake.EarthquakeRollup;
+import com.application.server.service.EarthquakeBackfillService;
+import com.application.server.service.EarthquakeHeatmapService;
+import com.application.server.service.EarthquakeRollupService;
 import com.application.server.service.EarthquakeService;
 import com.application.server.service.SatelliteService;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 
+import java.time.Instant;
+
 @RestController
 @RequestMapping("/api/earthquakes")
 public class EarthquakeController {
 
     private final EarthquakeService earthquakeService;
+    private final EarthquakeBackfillService backfillService;
+    private final EarthquakeHeatmapService heatmapService;
+    private final EarthquakeRollupService rollupService;
 
-    public EarthquakeController(EarthquakeService earthquakeService)
+    public EarthquakeController(
+            EarthquakeService earthquakeService,
+            EarthquakeBackfillService backfillService,
+            EarthquakeHeatmapService heatmapService,
+            EarthquakeRollupService rollupService)
     {
         this.earthquakeService = earthquakeService;
+        this.backfillService = backfillService;
+        this.heatmapService = heatmapService;
+        this.rollupService = rollupService;
+    }
+
+    // Event counts, mean magnitude and energy per hour or day bucket and 30 degree region; defaults to the last 30 days
+    @GetMapping("/rollups")
+    public Flux<EarthquakeRollup> getRollups(
+            @RequestParam(defaultValue = "day") String granularity,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(required = false) Double minMag,
+            @RequestParam(required = false) Integer region) {
+        return rollupService.query(granularity, from, to, minMag, region);
+    }
+
+    // Counts, max magnitude and radiated energy per grid cell of res degrees (1, 2, 5 or 10)
+    @GetMapping("/heatmap")
+    public EarthquakeHeatmap getHeatmap(
+            @RequestParam(defaultValue = "2") double res,
+            @RequestParam(required = false) Instant since,
+            @RequestParam(required = false) Double minMag) {
+        return heatmapService.heatmap(res, since, minMag);
     }
 
-//    @GetMapping
-//    public Flux<Earthquake> getAllEarthquakes() {
-//        return earthquakeService.
-//    }
+    // Starts or resumes a historical backfill; poll the returned job ID for progress
+    @PostMapping("/backfill")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public BackfillReport startBackfill(
+            @RequestParam Instant start,
+            @RequestParam Instant end,
+            @RequestParam(defaultValue = "2.5") double minMagnitude) {
+        return backfillService.startBackfill(start, end, minMagnitude);
+    }
+
+    @GetMapping("/backfill/{jobId}")
+    public BackfillReport getBackfillReport(@PathVariable String jobId) {
+        return backfillService.getReport(jobId);
+    }
+
+    // Newest first. Page with ?after=<event_time>,<id> of the last earthquake returned and ?limit=<n>
+    @GetMapping
+    public Flux<EarthquakeEntity> getEarthquakes(
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(required = false) Double minMag,
+            @RequestParam(required = false) Double maxMag,
+            @RequestParam(required = false) Double minDepth,
+            @RequestParam(required = false) Double maxDepth,
+            @RequestParam(required = false) String alert,
+            @RequestParam(required = false) Boolean tsunami,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        return earthquakeService.listEarthquakes(from, to, minMag, maxMag, minDepth, maxDepth, alert, tsunami, status, after, limit);
+    }
 }
@@ -0,0 +1,23 @@
+package com.application.server.controller;
+
+import com.application.server.model.Maintenance.MaintenanceRun;
+import com.application.server.service.MaintenanceService;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+@RestController
+@RequestMapping("/api/maintenance")
+public class MaintenanceController {
+
+    private final MaintenanceService maintenanceService;
+
+    public MaintenanceController(MaintenanceService maintenanceService) {
+        this.maintenanceService = maintenanceService;
+    }
+
+    // Recent maintenance runs, newest first, with their actions and before/after probe latencies
+    @GetMapping("/runs")
+    public Flux<MaintenanceRun> getRuns(@RequestParam(defaultValue = "20") int limit) {
+        return maintenanceService.recentRuns(limit);
+    }
+}
@@ -1,13 +1,28 @@
 package com.application.server.controller;
 
+import com.application.server.model.Satellite.CatalogDelta;
+import com.application.server.model.Satellite.OrbitTrack;
 import com.application.server.model.Satellite.Satellite;
 import com.application.server.model.Satellite.SatelliteDTO;
 import com.application.server.model.Satellite.SatelliteEntity;
+import com.application.server.model.Satellite.SatelliteField;
+import com.application.server.model.Satellite.SatelliteGroup;
+import com.application.server.model.Satellite.SatelliteTile;
+import com.application.server.model.Satellite.SimulationFrame;
+import com.application.server.service.CatalogChangeService;
+import com.application.server.service.OrbitTrackService;
 import com.application.server.service.SatelliteService;
+import com.application.server.service.SatelliteTileService;
+import com.application.server.service.SimulationService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Instant;
 import java.util.List;
 
 @RestController
@@ -15,9 +30,22 @@ import java.util.List;
 public class SatelliteController {
 
     private final SatelliteService satelliteService;
+    private final OrbitTrackService orbitTrackService;
+    private final SatelliteTileService satelliteTileService;
+    private final SimulationService simulationService;
+    private final CatalogChangeService catalogChangeService;
 
-    public SatelliteController(SatelliteService satelliteService) {
+    public SatelliteController(
+            SatelliteService satelliteService,
+            OrbitTrackService orbitTrackService,
+            SatelliteTileService satelliteTileService,
+            SimulationService simulationService,
+            CatalogChangeService catalogChangeService) {
         this.satelliteService = satelliteService;
+        this.orbitTrackService = orbitTrackService;
+        this.satelliteTileService = satelliteTileService;
+        this.simulationService = simulationService;
+        this.catalogChangeService = catalogChangeService;
     }
 
 //    @PostMapping
@@ -30,24 +58,63 @@ public class SatelliteController {
 //        return satelliteService.saveAllSatelliteToDb(Flux.fromIterable(satellites));
 //    }
 
-//    @GetMapping
-//    public Flux<Satellite> getAllSatellites() {
-//        return satelliteService.getAllSatelliteData();
-//    }
+    // Catalog slice by attribute filter, e.g. ?filter=type:payload AND regime:leo AND (country:US OR country:PRC).
+    // Attributes: type, country, regime, year (YYYY or YYYY..YYYY), group; paging and fields as for the constellations.
+    @GetMapping(produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public Flux<?> getFilteredSatellites(
+            @RequestParam String filter,
+            @RequestParam(defaultValue = "0") int after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return satelliteService.fetchFilteredProjection(filter, parseFields(fields), after, pageLimit(limit));
+        }
+        return satelliteService.fetchSatelliteDTO(satelliteService.fetchFilteredEntities(filter, after, pageLimit(limit)));
+    }
 
-    @GetMapping("/starlink")
-    public Flux<SatelliteDTO> getStarlinkSatellites() {
-        return satelliteService.fetchStarlinkSatellites();
+    // Constellation listings: a JSON array by default, or one object per line with Accept: application/x-ndjson.
+    // Page with ?after=<last noradCatId>&limit=<n>; ?fields=tleLine1,tleLine2 returns only those fields (plus noradCatId).
+    @GetMapping(value = "/starlink", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public Flux<?> getStarlinkSatellites(
+            @RequestParam(defaultValue = "0") int after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return satelliteService.fetchGroupProjection(SatelliteGroup.STARLINK, parseFields(fields), after, pageLimit(limit));
+        }
+        return satelliteService.fetchStarlinkSatellites(after, pageLimit(limit));
     }
 
-    @GetMapping("/oneweb")
-    public Flux<SatelliteDTO> getOneWebSatellites() {
-        return satelliteService.fetchOnewebSatellites();
+    @GetMapping(value = "/oneweb", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public Flux<?> getOneWebSatellites(
+            @RequestParam(defaultValue = "0") int after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return satelliteService.fetchGroupProjection(SatelliteGroup.ONEWEB, parseFields(fields), after, pageLimit(limit));
+        }
+        return satelliteService.fetchOnewebSatellites(after, pageLimit(limit));
     }
 
-    @GetMapping("/iridium")
-    public Flux<SatelliteDTO> getIridiumSatellites() {
-        return satelliteService.fetchIridiumSatellites();
+    @GetMapping(value = "/iridium", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public Flux<?> getIridiumSatellites(
+            @RequestParam(defaultValue = "0") int after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return satelliteService.fetchGroupProjection(SatelliteGroup.IRIDIUM, parseFields(fields), after, pageLimit(limit));
+        }
+        return satelliteService.fetchIridiumSatellites(after, pageLimit(limit));
+    }
+
+    // Incremental sync: objects upserted and NORAD IDs removed since catalog version "since", or fullReload=true when
+    // the client must fetch its constellations again. "group" narrows the upserted objects only; removed rows are gone.
+    // Without "since" it returns the current version to start from; ask for it before a full load so no change is missed.
+    @GetMapping("/changes")
+    public Mono<CatalogDelta> getChanges(
+            @RequestParam(required = false) Long since,
+            @RequestParam(required = false) String group) {
+        return catalogChangeService.changesSince(since, group != null ? parseGroup(group) : null);
     }
 
     @GetMapping("/history")
@@ -55,6 +122,75 @@ public class SatelliteController {
         return satelliteService.getImportantSatellitesData();
     }
 
+    // Orbit polyline ("orbit", TEME km) or ground track ("ground", lat/lon/alt) propagated from the stored TLE
+    @GetMapping("/{noradId}/track")
+    public Mono<OrbitTrack> getOrbitTrack(
+            @PathVariable int noradId,
+            @RequestParam(defaultValue = "95") double minutes,
+            @RequestParam(defaultValue = "1") double step,
+            @RequestParam(defaultValue = "orbit") String frame,
+            @RequestParam(required = false) Instant start) {
+        return orbitTrackService.getTrack(noradId, start, minutes, step, frame);
+    }
+
+    @GetMapping("/tracks")
+    public Flux<OrbitTrack> getGroupTracks(
+            @RequestParam String group,
+            @RequestParam(defaultValue = "95") double minutes,
+            @RequestParam(defaultValue = "1") double step,
+            @RequestParam(defaultValue = "orbit") String frame,
+            @RequestParam(required = false) Instant start) {
+        return orbitTrackService.getGroupTracks(parseGroup(group), start, minutes, step, frame);
+    }
+
+    // Server-sent position frames of a constellation on a fast-forwarded clock: the simulated time is "start"
+    // (default now) at the moment of the request and advances "multiplier" times faster than real time
+    @GetMapping(value = "/simulation", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<SimulationFrame>> getSimulation(
+            @RequestParam String group,
+            @RequestParam(required = false) Instant start,
+            @RequestParam(defaultValue = "30") double multiplier,
+            @RequestParam(defaultValue = "10") int fps) {
+        return simulationService.stream(parseGroup(group), start, multiplier, fps);
+    }
+
+    // Level-of-detail positions for one web-mercator tile at time t (defaults to now), optionally for ?filter= only
+    @GetMapping("/tiles/{z}/{x}/{y}")
+    public SatelliteTile getSatelliteTile(
+            @PathVariable int z,
+            @PathVariable int x,
+            @PathVariable int y,
+            @RequestParam(required = false) Instant t,
+            @RequestParam(required = false) String filter) {
+        return satelliteTileService.getTile(z, x, y, t, filter);
+    }
+
+    private static List<SatelliteField> parseFields(String fields) {
+        try {
+            return SatelliteField.parse(fields);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private static int pageLimit(Integer limit) {
+        if (limit == null) {
+            return Integer.MAX_VALUE;
+        }
+        if (limit < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be positive");
+        }
+        return limit;
+    }
+
+    private static SatelliteGroup parseGroup(String group) {
+        try {
+            return SatelliteGroup.valueOf(group.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown satellite group " + group);
+        }
+    }
+
 //    @GetMapping("/search/{name}")
 //    public Flux<Satellite> getHistoricalSatellites(@PathVariable String name) {
 //        return satelliteService.getSearchedSatellitesData(name);
@@ -0,0 +1,24 @@
+package com.application.server.controller;
+
+import com.application.server.model.Sync.SyncRun;
+import com.application.server.service.SyncJournalService;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+@RestController
+@RequestMapping("/api/sync")
+public class SyncController {
+
+    private final SyncJournalService journalService;
+
+    public SyncController(SyncJournalService journalService) {
+        this.journalService = journalService;
+    }
+
+    // Recent ingestion runs, newest first, optionally for one source (satellites, satellites-bulk, earthquakes)
+    @GetMapping("/runs")
+    public Flux<SyncRun> getRuns(@RequestParam(required = false) String source,
+                                 @RequestParam(defaultValue = "20") int limit) {
+        return journalService.recentRuns(source, limit);
+    }
+}
@@ -0,0 +1,169 @@
+package com.application.server.index;
+
+import com.application.server.index.CatalogIndex.Attribute;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Boolean filter over {@link CatalogIndex} attributes, e.g.
+ * {@code type:payload AND (country:US OR country:PRC) AND NOT regime:geo AND year:2019..2023}.
+ *
+ * A term is {@code attribute:value[,value...]} (values are ORed) or {@code year:from..to}; terms combine with
+ * AND, OR, NOT and parentheses, AND binding tighter than OR. Adjacent terms without an operator are ANDed.
+ * Parse once and evaluate against any index version.
+ */
+public final class CatalogFilter {
+    private static final Pattern TOKENS = Pattern.compile("\\(|\\)|[^\\s()]+");
+    private static final Pattern YEAR_RANGE = Pattern.compile("(\\d{4})\\.\\.(\\d{4})");
+
+    private final String expression;
+    private final Node root;
+
+    private interface Node {
+        RoaringBitmap evaluate(CatalogIndex index);
+    }
+
+    private CatalogFilter(String expression, Node root) {
+        this.expression = expression;
+        this.root = root;
+    }
+
+    // Throws IllegalArgumentException describing the first syntax error
+    public static CatalogFilter parse(String expression) {
+        List<String> tokens = new ArrayList<>();
+        Matcher matcher = TOKENS.matcher(expression);
+        while (matcher.find()) {
+            tokens.add(matcher.group());
+        }
+        if (tokens.isEmpty()) {
+            throw new IllegalArgumentException("Empty filter");
+        }
+
+        Parser parser = new Parser(tokens);
+        Node root = parser.parseOr();
+        if (parser.position < tokens.size()) {
+            throw new IllegalArgumentException("Unexpected '" + tokens.get(parser.position) + "' in filter");
+        }
+        return new CatalogFilter(expression, root);
+    }
+
+    public RoaringBitmap evaluate(CatalogIndex index) {
+        return root.evaluate(index);
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+
+    private static final class Parser {
+        private final List<String> tokens;
+        private int position;
+
+        Parser(List<String> tokens) {
+            this.tokens = tokens;
+        }
+
+        Node parseOr() {
+            Node left = parseAnd();
+            while (peekKeyword("OR")) {
+                position++;
+                Node right = parseAnd();
+                Node l = left;
+                left = index -> RoaringBitmap.or(l.evaluate(index), right.evaluate(index));
+            }
+            return left;
+        }
+
+        Node parseAnd() {
+            Node left = parseNot();
+            while (position < tokens.size() && !peekKeyword("OR") && !tokens.get(position).equals(")")) {
+                if (peekKeyword("AND")) {
+                    position++;
+                }
+                Node right = parseNot();
+                Node l = left;
+                left = index -> RoaringBitmap.and(l.evaluate(index), right.evaluate(index));
+            }
+            return left;
+        }
+
+        Node parseNot() {
+            if (peekKeyword("NOT")) {
+                position++;
+                Node operand = parseNot();
+                return index -> RoaringBitmap.andNot(index.all(), operand.evaluate(index));
+            }
+            return parsePrimary();
+        }
+
+        Node parsePrimary() {
+            if (position >= tokens.size()) {
+                throw new IllegalArgumentException("Filter ends unexpectedly");
+            }
+
+            String token = tokens.get(position++);
+            if (token.equals("(")) {
+                Node inner = parseOr();
+                if (position >= tokens.size() || !tokens.get(position).equals(")")) {
+                    throw new IllegalArgumentException("Missing ')' in filter");
+                }
+                position++;
+                return inner;
+            }
+            return parseTerm(token);
+        }
+
+        private boolean peekKeyword(String keyword) {
+            return position < tokens.size() && tokens.get(position).equalsIgnoreCase(keyword);
+        }
+
+        private static Node parseTerm(String token) {
+            int colon = token.indexOf(':');
+            if (colon <= 0 || colon == token.length() - 1) {
+                throw new IllegalArgumentException("Expected attribute:value but found '" + token + "'");
+            }
+
+            Attribute attribute = Attribute.parse(token.substring(0, colon));
+            String[] values = token.substring(colon + 1).split(",");
+            List<Node> alternatives = new ArrayList<>(values.length);
+            for (String value : values) {
+                alternatives.add(valueNode(attribute, value));
+            }
+
+            if (alternatives.size() == 1) {
+                return alternatives.get(0);
+            }
+            return index -> {
+                List<RoaringBitmap> matches = new ArrayList<>(alternatives.size());
+                for (Node alternative : alternatives) {
+                    matches.add(alternative.evaluate(index));
+                }
+                return RoaringBitmap.or(matches.iterator());
+            };
+        }
+
+        private static Node valueNode(Attribute attribute, String value) {
+            if (value.isEmpty()) {
+                throw new IllegalArgumentException("Empty value for " + attribute.name().toLowerCase(Locale.ROOT));
+            }
+            if (attribute == Attribute.YEAR) {
+                Matcher range = YEAR_RANGE.matcher(value);
+                if (range.matches()) {
+                    int from = Integer.parseInt(range.group(1));
+                    int to = Integer.parseInt(range.group(2));
+                    return index -> index.launchedBetween(from, to);
+                }
+                if (!value.matches("\\d{4}") && !value.equalsIgnoreCase(CatalogIndex.NONE)) {
+                    throw new IllegalArgumentException("year must be YYYY or YYYY..YYYY but was '" + value + "'");
+                }
+            }
+            return index -> index.lookup(attribute, value);
+        }
+    }
+}
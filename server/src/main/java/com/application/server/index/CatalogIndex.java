@@ -0,0 +1,157 @@
+package com.application.server.index;
+
+import com.application.server.model.Satellite.OrbitRegime;
+import com.application.server.model.Satellite.SatelliteEntity;
+import com.application.server.model.Satellite.SatelliteGroup;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Bitmap index over one version of the satellite catalog.
+ * Slot i is the i-th entity in NORAD order; every attribute value maps to the bitmap of slots holding it,
+ * so a filter is a handful of bitmap operations regardless of catalog size.
+ * The bitmaps are shared by every filter over this version and must not be modified.
+ */
+public final class CatalogIndex {
+    public static final String NONE = "NONE";
+
+    public enum Attribute {
+        TYPE, COUNTRY, REGIME, YEAR, GROUP;
+
+        public static Attribute parse(String name) {
+            try {
+                return valueOf(name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown filter attribute '" + name + "', expected one of "
+                        + Arrays.toString(values()).toLowerCase(Locale.ROOT));
+            }
+        }
+    }
+
+    private final long catalogVersion;
+    private final SatelliteEntity[] entities;
+    private final int[] noradCatIds;
+    private final RoaringBitmap all;
+    private final Map<Attribute, Map<String, RoaringBitmap>> postings;
+
+    private CatalogIndex(long catalogVersion, SatelliteEntity[] entities, int[] noradCatIds, RoaringBitmap all,
+                         Map<Attribute, Map<String, RoaringBitmap>> postings) {
+        this.catalogVersion = catalogVersion;
+        this.entities = entities;
+        this.noradCatIds = noradCatIds;
+        this.all = all;
+        this.postings = postings;
+    }
+
+    // Entities must be in ascending NORAD order (SatelliteCatalog.all())
+    public static CatalogIndex build(long catalogVersion, Collection<SatelliteEntity> catalog) {
+        SatelliteEntity[] entities = catalog.toArray(new SatelliteEntity[0]);
+        int[] noradCatIds = new int[entities.length];
+        Map<Attribute, Map<String, RoaringBitmap>> postings = new EnumMap<>(Attribute.class);
+        for (Attribute attribute : Attribute.values()) {
+            postings.put(attribute, new HashMap<>());
+        }
+
+        for (int slot = 0; slot < entities.length; slot++) {
+            SatelliteEntity entity = entities[slot];
+            noradCatIds[slot] = entity.getNoradCatId();
+
+            SatelliteGroup group = SatelliteGroup.of(entity.getObjectName());
+            post(postings, Attribute.TYPE, objectType(entity.getObjectType()), slot);
+            post(postings, Attribute.COUNTRY, entity.getCountryCode() != null ? normalize(entity.getCountryCode()) : NONE, slot);
+            post(postings, Attribute.REGIME, OrbitRegime.of(entity).name(), slot);
+            post(postings, Attribute.YEAR, entity.getLaunchDate() != null ? Integer.toString(entity.getLaunchDate().getYear()) : NONE, slot);
+            post(postings, Attribute.GROUP, group != null ? group.name() : NONE, slot);
+        }
+        for (Map<String, RoaringBitmap> values : postings.values()) {
+            values.values().forEach(RoaringBitmap::runOptimize);
+        }
+
+        return new CatalogIndex(catalogVersion, entities, noradCatIds, RoaringBitmap.bitmapOfRange(0, entities.length), postings);
+    }
+
+    public long getCatalogVersion() {
+        return catalogVersion;
+    }
+
+    public int size() {
+        return entities.length;
+    }
+
+    public RoaringBitmap all() {
+        return all;
+    }
+
+    // Slots whose attribute equals value (case-insensitive, '_' matches ' ')
+    public RoaringBitmap lookup(Attribute attribute, String value) {
+        RoaringBitmap slots = postings.get(attribute).get(normalize(value));
+        return slots != null ? slots : new RoaringBitmap();
+    }
+
+    // Slots launched in [from, to], both inclusive
+    public RoaringBitmap launchedBetween(int from, int to) {
+        List<RoaringBitmap> years = new ArrayList<>();
+        for (Map.Entry<String, RoaringBitmap> year : postings.get(Attribute.YEAR).entrySet()) {
+            if (year.getKey().equals(NONE)) {
+                continue;
+            }
+            int value = Integer.parseInt(year.getKey());
+            if (value >= from && value <= to) {
+                years.add(year.getValue());
+            }
+        }
+        return RoaringBitmap.or(years.iterator());
+    }
+
+    public Map<String, RoaringBitmap> values(Attribute attribute) {
+        return Collections.unmodifiableMap(postings.get(attribute));
+    }
+
+    public SatelliteEntity entity(int slot) {
+        return entities[slot];
+    }
+
+    // -1 when the NORAD ID is not in this version of the catalog
+    public int slotOf(int noradCatId) {
+        int slot = Arrays.binarySearch(noradCatIds, noradCatId);
+        return slot >= 0 ? slot : -1;
+    }
+
+    public long sizeInBytes() {
+        long bytes = all.getLongSizeInBytes();
+        for (Map<String, RoaringBitmap> values : postings.values()) {
+            for (RoaringBitmap bitmap : values.values()) {
+                bytes += bitmap.getLongSizeInBytes();
+            }
+        }
+        return bytes;
+    }
+
+    private static void post(Map<Attribute, Map<String, RoaringBitmap>> postings, Attribute attribute, String value, int slot) {
+        postings.get(attribute).computeIfAbsent(value, unused -> new RoaringBitmap()).add(slot);
+    }
+
+    private static String objectType(String objectType) {
+        if (objectType == null) {
+            return "UNKNOWN";
+        }
+        String normalized = normalize(objectType);
+        return switch (normalized) {
+            case "PAYLOAD", "ROCKET BODY", "DEBRIS" -> normalized;
+            default -> "UNKNOWN";
+        };
+    }
+
+    private static String normalize(String value) {
+        return value.trim().replace('_', ' ').toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,232 @@
+package com.application.server.logging;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.PrintStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Structured logging for ingestion hot loops.
+ *
+ * A sync opens a {@link Run} and reports every record's outcome to it. Outcomes only bump counters; a sampled,
+ * rate-limited subset is also written as a per-record line, and the run ends with one summary line. Lines are
+ * logfmt ({@code key=value}) and are queued to a writer thread that prints them in batches, so a record never
+ * waits on stdout and a full queue drops lines rather than stalling ingestion.
+ */
+@Component
+public class IngestionLog {
+    public enum Outcome {
+        CREATED, UPDATED, UNCHANGED, REJECTED, FAILED;
+
+        private final String key = name().toLowerCase(Locale.ROOT);
+    }
+
+    private static final long RUN_SUFFIX_RANGE = 36L * 36 * 36 * 36 * 36 * 36; // six base-36 digits
+
+    private BlockingQueue<Line> queue;
+    private final AtomicLong dropped = new AtomicLong();
+    private Thread writer;
+    private volatile boolean running;
+
+    // Per-record lines allowed through per second, shared by all runs
+    private final AtomicLong windowSecond = new AtomicLong();
+    private final AtomicLong windowCount = new AtomicLong();
+
+    @Value("${ingest.log.sample-ratio}")
+    private double sampleRatio;
+
+    @Value("${ingest.log.max-records-per-second}")
+    private long maxRecordsPerSecond;
+
+    @Value("${ingest.log.queue-capacity}")
+    private int queueCapacity;
+
+    // Formatted on the writer thread; fields alternate key, value
+    private record Line(Instant time, boolean error, String event, Object[] fields) {}
+
+    @PostConstruct
+    private void init() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        writer = new Thread(this::drain, "ingestion-log");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    private void shutdown() throws InterruptedException {
+        running = false;
+        writer.join(2_000);
+    }
+
+    public Run start(String source) {
+        Run run = new Run(source);
+        emit(false, "run_start", "source", source, "run", run.id);
+        return run;
+    }
+
+    public final class Run {
+        private final String source;
+        private final String id;
+        private final long startNanos = System.nanoTime();
+        private final AtomicLongArray counts = new AtomicLongArray(Outcome.values().length);
+        private final AtomicLong sampled = new AtomicLong();
+
+        private Run(String source) {
+            this.source = source;
+            // Start time plus a random suffix, so runs started in the same millisecond, here or on another instance, differ
+            String suffix = Long.toString(ThreadLocalRandom.current().nextLong(RUN_SUFFIX_RANGE), 36);
+            this.id = Long.toString(System.currentTimeMillis(), 36) + "-" + "0".repeat(6 - suffix.length()) + suffix;
+        }
+
+        // Counts the outcome; the record's own line is written only if sampled and under the rate limit
+        public void record(Outcome outcome, String keyName, Object key) {
+            record(outcome, keyName, key, null);
+        }
+
+        // reason is only formatted into the line, so callers should pass something already at hand
+        public void record(Outcome outcome, String keyName, Object key, String reason) {
+            counts.incrementAndGet(outcome.ordinal());
+            if (shouldSample()) {
+                sampled.incrementAndGet();
+                boolean failed = outcome == Outcome.FAILED;
+                if (reason == null) {
+                    emit(failed, "record", "source", source, "run", id, "outcome", outcome.key, keyName, key);
+                } else {
+                    emit(failed, "record", "source", source, "run", id, "outcome", outcome.key, keyName, key, "reason", reason);
+                }
+            }
+        }
+
+        public long count(Outcome outcome) {
+            return counts.get(outcome.ordinal());
+        }
+
+        public long total() {
+            long total = 0;
+            for (int i = 0; i < counts.length(); i++) {
+                total += counts.get(i);
+            }
+            return total;
+        }
+
+        public void finish() {
+            summary("run_complete", null);
+        }
+
+        public void fail(Throwable error) {
+            summary("run_failed", error.getMessage() != null ? error.getMessage() : error.toString());
+        }
+
+        private void summary(String event, String error) {
+            List<Object> fields = new ArrayList<>(List.of("source", source, "run", id,
+                    "duration_ms", (System.nanoTime() - startNanos) / 1_000_000, "processed", total()));
+            for (Outcome outcome : Outcome.values()) {
+                fields.add(outcome.key);
+                fields.add(count(outcome));
+            }
+            fields.addAll(List.of("sampled", sampled.get(), "dropped_lines", dropped.get()));
+            if (error != null) {
+                fields.addAll(List.of("error", error));
+            }
+            emit(error != null, event, fields.toArray());
+        }
+    }
+
+    private boolean shouldSample() {
+        if (sampleRatio <= 0 || (sampleRatio < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRatio)) {
+            return false;
+        }
+        long second = System.currentTimeMillis() / 1000;
+        long current = windowSecond.get();
+        if (current != second && windowSecond.compareAndSet(current, second)) {
+            windowCount.set(0);
+        }
+        return windowCount.incrementAndGet() <= maxRecordsPerSecond;
+    }
+
+    private void emit(boolean error, String event, Object... fields) {
+        if (!queue.offer(new Line(Instant.now(), error, event, fields))) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    private void drain() {
+        List<Line> batch = new ArrayList<>();
+        StringBuilder out = new StringBuilder();
+        StringBuilder err = new StringBuilder();
+        while (running || !queue.isEmpty()) {
+            try {
+                Line first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, 511);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            for (Line line : batch) {
+                format(line.error() ? err : out, line);
+            }
+            flush(System.out, out);
+            flush(System.err, err);
+            batch.clear();
+        }
+    }
+
+    private static void format(StringBuilder builder, Line line) {
+        builder.append("time=").append(line.time()).append(" event=").append(line.event());
+        Object[] fields = line.fields();
+        for (int i = 0; i + 1 < fields.length; i += 2) {
+            builder.append(' ').append(fields[i]).append('=');
+            appendValue(builder, fields[i + 1]);
+        }
+        builder.append('\n');
+    }
+
+    // Values with spaces, quotes or '=' are quoted so each line stays machine-parseable
+    private static void appendValue(StringBuilder builder, Object value) {
+        String text = String.valueOf(value);
+        boolean quote = text.isEmpty();
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c <= ' ' || c == '"' || c == '=';
+        }
+        if (!quote) {
+            builder.append(text);
+            return;
+        }
+        builder.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                builder.append('\\');
+            }
+            builder.append(c == '\n' ? ' ' : c);
+        }
+        builder.append('"');
+    }
+
+    private static void flush(PrintStream stream, StringBuilder builder) {
+        if (!builder.isEmpty()) {
+            stream.print(builder);
+            stream.flush();
+            builder.setLength(0);
+        }
+    }
+}
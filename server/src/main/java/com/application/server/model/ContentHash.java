@@ -0,0 +1,60 @@
+package com.application.server.model;
+
+/**
+ * Stable 64-bit FNV-1a hash over a sequence of field values.
+ * Used to decide whether a decoded record differs from the stored row without comparing every column.
+ */
+public final class ContentHash {
+    private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+    private static final long NULL_MARKER = 0x9e3779b97f4a7c15L;
+
+    private long hash = OFFSET_BASIS;
+
+    public ContentHash add(String value) {
+        if (value == null) {
+            return mix(NULL_MARKER);
+        }
+        for (int i = 0; i < value.length(); i++) {
+            mixByte(value.charAt(i) & 0xff);
+            mixByte(value.charAt(i) >>> 8);
+        }
+        return mix(value.length()); // length acts as a field separator
+    }
+
+    public ContentHash add(Object value) {
+        return add(value == null ? null : value.toString());
+    }
+
+    public ContentHash add(long value) {
+        return mix(value);
+    }
+
+    public ContentHash add(double value) {
+        return mix(Double.doubleToLongBits(value));
+    }
+
+    public ContentHash add(Double value) {
+        return value == null ? mix(NULL_MARKER) : add(value.doubleValue());
+    }
+
+    public ContentHash add(Long value) {
+        return value == null ? mix(NULL_MARKER) : add(value.longValue());
+    }
+
+    public long value() {
+        return hash;
+    }
+
+    private ContentHash mix(long value) {
+        for (int i = 0; i < 8; i++) {
+            mixByte((int) (value >>> (i * 8)) & 0xff);
+        }
+        return this;
+    }
+
+    private void mixByte(int b) {
+        hash ^= b;
+        hash *= PRIME;
+    }
+}
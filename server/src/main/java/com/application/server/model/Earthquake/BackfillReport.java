@@ -0,0 +1,18 @@
+package com.application.server.model.Earthquake;
+
+import java.time.Instant;
+
+public record BackfillReport(
+        String jobId,
+        String status,
+        Instant start,
+        Instant end,
+        double minMagnitude,
+        int windowsPlanned,
+        int windowsSkipped,
+        int windowsCompleted,
+        long eventsLoaded,
+        long elapsedMillis,
+        double eventsPerSecond,
+        String error
+) {}
@@ -1,5 +1,7 @@
 package com.application.server.model.Earthquake;
 
+import com.application.server.model.ContentHash;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
@@ -18,6 +20,9 @@ public class Earthquake {
     @JsonProperty("geometry")
     private Geometry geometry;
 
+    @JsonIgnore
+    private Long contentHash;
+
     @JsonIgnoreProperties(ignoreUnknown = true)
     public static class Properties {
         @JsonProperty("mag")
@@ -162,4 +167,31 @@ public class Earthquake {
     public Geometry getGeometry() {
         return geometry;
     }
+
+    // Hash over every mapped field, computed once per decoded feature
+    @JsonIgnore
+    public long getContentHash() {
+        if (contentHash == null) {
+            contentHash = new ContentHash()
+                    .add(earthquakeId)
+                    .add(properties.mag)
+                    .add(properties.place)
+                    .add(properties.time)
+                    .add(properties.updated)
+                    .add(properties.tz)
+                    .add(properties.cdi)
+                    .add(properties.mmi)
+                    .add(properties.alert)
+                    .add(properties.status)
+                    .add(properties.tsunami)
+                    .add(properties.significance)
+                    .add(properties.nst)
+                    .add(properties.dmin)
+                    .add(properties.type)
+                    .add(properties.ids)
+                    .add(geometry.coordinates)
+                    .value();
+        }
+        return contentHash;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.application.server.model.Earthquake;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// Response of the USGS /count endpoint
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record EarthquakeCount(
+        @JsonProperty("count") int count,
+        @JsonProperty("maxAllowed") int maxAllowed
+) {}
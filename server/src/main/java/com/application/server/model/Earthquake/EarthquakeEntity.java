@@ -73,6 +73,9 @@ public class EarthquakeEntity {
     @Column("last_updated")
     private Instant lastUpdated; // Internal timestamp for the last successful sync from USGS
 
+    @Column("content_hash")
+    private Long content_hash; // 64-bit hash of all mapped feed fields, used to skip unchanged events
+
     public UUID getId() {
         return id;
     }
@@ -157,6 +160,10 @@ public class EarthquakeEntity {
         return lastUpdated;
     }
 
+    public Long getContent_hash() {
+        return content_hash;
+    }
+
     public void setMagnitude(Double magnitude) {
         this.magnitude = magnitude;
     }
@@ -236,4 +243,8 @@ public class EarthquakeEntity {
     public void setLastUpdated(Instant lastUpdated) {
         this.lastUpdated = lastUpdated;
     }
+
+    public void setContent_hash(Long content_hash) {
+        this.content_hash = content_hash;
+    }
 }
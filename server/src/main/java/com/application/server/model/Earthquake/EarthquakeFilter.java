@@ -0,0 +1,23 @@
+package com.application.server.model.Earthquake;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Filters for the earthquake listing. Null fields are not applied.
+ * Results are ordered newest first; afterTime/afterId is the (event_time, id) of the last row of the previous page.
+ */
+public record EarthquakeFilter(
+        Instant from,
+        Instant to,
+        Double minMagnitude,
+        Double maxMagnitude,
+        Double minDepth,
+        Double maxDepth,
+        String alert,
+        Boolean tsunami,
+        String status,
+        Instant afterTime,
+        UUID afterId,
+        int limit) {
+}
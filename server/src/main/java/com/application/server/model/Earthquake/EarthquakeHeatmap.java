@@ -0,0 +1,15 @@
+package com.application.server.model.Earthquake;
+
+import java.time.Instant;
+import java.util.List;
+
+// Earthquake activity aggregated onto a latitude/longitude grid; cells are identified by their south-west corner
+public record EarthquakeHeatmap(
+        double resolutionDegrees,
+        Instant since,
+        Double minMagnitude,
+        int eventCount,
+        List<Cell> cells
+) {
+    public record Cell(double latitude, double longitude, int count, double maxMagnitude, double energyJoules) {}
+}
@@ -26,6 +26,7 @@ public class EarthquakeMapper {
         entity.setKnown_event_ids(earthquake.getProperties().getIds());
         entity.setPreferred_event_id(earthquake.getEarthquakeId());
         entity.setLastUpdated(Instant.now());
+        entity.setContent_hash(earthquake.getContentHash());
 
         Instant eventInstant = Instant.ofEpochMilli(earthquake.getProperties().getTime());
         Instant updateInstant = Instant.ofEpochMilli(earthquake.getProperties().getUpdated());
@@ -0,0 +1,14 @@
+package com.application.server.model.Earthquake;
+
+import java.time.Instant;
+
+// One time bucket of one coarse region; the region covers [minLatitude, minLatitude + 30) x [minLongitude, minLongitude + 30)
+public record EarthquakeRollup(
+        Instant bucketStart,
+        int regionId,
+        double minLatitude,
+        double minLongitude,
+        long eventCount,
+        double meanMagnitude,
+        double energyJoules
+) {}
@@ -0,0 +1,31 @@
+package com.application.server.model.Earthquake;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+// Time bucket sizes of the earthquake rollup tables
+public enum RollupGranularity {
+    HOUR("earthquake_rollups_hourly", ChronoUnit.HOURS),
+    DAY("earthquake_rollups_daily", ChronoUnit.DAYS);
+
+    private final String table;
+    private final ChronoUnit unit;
+
+    RollupGranularity(String table, ChronoUnit unit) {
+        this.table = table;
+        this.unit = unit;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    // Postgres date_trunc field for the same bucket boundaries (UTC)
+    public String getTruncField() {
+        return unit == ChronoUnit.HOURS ? "hour" : "day";
+    }
+
+    public Instant bucketOf(Instant time) {
+        return time.truncatedTo(unit);
+    }
+}
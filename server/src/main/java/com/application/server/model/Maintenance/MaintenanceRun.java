@@ -0,0 +1,31 @@
+package com.application.server.model.Maintenance;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One pass of the maintenance engine: what it checked, what it did and why, and the latency of the probe
+ * queries before and after (probes only run when there was something to do).
+ */
+public record MaintenanceRun(
+        Long id,
+        Instant startedAt,
+        Instant finishedAt,
+        String status,
+        int tablesChecked,
+        int indexesChecked,
+        List<Action> actions,
+        List<Probe> probes
+) {
+    public record Action(
+            String target,
+            String operation,
+            String reason,
+            long durationMillis,
+            Long sizeBeforeBytes,
+            Long sizeAfterBytes,
+            String error
+    ) {}
+
+    public record Probe(String name, double beforeMillis, double afterMillis) {}
+}
@@ -0,0 +1,18 @@
+package com.application.server.model.Satellite;
+
+import java.util.List;
+
+/**
+ * Catalog changes between a client's version and {@code version}. With {@code fullReload} the lists are empty and
+ * the client must fetch its constellations again, then continue from {@code version}.
+ */
+public record CatalogDelta(
+        long version,
+        boolean fullReload,
+        List<SatelliteDTO> upserted,
+        List<Integer> removed
+) {
+    public static CatalogDelta reload(long version) {
+        return new CatalogDelta(version, true, List.of(), List.of());
+    }
+}
@@ -0,0 +1,39 @@
+package com.application.server.model.Satellite;
+
+/**
+ * Coarse orbit class from the Space-Track periapsis/apoapsis altitudes (km) and eccentricity.
+ * GEO is the geosynchronous belt at any inclination, so inclined geosynchronous (IGSO, QZSS) orbits count as GEO.
+ * HEO covers the eccentric orbits (Molniya, Tundra, GTO) and near-circular orbits above the belt.
+ */
+public enum OrbitRegime {
+    LEO,
+    MEO,
+    GEO,
+    HEO,
+    UNKNOWN;
+
+    private static final double LEO_MAX_ALTITUDE = 2000.0;
+    private static final double GEO_ALTITUDE = 35786.0;
+    private static final double GEO_TOLERANCE = 500.0;
+    private static final double HIGHLY_ELLIPTICAL = 0.25;
+
+    public static OrbitRegime of(SatelliteEntity entity) {
+        double periapsis = entity.getPeriapsis();
+        double apoapsis = entity.getApoapsis();
+        if (apoapsis <= 0.0 || apoapsis < periapsis) {
+            return UNKNOWN; // elements not populated
+        }
+
+        if (apoapsis <= LEO_MAX_ALTITUDE) {
+            return LEO;
+        }
+        if (entity.getEccentricity() >= HIGHLY_ELLIPTICAL) {
+            return HEO;
+        }
+        // Semi-major axis within the tolerance of synchronous; the eccentricity bound keeps Tundra orbits out
+        if (Math.abs((periapsis + apoapsis) / 2.0 - GEO_ALTITUDE) <= GEO_TOLERANCE) {
+            return GEO;
+        }
+        return apoapsis < GEO_ALTITUDE - GEO_TOLERANCE ? MEO : HEO;
+    }
+}
@@ -0,0 +1,17 @@
+package com.application.server.model.Satellite;
+
+import java.time.Instant;
+import java.util.List;
+
+// Sampled orbit polyline. Points are [minutesFromStart, x, y, z] (TEME km) for the "orbit" frame
+// and [minutesFromStart, latitude, longitude, altitudeKm] for the "ground" frame.
+public record OrbitTrack(
+        int noradCatId,
+        String frame,
+        Instant epoch,
+        Instant start,
+        double minutes,
+        double stepMinutes,
+        int sampleCount,
+        List<double[]> points
+) {}
@@ -1,5 +1,8 @@
 package com.application.server.model.Satellite;
 
+import com.application.server.model.ContentHash;
+import com.application.server.orbit.TleElements;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.time.Instant;
@@ -24,9 +27,12 @@ public class Satellite {
     @JsonProperty("DECAY_DATE")
     private LocalDate decayDate;
 
-    @JsonProperty("EPOCH")
     private String epoch;
 
+    // EPOCH parsed once at decode time; meaningless while epoch is null
+    private long epochSeconds;
+    private int epochNanos;
+
     @JsonProperty("TLE_LINE1")
     private String tleLine1;
 
@@ -51,6 +57,39 @@ public class Satellite {
     @JsonProperty("SEMIMAJOR_AXIS")
     private double semimajorAxis;
 
+    @JsonIgnore
+    private Long contentHash;
+
+    @JsonIgnore
+    private TleElements elements;
+
+    public Satellite() {
+    }
+
+    // Used by GpRecordDecoder, which has already parsed the epoch text into epochSeconds/epochNanos
+    public Satellite(int noradCatId, String objectName, String objectType, String countryCode, LocalDate launchDate,
+                     LocalDate decayDate, String epoch, long epochSeconds, int epochNanos, String tleLine1, String tleLine2,
+                     double inclination, double eccentricity, double period, double apoapsis, double periapsis,
+                     double semimajorAxis) {
+        this.noradCatId = noradCatId;
+        this.objectName = objectName;
+        this.objectType = objectType;
+        this.countryCode = countryCode;
+        this.launchDate = launchDate;
+        this.decayDate = decayDate;
+        this.epoch = epoch;
+        this.epochSeconds = epochSeconds;
+        this.epochNanos = epochNanos;
+        this.tleLine1 = tleLine1;
+        this.tleLine2 = tleLine2;
+        this.inclination = inclination;
+        this.eccentricity = eccentricity;
+        this.period = period;
+        this.apoapsis = apoapsis;
+        this.periapsis = periapsis;
+        this.semimajorAxis = semimajorAxis;
+    }
+
     public int getNoradCatId() {
         return noradCatId;
     }
@@ -75,8 +114,20 @@ public class Satellite {
         return decayDate;
     }
 
+    // Space-Track epochs are UTC without a zone designator
+    @JsonProperty("EPOCH")
+    private void setEpoch(String epoch) {
+        this.epoch = epoch;
+        if (epoch != null) {
+            Instant parsed = Instant.parse(epoch + "Z");
+            this.epochSeconds = parsed.getEpochSecond();
+            this.epochNanos = parsed.getNano();
+        }
+    }
+
+    // Null when the record has no EPOCH; the TLE lines still carry their own
     public Instant getEpoch() {
-        return Instant.parse(epoch + "Z");
+        return epoch != null ? Instant.ofEpochSecond(epochSeconds, epochNanos) : null;
     }
 
     public String getTleLine1() {
@@ -110,4 +161,38 @@ public class Satellite {
     public double getSemimajorAxis() {
         return semimajorAxis;
     }
+
+    // Parsed and checksum-validated once per decoded record; throws IllegalArgumentException for malformed TLEs
+    @JsonIgnore
+    public TleElements getElements() {
+        if (elements == null) {
+            elements = TleElements.parse(tleLine1, tleLine2);
+        }
+        return elements;
+    }
+
+    // Hash over every mapped field, computed once per decoded record
+    @JsonIgnore
+    public long getContentHash() {
+        if (contentHash == null) {
+            contentHash = new ContentHash()
+                    .add(noradCatId)
+                    .add(objectName)
+                    .add(objectType)
+                    .add(countryCode)
+                    .add(launchDate)
+                    .add(decayDate)
+                    .add(epoch)
+                    .add(tleLine1)
+                    .add(tleLine2)
+                    .add(inclination)
+                    .add(eccentricity)
+                    .add(period)
+                    .add(apoapsis)
+                    .add(periapsis)
+                    .add(semimajorAxis)
+                    .value();
+        }
+        return contentHash;
+    }
 }
@@ -64,6 +64,30 @@ public class SatelliteEntity {
     @Column("semimajor_axis")
     private double semimajorAxis; // Average distance from Earth (in kilometers); half the major axis of the orbit
 
+    @Column("mean_motion")
+    private Double meanMotion; // Mean motion in revolutions per day, parsed from TLE line 2
+
+    @Column("mean_motion_dot")
+    private Double meanMotionDot; // First derivative of mean motion / 2 (rev/day^2), as printed on TLE line 1
+
+    @Column("mean_motion_ddot")
+    private Double meanMotionDdot; // Second derivative of mean motion / 6 (rev/day^3), as printed on TLE line 1
+
+    @Column("bstar")
+    private Double bstar; // B* drag term (1 / earth radii)
+
+    @Column("ra_of_asc_node")
+    private Double raOfAscNode; // Right ascension of the ascending node in degrees
+
+    @Column("arg_of_pericenter")
+    private Double argOfPericenter; // Argument of perigee in degrees
+
+    @Column("mean_anomaly")
+    private Double meanAnomaly; // Mean anomaly at epoch in degrees
+
+    @Column("content_hash")
+    private Long contentHash; // 64-bit hash of all mapped source fields, used to skip unchanged records
+
     public UUID getId() {
         return id;
     }
@@ -132,6 +156,70 @@ public class SatelliteEntity {
         return semimajorAxis;
     }
 
+    public Double getMeanMotion() {
+        return meanMotion;
+    }
+
+    public Double getMeanMotionDot() {
+        return meanMotionDot;
+    }
+
+    public Double getMeanMotionDdot() {
+        return meanMotionDdot;
+    }
+
+    public Double getBstar() {
+        return bstar;
+    }
+
+    public Double getRaOfAscNode() {
+        return raOfAscNode;
+    }
+
+    public Double getArgOfPericenter() {
+        return argOfPericenter;
+    }
+
+    public Double getMeanAnomaly() {
+        return meanAnomaly;
+    }
+
+    public Long getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(Long contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public void setMeanMotion(Double meanMotion) {
+        this.meanMotion = meanMotion;
+    }
+
+    public void setMeanMotionDot(Double meanMotionDot) {
+        this.meanMotionDot = meanMotionDot;
+    }
+
+    public void setMeanMotionDdot(Double meanMotionDdot) {
+        this.meanMotionDdot = meanMotionDdot;
+    }
+
+    public void setBstar(Double bstar) {
+        this.bstar = bstar;
+    }
+
+    public void setRaOfAscNode(Double raOfAscNode) {
+        this.raOfAscNode = raOfAscNode;
+    }
+
+    public void setArgOfPericenter(Double argOfPericenter) {
+        this.argOfPericenter = argOfPericenter;
+    }
+
+    public void setMeanAnomaly(Double meanAnomaly) {
+        this.meanAnomaly = meanAnomaly;
+    }
+
     public void setSemimajorAxis(double semimajorAxis) {
         this.semimajorAxis = semimajorAxis;
     }
@@ -0,0 +1,86 @@
+package com.application.server.model.Satellite;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+// Projectable SatelliteDTO fields and the columns backing them, for ?fields= requests
+public enum SatelliteField {
+    NORAD_CAT_ID("noradCatId", "norad_cat_id", Integer.class, SatelliteEntity::getNoradCatId),
+    OBJECT_NAME("objectName", "object_name", String.class, SatelliteEntity::getObjectName),
+    COUNTRY_CODE("countryCode", "country_code", String.class, SatelliteEntity::getCountryCode),
+    LAUNCH_DATE("launchDate", "launch_date", LocalDate.class, SatelliteEntity::getLaunchDate),
+    DECAY_DATE("decayDate", "decay_date", LocalDate.class, SatelliteEntity::getDecayDate),
+    LAST_UPDATED("lastUpdated", "last_updated", Instant.class, SatelliteEntity::getLastUpdated),
+    EPOCH("epoch", "epoch", Instant.class, SatelliteEntity::getEpoch),
+    TLE_LINE1("tleLine1", "tle_line1", String.class, SatelliteEntity::getTleLine1),
+    TLE_LINE2("tleLine2", "tle_line2", String.class, SatelliteEntity::getTleLine2),
+    INCLINATION("inclination", "inclination", Double.class, SatelliteEntity::getInclination),
+    ECCENTRICITY("eccentricity", "eccentricity", Double.class, SatelliteEntity::getEccentricity),
+    MEAN_MOTION("meanMotion", "mean_motion", Double.class, SatelliteEntity::getMeanMotion),
+    MEAN_MOTION_DOT("meanMotionDot", "mean_motion_dot", Double.class, SatelliteEntity::getMeanMotionDot),
+    MEAN_MOTION_DDOT("meanMotionDdot", "mean_motion_ddot", Double.class, SatelliteEntity::getMeanMotionDdot),
+    BSTAR("bstar", "bstar", Double.class, SatelliteEntity::getBstar),
+    RA_OF_ASC_NODE("raOfAscNode", "ra_of_asc_node", Double.class, SatelliteEntity::getRaOfAscNode),
+    ARG_OF_PERICENTER("argOfPericenter", "arg_of_pericenter", Double.class, SatelliteEntity::getArgOfPericenter),
+    MEAN_ANOMALY("meanAnomaly", "mean_anomaly", Double.class, SatelliteEntity::getMeanAnomaly);
+
+    private final String jsonName;
+    private final String column;
+    private final Class<?> type;
+    private final Function<SatelliteEntity, Object> accessor;
+
+    SatelliteField(String jsonName, String column, Class<?> type, Function<SatelliteEntity, Object> accessor) {
+        this.jsonName = jsonName;
+        this.column = column;
+        this.type = type;
+        this.accessor = accessor;
+    }
+
+    public String getJsonName() {
+        return jsonName;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    public Object valueOf(SatelliteEntity entity) {
+        return accessor.apply(entity);
+    }
+
+    /**
+     * Parses a comma-separated list of JSON field names. noradCatId is always included because it is
+     * the paging cursor. Throws IllegalArgumentException on unknown names.
+     */
+    public static List<SatelliteField> parse(String fields) {
+        Set<SatelliteField> selected = new LinkedHashSet<>();
+        selected.add(NORAD_CAT_ID);
+
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            selected.add(fromJsonName(trimmed));
+        }
+        return new ArrayList<>(selected);
+    }
+
+    private static SatelliteField fromJsonName(String name) {
+        for (SatelliteField field : values()) {
+            if (field.jsonName.equals(name)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown field " + name);
+    }
+}
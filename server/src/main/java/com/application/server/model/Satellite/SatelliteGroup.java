@@ -0,0 +1,32 @@
+package com.application.server.model.Satellite;
+
+// Constellations served by the API, matched on OBJECT_NAME prefix (same rule as the ILIKE queries)
+public enum SatelliteGroup {
+    STARLINK("STARLINK"),
+    ONEWEB("ONEWEB"),
+    IRIDIUM("IRIDIUM");
+
+    private final String namePrefix;
+
+    SatelliteGroup(String namePrefix) {
+        this.namePrefix = namePrefix;
+    }
+
+    public String getNamePrefix() {
+        return namePrefix;
+    }
+
+    public boolean matches(String objectName) {
+        return objectName != null && objectName.regionMatches(true, 0, namePrefix, 0, namePrefix.length());
+    }
+
+    // Returns null when the object does not belong to a tracked constellation
+    public static SatelliteGroup of(String objectName) {
+        for (SatelliteGroup group : values()) {
+            if (group.matches(objectName)) {
+                return group;
+            }
+        }
+        return null;
+    }
+}
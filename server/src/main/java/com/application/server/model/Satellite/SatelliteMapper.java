@@ -1,5 +1,7 @@
 package com.application.server.model.Satellite;
 
+import com.application.server.orbit.TleElements;
+
 import java.time.Instant;
 import java.time.LocalDateTime;
 
@@ -23,7 +25,54 @@ public class SatelliteMapper {
         entity.setPeriapsis(satellite.getPeriapsis());
         entity.setSemimajorAxis(satellite.getSemimajorAxis());
         entity.setEpoch(satellite.getEpoch());
+        entity.setContentHash(satellite.getContentHash());
+        applyElements(entity, satellite.getElements());
 
         return entity;
     }
+
+    public static SatelliteDTO toDTO(SatelliteEntity entity) {
+        return new SatelliteDTO(
+                entity.getNoradCatId(),
+                entity.getObjectName(),
+                entity.getCountryCode(),
+                entity.getLaunchDate(),
+                entity.getDecayDate(),
+                entity.getLastUpdated(),
+                entity.getEpoch(),
+                entity.getTleLine1(),
+                entity.getTleLine2()
+        );
+    }
+
+    // Copies the parsed mean elements into their numeric columns
+    public static void applyElements(SatelliteEntity entity, TleElements elements) {
+        entity.setMeanMotion(elements.meanMotionRevPerDay());
+        entity.setMeanMotionDot(elements.meanMotionDotTle());
+        entity.setMeanMotionDdot(elements.meanMotionDdotTle());
+        entity.setBstar(elements.bstar());
+        entity.setRaOfAscNode(elements.raanDegrees());
+        entity.setArgOfPericenter(elements.argPerigeeDegrees());
+        entity.setMeanAnomaly(elements.meanAnomalyDegrees());
+    }
+
+    // Rebuilds propagation elements from the stored columns, parsing the TLE lines only for rows written before they existed
+    public static TleElements toElements(SatelliteEntity entity) {
+        if (entity.getMeanMotion() == null || entity.getEpoch() == null) {
+            return TleElements.parse(entity.getTleLine1(), entity.getTleLine2());
+        }
+        return TleElements.fromMeanElements(
+                entity.getNoradCatId(),
+                entity.getEpoch(),
+                entity.getBstar(),
+                entity.getMeanMotionDot(),
+                entity.getMeanMotionDdot(),
+                entity.getInclination(),
+                entity.getRaOfAscNode(),
+                entity.getEccentricity(),
+                entity.getArgOfPericenter(),
+                entity.getMeanAnomaly(),
+                entity.getMeanMotion()
+        );
+    }
 }
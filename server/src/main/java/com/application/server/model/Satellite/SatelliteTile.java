@@ -0,0 +1,19 @@
+package com.application.server.model.Satellite;
+
+import java.time.Instant;
+import java.util.List;
+
+// One web-mercator tile of satellite positions: clusters at low zoom, individual objects at high zoom
+public record SatelliteTile(
+        int z,
+        int x,
+        int y,
+        Instant time,
+        int objectCount,
+        List<Cluster> clusters,
+        List<Position> satellites
+) {
+    public record Cluster(int count, double latitude, double longitude, String dominantGroup) {}
+
+    public record Position(int noradCatId, double latitude, double longitude, double altitudeKm, String group) {}
+}
@@ -0,0 +1,23 @@
+package com.application.server.model.Satellite;
+
+import java.time.Instant;
+
+/**
+ * One frame of the simulation stream. {@code data} is base64 of a sequence of zigzag varints:
+ * <ul>
+ *   <li>keyframe: count, then per object (NORAD ID minus the previous object's ID, latitude, longitude, altitude)</li>
+ *   <li>delta: per object of the last keyframe, in its order, the change in (latitude, longitude, altitude)</li>
+ * </ul>
+ * Latitude and longitude are in units of 1e-4 degrees, altitude in units of 10 m. Longitude deltas take the
+ * short way round, so the decoded longitude must be wrapped back into [-180, 180).
+ */
+public record SimulationFrame(
+        long index,
+        Instant time,
+        boolean keyframe,
+        int count,
+        String data
+) {
+    public static final double ANGLE_UNITS_PER_DEGREE = 1e4;
+    public static final double ALTITUDE_UNITS_PER_KM = 100.0;
+}
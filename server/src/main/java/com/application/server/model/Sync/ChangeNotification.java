@@ -0,0 +1,27 @@
+package com.application.server.model.Sync;
+
+import java.util.List;
+
+/**
+ * A change committed by one node, broadcast to the others over Postgres NOTIFY.
+ * {@code all} means the receiver should refresh everything it caches for the topic.
+ */
+public record ChangeNotification(String origin, String topic, boolean all, List<String> ids) {
+    private static final String ALL = "*";
+
+    // Wire format: origin|topic|* or origin|topic|id,id,...
+    public String toPayload() {
+        return origin + "|" + topic + "|" + (all ? ALL : String.join(",", ids));
+    }
+
+    public static ChangeNotification fromPayload(String payload) {
+        String[] parts = payload.split("\\|", 3);
+        if (parts.length < 3) {
+            throw new IllegalArgumentException("Malformed change notification: " + payload);
+        }
+        if (ALL.equals(parts[2])) {
+            return new ChangeNotification(parts[0], parts[1], true, List.of());
+        }
+        return new ChangeNotification(parts[0], parts[1], false, parts[2].isEmpty() ? List.of() : List.of(parts[2].split(",")));
+    }
+}
@@ -0,0 +1,78 @@
+package com.application.server.model.Sync;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+
+// Per-source polling state so incremental ingestion survives restarts
+@Table("ingest_watermarks")
+public class IngestWatermarkEntity {
+    @Id
+    @Column("source")
+    private String source; // Feed identifier, e.g. "usgs"
+
+    @Column("high_water_mark")
+    private Instant highWaterMark; // Latest source update time that has been fully ingested
+
+    @Column("etag")
+    private String etag; // ETag of the last successful feed response
+
+    @Column("last_modified")
+    private String lastModified; // Last-Modified header of the last successful feed response
+
+    @Column("validator_url")
+    private String validatorUrl; // Request URL the ETag and Last-Modified belong to
+
+    @Column("updated_at")
+    private Instant updatedAt; // When this watermark was last written
+
+    public String getSource() {
+        return source;
+    }
+
+    public Instant getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    public String getValidatorUrl() {
+        return validatorUrl;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public void setHighWaterMark(Instant highWaterMark) {
+        this.highWaterMark = highWaterMark;
+    }
+
+    public void setEtag(String etag) {
+        this.etag = etag;
+    }
+
+    public void setLastModified(String lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    public void setValidatorUrl(String validatorUrl) {
+        this.validatorUrl = validatorUrl;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
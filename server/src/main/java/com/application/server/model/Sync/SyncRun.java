@@ -0,0 +1,32 @@
+package com.application.server.model.Sync;
+
+import java.time.Instant;
+
+/**
+ * One journaled ingestion run. lastNoradCatId is the checkpoint: every object of the feed up to it has been
+ * committed, so a run that dies can be resumed after it. resumedFrom links a resumed run to the one it continues.
+ */
+public record SyncRun(
+        long id,
+        String source,
+        String status,
+        Long resumedFrom,
+        Instant startedAt,
+        Instant updatedAt,
+        Instant finishedAt,
+        Instant watermark,
+        Integer lastNoradCatId,
+        int batchesCommitted,
+        long processed,
+        long created,
+        long updated,
+        long unchanged,
+        long rejected,
+        long failed,
+        String error
+) {
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+    public static final String INTERRUPTED = "INTERRUPTED";
+}
@@ -0,0 +1,27 @@
+package com.application.server.orbit;
+
+/**
+ * Propagates every slot of an {@link ElementStore} to one instant.
+ * Positions are TEME kilometres; slots that decay or fail to propagate are written as NaN.
+ */
+public interface BatchPropagator {
+
+    void propagate(ElementStore store, double unixSeconds, double[] x, double[] y, double[] z);
+
+    /**
+     * Returns the Vector API implementation when the JVM was started with
+     * {@code --add-modules jdk.incubator.vector}, otherwise the scalar one.
+     */
+    static BatchPropagator create(boolean preferVector) {
+        if (preferVector && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return (BatchPropagator) Class.forName("com.application.server.orbit.VectorBatchPropagator")
+                        .getDeclaredConstructor()
+                        .newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                System.err.println("Vector batch propagator unavailable, using scalar: " + e.getMessage());
+            }
+        }
+        return new ScalarBatchPropagator();
+    }
+}
@@ -0,0 +1,470 @@
+package com.application.server.orbit;
+
+/**
+ * Lunar-solar and geopotential resonance terms of SDP4 (Vallado's dscom, dsinit, dspace and dpper).
+ *
+ * Holds only the coefficients fixed at epoch. The resonance integrator is restarted from epoch on every
+ * call instead of caching its last step, so a shared propagator stays safe to use from several threads;
+ * the fixed 720-minute steps give the same result either way.
+ */
+final class DeepSpace {
+    private static final double TWO_PI = Sgp4Propagator.TWO_PI;
+    private static final double X2O3 = 2.0 / 3.0;
+
+    private static final double ZNS = 1.19459e-5;
+    private static final double ZES = 0.01675;
+    private static final double ZNL = 1.5835218e-4;
+    private static final double ZEL = 0.05490;
+
+    // Earth rotation rate in rad/min
+    private static final double RPTIM = 4.37526908801129966e-3;
+    private static final double STEPP = 720.0;
+    private static final double STEPN = -720.0;
+    private static final double STEP2 = 259200.0;
+
+    private static final double FASX2 = 0.13130908;
+    private static final double FASX4 = 2.8843198;
+    private static final double FASX6 = 0.37448087;
+    private static final double G22 = 5.7686396;
+    private static final double G32 = 0.95240898;
+    private static final double G44 = 1.8014998;
+    private static final double G52 = 1.0508330;
+    private static final double G54 = 4.4108898;
+
+    // Mean elements carried between the secular and periodic steps of one propagation
+    static final class MeanElements {
+        double em;
+        double inclm;
+        double argpm;
+        double nodem;
+        double mm;
+        double nm;
+    }
+
+    private final double argpo;
+    private final double argpdot;
+    private final double noUnkozai;
+    private final double gsto;
+
+    // Lunar-solar periodic coefficients (dscom)
+    private final double e3, ee2, se2, se3, sgh2, sgh3, sgh4, sh2, sh3, si2, si3, sl2, sl3, sl4;
+    private final double xgh2, xgh3, xgh4, xh2, xh3, xi2, xi3, xl2, xl3, xl4, zmol, zmos;
+
+    // Secular rates and resonance coefficients (dsinit)
+    private final int irez;
+    private final double dedt, didt, dmdt, dnodt, domdt;
+    private double d2201, d2211, d3210, d3222, d4410, d4422, d5220, d5232, d5421, d5433;
+    private double del1, del2, del3;
+    private double xfact, xlamo;
+
+    DeepSpace(double epoch1950, double ecco, double inclo, double argpo, double nodeo, double mo, double noUnkozai,
+              double mdot, double argpdot, double nodedot, double gsto) {
+        this.argpo = argpo;
+        this.argpdot = argpdot;
+        this.noUnkozai = noUnkozai;
+        this.gsto = gsto;
+
+        // dscom
+        double c1ss = 2.9864797e-6;
+        double c1l = 4.7968065e-7;
+        double zsinis = 0.39785416;
+        double zcosis = 0.91744867;
+        double zcosgs = 0.1945905;
+        double zsings = -0.98088458;
+
+        double snodm = Math.sin(nodeo);
+        double cnodm = Math.cos(nodeo);
+        double sinomm = Math.sin(argpo);
+        double cosomm = Math.cos(argpo);
+        double sinim = Math.sin(inclo);
+        double cosim = Math.cos(inclo);
+        double emsq = ecco * ecco;
+        double betasq = 1.0 - emsq;
+        double rtemsq = Math.sqrt(betasq);
+
+        double day = epoch1950 + 18261.5;
+        double xnodce = (4.5236020 - 9.2422029e-4 * day) % TWO_PI;
+        double stem = Math.sin(xnodce);
+        double ctem = Math.cos(xnodce);
+        double zcosil = 0.91375164 - 0.03568096 * ctem;
+        double zsinil = Math.sqrt(1.0 - zcosil * zcosil);
+        double zsinhl = 0.089683511 * stem / zsinil;
+        double zcoshl = Math.sqrt(1.0 - zsinhl * zsinhl);
+        double gam = 5.8351514 + 0.0019443680 * day;
+        double zx = 0.39785416 * stem / zsinil;
+        double zy = zcoshl * ctem + 0.91744867 * zsinhl * stem;
+        zx = gam + Math.atan2(zx, zy) - xnodce;
+        double zcosgl = Math.cos(zx);
+        double zsingl = Math.sin(zx);
+
+        // First pass uses the sun, second the moon
+        double zcosg = zcosgs;
+        double zsing = zsings;
+        double zcosi = zcosis;
+        double zsini = zsinis;
+        double zcosh = cnodm;
+        double zsinh = snodm;
+        double cc = c1ss;
+        double xnoi = 1.0 / noUnkozai;
+
+        double s1 = 0, s2 = 0, s3 = 0, s4 = 0, s5 = 0, s6 = 0, s7 = 0;
+        double z1 = 0, z2 = 0, z3 = 0, z11 = 0, z12 = 0, z13 = 0, z21 = 0, z22 = 0, z23 = 0, z31 = 0, z32 = 0, z33 = 0;
+        double ss1 = 0, ss2 = 0, ss3 = 0, ss4 = 0, ss5 = 0, ss6 = 0, ss7 = 0;
+        double sz1 = 0, sz2 = 0, sz3 = 0, sz11 = 0, sz12 = 0, sz13 = 0, sz21 = 0, sz22 = 0, sz23 = 0, sz31 = 0, sz32 = 0, sz33 = 0;
+
+        for (int pass = 1; pass <= 2; pass++) {
+            double a1 = zcosg * zcosh + zsing * zcosi * zsinh;
+            double a3 = -zsing * zcosh + zcosg * zcosi * zsinh;
+            double a7 = -zcosg * zsinh + zsing * zcosi * zcosh;
+            double a8 = zsing * zsini;
+            double a9 = zsing * zsinh + zcosg * zcosi * zcosh;
+            double a10 = zcosg * zsini;
+            double a2 = cosim * a7 + sinim * a8;
+            double a4 = cosim * a9 + sinim * a10;
+            double a5 = -sinim * a7 + cosim * a8;
+            double a6 = -sinim * a9 + cosim * a10;
+
+            double x1 = a1 * cosomm + a2 * sinomm;
+            double x2 = a3 * cosomm + a4 * sinomm;
+            double x3 = -a1 * sinomm + a2 * cosomm;
+            double x4 = -a3 * sinomm + a4 * cosomm;
+            double x5 = a5 * sinomm;
+            double x6 = a6 * sinomm;
+            double x7 = a5 * cosomm;
+            double x8 = a6 * cosomm;
+
+            z31 = 12.0 * x1 * x1 - 3.0 * x3 * x3;
+            z32 = 24.0 * x1 * x2 - 6.0 * x3 * x4;
+            z33 = 12.0 * x2 * x2 - 3.0 * x4 * x4;
+            z1 = 3.0 * (a1 * a1 + a2 * a2) + z31 * emsq;
+            z2 = 6.0 * (a1 * a3 + a2 * a4) + z32 * emsq;
+            z3 = 3.0 * (a3 * a3 + a4 * a4) + z33 * emsq;
+            z11 = -6.0 * a1 * a5 + emsq * (-24.0 * x1 * x7 - 6.0 * x3 * x5);
+            z12 = -6.0 * (a1 * a6 + a3 * a5) + emsq * (-24.0 * (x2 * x7 + x1 * x8) - 6.0 * (x3 * x6 + x4 * x5));
+            z13 = -6.0 * a3 * a6 + emsq * (-24.0 * x2 * x8 - 6.0 * x4 * x6);
+            z21 = 6.0 * a2 * a5 + emsq * (24.0 * x1 * x5 - 6.0 * x3 * x7);
+            z22 = 6.0 * (a4 * a5 + a2 * a6) + emsq * (24.0 * (x2 * x5 + x1 * x6) - 6.0 * (x4 * x7 + x3 * x8));
+            z23 = 6.0 * a4 * a6 + emsq * (24.0 * x2 * x6 - 6.0 * x4 * x8);
+            z1 = z1 + z1 + betasq * z31;
+            z2 = z2 + z2 + betasq * z32;
+            z3 = z3 + z3 + betasq * z33;
+            s3 = cc * xnoi;
+            s2 = -0.5 * s3 / rtemsq;
+            s4 = s3 * rtemsq;
+            s1 = -15.0 * ecco * s4;
+            s5 = x1 * x3 + x2 * x4;
+            s6 = x2 * x3 + x1 * x4;
+            s7 = x2 * x4 - x1 * x3;
+
+            if (pass == 1) {
+                ss1 = s1;
+                ss2 = s2;
+                ss3 = s3;
+                ss4 = s4;
+                ss5 = s5;
+                ss6 = s6;
+                ss7 = s7;
+                sz1 = z1;
+                sz2 = z2;
+                sz3 = z3;
+                sz11 = z11;
+                sz12 = z12;
+                sz13 = z13;
+                sz21 = z21;
+                sz22 = z22;
+                sz23 = z23;
+                sz31 = z31;
+                sz32 = z32;
+                sz33 = z33;
+                zcosg = zcosgl;
+                zsing = zsingl;
+                zcosi = zcosil;
+                zsini = zsinil;
+                zcosh = zcoshl * cnodm + zsinhl * snodm;
+                zsinh = snodm * zcoshl - cnodm * zsinhl;
+                cc = c1l;
+            }
+        }
+
+        this.zmol = (4.7199672 + 0.22997150 * day - gam) % TWO_PI;
+        this.zmos = (6.2565837 + 0.017201977 * day) % TWO_PI;
+
+        this.se2 = 2.0 * ss1 * ss6;
+        this.se3 = 2.0 * ss1 * ss7;
+        this.si2 = 2.0 * ss2 * sz12;
+        this.si3 = 2.0 * ss2 * (sz13 - sz11);
+        this.sl2 = -2.0 * ss3 * sz2;
+        this.sl3 = -2.0 * ss3 * (sz3 - sz1);
+        this.sl4 = -2.0 * ss3 * (-21.0 - 9.0 * emsq) * ZES;
+        this.sgh2 = 2.0 * ss4 * sz32;
+        this.sgh3 = 2.0 * ss4 * (sz33 - sz31);
+        this.sgh4 = -18.0 * ss4 * ZES;
+        this.sh2 = -2.0 * ss2 * sz22;
+        this.sh3 = -2.0 * ss2 * (sz23 - sz21);
+
+        this.ee2 = 2.0 * s1 * s6;
+        this.e3 = 2.0 * s1 * s7;
+        this.xi2 = 2.0 * s2 * z12;
+        this.xi3 = 2.0 * s2 * (z13 - z11);
+        this.xl2 = -2.0 * s3 * z2;
+        this.xl3 = -2.0 * s3 * (z3 - z1);
+        this.xl4 = -2.0 * s3 * (-21.0 - 9.0 * emsq) * ZEL;
+        this.xgh2 = 2.0 * s4 * z32;
+        this.xgh3 = 2.0 * s4 * (z33 - z31);
+        this.xgh4 = -18.0 * s4 * ZEL;
+        this.xh2 = -2.0 * s2 * z22;
+        this.xh3 = -2.0 * s2 * (z23 - z21);
+
+        // dsinit
+        double nm = noUnkozai;
+        if (nm > 0.0034906585 && nm < 0.0052359877) {
+            this.irez = 1;
+        } else if (nm >= 8.26e-3 && nm <= 9.24e-3 && ecco >= 0.5) {
+            this.irez = 2;
+        } else {
+            this.irez = 0;
+        }
+
+        boolean equatorial = inclo < 5.2359877e-2 || inclo > Math.PI - 5.2359877e-2;
+        double ses = ss1 * ZNS * ss5;
+        double sis = ss2 * ZNS * (sz11 + sz13);
+        double sls = -ZNS * ss3 * (sz1 + sz3 - 14.0 - 6.0 * emsq);
+        double sghs = ss4 * ZNS * (sz31 + sz33 - 6.0);
+        double shs = equatorial ? 0.0 : -ZNS * ss2 * (sz21 + sz23);
+        if (sinim != 0.0) {
+            shs = shs / sinim;
+        }
+        double sgs = sghs - cosim * shs;
+
+        this.dedt = ses + s1 * ZNL * s5;
+        this.didt = sis + s2 * ZNL * (z11 + z13);
+        this.dmdt = sls - ZNL * s3 * (z1 + z3 - 14.0 - 6.0 * emsq);
+        double sghl = s4 * ZNL * (z31 + z33 - 6.0);
+        double shll = equatorial ? 0.0 : -ZNL * s2 * (z21 + z23);
+        double domdt = sgs + sghl;
+        double dnodt = shs;
+        if (sinim != 0.0) {
+            domdt = domdt - cosim / sinim * shll;
+            dnodt = dnodt + shll / sinim;
+        }
+        this.domdt = domdt;
+        this.dnodt = dnodt;
+
+        double theta = gsto % TWO_PI;
+        double aonv = Math.pow(nm / Sgp4Propagator.XKE, X2O3);
+
+        if (irez == 2) {
+            // Geopotential resonance for 12 hour orbits
+            double cosisq = cosim * cosim;
+            double em = ecco;
+            double eoc = em * emsq;
+            double g201 = -0.306 - (em - 0.64) * 0.440;
+            double g211, g310, g322, g410, g422, g520, g521, g532, g533;
+
+            if (em <= 0.65) {
+                g211 = 3.616 - 13.2470 * em + 16.2900 * emsq;
+                g310 = -19.302 + 117.3900 * em - 228.4190 * emsq + 156.5910 * eoc;
+                g322 = -18.9068 + 109.7927 * em - 214.6334 * emsq + 146.5816 * eoc;
+                g410 = -41.122 + 242.6940 * em - 471.0940 * emsq + 313.9530 * eoc;
+                g422 = -146.407 + 841.8800 * em - 1629.014 * emsq + 1083.4350 * eoc;
+                g520 = -532.114 + 3017.977 * em - 5740.032 * emsq + 3708.2760 * eoc;
+            } else {
+                g211 = -72.099 + 331.819 * em - 508.738 * emsq + 266.724 * eoc;
+                g310 = -346.844 + 1582.851 * em - 2415.925 * emsq + 1246.113 * eoc;
+                g322 = -342.585 + 1554.908 * em - 2366.899 * emsq + 1215.972 * eoc;
+                g410 = -1052.797 + 4758.686 * em - 7193.992 * emsq + 3651.957 * eoc;
+                g422 = -3581.690 + 16178.110 * em - 24462.770 * emsq + 12422.520 * eoc;
+                if (em > 0.715) {
+                    g520 = -5149.66 + 29936.92 * em - 54087.36 * emsq + 31324.56 * eoc;
+                } else {
+                    g520 = 1464.74 - 4664.75 * em + 3763.64 * emsq;
+                }
+            }
+            if (em < 0.7) {
+                g533 = -919.22770 + 4988.6100 * em - 9064.7700 * emsq + 5542.21 * eoc;
+                g521 = -822.71072 + 4568.6173 * em - 8491.4146 * emsq + 5337.524 * eoc;
+                g532 = -853.66600 + 4690.2500 * em - 8624.7700 * emsq + 5341.4 * eoc;
+            } else {
+                g533 = -37995.780 + 161616.52 * em - 229838.20 * emsq + 109377.94 * eoc;
+                g521 = -51752.104 + 218913.95 * em - 309468.16 * emsq + 146349.42 * eoc;
+                g532 = -40023.880 + 170470.89 * em - 242699.48 * emsq + 115605.82 * eoc;
+            }
+
+            double sini2 = sinim * sinim;
+            double f220 = 0.75 * (1.0 + 2.0 * cosim + cosisq);
+            double f221 = 1.5 * sini2;
+            double f321 = 1.875 * sinim * (1.0 - 2.0 * cosim - 3.0 * cosisq);
+            double f322 = -1.875 * sinim * (1.0 + 2.0 * cosim - 3.0 * cosisq);
+            double f441 = 35.0 * sini2 * f220;
+            double f442 = 39.3750 * sini2 * sini2;
+            double f522 = 9.84375 * sinim * (sini2 * (1.0 - 2.0 * cosim - 5.0 * cosisq)
+                    + 0.33333333 * (-2.0 + 4.0 * cosim + 6.0 * cosisq));
+            double f523 = sinim * (4.92187512 * sini2 * (-2.0 - 4.0 * cosim + 10.0 * cosisq)
+                    + 6.56250012 * (1.0 + 2.0 * cosim - 3.0 * cosisq));
+            double f542 = 29.53125 * sinim * (2.0 - 8.0 * cosim + cosisq * (-12.0 + 8.0 * cosim + 10.0 * cosisq));
+            double f543 = 29.53125 * sinim * (-2.0 - 8.0 * cosim + cosisq * (12.0 + 8.0 * cosim - 10.0 * cosisq));
+
+            double temp1 = 3.0 * nm * nm * aonv * aonv;
+            double temp = temp1 * 1.7891679e-6;
+            this.d2201 = temp * f220 * g201;
+            this.d2211 = temp * f221 * g211;
+            temp1 = temp1 * aonv;
+            temp = temp1 * 3.7393792e-7;
+            this.d3210 = temp * f321 * g310;
+            this.d3222 = temp * f322 * g322;
+            temp1 = temp1 * aonv;
+            temp = 2.0 * temp1 * 7.3636953e-9;
+            this.d4410 = temp * f441 * g410;
+            this.d4422 = temp * f442 * g422;
+            temp1 = temp1 * aonv;
+            temp = temp1 * 1.1428639e-7;
+            this.d5220 = temp * f522 * g520;
+            this.d5232 = temp * f523 * g532;
+            temp = 2.0 * temp1 * 2.1765803e-9;
+            this.d5421 = temp * f542 * g521;
+            this.d5433 = temp * f543 * g533;
+            this.xlamo = (mo + nodeo + nodeo - theta - theta) % TWO_PI;
+            this.xfact = mdot + dmdt + 2.0 * (nodedot + dnodt - RPTIM) - noUnkozai;
+        } else if (irez == 1) {
+            // Synchronous resonance terms
+            double g200 = 1.0 + emsq * (-2.5 + 0.8125 * emsq);
+            double g310 = 1.0 + 2.0 * emsq;
+            double g300 = 1.0 + emsq * (-6.0 + 6.60937 * emsq);
+            double f220 = 0.75 * (1.0 + cosim) * (1.0 + cosim);
+            double f311 = 0.9375 * sinim * sinim * (1.0 + 3.0 * cosim) - 0.75 * (1.0 + cosim);
+            double f330 = 1.0 + cosim;
+            f330 = 1.875 * f330 * f330 * f330;
+            double del = 3.0 * nm * nm * aonv * aonv;
+            this.del2 = 2.0 * del * f220 * g200 * 1.7891679e-6;
+            this.del3 = 3.0 * del * f330 * g300 * 2.2123015e-7 * aonv;
+            this.del1 = del * f311 * g310 * 2.1460748e-6 * aonv;
+            this.xlamo = (mo + nodeo + argpo - theta) % TWO_PI;
+            this.xfact = mdot + (argpdot + nodedot) - RPTIM + dmdt + domdt + dnodt - noUnkozai;
+        }
+    }
+
+    // dspace: secular lunar-solar rates and the resonance integrator, applied to the drag-updated mean elements
+    void secular(double t, MeanElements m) {
+        m.em = m.em + dedt * t;
+        m.inclm = m.inclm + didt * t;
+        m.argpm = m.argpm + domdt * t;
+        m.nodem = m.nodem + dnodt * t;
+        m.mm = m.mm + dmdt * t;
+
+        if (irez == 0) {
+            return;
+        }
+
+        double theta = (gsto + t * RPTIM) % TWO_PI;
+        double delt = t > 0.0 ? STEPP : STEPN;
+        double atime = 0.0;
+        double xni = noUnkozai;
+        double xli = xlamo;
+        double xndt;
+        double xldot;
+        double xnddt;
+
+        while (true) {
+            if (irez != 2) {
+                xndt = del1 * Math.sin(xli - FASX2) + del2 * Math.sin(2.0 * (xli - FASX4))
+                        + del3 * Math.sin(3.0 * (xli - FASX6));
+                xldot = xni + xfact;
+                xnddt = del1 * Math.cos(xli - FASX2) + 2.0 * del2 * Math.cos(2.0 * (xli - FASX4))
+                        + 3.0 * del3 * Math.cos(3.0 * (xli - FASX6));
+            } else {
+                double xomi = argpo + argpdot * atime;
+                double x2omi = xomi + xomi;
+                double x2li = xli + xli;
+                xndt = d2201 * Math.sin(x2omi + xli - G22) + d2211 * Math.sin(xli - G22)
+                        + d3210 * Math.sin(xomi + xli - G32) + d3222 * Math.sin(-xomi + xli - G32)
+                        + d4410 * Math.sin(x2omi + x2li - G44) + d4422 * Math.sin(x2li - G44)
+                        + d5220 * Math.sin(xomi + xli - G52) + d5232 * Math.sin(-xomi + xli - G52)
+                        + d5421 * Math.sin(xomi + x2li - G54) + d5433 * Math.sin(-xomi + x2li - G54);
+                xldot = xni + xfact;
+                xnddt = d2201 * Math.cos(x2omi + xli - G22) + d2211 * Math.cos(xli - G22)
+                        + d3210 * Math.cos(xomi + xli - G32) + d3222 * Math.cos(-xomi + xli - G32)
+                        + d5220 * Math.cos(xomi + xli - G52) + d5232 * Math.cos(-xomi + xli - G52)
+                        + 2.0 * (d4410 * Math.cos(x2omi + x2li - G44) + d4422 * Math.cos(x2li - G44)
+                        + d5421 * Math.cos(xomi + x2li - G54) + d5433 * Math.cos(-xomi + x2li - G54));
+            }
+            xnddt = xnddt * xldot;
+
+            if (Math.abs(t - atime) < STEPP) {
+                break;
+            }
+            xli = xli + xldot * delt + xndt * STEP2;
+            xni = xni + xndt * delt + xnddt * STEP2;
+            atime = atime + delt;
+        }
+
+        double ft = t - atime;
+        double nm = xni + xndt * ft + xnddt * ft * ft * 0.5;
+        double xl = xli + xldot * ft + xndt * ft * ft * 0.5;
+        if (irez != 1) {
+            m.mm = xl - 2.0 * m.nodem + 2.0 * theta;
+        } else {
+            m.mm = xl - m.nodem - m.argpm + theta;
+        }
+        m.nm = nm;
+    }
+
+    // dpper: lunar-solar periodics, with the Lyddane modification for low inclinations
+    void periodics(double t, MeanElements m) {
+        double zm = zmos + ZNS * t;
+        double zf = zm + 2.0 * ZES * Math.sin(zm);
+        double sinzf = Math.sin(zf);
+        double f2 = 0.5 * sinzf * sinzf - 0.25;
+        double f3 = -0.5 * sinzf * Math.cos(zf);
+        double ses = se2 * f2 + se3 * f3;
+        double sis = si2 * f2 + si3 * f3;
+        double sls = sl2 * f2 + sl3 * f3 + sl4 * sinzf;
+        double sghs = sgh2 * f2 + sgh3 * f3 + sgh4 * sinzf;
+        double shs = sh2 * f2 + sh3 * f3;
+
+        zm = zmol + ZNL * t;
+        zf = zm + 2.0 * ZEL * Math.sin(zm);
+        sinzf = Math.sin(zf);
+        f2 = 0.5 * sinzf * sinzf - 0.25;
+        f3 = -0.5 * sinzf * Math.cos(zf);
+        double sel = ee2 * f2 + e3 * f3;
+        double sil = xi2 * f2 + xi3 * f3;
+        double sll = xl2 * f2 + xl3 * f3 + xl4 * sinzf;
+        double sghl = xgh2 * f2 + xgh3 * f3 + xgh4 * sinzf;
+        double shll = xh2 * f2 + xh3 * f3;
+
+        // Vallado's epoch offsets (peo, pinco, ...) are never set from zero, so the periodics are applied in full
+        double pe = ses + sel;
+        double pinc = sis + sil;
+        double pl = sls + sll;
+        double pgh = sghs + sghl;
+        double ph = shs + shll;
+
+        m.inclm = m.inclm + pinc;
+        m.em = m.em + pe;
+        double sinip = Math.sin(m.inclm);
+        double cosip = Math.cos(m.inclm);
+
+        if (m.inclm >= 0.2) {
+            ph = ph / sinip;
+            pgh = pgh - cosip * ph;
+            m.argpm = m.argpm + pgh;
+            m.nodem = m.nodem + ph;
+            m.mm = m.mm + pl;
+        } else {
+            double sinop = Math.sin(m.nodem);
+            double cosop = Math.cos(m.nodem);
+            double alfdp = sinip * sinop + (ph * cosop + pinc * cosip * sinop);
+            double betdp = sinip * cosop + (-ph * sinop + pinc * cosip * cosop);
+            double nodep = m.nodem % TWO_PI;
+            double xls = m.mm + m.argpm + cosip * nodep + pl + pgh - pinc * nodep * sinip;
+            double xnoh = nodep;
+            nodep = Math.atan2(alfdp, betdp);
+            if (Math.abs(xnoh - nodep) > Math.PI) {
+                nodep = nodep < xnoh ? nodep + TWO_PI : nodep - TWO_PI;
+            }
+            m.mm = m.mm + pl;
+            m.argpm = xls - m.mm - cosip * nodep;
+            m.nodem = nodep;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.application.server.orbit;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Struct-of-arrays copy of initialised SGP4 constants for a whole catalog, one dense slot per object.
+ *
+ * Slots are packed in the order given (the catalog is NORAD-ordered), so a batch walks each array
+ * sequentially instead of chasing one propagator object per satellite. For simplified-drag orbits the
+ * full-drag coefficients are stored as zero, which lets the batch kernels evaluate both models with the
+ * same branch-free arithmetic. Deep-space slots are packed too, but the batch kernels overwrite them with
+ * the full SDP4 result from the propagators kept in {@link #deepSpace}.
+ */
+public final class ElementStore {
+    final int size;
+    final int[] noradCatIds;
+    final double[] epochSeconds; // element epoch as fractional Unix seconds
+
+    final double[] mo;
+    final double[] mdot;
+    final double[] argpo;
+    final double[] argpdot;
+    final double[] nodeo;
+    final double[] nodedot;
+    final double[] nodecf;
+    final double[] noUnkozai;
+    final double[] ao;
+    final double[] ecco;
+    final double[] inclo;
+    final double[] sinio;
+    final double[] cosio;
+    final double[] bstar;
+    final double[] cc1;
+    final double[] cc4;
+    final double[] cc5;
+    final double[] d2;
+    final double[] d3;
+    final double[] d4;
+    final double[] t2cof;
+    final double[] t3cof;
+    final double[] t4cof;
+    final double[] t5cof;
+    final double[] omgcof;
+    final double[] xmcof;
+    final double[] eta;
+    final double[] delmo;
+    final double[] sinmao;
+    final double[] con41;
+    final double[] x1mth2;
+    final double[] x7thm1;
+    final double[] xlcof;
+    final double[] aycof;
+
+    // Slots that need the lunar-solar terms, with the propagator that evaluates them
+    final int[] deepSpaceSlots;
+    final Sgp4Propagator[] deepSpace;
+
+    private final int[] slotByNorad;
+
+    private ElementStore(int size, int maxNorad, int deepSpaceCount) {
+        this.size = size;
+        this.noradCatIds = new int[size];
+        this.epochSeconds = new double[size];
+        this.mo = new double[size];
+        this.mdot = new double[size];
+        this.argpo = new double[size];
+        this.argpdot = new double[size];
+        this.nodeo = new double[size];
+        this.nodedot = new double[size];
+        this.nodecf = new double[size];
+        this.noUnkozai = new double[size];
+        this.ao = new double[size];
+        this.ecco = new double[size];
+        this.inclo = new double[size];
+        this.sinio = new double[size];
+        this.cosio = new double[size];
+        this.bstar = new double[size];
+        this.cc1 = new double[size];
+        this.cc4 = new double[size];
+        this.cc5 = new double[size];
+        this.d2 = new double[size];
+        this.d3 = new double[size];
+        this.d4 = new double[size];
+        this.t2cof = new double[size];
+        this.t3cof = new double[size];
+        this.t4cof = new double[size];
+        this.t5cof = new double[size];
+        this.omgcof = new double[size];
+        this.xmcof = new double[size];
+        this.eta = new double[size];
+        this.delmo = new double[size];
+        this.sinmao = new double[size];
+        this.con41 = new double[size];
+        this.x1mth2 = new double[size];
+        this.x7thm1 = new double[size];
+        this.xlcof = new double[size];
+        this.aycof = new double[size];
+        this.deepSpaceSlots = new int[deepSpaceCount];
+        this.deepSpace = new Sgp4Propagator[deepSpaceCount];
+        this.slotByNorad = new int[maxNorad + 1];
+        Arrays.fill(slotByNorad, -1);
+    }
+
+    public static ElementStore of(List<Sgp4Propagator> propagators) {
+        int maxNorad = 0;
+        int deepSpaceCount = 0;
+        for (Sgp4Propagator propagator : propagators) {
+            maxNorad = Math.max(maxNorad, propagator.getElements().noradCatId());
+            if (propagator.isDeepSpace()) {
+                deepSpaceCount++;
+            }
+        }
+
+        ElementStore store = new ElementStore(propagators.size(), maxNorad, deepSpaceCount);
+        int deepSpaceIndex = 0;
+        for (int slot = 0; slot < propagators.size(); slot++) {
+            Sgp4Propagator propagator = propagators.get(slot);
+            store.pack(slot, propagator);
+            if (propagator.isDeepSpace()) {
+                store.deepSpaceSlots[deepSpaceIndex] = slot;
+                store.deepSpace[deepSpaceIndex] = propagator;
+                deepSpaceIndex++;
+            }
+        }
+        return store;
+    }
+
+    private void pack(int slot, Sgp4Propagator p) {
+        TleElements elements = p.getElements();
+        Instant epoch = elements.epoch();
+        noradCatIds[slot] = elements.noradCatId();
+        slotByNorad[elements.noradCatId()] = slot;
+        epochSeconds[slot] = epoch.getEpochSecond() + epoch.getNano() / 1e9;
+
+        mo[slot] = p.mo;
+        mdot[slot] = p.mdot;
+        argpo[slot] = p.argpo;
+        argpdot[slot] = p.argpdot;
+        nodeo[slot] = p.nodeo;
+        nodedot[slot] = p.nodedot;
+        nodecf[slot] = p.nodecf;
+        noUnkozai[slot] = p.noUnkozai;
+        ao[slot] = p.ao;
+        ecco[slot] = p.ecco;
+        inclo[slot] = p.inclo;
+        sinio[slot] = Math.sin(p.inclo);
+        cosio[slot] = Math.cos(p.inclo);
+        bstar[slot] = p.bstar;
+        cc1[slot] = p.cc1;
+        cc4[slot] = p.cc4;
+        t2cof[slot] = p.t2cof;
+        eta[slot] = p.eta;
+        delmo[slot] = p.delmo;
+        sinmao[slot] = p.sinmao;
+        con41[slot] = p.con41;
+        x1mth2[slot] = p.x1mth2;
+        x7thm1[slot] = p.x7thm1;
+        xlcof[slot] = p.xlcof;
+        aycof[slot] = p.aycof;
+
+        // Left at zero for simplified-drag orbits, which turns the full-drag terms into no-ops
+        if (!p.isimp) {
+            cc5[slot] = p.cc5;
+            d2[slot] = p.d2;
+            d3[slot] = p.d3;
+            d4[slot] = p.d4;
+            t3cof[slot] = p.t3cof;
+            t4cof[slot] = p.t4cof;
+            t5cof[slot] = p.t5cof;
+            omgcof[slot] = p.omgcof;
+            xmcof[slot] = p.xmcof;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int noradCatId(int slot) {
+        return noradCatIds[slot];
+    }
+
+    // Dense slot of a NORAD ID, or -1 when the object is not in the store
+    public int slotOf(int noradCatId) {
+        return noradCatId >= 0 && noradCatId < slotByNorad.length ? slotByNorad[noradCatId] : -1;
+    }
+}
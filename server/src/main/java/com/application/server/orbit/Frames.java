@@ -0,0 +1,50 @@
+package com.application.server.orbit;
+
+// Reference frame conversions for SGP4 output (polar motion and nutation are ignored)
+public final class Frames {
+    private static final double TWO_PI = 2.0 * Math.PI;
+    private static final double WGS84_A = 6378.137;
+    private static final double WGS84_F = 1.0 / 298.257223563;
+    private static final double WGS84_E2 = WGS84_F * (2.0 - WGS84_F);
+
+    private Frames() {
+    }
+
+    // Greenwich mean sidereal time (radians) for a UT1 Julian date, IAU-82 model
+    public static double gmst(double julianDate) {
+        double tut1 = (julianDate - 2451545.0) / 36525.0;
+        double seconds = -6.2e-6 * tut1 * tut1 * tut1 + 0.093104 * tut1 * tut1
+                + (876600.0 * 3600.0 + 8640184.812866) * tut1 + 67310.54841;
+        double gmst = (seconds * Math.PI / 180.0 / 240.0) % TWO_PI;
+        return gmst < 0.0 ? gmst + TWO_PI : gmst;
+    }
+
+    // Rotates a TEME position into the Earth-fixed frame in place
+    public static void temeToEcef(double[] position, double gmst) {
+        double cos = Math.cos(gmst);
+        double sin = Math.sin(gmst);
+        double x = position[0];
+        double y = position[1];
+        position[0] = cos * x + sin * y;
+        position[1] = -sin * x + cos * y;
+    }
+
+    // Converts an Earth-fixed position (km) into {latitude deg, longitude deg, altitude km} on WGS-84
+    public static void ecefToGeodetic(double x, double y, double z, double[] out) {
+        double longitude = Math.atan2(y, x);
+        double p = Math.sqrt(x * x + y * y);
+        double latitude = Math.atan2(z, p * (1.0 - WGS84_E2));
+        double altitude = 0.0;
+
+        for (int i = 0; i < 5; i++) {
+            double sinLat = Math.sin(latitude);
+            double n = WGS84_A / Math.sqrt(1.0 - WGS84_E2 * sinLat * sinLat);
+            altitude = p / Math.cos(latitude) - n;
+            latitude = Math.atan2(z, p * (1.0 - WGS84_E2 * n / (n + altitude)));
+        }
+
+        out[0] = Math.toDegrees(latitude);
+        out[1] = Math.toDegrees(longitude);
+        out[2] = altitude;
+    }
+}
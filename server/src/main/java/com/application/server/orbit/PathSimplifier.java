@@ -0,0 +1,75 @@
+package com.application.server.orbit;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * Curvature-adaptive polyline simplification (Ramer-Douglas-Peucker on 3D points).
+ * Straight stretches collapse to a few vertices while tight turns, such as perigee passes, keep their density.
+ */
+public final class PathSimplifier {
+
+    private PathSimplifier() {
+    }
+
+    /**
+     * Returns a keep-mask over {@code points} (x, y, z rows) such that no dropped point lies further
+     * than {@code tolerance} from the simplified path. The first and last points are always kept.
+     */
+    public static boolean[] simplify(double[][] points, double tolerance) {
+        int count = points.length;
+        boolean[] keep = new boolean[count];
+        if (count <= 2 || tolerance <= 0.0) {
+            Arrays.fill(keep, true);
+            return keep;
+        }
+
+        keep[0] = true;
+        keep[count - 1] = true;
+        double toleranceSq = tolerance * tolerance;
+
+        Deque<int[]> ranges = new ArrayDeque<>();
+        ranges.push(new int[] { 0, count - 1 });
+        while (!ranges.isEmpty()) {
+            int[] range = ranges.pop();
+            int first = range[0];
+            int last = range[1];
+
+            int farthest = -1;
+            double farthestDistanceSq = toleranceSq;
+            for (int i = first + 1; i < last; i++) {
+                double distanceSq = segmentDistanceSq(points[i], points[first], points[last]);
+                if (distanceSq > farthestDistanceSq) {
+                    farthest = i;
+                    farthestDistanceSq = distanceSq;
+                }
+            }
+
+            if (farthest >= 0) {
+                keep[farthest] = true;
+                ranges.push(new int[] { first, farthest });
+                ranges.push(new int[] { farthest, last });
+            }
+        }
+        return keep;
+    }
+
+    private static double segmentDistanceSq(double[] p, double[] a, double[] b) {
+        double abx = b[0] - a[0];
+        double aby = b[1] - a[1];
+        double abz = b[2] - a[2];
+        double apx = p[0] - a[0];
+        double apy = p[1] - a[1];
+        double apz = p[2] - a[2];
+
+        double lengthSq = abx * abx + aby * aby + abz * abz;
+        double t = lengthSq == 0.0 ? 0.0 : (apx * abx + apy * aby + apz * abz) / lengthSq;
+        t = Math.max(0.0, Math.min(1.0, t));
+
+        double dx = apx - t * abx;
+        double dy = apy - t * aby;
+        double dz = apz - t * abz;
+        return dx * dx + dy * dy + dz * dz;
+    }
+}
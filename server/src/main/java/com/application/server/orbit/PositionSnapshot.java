@@ -0,0 +1,18 @@
+package com.application.server.orbit;
+
+import java.time.Instant;
+
+/**
+ * Geodetic positions of the whole catalog at one instant, stored column-wise.
+ * Group entries hold {@code SatelliteGroup.ordinal()} or -1 for objects outside a tracked constellation.
+ */
+public record PositionSnapshot(
+        Instant time,
+        long catalogVersion,
+        int size,
+        int[] noradCatIds,
+        byte[] groups,
+        float[] latitudes,
+        float[] longitudes,
+        float[] altitudes
+) {}
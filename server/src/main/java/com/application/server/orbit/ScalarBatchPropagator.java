@@ -0,0 +1,137 @@
+package com.application.server.orbit;
+
+import static com.application.server.orbit.Sgp4Propagator.J2;
+import static com.application.server.orbit.Sgp4Propagator.RADIUS_EARTH_KM;
+import static com.application.server.orbit.Sgp4Propagator.TWO_PI;
+
+// Position-only SGP4 over the struct-of-arrays store, one slot at a time
+public class ScalarBatchPropagator implements BatchPropagator {
+
+    @Override
+    public void propagate(ElementStore store, double unixSeconds, double[] x, double[] y, double[] z) {
+        for (int slot = 0; slot < store.size; slot++) {
+            propagateSlot(store, slot, unixSeconds, x, y, z);
+        }
+        propagateDeepSpace(store, unixSeconds, x, y, z);
+    }
+
+    // Replaces the near-earth result of every deep-space slot with the full SDP4 position
+    static void propagateDeepSpace(ElementStore s, double unixSeconds, double[] x, double[] y, double[] z) {
+        double[] state = new double[6];
+        for (int k = 0; k < s.deepSpaceSlots.length; k++) {
+            int i = s.deepSpaceSlots[k];
+            if (!s.deepSpace[k].propagate((unixSeconds - s.epochSeconds[i]) / 60.0, state)) {
+                markInvalid(i, x, y, z);
+                continue;
+            }
+            x[i] = state[0];
+            y[i] = state[1];
+            z[i] = state[2];
+        }
+    }
+
+    // Same arithmetic as Sgp4Propagator.propagate without the velocity or deep-space terms
+    static void propagateSlot(ElementStore s, int i, double unixSeconds, double[] x, double[] y, double[] z) {
+        double tsince = (unixSeconds - s.epochSeconds[i]) / 60.0;
+        double t2 = tsince * tsince;
+        double t3 = t2 * tsince;
+        double t4 = t3 * tsince;
+
+        // Secular gravity and drag; the full-drag coefficients are zero for simplified-drag slots
+        double xmdf = s.mo[i] + s.mdot[i] * tsince;
+        double argpdf = s.argpo[i] + s.argpdot[i] * tsince;
+        double nodem = s.nodeo[i] + s.nodedot[i] * tsince + s.nodecf[i] * t2;
+        double delmtemp = 1.0 + s.eta[i] * Math.cos(xmdf);
+        double delm = s.xmcof[i] * (delmtemp * delmtemp * delmtemp - s.delmo[i]);
+        double temp = s.omgcof[i] * tsince + delm;
+        double mm = xmdf + temp;
+        double argpm = argpdf - temp;
+        double tempa = 1.0 - s.cc1[i] * tsince - s.d2[i] * t2 - s.d3[i] * t3 - s.d4[i] * t4;
+        double tempe = s.bstar[i] * s.cc4[i] * tsince + s.bstar[i] * s.cc5[i] * (Math.sin(mm) - s.sinmao[i]);
+        double templ = s.t2cof[i] * t2 + s.t3cof[i] * t3 + t4 * (s.t4cof[i] + tsince * s.t5cof[i]);
+
+        double am = s.ao[i] * tempa * tempa;
+        double em = s.ecco[i] - tempe;
+        if (s.noUnkozai[i] <= 0.0 || em >= 1.0 || em < -0.001) {
+            markInvalid(i, x, y, z);
+            return;
+        }
+        em = Math.max(em, 1.0e-6);
+
+        mm = mm + s.noUnkozai[i] * templ;
+        double xlm = mm + argpm + nodem;
+        nodem = nodem % TWO_PI;
+        argpm = argpm % TWO_PI;
+        xlm = xlm % TWO_PI;
+        mm = (xlm - argpm - nodem) % TWO_PI;
+
+        // Long-period periodics
+        double axnl = em * Math.cos(argpm);
+        temp = 1.0 / (am * (1.0 - em * em));
+        double aynl = em * Math.sin(argpm) + temp * s.aycof[i];
+        double xl = mm + argpm + nodem + temp * s.xlcof[i] * axnl;
+
+        // Kepler's equation
+        double u = (xl - nodem) % TWO_PI;
+        double eo1 = u;
+        double tem5 = 9999.9;
+        double sineo1 = 0.0;
+        double coseo1 = 0.0;
+        for (int ktr = 1; Math.abs(tem5) >= 1.0e-12 && ktr <= 10; ktr++) {
+            sineo1 = Math.sin(eo1);
+            coseo1 = Math.cos(eo1);
+            tem5 = (u - aynl * coseo1 + axnl * sineo1 - eo1) / (1.0 - coseo1 * axnl - sineo1 * aynl);
+            tem5 = Math.max(-0.95, Math.min(0.95, tem5));
+            eo1 = eo1 + tem5;
+        }
+
+        // Short-period periodics
+        double ecose = axnl * coseo1 + aynl * sineo1;
+        double esine = axnl * sineo1 - aynl * coseo1;
+        double el2 = axnl * axnl + aynl * aynl;
+        double pl = am * (1.0 - el2);
+        if (pl < 0.0) {
+            markInvalid(i, x, y, z);
+            return;
+        }
+
+        double rl = am * (1.0 - ecose);
+        double betal = Math.sqrt(1.0 - el2);
+        temp = esine / (1.0 + betal);
+        double sinu = am / rl * (sineo1 - aynl - axnl * temp);
+        double cosu = am / rl * (coseo1 - axnl + aynl * temp);
+        double su = Math.atan2(sinu, cosu);
+        double sin2u = (cosu + cosu) * sinu;
+        double cos2u = 1.0 - 2.0 * sinu * sinu;
+        temp = 1.0 / pl;
+        double temp1 = 0.5 * J2 * temp;
+        double temp2 = temp1 * temp;
+
+        double mrt = rl * (1.0 - 1.5 * temp2 * betal * s.con41[i]) + 0.5 * temp1 * s.x1mth2[i] * cos2u;
+        if (mrt < 1.0) {
+            markInvalid(i, x, y, z);
+            return;
+        }
+        su = su - 0.25 * temp2 * s.x7thm1[i] * sin2u;
+        double xnode = nodem + 1.5 * temp2 * s.cosio[i] * sin2u;
+        double xinc = s.inclo[i] + 1.5 * temp2 * s.cosio[i] * s.sinio[i] * cos2u;
+
+        double sinsu = Math.sin(su);
+        double cossu = Math.cos(su);
+        double snod = Math.sin(xnode);
+        double cnod = Math.cos(xnode);
+        double sini = Math.sin(xinc);
+        double cosi = Math.cos(xinc);
+        double scale = mrt * RADIUS_EARTH_KM;
+
+        x[i] = scale * (-snod * cosi * sinsu + cnod * cossu);
+        y[i] = scale * (cnod * cosi * sinsu + snod * cossu);
+        z[i] = scale * sini * sinsu;
+    }
+
+    private static void markInvalid(int i, double[] x, double[] y, double[] z) {
+        x[i] = Double.NaN;
+        y[i] = Double.NaN;
+        z[i] = Double.NaN;
+    }
+}
@@ -0,0 +1,376 @@
+package com.application.server.orbit;
+
+/**
+ * SGP4 propagator (WGS-72 constants) following Vallado's reference implementation.
+ *
+ * Near-earth objects use SGP4; deep-space objects (period >= 225 minutes) switch to SDP4, adding the
+ * lunar-solar and geopotential resonance terms from {@link DeepSpace}. The batch propagators only
+ * vectorise the near-earth model and hand deep-space slots back to this class.
+ * Output is position (km) and velocity (km/s) in the TEME frame.
+ */
+public class Sgp4Propagator {
+    public static final double RADIUS_EARTH_KM = 6378.135;
+    public static final double MU = 398600.8;
+    public static final double XKE = 60.0 / Math.sqrt(RADIUS_EARTH_KM * RADIUS_EARTH_KM * RADIUS_EARTH_KM / MU);
+    public static final double J2 = 0.001082616;
+    public static final double J3 = -0.00000253881;
+    public static final double J4 = -0.00000165597;
+    public static final double J3OJ2 = J3 / J2;
+
+    static final double TWO_PI = 2.0 * Math.PI;
+    private static final double X2O3 = 2.0 / 3.0;
+    static final double VKMPERSEC = RADIUS_EARTH_KM * XKE / 60.0;
+
+    private final TleElements elements;
+    private final boolean deepSpace;
+    private final DeepSpace deepSpaceTerms;
+
+    // Initialised constants, read directly by ElementStore when packing a batch
+    final double ecco;
+    final double inclo;
+    final double argpo;
+    final double nodeo;
+    final double mo;
+    final double bstar;
+    final double noUnkozai;
+    final double ao;
+    final boolean isimp;
+    final double con41;
+    final double x1mth2;
+    final double x7thm1;
+    final double cc1;
+    final double cc4;
+    final double cc5;
+    final double d2;
+    final double d3;
+    final double d4;
+    final double delmo;
+    final double eta;
+    final double argpdot;
+    final double omgcof;
+    final double sinmao;
+    final double t2cof;
+    final double t3cof;
+    final double t4cof;
+    final double t5cof;
+    final double xlcof;
+    final double aycof;
+    final double xmcof;
+    final double nodecf;
+    final double mdot;
+    final double nodedot;
+
+    public Sgp4Propagator(TleElements elements) {
+        this.elements = elements;
+        this.ecco = elements.eccentricity();
+        this.inclo = elements.inclination();
+        this.argpo = elements.argPerigee();
+        this.nodeo = elements.raan();
+        this.mo = elements.meanAnomaly();
+        this.bstar = elements.bstar();
+
+        // initl: recover the original mean motion and semi-major axis
+        double noKozai = elements.meanMotion();
+        double eccsq = ecco * ecco;
+        double omeosq = 1.0 - eccsq;
+        double rteosq = Math.sqrt(omeosq);
+        double cosio = Math.cos(inclo);
+        double cosio2 = cosio * cosio;
+
+        double ak = Math.pow(XKE / noKozai, X2O3);
+        double d1 = 0.75 * J2 * (3.0 * cosio2 - 1.0) / (rteosq * omeosq);
+        double del = d1 / (ak * ak);
+        double adel = ak * (1.0 - del * del - del * (1.0 / 3.0 + 134.0 * del * del / 81.0));
+        del = d1 / (adel * adel);
+        this.noUnkozai = noKozai / (1.0 + del);
+        this.ao = Math.pow(XKE / noUnkozai, X2O3);
+
+        double sinio = Math.sin(inclo);
+        double po = ao * omeosq;
+        double con42 = 1.0 - 5.0 * cosio2;
+        this.con41 = -con42 - cosio2 - cosio2;
+        double posq = po * po;
+        double rp = ao * (1.0 - ecco);
+
+        this.deepSpace = TWO_PI / noUnkozai >= 225.0;
+
+        // sgp4init
+        double ss = 78.0 / RADIUS_EARTH_KM + 1.0;
+        double qzms2t = Math.pow((120.0 - 78.0) / RADIUS_EARTH_KM, 4);
+        double sfour = ss;
+        double qzms24 = qzms2t;
+        double perige = (rp - 1.0) * RADIUS_EARTH_KM;
+        if (perige < 156.0) {
+            sfour = perige - 78.0;
+            if (perige < 98.0) {
+                sfour = 20.0;
+            }
+            qzms24 = Math.pow((120.0 - sfour) / RADIUS_EARTH_KM, 4);
+            sfour = sfour / RADIUS_EARTH_KM + 1.0;
+        }
+
+        double pinvsq = 1.0 / posq;
+        double tsi = 1.0 / (ao - sfour);
+        this.eta = ao * ecco * tsi;
+        double etasq = eta * eta;
+        double eeta = ecco * eta;
+        double psisq = Math.abs(1.0 - etasq);
+        double coef = qzms24 * Math.pow(tsi, 4);
+        double coef1 = coef / Math.pow(psisq, 3.5);
+        double cc2 = coef1 * noUnkozai * (ao * (1.0 + 1.5 * etasq + eeta * (4.0 + etasq))
+                + 0.375 * J2 * tsi / psisq * con41 * (8.0 + 3.0 * etasq * (8.0 + etasq)));
+        this.cc1 = bstar * cc2;
+        double cc3 = ecco > 1.0e-4 ? -2.0 * coef * tsi * J3OJ2 * noUnkozai * sinio / ecco : 0.0;
+        this.x1mth2 = 1.0 - cosio2;
+        this.cc4 = 2.0 * noUnkozai * coef1 * ao * omeosq * (eta * (2.0 + 0.5 * etasq) + ecco * (0.5 + 2.0 * etasq)
+                - J2 * tsi / (ao * psisq) * (-3.0 * con41 * (1.0 - 2.0 * eeta + etasq * (1.5 - 0.5 * eeta))
+                + 0.75 * x1mth2 * (2.0 * etasq - eeta * (1.0 + etasq)) * Math.cos(2.0 * argpo)));
+        this.cc5 = 2.0 * coef1 * ao * omeosq * (1.0 + 2.75 * (etasq + eeta) + eeta * etasq);
+
+        double cosio4 = cosio2 * cosio2;
+        double temp1 = 1.5 * J2 * pinvsq * noUnkozai;
+        double temp2 = 0.5 * temp1 * J2 * pinvsq;
+        double temp3 = -0.46875 * J4 * pinvsq * pinvsq * noUnkozai;
+        this.mdot = noUnkozai + 0.5 * temp1 * rteosq * con41 + 0.0625 * temp2 * rteosq * (13.0 - 78.0 * cosio2 + 137.0 * cosio4);
+        this.argpdot = -0.5 * temp1 * con42 + 0.0625 * temp2 * (7.0 - 114.0 * cosio2 + 395.0 * cosio4)
+                + temp3 * (3.0 - 36.0 * cosio2 + 49.0 * cosio4);
+        double xhdot1 = -temp1 * cosio;
+        this.nodedot = xhdot1 + (0.5 * temp2 * (4.0 - 19.0 * cosio2) + 2.0 * temp3 * (3.0 - 7.0 * cosio2)) * cosio;
+        this.omgcof = bstar * cc3 * Math.cos(argpo);
+        this.xmcof = ecco > 1.0e-4 ? -X2O3 * coef * bstar / eeta : 0.0;
+        this.nodecf = 3.5 * omeosq * xhdot1 * cc1;
+        this.t2cof = 1.5 * cc1;
+        double denominator = Math.abs(cosio + 1.0) > 1.5e-12 ? 1.0 + cosio : 1.5e-12;
+        this.xlcof = -0.25 * J3OJ2 * sinio * (3.0 + 5.0 * cosio) / denominator;
+        this.aycof = -0.5 * J3OJ2 * sinio;
+        this.delmo = Math.pow(1.0 + eta * Math.cos(mo), 3);
+        this.sinmao = Math.sin(mo);
+        this.x7thm1 = 7.0 * cosio2 - 1.0;
+
+        // Low perigee and deep-space orbits use the truncated drag model
+        this.isimp = deepSpace || rp < 220.0 / RADIUS_EARTH_KM + 1.0;
+        if (!isimp) {
+            double cc1sq = cc1 * cc1;
+            this.d2 = 4.0 * ao * tsi * cc1sq;
+            double temp = d2 * tsi * cc1 / 3.0;
+            this.d3 = (17.0 * ao + sfour) * temp;
+            this.d4 = 0.5 * temp * ao * tsi * (221.0 * ao + 31.0 * sfour) * cc1;
+            this.t3cof = d2 + 2.0 * cc1sq;
+            this.t4cof = 0.25 * (3.0 * d3 + cc1 * (12.0 * d2 + 10.0 * cc1sq));
+            this.t5cof = 0.2 * (3.0 * d4 + 12.0 * cc1 * d3 + 6.0 * d2 * d2 + 15.0 * cc1sq * (2.0 * d2 + cc1sq));
+        } else {
+            this.d2 = 0.0;
+            this.d3 = 0.0;
+            this.d4 = 0.0;
+            this.t3cof = 0.0;
+            this.t4cof = 0.0;
+            this.t5cof = 0.0;
+        }
+
+        this.deepSpaceTerms = deepSpace
+                ? new DeepSpace(elements.epochJulianDate() - 2433281.5, ecco, inclo, argpo, nodeo, mo, noUnkozai,
+                        mdot, argpdot, nodedot, Frames.gmst(elements.epochJulianDate()))
+                : null;
+    }
+
+    public TleElements getElements() {
+        return elements;
+    }
+
+    public boolean isDeepSpace() {
+        return deepSpace;
+    }
+
+    /**
+     * Propagates to {@code tsince} minutes from epoch and writes {x, y, z, vx, vy, vz} into {@code out}.
+     * Returns false when the orbit has decayed or the elements are no longer valid.
+     */
+    public boolean propagate(double tsince, double[] out) {
+        double xmdf = mo + mdot * tsince;
+        double argpdf = argpo + argpdot * tsince;
+        double nodedf = nodeo + nodedot * tsince;
+        double argpm = argpdf;
+        double mm = xmdf;
+        double t2 = tsince * tsince;
+        double nodem = nodedf + nodecf * t2;
+        double tempa = 1.0 - cc1 * tsince;
+        double tempe = bstar * cc4 * tsince;
+        double templ = t2cof * t2;
+
+        if (!isimp) {
+            double delomg = omgcof * tsince;
+            double delmtemp = 1.0 + eta * Math.cos(xmdf);
+            double delm = xmcof * (delmtemp * delmtemp * delmtemp - delmo);
+            double temp = delomg + delm;
+            mm = xmdf + temp;
+            argpm = argpdf - temp;
+            double t3 = t2 * tsince;
+            double t4 = t3 * tsince;
+            tempa = tempa - d2 * t2 - d3 * t3 - d4 * t4;
+            tempe = tempe + bstar * cc5 * (Math.sin(mm) - sinmao);
+            templ = templ + t3cof * t3 + t4 * (t4cof + tsince * t5cof);
+        }
+
+        double nm = noUnkozai;
+        double em = ecco;
+        double inclm = inclo;
+        DeepSpace.MeanElements mean = null;
+        if (deepSpaceTerms != null) {
+            mean = new DeepSpace.MeanElements();
+            mean.em = em;
+            mean.inclm = inclm;
+            mean.argpm = argpm;
+            mean.nodem = nodem;
+            mean.mm = mm;
+            mean.nm = nm;
+            deepSpaceTerms.secular(tsince, mean);
+            em = mean.em;
+            inclm = mean.inclm;
+            argpm = mean.argpm;
+            nodem = mean.nodem;
+            mm = mean.mm;
+            nm = mean.nm;
+        }
+        if (nm <= 0.0) {
+            return false;
+        }
+
+        double am = Math.pow(XKE / nm, X2O3) * tempa * tempa;
+        nm = XKE / Math.pow(am, 1.5);
+        em = em - tempe;
+        if (em >= 1.0 || em < -0.001) {
+            return false;
+        }
+        if (em < 1.0e-6) {
+            em = 1.0e-6;
+        }
+
+        mm = mm + noUnkozai * templ;
+        double xlm = mm + argpm + nodem;
+        nodem = nodem % TWO_PI;
+        argpm = argpm % TWO_PI;
+        xlm = xlm % TWO_PI;
+        mm = (xlm - argpm - nodem) % TWO_PI;
+
+        double con41 = this.con41;
+        double x1mth2 = this.x1mth2;
+        double x7thm1 = this.x7thm1;
+        double xlcof = this.xlcof;
+        double aycof = this.aycof;
+
+        if (mean != null) {
+            // Lunar-solar periodics move the inclination, so the inclination-dependent terms follow it
+            mean.em = em;
+            mean.inclm = inclm;
+            mean.argpm = argpm;
+            mean.nodem = nodem;
+            mean.mm = mm;
+            deepSpaceTerms.periodics(tsince, mean);
+            em = mean.em;
+            inclm = mean.inclm;
+            argpm = mean.argpm;
+            nodem = mean.nodem;
+            mm = mean.mm;
+            if (inclm < 0.0) {
+                inclm = -inclm;
+                nodem = nodem + Math.PI;
+                argpm = argpm - Math.PI;
+            }
+            if (em < 0.0 || em > 1.0) {
+                return false;
+            }
+
+            double sinip = Math.sin(inclm);
+            double cosip = Math.cos(inclm);
+            double cosisq = cosip * cosip;
+            aycof = -0.5 * J3OJ2 * sinip;
+            double denominator = Math.abs(cosip + 1.0) > 1.5e-12 ? 1.0 + cosip : 1.5e-12;
+            xlcof = -0.25 * J3OJ2 * sinip * (3.0 + 5.0 * cosip) / denominator;
+            con41 = 3.0 * cosisq - 1.0;
+            x1mth2 = 1.0 - cosisq;
+            x7thm1 = 7.0 * cosisq - 1.0;
+        }
+
+        double sinip = Math.sin(inclm);
+        double cosip = Math.cos(inclm);
+
+        // Long-period periodics
+        double axnl = em * Math.cos(argpm);
+        double temp = 1.0 / (am * (1.0 - em * em));
+        double aynl = em * Math.sin(argpm) + temp * aycof;
+        double xl = mm + argpm + nodem + temp * xlcof * axnl;
+
+        // Solve Kepler's equation
+        double u = (xl - nodem) % TWO_PI;
+        double eo1 = u;
+        double tem5 = 9999.9;
+        double sineo1 = 0.0;
+        double coseo1 = 0.0;
+        for (int ktr = 1; Math.abs(tem5) >= 1.0e-12 && ktr <= 10; ktr++) {
+            sineo1 = Math.sin(eo1);
+            coseo1 = Math.cos(eo1);
+            tem5 = 1.0 - coseo1 * axnl - sineo1 * aynl;
+            tem5 = (u - aynl * coseo1 + axnl * sineo1 - eo1) / tem5;
+            if (Math.abs(tem5) >= 0.95) {
+                tem5 = tem5 > 0.0 ? 0.95 : -0.95;
+            }
+            eo1 = eo1 + tem5;
+        }
+
+        // Short-period periodics
+        double ecose = axnl * coseo1 + aynl * sineo1;
+        double esine = axnl * sineo1 - aynl * coseo1;
+        double el2 = axnl * axnl + aynl * aynl;
+        double pl = am * (1.0 - el2);
+        if (pl < 0.0) {
+            return false;
+        }
+
+        double rl = am * (1.0 - ecose);
+        double rdotl = Math.sqrt(am) * esine / rl;
+        double rvdotl = Math.sqrt(pl) / rl;
+        double betal = Math.sqrt(1.0 - el2);
+        temp = esine / (1.0 + betal);
+        double sinu = am / rl * (sineo1 - aynl - axnl * temp);
+        double cosu = am / rl * (coseo1 - axnl + aynl * temp);
+        double su = Math.atan2(sinu, cosu);
+        double sin2u = (cosu + cosu) * sinu;
+        double cos2u = 1.0 - 2.0 * sinu * sinu;
+        temp = 1.0 / pl;
+        double temp1 = 0.5 * J2 * temp;
+        double temp2 = temp1 * temp;
+
+        double mrt = rl * (1.0 - 1.5 * temp2 * betal * con41) + 0.5 * temp1 * x1mth2 * cos2u;
+        su = su - 0.25 * temp2 * x7thm1 * sin2u;
+        double xnode = nodem + 1.5 * temp2 * cosip * sin2u;
+        double xinc = inclm + 1.5 * temp2 * cosip * sinip * cos2u;
+        double mvt = rdotl - nm * temp1 * x1mth2 * sin2u / XKE;
+        double rvdot = rvdotl + nm * temp1 * (x1mth2 * cos2u + 1.5 * con41) / XKE;
+
+        // Orientation vectors
+        double sinsu = Math.sin(su);
+        double cossu = Math.cos(su);
+        double snod = Math.sin(xnode);
+        double cnod = Math.cos(xnode);
+        double sini = Math.sin(xinc);
+        double cosi = Math.cos(xinc);
+        double xmx = -snod * cosi;
+        double xmy = cnod * cosi;
+        double ux = xmx * sinsu + cnod * cossu;
+        double uy = xmy * sinsu + snod * cossu;
+        double uz = sini * sinsu;
+        double vx = xmx * cossu - cnod * sinsu;
+        double vy = xmy * cossu - snod * sinsu;
+        double vz = sini * cossu;
+
+        out[0] = mrt * ux * RADIUS_EARTH_KM;
+        out[1] = mrt * uy * RADIUS_EARTH_KM;
+        out[2] = mrt * uz * RADIUS_EARTH_KM;
+        out[3] = (mvt * ux + rvdot * vx) * VKMPERSEC;
+        out[4] = (mvt * uy + rvdot * vy) * VKMPERSEC;
+        out[5] = (mvt * uz + rvdot * vz) * VKMPERSEC;
+
+        // Below the surface: the satellite has decayed
+        return mrt >= 1.0;
+    }
+}
@@ -0,0 +1,184 @@
+package com.application.server.orbit;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/**
+ * Mean elements decoded from a two-line element set, in SGP4 units
+ * (angles in radians, mean motion in radians per minute).
+ */
+public record TleElements(
+        int noradCatId,
+        Instant epoch,
+        double bstar,
+        double meanMotionDot,
+        double meanMotionDdot,
+        double inclination,
+        double raan,
+        double eccentricity,
+        double argPerigee,
+        double meanAnomaly,
+        double meanMotion
+) {
+    private static final double DEG_TO_RAD = Math.PI / 180.0;
+    private static final double XPDOTP = 1440.0 / (2.0 * Math.PI); // rev/day -> rad/min
+
+    private static final int LINE_LENGTH = 69;
+
+    /**
+     * Parses and validates a two-line element set: both lines must be complete, carry matching catalog
+     * numbers and pass the modulo-10 checksum. Throws IllegalArgumentException otherwise.
+     */
+    public static TleElements parse(String line1, String line2) {
+        if (line1 == null || line2 == null || line1.length() < LINE_LENGTH || line2.length() < LINE_LENGTH) {
+            throw new IllegalArgumentException("TLE lines are missing or truncated");
+        }
+        if (line1.charAt(0) != '1' || line2.charAt(0) != '2') {
+            throw new IllegalArgumentException("TLE line numbers are not 1 and 2");
+        }
+        if (!checksumValid(line1) || !checksumValid(line2)) {
+            throw new IllegalArgumentException("TLE checksum mismatch");
+        }
+        if (!line1.substring(2, 7).equals(line2.substring(2, 7))) {
+            throw new IllegalArgumentException("TLE lines describe different objects");
+        }
+
+        try {
+            int noradCatId = Integer.parseInt(line1.substring(2, 7).trim());
+            int twoDigitYear = Integer.parseInt(line1.substring(18, 20).trim());
+            double epochDays = Double.parseDouble(line1.substring(20, 32).trim());
+            double ndot = Double.parseDouble(line1.substring(33, 43).trim());
+            double nddot = parseExponent(line1.substring(44, 52));
+            double bstar = parseExponent(line1.substring(53, 61));
+
+            double inclination = Double.parseDouble(line2.substring(8, 16).trim());
+            double raan = Double.parseDouble(line2.substring(17, 25).trim());
+            double eccentricity = Double.parseDouble("0." + line2.substring(26, 33).trim());
+            double argPerigee = Double.parseDouble(line2.substring(34, 42).trim());
+            double meanAnomaly = Double.parseDouble(line2.substring(43, 51).trim());
+            double meanMotion = Double.parseDouble(line2.substring(52, 63).trim());
+
+            return fromMeanElements(noradCatId, epochInstant(twoDigitYear, epochDays), bstar, ndot, nddot,
+                    inclination, raan, eccentricity, argPerigee, meanAnomaly, meanMotion);
+        } catch (NumberFormatException | StringIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Malformed TLE: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Builds elements from values in TLE units: degrees, revolutions per day, and the first and second
+     * mean motion derivative fields exactly as printed on line 1.
+     */
+    public static TleElements fromMeanElements(int noradCatId, Instant epoch, double bstar, double meanMotionDot,
+                                               double meanMotionDdot, double inclinationDeg, double raanDeg,
+                                               double eccentricity, double argPerigeeDeg, double meanAnomalyDeg,
+                                               double meanMotionRevPerDay) {
+        return new TleElements(
+                noradCatId,
+                epoch,
+                bstar,
+                meanMotionDot / (XPDOTP * 1440.0),
+                meanMotionDdot / (XPDOTP * 1440.0 * 1440.0),
+                inclinationDeg * DEG_TO_RAD,
+                raanDeg * DEG_TO_RAD,
+                eccentricity,
+                argPerigeeDeg * DEG_TO_RAD,
+                meanAnomalyDeg * DEG_TO_RAD,
+                meanMotionRevPerDay / XPDOTP
+        );
+    }
+
+    // Modulo-10 sum of the first 68 columns, where digits count their value and '-' counts as one
+    public static boolean checksumValid(String line) {
+        if (line == null || line.length() < LINE_LENGTH) {
+            return false;
+        }
+        int sum = 0;
+        for (int i = 0; i < LINE_LENGTH - 1; i++) {
+            char c = line.charAt(i);
+            if (c >= '0' && c <= '9') {
+                sum += c - '0';
+            } else if (c == '-') {
+                sum++;
+            }
+        }
+        char expected = line.charAt(LINE_LENGTH - 1);
+        return expected >= '0' && expected <= '9' && sum % 10 == expected - '0';
+    }
+
+    // Values in the TLE units stored in the satellites table
+
+    public double meanMotionDotTle() {
+        return meanMotionDot * XPDOTP * 1440.0;
+    }
+
+    public double meanMotionDdotTle() {
+        return meanMotionDdot * XPDOTP * 1440.0 * 1440.0;
+    }
+
+    public double inclinationDegrees() {
+        return inclination / DEG_TO_RAD;
+    }
+
+    public double raanDegrees() {
+        return raan / DEG_TO_RAD;
+    }
+
+    public double argPerigeeDegrees() {
+        return argPerigee / DEG_TO_RAD;
+    }
+
+    public double meanAnomalyDegrees() {
+        return meanAnomaly / DEG_TO_RAD;
+    }
+
+    public double meanMotionRevPerDay() {
+        return meanMotion * XPDOTP;
+    }
+
+    // Minutes elapsed between the element epoch and the given time
+    public double minutesSinceEpoch(Instant time) {
+        long seconds = time.getEpochSecond() - epoch.getEpochSecond();
+        long nanos = time.getNano() - epoch.getNano();
+        return (seconds + nanos / 1e9) / 60.0;
+    }
+
+    // Julian date (UTC) of the element epoch
+    public double epochJulianDate() {
+        return julianDate(epoch);
+    }
+
+    public static double julianDate(Instant time) {
+        return 2440587.5 + (time.getEpochSecond() + time.getNano() / 1e9) / 86400.0;
+    }
+
+    // Fixed-point exponent fields such as " 28098-4" meaning 0.28098e-4
+    private static double parseExponent(String field) {
+        String trimmed = field.trim();
+        if (trimmed.isEmpty()) {
+            return 0.0;
+        }
+
+        int exponentStart = Math.max(trimmed.lastIndexOf('-'), trimmed.lastIndexOf('+'));
+        if (exponentStart <= 0) {
+            return Double.parseDouble(trimmed);
+        }
+
+        String mantissa = trimmed.substring(0, exponentStart);
+        String sign = "";
+        if (mantissa.startsWith("-") || mantissa.startsWith("+")) {
+            sign = mantissa.substring(0, 1);
+            mantissa = mantissa.substring(1);
+        }
+        int exponent = Integer.parseInt(trimmed.substring(exponentStart).replace("+", ""));
+        return Double.parseDouble(sign + "0." + mantissa) * Math.pow(10, exponent);
+    }
+
+    private static Instant epochInstant(int twoDigitYear, double epochDays) {
+        int year = twoDigitYear < 57 ? 2000 + twoDigitYear : 1900 + twoDigitYear;
+        Instant yearStart = LocalDate.of(year, 1, 1).atStartOfDay(ZoneOffset.UTC).toInstant();
+        long micros = Math.round((epochDays - 1.0) * 86_400_000_000.0);
+        return yearStart.plusNanos(micros * 1000L);
+    }
+}
@@ -0,0 +1,158 @@
+package com.application.server.orbit;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import static com.application.server.orbit.Sgp4Propagator.J2;
+import static com.application.server.orbit.Sgp4Propagator.RADIUS_EARTH_KM;
+import static com.application.server.orbit.Sgp4Propagator.TWO_PI;
+
+/**
+ * Lane-parallel port of {@link ScalarBatchPropagator} on the incubating Vector API.
+ *
+ * Only instantiated through {@link BatchPropagator#create(boolean)}, which checks that
+ * jdk.incubator.vector is present. Branches become lane masks: Kepler's equation iterates until every
+ * lane has converged, and lanes that fail a validity check are blended to NaN at the end. The tail
+ * that does not fill a vector is handled by the scalar kernel, and deep-space slots are redone with
+ * the full SDP4 model afterwards.
+ */
+class VectorBatchPropagator implements BatchPropagator {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public void propagate(ElementStore s, double unixSeconds, double[] x, double[] y, double[] z) {
+        int bound = SPECIES.loopBound(s.size);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            propagateLanes(s, i, unixSeconds, x, y, z);
+        }
+        for (; i < s.size; i++) {
+            ScalarBatchPropagator.propagateSlot(s, i, unixSeconds, x, y, z);
+        }
+        ScalarBatchPropagator.propagateDeepSpace(s, unixSeconds, x, y, z);
+    }
+
+    private static void propagateLanes(ElementStore s, int i, double unixSeconds, double[] x, double[] y, double[] z) {
+        DoubleVector tsince = DoubleVector.broadcast(SPECIES, unixSeconds).sub(load(s.epochSeconds, i)).div(60.0);
+        DoubleVector t2 = tsince.mul(tsince);
+        DoubleVector t3 = t2.mul(tsince);
+        DoubleVector t4 = t3.mul(tsince);
+
+        // Secular gravity and drag
+        DoubleVector xmdf = load(s.mo, i).add(load(s.mdot, i).mul(tsince));
+        DoubleVector argpdf = load(s.argpo, i).add(load(s.argpdot, i).mul(tsince));
+        DoubleVector nodem = load(s.nodeo, i).add(load(s.nodedot, i).mul(tsince)).add(load(s.nodecf, i).mul(t2));
+        DoubleVector delmtemp = load(s.eta, i).mul(xmdf.lanewise(VectorOperators.COS)).add(1.0);
+        DoubleVector delm = load(s.xmcof, i).mul(delmtemp.mul(delmtemp).mul(delmtemp).sub(load(s.delmo, i)));
+        DoubleVector temp = load(s.omgcof, i).mul(tsince).add(delm);
+        DoubleVector mm = xmdf.add(temp);
+        DoubleVector argpm = argpdf.sub(temp);
+        DoubleVector tempa = DoubleVector.broadcast(SPECIES, 1.0)
+                .sub(load(s.cc1, i).mul(tsince))
+                .sub(load(s.d2, i).mul(t2))
+                .sub(load(s.d3, i).mul(t3))
+                .sub(load(s.d4, i).mul(t4));
+        DoubleVector bstar = load(s.bstar, i);
+        DoubleVector tempe = bstar.mul(load(s.cc4, i)).mul(tsince)
+                .add(bstar.mul(load(s.cc5, i)).mul(mm.lanewise(VectorOperators.SIN).sub(load(s.sinmao, i))));
+        DoubleVector templ = load(s.t2cof, i).mul(t2)
+                .add(load(s.t3cof, i).mul(t3))
+                .add(t4.mul(load(s.t4cof, i).add(tsince.mul(load(s.t5cof, i)))));
+
+        DoubleVector noUnkozai = load(s.noUnkozai, i);
+        DoubleVector am = load(s.ao, i).mul(tempa).mul(tempa);
+        DoubleVector em = load(s.ecco, i).sub(tempe);
+        VectorMask<Double> invalid = noUnkozai.compare(VectorOperators.LE, 0.0)
+                .or(em.compare(VectorOperators.GE, 1.0))
+                .or(em.compare(VectorOperators.LT, -0.001));
+        em = em.max(1.0e-6);
+
+        mm = mm.add(noUnkozai.mul(templ));
+        DoubleVector xlm = mod2Pi(mm.add(argpm).add(nodem));
+        nodem = mod2Pi(nodem);
+        argpm = mod2Pi(argpm);
+        mm = mod2Pi(xlm.sub(argpm).sub(nodem));
+
+        // Long-period periodics
+        DoubleVector axnl = em.mul(argpm.lanewise(VectorOperators.COS));
+        temp = DoubleVector.broadcast(SPECIES, 1.0).div(am.mul(em.mul(em).neg().add(1.0)));
+        DoubleVector aynl = em.mul(argpm.lanewise(VectorOperators.SIN)).add(temp.mul(load(s.aycof, i)));
+        DoubleVector xl = mm.add(argpm).add(nodem).add(temp.mul(load(s.xlcof, i)).mul(axnl));
+
+        // Kepler's equation; converged lanes keep their last sine and cosine
+        DoubleVector u = mod2Pi(xl.sub(nodem));
+        DoubleVector eo1 = u;
+        DoubleVector sineo1 = DoubleVector.zero(SPECIES);
+        DoubleVector coseo1 = DoubleVector.zero(SPECIES);
+        VectorMask<Double> active = SPECIES.maskAll(true);
+        for (int ktr = 1; active.anyTrue() && ktr <= 10; ktr++) {
+            sineo1 = sineo1.blend(eo1.lanewise(VectorOperators.SIN), active);
+            coseo1 = coseo1.blend(eo1.lanewise(VectorOperators.COS), active);
+            DoubleVector tem5 = u.sub(aynl.mul(coseo1)).add(axnl.mul(sineo1)).sub(eo1)
+                    .div(DoubleVector.broadcast(SPECIES, 1.0).sub(coseo1.mul(axnl)).sub(sineo1.mul(aynl)))
+                    .max(-0.95)
+                    .min(0.95);
+            eo1 = eo1.add(tem5, active);
+            active = active.and(tem5.abs().compare(VectorOperators.GE, 1.0e-12));
+        }
+
+        // Short-period periodics
+        DoubleVector ecose = axnl.mul(coseo1).add(aynl.mul(sineo1));
+        DoubleVector esine = axnl.mul(sineo1).sub(aynl.mul(coseo1));
+        DoubleVector el2 = axnl.mul(axnl).add(aynl.mul(aynl));
+        DoubleVector pl = am.mul(el2.neg().add(1.0));
+        invalid = invalid.or(pl.compare(VectorOperators.LT, 0.0));
+
+        DoubleVector rl = am.mul(ecose.neg().add(1.0));
+        DoubleVector betal = el2.neg().add(1.0).lanewise(VectorOperators.SQRT);
+        temp = esine.div(betal.add(1.0));
+        DoubleVector amOverRl = am.div(rl);
+        DoubleVector sinu = amOverRl.mul(sineo1.sub(aynl).sub(axnl.mul(temp)));
+        DoubleVector cosu = amOverRl.mul(coseo1.sub(axnl).add(aynl.mul(temp)));
+        DoubleVector su = sinu.lanewise(VectorOperators.ATAN2, cosu);
+        DoubleVector sin2u = cosu.add(cosu).mul(sinu);
+        DoubleVector cos2u = sinu.mul(sinu).mul(-2.0).add(1.0);
+        temp = DoubleVector.broadcast(SPECIES, 1.0).div(pl);
+        DoubleVector temp1 = temp.mul(0.5 * J2);
+        DoubleVector temp2 = temp1.mul(temp);
+
+        DoubleVector mrt = rl.mul(temp2.mul(betal).mul(load(s.con41, i)).mul(-1.5).add(1.0))
+                .add(temp1.mul(load(s.x1mth2, i)).mul(cos2u).mul(0.5));
+        invalid = invalid.or(mrt.compare(VectorOperators.LT, 1.0));
+        DoubleVector cosio = load(s.cosio, i);
+        su = su.sub(temp2.mul(load(s.x7thm1, i)).mul(sin2u).mul(0.25));
+        DoubleVector xnode = nodem.add(temp2.mul(cosio).mul(sin2u).mul(1.5));
+        DoubleVector xinc = load(s.inclo, i).add(temp2.mul(cosio).mul(load(s.sinio, i)).mul(cos2u).mul(1.5));
+
+        DoubleVector sinsu = su.lanewise(VectorOperators.SIN);
+        DoubleVector cossu = su.lanewise(VectorOperators.COS);
+        DoubleVector snod = xnode.lanewise(VectorOperators.SIN);
+        DoubleVector cnod = xnode.lanewise(VectorOperators.COS);
+        DoubleVector sini = xinc.lanewise(VectorOperators.SIN);
+        DoubleVector cosi = xinc.lanewise(VectorOperators.COS);
+        DoubleVector scale = mrt.mul(RADIUS_EARTH_KM);
+
+        DoubleVector px = scale.mul(snod.neg().mul(cosi).mul(sinsu).add(cnod.mul(cossu)));
+        DoubleVector py = scale.mul(cnod.mul(cosi).mul(sinsu).add(snod.mul(cossu)));
+        DoubleVector pz = scale.mul(sini).mul(sinsu);
+
+        px.blend(Double.NaN, invalid).intoArray(x, i);
+        py.blend(Double.NaN, invalid).intoArray(y, i);
+        pz.blend(Double.NaN, invalid).intoArray(z, i);
+    }
+
+    private static DoubleVector load(double[] array, int offset) {
+        return DoubleVector.fromArray(SPECIES, array, offset);
+    }
+
+    // Truncating remainder, matching Java's % on doubles
+    private static DoubleVector mod2Pi(DoubleVector value) {
+        DoubleVector quotient = value.div(TWO_PI)
+                .convert(VectorOperators.D2L, 0)
+                .convert(VectorOperators.L2D, 0)
+                .reinterpretAsDoubles();
+        return value.sub(quotient.mul(TWO_PI));
+    }
+}
@@ -0,0 +1,38 @@
+package com.application.server.repository;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+// Completed backfill windows, so an interrupted job resumes where it stopped
+@Repository
+public class BackfillCheckpointRepository {
+    private final DatabaseClient databaseClient;
+
+    public record Window(Instant start, Instant end) {}
+
+    public BackfillCheckpointRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<Window> findCompletedWindows(String jobId) {
+        return databaseClient.sql("SELECT window_start, window_end FROM earthquake_backfill_checkpoints WHERE job_id = :jobId")
+                .bind("jobId", jobId)
+                .map(row -> new Window(row.get("window_start", Instant.class), row.get("window_end", Instant.class)))
+                .all();
+    }
+
+    public Mono<Void> markCompleted(String jobId, Window window, int eventCount) {
+        return databaseClient.sql("INSERT INTO earthquake_backfill_checkpoints (job_id, window_start, window_end, event_count, completed_at) " +
+                        "VALUES (:jobId, :windowStart, :windowEnd, :eventCount, NOW()) " +
+                        "ON CONFLICT (job_id, window_start, window_end) DO UPDATE SET event_count = EXCLUDED.event_count, completed_at = EXCLUDED.completed_at")
+                .bind("jobId", jobId)
+                .bind("windowStart", window.start())
+                .bind("windowEnd", window.end())
+                .bind("eventCount", eventCount)
+                .then();
+    }
+}
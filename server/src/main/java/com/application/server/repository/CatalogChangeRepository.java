@@ -0,0 +1,115 @@
+package com.application.server.repository;
+
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * The catalog change log: every committed change set gets the next catalog version and one row per NORAD ID it
+ * upserted or removed. Each write is a single statement, so a version is never visible without its changes.
+ *
+ * Versions come from the one-row catalog_version_counter, bumped in the same statement. The bump holds the row
+ * lock until the statement commits, so the next writer waits for it: versions commit in order, and a reader that
+ * sees version n as the current one has every version below it too. A sequence would let version n + 1 commit
+ * first, and a client told "current is n + 1" would never be sent version n.
+ */
+@Repository
+public class CatalogChangeRepository {
+    private static final String NEXT_VERSION = "n AS (UPDATE catalog_version_counter SET version = version + 1 RETURNING version), ";
+
+    private final DatabaseClient databaseClient;
+
+    // Versions still in the log; lastFullReload is null if none of them replaced the whole catalog
+    public record Versions(long oldest, long current, Long lastFullReload) {}
+
+    // Latest change of one object in a version range
+    public record Change(int noradCatId, boolean removed) {}
+
+    public CatalogChangeRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    // Returns the new catalog version
+    public Mono<Long> recordUpserted(String source, Collection<Integer> noradCatIds) {
+        return databaseClient.sql("WITH " + NEXT_VERSION +
+                        "v AS (INSERT INTO catalog_versions (version, committed_at, source, full_reload) SELECT version, NOW(), :source, FALSE FROM n RETURNING version), " +
+                        "c AS (INSERT INTO catalog_changes (version, norad_cat_id, removed) SELECT DISTINCT v.version, id, FALSE FROM v, unnest(:ids) AS id) " +
+                        "SELECT version FROM v")
+                .bind("source", source)
+                .bind("ids", noradCatIds.toArray(Integer[]::new))
+                .map(row -> row.get("version", Long.class))
+                .one();
+    }
+
+    // Deletes the objects and records their removal in the same statement
+    public Mono<Long> deleteSatellites(String source, Collection<Integer> noradCatIds) {
+        return databaseClient.sql("WITH d AS (DELETE FROM satellites WHERE norad_cat_id = ANY(:ids) RETURNING norad_cat_id), " + NEXT_VERSION +
+                        "v AS (INSERT INTO catalog_versions (version, committed_at, source, full_reload) SELECT version, NOW(), :source, FALSE FROM n RETURNING version), " +
+                        "c AS (INSERT INTO catalog_changes (version, norad_cat_id, removed) SELECT v.version, d.norad_cat_id, TRUE FROM v, d) " +
+                        "SELECT version FROM v")
+                .bind("source", source)
+                .bind("ids", noradCatIds.toArray(Integer[]::new))
+                .map(row -> row.get("version", Long.class))
+                .one();
+    }
+
+    // A version without per-object changes: clients behind it have to reload everything
+    public Mono<Long> recordFullReload(String source) {
+        return databaseClient.sql("WITH " + NEXT_VERSION +
+                        "v AS (INSERT INTO catalog_versions (version, committed_at, source, full_reload) SELECT version, NOW(), :source, TRUE FROM n RETURNING version) " +
+                        "SELECT version FROM v")
+                .bind("source", source)
+                .map(row -> row.get("version", Long.class))
+                .one();
+    }
+
+    public Mono<Versions> versions() {
+        return databaseClient.sql("SELECT COALESCE(MIN(version), 0) AS oldest, COALESCE(MAX(version), 0) AS current, " +
+                        "MAX(version) FILTER (WHERE full_reload) AS last_full_reload FROM catalog_versions")
+                .map(CatalogChangeRepository::toVersions)
+                .one();
+    }
+
+    /**
+     * One row per object changed in (since, upTo], ordered by NORAD ID, at most limit of them. With a name prefix,
+     * upserts are limited to objects whose OBJECT_NAME starts with it; removals are always returned, since the
+     * removed row no longer says which constellation it belonged to.
+     */
+    public Flux<Change> changesBetween(long since, long upTo, String namePrefix, int limit) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("SELECT norad_cat_id, removed FROM (" +
+                        "SELECT DISTINCT ON (norad_cat_id) norad_cat_id, removed FROM catalog_changes " +
+                        "WHERE version > :since AND version <= :upTo ORDER BY norad_cat_id, version DESC) c " +
+                        (namePrefix != null ? "WHERE removed OR EXISTS (SELECT 1 FROM satellites s " +
+                                "WHERE s.norad_cat_id = c.norad_cat_id AND s.object_name ILIKE :pattern) " : "") +
+                        "ORDER BY norad_cat_id LIMIT :limit")
+                .bind("since", since)
+                .bind("upTo", upTo)
+                .bind("limit", limit);
+        if (namePrefix != null) {
+            spec = spec.bind("pattern", namePrefix + "%");
+        }
+        return spec.map(row -> new Change(row.get("norad_cat_id", Integer.class), Boolean.TRUE.equals(row.get("removed", Boolean.class))))
+                .all();
+    }
+
+    // The current version is always kept so the log never loses track of where the catalog is
+    public Mono<Long> deleteCommittedBefore(Instant cutoff) {
+        return databaseClient.sql("DELETE FROM catalog_versions WHERE committed_at < :cutoff " +
+                        "AND version < (SELECT MAX(version) FROM catalog_versions)")
+                .bind("cutoff", cutoff)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static Versions toVersions(Readable row) {
+        return new Versions(
+                row.get("oldest", Long.class),
+                row.get("current", Long.class),
+                row.get("last_full_reload", Long.class));
+    }
+}
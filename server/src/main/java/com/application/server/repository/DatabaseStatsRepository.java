@@ -0,0 +1,99 @@
+package com.application.server.repository;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+// Reads the Postgres statistics views the maintenance engine bases its decisions on
+@Repository
+public class DatabaseStatsRepository {
+    private static final String TABLE_STATS_SQL = "SELECT relname, quote_ident(relname) AS identifier, n_live_tup, n_dead_tup, " +
+            "n_mod_since_analyze, COALESCE(pg_total_relation_size(relid), 0) AS size_bytes " +
+            "FROM pg_stat_user_tables WHERE schemaname = current_schema()";
+
+    // B-tree leaf tuples are an 8 byte header plus a 4 byte line pointer plus the aligned key; pages are 90% full
+    private static final String INDEX_STATS_SQL = "SELECT s.indexrelid::regclass::text AS identifier, s.relname AS table_name, " +
+            "COALESCE(pg_relation_size(s.indexrelid), 0) AS size_bytes, s.idx_scan, " +
+            "CASE WHEN ic.reltuples > 0 THEN current_setting('block_size')::bigint + " +
+            "ceil(ic.reltuples * (12 + ceil(coalesce(w.key_width, 8) / 8.0) * 8) / (current_setting('block_size')::bigint * 0.9)) " +
+            "* current_setting('block_size')::bigint END AS expected_bytes " +
+            "FROM pg_stat_user_indexes s " +
+            "JOIN pg_index i ON i.indexrelid = s.indexrelid " +
+            "JOIN pg_class ic ON ic.oid = s.indexrelid " +
+            "JOIN pg_am am ON am.oid = ic.relam " +
+            "LEFT JOIN LATERAL (SELECT sum(st.avg_width) AS key_width FROM pg_attribute a " +
+            "JOIN pg_stats st ON st.schemaname = s.schemaname AND st.tablename = s.relname AND st.attname = a.attname " +
+            "WHERE a.attrelid = i.indrelid AND a.attnum = ANY (i.indkey)) w ON true " +
+            "WHERE s.schemaname = current_schema() AND am.amname = 'btree'";
+
+    private final DatabaseClient databaseClient;
+
+    public record TableStats(String name, String identifier, long liveTuples, long deadTuples, long modifiedSinceAnalyze, long sizeBytes) {}
+
+    // expectedBytes is null until the table has been analyzed
+    public record IndexStats(String identifier, String tableName, long sizeBytes, long scans, Long expectedBytes) {}
+
+    public DatabaseStatsRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<TableStats> tableStats() {
+        return databaseClient.sql(TABLE_STATS_SQL)
+                .map(row -> new TableStats(
+                        row.get("relname", String.class),
+                        row.get("identifier", String.class),
+                        row.get("n_live_tup", Long.class),
+                        row.get("n_dead_tup", Long.class),
+                        row.get("n_mod_since_analyze", Long.class),
+                        row.get("size_bytes", Long.class)))
+                .all();
+    }
+
+    public Flux<IndexStats> indexStats() {
+        return databaseClient.sql(INDEX_STATS_SQL)
+                .map(row -> new IndexStats(
+                        row.get("identifier", String.class),
+                        row.get("table_name", String.class),
+                        row.get("size_bytes", Long.class),
+                        row.get("idx_scan", Long.class),
+                        row.get("expected_bytes", Long.class)))
+                .all();
+    }
+
+    // Queries running in this database right now, other than this one
+    public Mono<Long> activeQueries() {
+        return databaseClient.sql("SELECT count(*) AS active FROM pg_stat_activity " +
+                        "WHERE datname = current_database() AND state = 'active' AND pid <> pg_backend_pid()")
+                .map(row -> row.get("active", Long.class))
+                .one();
+    }
+
+    // -1 when the relation no longer exists, e.g. an index dropped while REINDEX CONCURRENTLY ran
+    public Mono<Long> relationSize(String identifier) {
+        return databaseClient.sql("SELECT COALESCE(pg_total_relation_size(to_regclass(:identifier)), -1) AS size_bytes")
+                .bind("identifier", identifier)
+                .map(row -> row.get("size_bytes", Long.class))
+                .one();
+    }
+
+    // Server-side execution time of one run of a query, from EXPLAIN ANALYZE
+    public Mono<Double> executionMillis(String sql, List<Object> bindings) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("EXPLAIN (ANALYZE, TIMING OFF) " + sql);
+        for (int i = 0; i < bindings.size(); i++) {
+            spec = spec.bind(i, bindings.get(i));
+        }
+        return spec.map(row -> row.get(0, String.class))
+                .all()
+                .filter(line -> line.startsWith("Execution Time:"))
+                .map(line -> Double.parseDouble(line.replaceAll("[^0-9.]", "")))
+                .next();
+    }
+
+    // VACUUM and REINDEX CONCURRENTLY refuse to run in a transaction block; DatabaseClient statements autocommit
+    public Mono<Void> execute(String sql) {
+        return databaseClient.sql(sql).then();
+    }
+}
@@ -0,0 +1,95 @@
+package com.application.server.repository;
+
+import com.application.server.model.Earthquake.EarthquakeEntity;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+
+// Set-based earthquake writes: one batched, pipelined statement per chunk instead of a find + save per row
+@Repository
+public class EarthquakeBulkRepository {
+    private static final String COLUMNS = "magnitude, location_description, event_time, usgs_update_time, " +
+            "timezone_offset_minutes, community_intensity_cdi, mercalli_intensity_mmi, usgs_alert_level, " +
+            "processing_status, tsunami_potential, event_significance, station_count, min_station_distance_deg, " +
+            "event_type, epicenter_longitude, epicenter_latitude, depth_km, known_event_ids, preferred_event_id, last_updated, content_hash";
+
+    // Only overwrite rows with an older USGS revision
+    private static final String UPSERT_SQL = "INSERT INTO earthquakes (" + COLUMNS + ") VALUES " +
+            "($1, $2, $3, $4, $5, $6, $7, $8, $9, $10, $11, $12, $13, $14, $15, $16, $17, $18, $19, $20, $21) " +
+            "ON CONFLICT (preferred_event_id) DO UPDATE SET " +
+            "magnitude = EXCLUDED.magnitude, location_description = EXCLUDED.location_description, " +
+            "event_time = EXCLUDED.event_time, usgs_update_time = EXCLUDED.usgs_update_time, " +
+            "timezone_offset_minutes = EXCLUDED.timezone_offset_minutes, " +
+            "community_intensity_cdi = EXCLUDED.community_intensity_cdi, " +
+            "mercalli_intensity_mmi = EXCLUDED.mercalli_intensity_mmi, usgs_alert_level = EXCLUDED.usgs_alert_level, " +
+            "processing_status = EXCLUDED.processing_status, tsunami_potential = EXCLUDED.tsunami_potential, " +
+            "event_significance = EXCLUDED.event_significance, station_count = EXCLUDED.station_count, " +
+            "min_station_distance_deg = EXCLUDED.min_station_distance_deg, event_type = EXCLUDED.event_type, " +
+            "epicenter_longitude = EXCLUDED.epicenter_longitude, epicenter_latitude = EXCLUDED.epicenter_latitude, " +
+            "depth_km = EXCLUDED.depth_km, known_event_ids = EXCLUDED.known_event_ids, " +
+            "last_updated = EXCLUDED.last_updated, content_hash = EXCLUDED.content_hash " +
+            "WHERE earthquakes.usgs_update_time IS NULL OR earthquakes.usgs_update_time < EXCLUDED.usgs_update_time";
+
+    private final DatabaseClient databaseClient;
+
+    public EarthquakeBulkRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    // Returns the number of rows inserted or updated
+    public Mono<Long> upsertAll(List<EarthquakeEntity> earthquakes) {
+        if (earthquakes.isEmpty()) {
+            return Mono.just(0L);
+        }
+
+        return databaseClient.inConnectionMany(connection -> {
+                    Statement statement = connection.createStatement(UPSERT_SQL);
+                    for (int i = 0; i < earthquakes.size(); i++) {
+                        if (i > 0) {
+                            statement.add();
+                        }
+                        bind(statement, earthquakes.get(i));
+                    }
+                    return Flux.from(statement.execute()).flatMap(Result::getRowsUpdated);
+                })
+                .reduce(0L, Long::sum);
+    }
+
+    private static void bind(Statement statement, EarthquakeEntity earthquake) {
+        bindNullable(statement, 0, earthquake.getMagnitude(), Double.class);
+        bindNullable(statement, 1, earthquake.getLocation_description(), String.class);
+        bindNullable(statement, 2, earthquake.getEvent_time(), Instant.class);
+        bindNullable(statement, 3, earthquake.getUsgs_update_time(), Instant.class);
+        statement.bind(4, earthquake.getTimezone_offset_minutes());
+        bindNullable(statement, 5, earthquake.getCommunity_intensity_cdi(), Double.class);
+        bindNullable(statement, 6, earthquake.getMercalli_intensity_mmi(), Double.class);
+        bindNullable(statement, 7, earthquake.getUsgs_alert_level(), String.class);
+        bindNullable(statement, 8, earthquake.getProcessing_status(), String.class);
+        statement.bind(9, earthquake.getTsunami_potential());
+        statement.bind(10, earthquake.getEvent_significance());
+        statement.bind(11, earthquake.getStation_count());
+        bindNullable(statement, 12, earthquake.getMin_station_distance_deg(), Double.class);
+        bindNullable(statement, 13, earthquake.getEvent_type(), String.class);
+        bindNullable(statement, 14, earthquake.getEpicenter_longitude(), Double.class);
+        bindNullable(statement, 15, earthquake.getEpicenter_latitude(), Double.class);
+        bindNullable(statement, 16, earthquake.getDepth_km(), Double.class);
+        bindNullable(statement, 17, earthquake.getKnown_event_ids(), String.class);
+        bindNullable(statement, 18, earthquake.getPreferred_event_id(), String.class);
+        bindNullable(statement, 19, earthquake.getLastUpdated(), Instant.class);
+        bindNullable(statement, 20, earthquake.getContent_hash(), Long.class);
+    }
+
+    private static void bindNullable(Statement statement, int index, Object value, Class<?> type) {
+        if (value == null) {
+            statement.bindNull(index, type);
+        } else {
+            statement.bind(index, value);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.application.server.repository;
+
+import com.application.server.model.Earthquake.EarthquakeEntity;
+import com.application.server.model.Earthquake.EarthquakeFilter;
+import org.springframework.data.r2dbc.convert.R2dbcConverter;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Filtered, keyset-paginated earthquake listing.
+ *
+ * Every query orders by (event_time DESC, id DESC) so it can walk earthquakes_event_time_id_idx (or one of the
+ * partial alert/tsunami indexes) as a range scan and stop after LIMIT rows; the page cursor is a row comparison
+ * on the same key, so deep pages cost the same as the first one.
+ */
+@Repository
+public class EarthquakeQueryRepository {
+    private final DatabaseClient databaseClient;
+    private final R2dbcConverter converter;
+
+    public record ListingQuery(String sql, List<Object> bindings) {}
+
+    public EarthquakeQueryRepository(DatabaseClient databaseClient, R2dbcConverter converter) {
+        this.databaseClient = databaseClient;
+        this.converter = converter;
+    }
+
+    public Flux<EarthquakeEntity> find(EarthquakeFilter filter) {
+        ListingQuery query = buildQuery(filter);
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(query.sql());
+        for (int i = 0; i < query.bindings().size(); i++) {
+            spec = spec.bind(i, query.bindings().get(i));
+        }
+        return spec.map((row, metadata) -> converter.read(EarthquakeEntity.class, row, metadata)).all();
+    }
+
+    // Tsunami and alert predicates are written so they imply the partial index predicates
+    public static ListingQuery buildQuery(EarthquakeFilter filter) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> bindings = new ArrayList<>();
+
+        if (filter.from() != null) {
+            bindings.add(filter.from());
+            conditions.add("event_time >= $" + bindings.size());
+        } else {
+            conditions.add("event_time IS NOT NULL");
+        }
+        if (filter.to() != null) {
+            bindings.add(filter.to());
+            conditions.add("event_time < $" + bindings.size());
+        }
+        if (filter.minMagnitude() != null) {
+            bindings.add(filter.minMagnitude());
+            conditions.add("magnitude >= $" + bindings.size());
+        }
+        if (filter.maxMagnitude() != null) {
+            bindings.add(filter.maxMagnitude());
+            conditions.add("magnitude <= $" + bindings.size());
+        }
+        if (filter.minDepth() != null) {
+            bindings.add(filter.minDepth());
+            conditions.add("depth_km >= $" + bindings.size());
+        }
+        if (filter.maxDepth() != null) {
+            bindings.add(filter.maxDepth());
+            conditions.add("depth_km <= $" + bindings.size());
+        }
+        if (filter.alert() != null) {
+            bindings.add(filter.alert());
+            conditions.add("usgs_alert_level IS NOT NULL AND usgs_alert_level = $" + bindings.size());
+        }
+        if (filter.tsunami() != null) {
+            conditions.add(filter.tsunami() ? "tsunami_potential = 1" : "tsunami_potential IS DISTINCT FROM 1");
+        }
+        if (filter.status() != null) {
+            bindings.add(filter.status());
+            conditions.add("processing_status = $" + bindings.size());
+        }
+        if (filter.afterTime() != null && filter.afterId() != null) {
+            bindings.add(filter.afterTime());
+            bindings.add(filter.afterId());
+            conditions.add("(event_time, id) < ($" + (bindings.size() - 1) + ", $" + bindings.size() + ")");
+        }
+        bindings.add(filter.limit());
+
+        String sql = "SELECT * FROM earthquakes WHERE " + String.join(" AND ", conditions) +
+                " ORDER BY event_time DESC, id DESC LIMIT $" + bindings.size();
+        return new ListingQuery(sql, bindings);
+    }
+}
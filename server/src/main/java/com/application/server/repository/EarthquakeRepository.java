@@ -7,6 +7,9 @@ import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Collection;
 import java.util.UUID;
 
 @Repository
@@ -15,6 +18,12 @@ public interface EarthquakeRepository extends ReactiveCrudRepository<EarthquakeE
     @Query("SELECT * FROM earthquakes WHERE preferred_event_id = :earthquakeID")
     Mono<EarthquakeEntity> findByEarthquakeId(@Param("earthquakeID") String earthquakeID);
 
-    @Query("DELETE FROM earthquake WHERE event_time < NOW() - INTERVAL '30 days'")
+    @Query("SELECT * FROM earthquakes WHERE preferred_event_id IN (:earthquakeIds)")
+    Flux<EarthquakeEntity> findByEarthquakeIds(@Param("earthquakeIds") Collection<String> earthquakeIds);
+
+    @Query("SELECT * FROM earthquakes WHERE event_time >= :cutoff")
+    Flux<EarthquakeEntity> findByEventTimeAfter(@Param("cutoff") Instant cutoff);
+
+    @Query("DELETE FROM earthquakes WHERE event_time < NOW() - INTERVAL '30 days'")
     Mono<Void> deleteEarthquakesOlderThan30Days();
 }
\ No newline at end of file
@@ -0,0 +1,147 @@
+package com.application.server.repository;
+
+import com.application.server.model.Earthquake.EarthquakeRollup;
+import com.application.server.model.Earthquake.RollupGranularity;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Hourly and daily earthquake rollups (time bucket x half-magnitude band x 30 degree region).
+ * Maintained with signed deltas as events are written, and recomputed from the earthquakes table for bulk loads.
+ */
+@Repository
+public class EarthquakeRollupRepository {
+    public static final double REGION_DEGREES = 30.0;
+    public static final int REGION_COLUMNS = 12;
+
+    private static final String APPLY_SQL = "INSERT INTO %s (bucket_start, magnitude_band, region_id, event_count, magnitude_sum, energy_joules) " +
+            "VALUES ($1, $2, $3, $4, $5, $6) " +
+            "ON CONFLICT (bucket_start, magnitude_band, region_id) DO UPDATE SET " +
+            "event_count = %1$s.event_count + EXCLUDED.event_count, " +
+            "magnitude_sum = %1$s.magnitude_sum + EXCLUDED.magnitude_sum, " +
+            "energy_joules = %1$s.energy_joules + EXCLUDED.energy_joules";
+
+    private static final String DELETE_RANGE_SQL = "DELETE FROM %s WHERE bucket_start >= :start AND bucket_start < :end";
+
+    // Events that count towards the rollups; must match EarthquakeRollupService.Contribution
+    private static final String COUNTED = "magnitude IS NOT NULL AND epicenter_latitude IS NOT NULL AND epicenter_longitude IS NOT NULL " +
+            "AND (event_type IS NULL OR lower(event_type) = 'earthquake')";
+
+    // Must bucket exactly like EarthquakeRollupService.Contribution
+    private static final String RECOMPUTE_SQL = "INSERT INTO %s (bucket_start, magnitude_band, region_id, event_count, magnitude_sum, energy_joules) " +
+            "SELECT date_trunc('%s', event_time AT TIME ZONE 'UTC') AT TIME ZONE 'UTC', " +
+            "floor(magnitude * 2)::smallint, " +
+            "(least(5, floor((epicenter_latitude + 90) / 30))::int * 12 + mod(floor((epicenter_longitude + 180) / 30)::int, 12))::smallint, " +
+            "count(*), sum(magnitude), sum(power(10, 1.5 * magnitude + 4.8)) " +
+            "FROM earthquakes WHERE event_time >= :start AND event_time < :end AND " + COUNTED + " " +
+            "GROUP BY 1, 2, 3";
+
+    private static final String COVERAGE_SQL = "SELECT " +
+            "(SELECT count(*) FROM earthquakes WHERE event_time >= :start AND " + COUNTED + ") AS events, " +
+            "(SELECT COALESCE(SUM(event_count), 0) FROM earthquake_rollups_hourly WHERE bucket_start >= :start) AS hourly, " +
+            "(SELECT COALESCE(SUM(event_count), 0) FROM earthquake_rollups_daily WHERE bucket_start >= :start) AS daily";
+
+    private static final String QUERY_SQL = "SELECT bucket_start, region_id, SUM(event_count) AS event_count, " +
+            "SUM(magnitude_sum) AS magnitude_sum, SUM(energy_joules) AS energy_joules " +
+            "FROM %s WHERE bucket_start >= :from AND bucket_start < :to AND magnitude_band >= :minBand %s" +
+            "GROUP BY bucket_start, region_id HAVING SUM(event_count) > 0 " +
+            "ORDER BY bucket_start, region_id";
+
+    private final DatabaseClient databaseClient;
+
+    public record Delta(Instant bucketStart, int magnitudeBand, int regionId, int eventCount, double magnitudeSum, double energyJoules) {}
+
+    // Counted events from start on in the earthquakes table and in each rollup table; equal when the rollups are in step
+    public record Coverage(long events, long hourly, long daily) {
+
+        public boolean inStep() {
+            return hourly == events && daily == events;
+        }
+    }
+
+    public EarthquakeRollupRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<Void> applyDeltas(RollupGranularity granularity, List<Delta> deltas) {
+        if (deltas.isEmpty()) {
+            return Mono.empty();
+        }
+
+        return databaseClient.inConnectionMany(connection -> {
+                    Statement statement = connection.createStatement(String.format(APPLY_SQL, granularity.getTable()));
+                    for (int i = 0; i < deltas.size(); i++) {
+                        if (i > 0) {
+                            statement.add();
+                        }
+                        Delta delta = deltas.get(i);
+                        statement.bind(0, delta.bucketStart())
+                                .bind(1, (short) delta.magnitudeBand())
+                                .bind(2, (short) delta.regionId())
+                                .bind(3, delta.eventCount())
+                                .bind(4, delta.magnitudeSum())
+                                .bind(5, delta.energyJoules());
+                    }
+                    return Flux.from(statement.execute()).flatMap(Result::getRowsUpdated);
+                })
+                .then();
+    }
+
+    // Replaces the buckets in [start, end) with aggregates over the earthquakes table
+    public Mono<Long> recompute(RollupGranularity granularity, Instant start, Instant end) {
+        String table = granularity.getTable();
+        return databaseClient.sql(String.format(DELETE_RANGE_SQL, table))
+                .bind("start", start)
+                .bind("end", end)
+                .then()
+                .then(databaseClient.sql(String.format(RECOMPUTE_SQL, table, granularity.getTruncField()))
+                        .bind("start", start)
+                        .bind("end", end)
+                        .fetch()
+                        .rowsUpdated());
+    }
+
+    // start should be a day boundary, so that both tables' buckets from it on cover the same events
+    public Mono<Coverage> coverage(Instant start) {
+        return databaseClient.sql(COVERAGE_SQL)
+                .bind("start", start)
+                .map(row -> new Coverage(
+                        row.get("events", Long.class),
+                        row.get("hourly", Long.class),
+                        row.get("daily", Long.class)))
+                .one();
+    }
+
+    public Flux<EarthquakeRollup> find(RollupGranularity granularity, Instant from, Instant to, int minBand, Integer regionId) {
+        String regionFilter = regionId == null ? "" : "AND region_id = :regionId ";
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(String.format(QUERY_SQL, granularity.getTable(), regionFilter))
+                .bind("from", from)
+                .bind("to", to)
+                .bind("minBand", (short) minBand);
+        if (regionId != null) {
+            spec = spec.bind("regionId", regionId.shortValue());
+        }
+
+        return spec.map(row -> {
+                    int region = row.get("region_id", Integer.class);
+                    long count = row.get("event_count", Long.class);
+                    double magnitudeSum = row.get("magnitude_sum", Double.class);
+                    return new EarthquakeRollup(
+                            row.get("bucket_start", Instant.class),
+                            region,
+                            (region / REGION_COLUMNS) * REGION_DEGREES - 90.0,
+                            (region % REGION_COLUMNS) * REGION_DEGREES - 180.0,
+                            count,
+                            magnitudeSum / count,
+                            row.get("energy_joules", Double.class));
+                })
+                .all();
+    }
+}
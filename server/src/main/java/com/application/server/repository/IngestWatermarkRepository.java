@@ -0,0 +1,31 @@
+package com.application.server.repository;
+
+import com.application.server.model.Sync.IngestWatermarkEntity;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+@Repository
+public interface IngestWatermarkRepository extends ReactiveCrudRepository<IngestWatermarkEntity, String> {
+
+    @Query("SELECT * FROM ingest_watermarks WHERE source = :source")
+    Mono<IngestWatermarkEntity> findBySource(@Param("source") String source);
+
+    @Modifying
+    @Query("INSERT INTO ingest_watermarks (source, high_water_mark, etag, last_modified, validator_url, updated_at) " +
+            "VALUES (:source, :highWaterMark, :etag, :lastModified, :validatorUrl, NOW()) " +
+            "ON CONFLICT (source) DO UPDATE SET high_water_mark = EXCLUDED.high_water_mark, " +
+            "etag = EXCLUDED.etag, last_modified = EXCLUDED.last_modified, " +
+            "validator_url = EXCLUDED.validator_url, updated_at = EXCLUDED.updated_at")
+    Mono<Integer> upsert(
+            @Param("source") String source,
+            @Param("highWaterMark") Instant highWaterMark,
+            @Param("etag") String etag,
+            @Param("lastModified") String lastModified,
+            @Param("validatorUrl") String validatorUrl);
+}
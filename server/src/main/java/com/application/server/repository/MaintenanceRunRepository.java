@@ -0,0 +1,126 @@
+package com.application.server.repository;
+
+import com.application.server.model.Maintenance.MaintenanceRun;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// History of maintenance runs with the actions they took and the probe latencies around them
+@Repository
+public class MaintenanceRunRepository {
+    private final DatabaseClient databaseClient;
+
+    private record RunRow(long id, Instant startedAt, Instant finishedAt, String status, int tablesChecked, int indexesChecked) {}
+
+    public MaintenanceRunRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<MaintenanceRun> save(MaintenanceRun run) {
+        return databaseClient.sql("INSERT INTO maintenance_runs (started_at, finished_at, status, tables_checked, indexes_checked) " +
+                        "VALUES (:startedAt, :finishedAt, :status, :tablesChecked, :indexesChecked) RETURNING id")
+                .bind("startedAt", run.startedAt())
+                .bind("finishedAt", run.finishedAt())
+                .bind("status", run.status())
+                .bind("tablesChecked", run.tablesChecked())
+                .bind("indexesChecked", run.indexesChecked())
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .flatMap(id -> Flux.fromIterable(run.actions()).concatMap(action -> saveAction(id, action))
+                        .thenMany(Flux.fromIterable(run.probes()).concatMap(probe -> saveProbe(id, probe)))
+                        .then(Mono.just(new MaintenanceRun(id, run.startedAt(), run.finishedAt(), run.status(),
+                                run.tablesChecked(), run.indexesChecked(), run.actions(), run.probes()))));
+    }
+
+    // Most recent first
+    public Flux<MaintenanceRun> findRecent(int limit) {
+        return databaseClient.sql("SELECT id, started_at, finished_at, status, tables_checked, indexes_checked " +
+                        "FROM maintenance_runs ORDER BY started_at DESC LIMIT :limit")
+                .bind("limit", limit)
+                .map(row -> new RunRow(
+                        row.get("id", Long.class),
+                        row.get("started_at", Instant.class),
+                        row.get("finished_at", Instant.class),
+                        row.get("status", String.class),
+                        row.get("tables_checked", Integer.class),
+                        row.get("indexes_checked", Integer.class)))
+                .all()
+                .collectList()
+                .flatMapMany(runs -> {
+                    if (runs.isEmpty()) {
+                        return Flux.empty();
+                    }
+                    Long[] ids = runs.stream().map(RunRow::id).toArray(Long[]::new);
+                    return Mono.zip(findActions(ids), findProbes(ids))
+                            .flatMapMany(details -> Flux.fromIterable(runs).map(run -> new MaintenanceRun(
+                                    run.id(), run.startedAt(), run.finishedAt(), run.status(), run.tablesChecked(), run.indexesChecked(),
+                                    details.getT1().getOrDefault(run.id(), List.of()),
+                                    details.getT2().getOrDefault(run.id(), List.of()))));
+                });
+    }
+
+    public Mono<Long> deleteStartedBefore(Instant cutoff) {
+        return databaseClient.sql("DELETE FROM maintenance_runs WHERE started_at < :cutoff")
+                .bind("cutoff", cutoff)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private Mono<Void> saveAction(long runId, MaintenanceRun.Action action) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("INSERT INTO maintenance_actions " +
+                        "(run_id, target, operation, reason, duration_ms, size_before_bytes, size_after_bytes, error) " +
+                        "VALUES (:runId, :target, :operation, :reason, :durationMs, :sizeBefore, :sizeAfter, :error)")
+                .bind("runId", runId)
+                .bind("target", action.target())
+                .bind("operation", action.operation())
+                .bind("reason", action.reason())
+                .bind("durationMs", action.durationMillis());
+        spec = action.sizeBeforeBytes() != null ? spec.bind("sizeBefore", action.sizeBeforeBytes()) : spec.bindNull("sizeBefore", Long.class);
+        spec = action.sizeAfterBytes() != null ? spec.bind("sizeAfter", action.sizeAfterBytes()) : spec.bindNull("sizeAfter", Long.class);
+        spec = action.error() != null ? spec.bind("error", action.error()) : spec.bindNull("error", String.class);
+        return spec.then();
+    }
+
+    private Mono<Void> saveProbe(long runId, MaintenanceRun.Probe probe) {
+        return databaseClient.sql("INSERT INTO maintenance_probes (run_id, probe, before_ms, after_ms) VALUES (:runId, :probe, :beforeMs, :afterMs)")
+                .bind("runId", runId)
+                .bind("probe", probe.name())
+                .bind("beforeMs", probe.beforeMillis())
+                .bind("afterMs", probe.afterMillis())
+                .then();
+    }
+
+    private Mono<Map<Long, List<MaintenanceRun.Action>>> findActions(Long[] runIds) {
+        return databaseClient.sql("SELECT run_id, target, operation, reason, duration_ms, size_before_bytes, size_after_bytes, error " +
+                        "FROM maintenance_actions WHERE run_id = ANY(:runIds) ORDER BY id")
+                .bind("runIds", runIds)
+                .map(row -> Map.entry(row.get("run_id", Long.class), new MaintenanceRun.Action(
+                        row.get("target", String.class),
+                        row.get("operation", String.class),
+                        row.get("reason", String.class),
+                        row.get("duration_ms", Long.class),
+                        row.get("size_before_bytes", Long.class),
+                        row.get("size_after_bytes", Long.class),
+                        row.get("error", String.class))))
+                .all()
+                .collect(HashMap::new, (grouped, entry) -> grouped.computeIfAbsent(entry.getKey(), unused -> new ArrayList<>()).add(entry.getValue()));
+    }
+
+    private Mono<Map<Long, List<MaintenanceRun.Probe>>> findProbes(Long[] runIds) {
+        return databaseClient.sql("SELECT run_id, probe, before_ms, after_ms FROM maintenance_probes WHERE run_id = ANY(:runIds) ORDER BY probe")
+                .bind("runIds", runIds)
+                .map(row -> Map.entry(row.get("run_id", Long.class), new MaintenanceRun.Probe(
+                        row.get("probe", String.class),
+                        row.get("before_ms", Double.class),
+                        row.get("after_ms", Double.class))))
+                .all()
+                .collect(HashMap::new, (grouped, entry) -> grouped.computeIfAbsent(entry.getKey(), unused -> new ArrayList<>()).add(entry.getValue()));
+    }
+}
@@ -0,0 +1,40 @@
+package com.application.server.repository;
+
+import io.r2dbc.postgresql.PostgresqlConnectionFactory;
+import io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Wrapped;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+
+// Access to driver-specific features (COPY, LISTEN) behind pooled connections, and to connections outside the pool
+public final class PostgresConnections {
+
+    private PostgresConnections() {
+    }
+
+    // The pool hands out wrapped connections; COPY and notifications need the native driver connection
+    public static PostgresqlConnection unwrap(Connection connection) {
+        Object current = connection;
+        while (!(current instanceof PostgresqlConnection) && current instanceof Wrapped<?> wrapped) {
+            current = wrapped.unwrap();
+        }
+        if (current instanceof PostgresqlConnection postgres) {
+            return postgres;
+        }
+        throw new IllegalStateException("Expected a PostgreSQL connection, got " + connection.getClass().getName());
+    }
+
+    // Driver-level factory for the configured database, bypassing the pool (also when the URL is r2dbc:pool:...)
+    public static PostgresqlConnectionFactory unpooled(R2dbcProperties properties) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(properties.getUrl()).mutate();
+        if (properties.getUsername() != null) {
+            options.option(ConnectionFactoryOptions.USER, properties.getUsername());
+        }
+        if (properties.getPassword() != null) {
+            options.option(ConnectionFactoryOptions.PASSWORD, properties.getPassword());
+        }
+        return new PostgresqlConnectionFactoryProvider().create(options.build());
+    }
+}
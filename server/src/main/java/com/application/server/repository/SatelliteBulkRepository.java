@@ -0,0 +1,141 @@
+package com.application.server.repository;
+
+import com.application.server.model.Satellite.SatelliteEntity;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Bulk catalog loads through the Postgres COPY protocol.
+ * Rows are streamed as CSV into a session-local staging table and merged into satellites with one statement.
+ */
+@Repository
+public class SatelliteBulkRepository {
+    private static final String COLUMNS = "norad_cat_id, object_name, object_type, country_code, launch_date, decay_date, " +
+            "last_updated, epoch, tle_line1, tle_line2, inclination, eccentricity, period, apoapsis, periapsis, semimajor_axis, " +
+            "mean_motion, mean_motion_dot, mean_motion_ddot, bstar, ra_of_asc_node, arg_of_pericenter, mean_anomaly, content_hash";
+
+    private static final String CREATE_STAGING_SQL =
+            "CREATE TEMP TABLE IF NOT EXISTS satellites_staging (LIKE satellites INCLUDING DEFAULTS)";
+
+    private static final String TRUNCATE_STAGING_SQL = "TRUNCATE satellites_staging";
+
+    private static final String COPY_SQL = "COPY satellites_staging (" + COLUMNS + ") FROM STDIN WITH (FORMAT csv)";
+
+    // A feed can list an object twice; keep the newest element set
+    private static final String MERGE_SQL = "INSERT INTO satellites (" + COLUMNS + ") " +
+            "SELECT DISTINCT ON (norad_cat_id) " + COLUMNS + " FROM satellites_staging " +
+            "ORDER BY norad_cat_id, epoch DESC " +
+            "ON CONFLICT (norad_cat_id) DO UPDATE SET " +
+            "object_name = EXCLUDED.object_name, object_type = EXCLUDED.object_type, " +
+            "country_code = EXCLUDED.country_code, launch_date = EXCLUDED.launch_date, " +
+            "decay_date = EXCLUDED.decay_date, last_updated = EXCLUDED.last_updated, epoch = EXCLUDED.epoch, " +
+            "tle_line1 = EXCLUDED.tle_line1, tle_line2 = EXCLUDED.tle_line2, " +
+            "inclination = EXCLUDED.inclination, eccentricity = EXCLUDED.eccentricity, period = EXCLUDED.period, " +
+            "apoapsis = EXCLUDED.apoapsis, periapsis = EXCLUDED.periapsis, semimajor_axis = EXCLUDED.semimajor_axis, " +
+            "mean_motion = EXCLUDED.mean_motion, mean_motion_dot = EXCLUDED.mean_motion_dot, " +
+            "mean_motion_ddot = EXCLUDED.mean_motion_ddot, bstar = EXCLUDED.bstar, ra_of_asc_node = EXCLUDED.ra_of_asc_node, " +
+            "arg_of_pericenter = EXCLUDED.arg_of_pericenter, mean_anomaly = EXCLUDED.mean_anomaly, " +
+            "content_hash = EXCLUDED.content_hash";
+
+    private final DatabaseClient databaseClient;
+
+    public SatelliteBulkRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    // Returns the number of rows inserted or updated in satellites
+    public Mono<Long> copyLoad(Flux<SatelliteEntity> satellites) {
+        return databaseClient.inConnection(connection -> {
+            PostgresqlConnection postgres = PostgresConnections.unwrap(connection);
+            Flux<ByteBuf> rows = satellites.map(entity -> Unpooled.wrappedBuffer(toCsvRow(entity).getBytes(StandardCharsets.UTF_8)));
+
+            return execute(postgres, CREATE_STAGING_SQL)
+                    .then(execute(postgres, TRUNCATE_STAGING_SQL))
+                    .then(postgres.copyIn(COPY_SQL, rows))
+                    .doOnNext(copied -> System.out.println("Copied " + copied + " satellites into staging"))
+                    .then(execute(postgres, MERGE_SQL))
+                    .flatMap(merged -> execute(postgres, TRUNCATE_STAGING_SQL).thenReturn(merged));
+        });
+    }
+
+    private static Mono<Long> execute(PostgresqlConnection connection, String sql) {
+        return connection.createStatement(sql)
+                .execute()
+                .flatMap(result -> result.getRowsUpdated())
+                .reduce(0L, Long::sum);
+    }
+
+    private static String toCsvRow(SatelliteEntity entity) {
+        StringBuilder row = new StringBuilder(320);
+        row.append(entity.getNoradCatId()).append(',');
+        appendText(row, entity.getObjectName());
+        row.append(',');
+        appendText(row, entity.getObjectType());
+        row.append(',');
+        appendText(row, entity.getCountryCode());
+        row.append(',');
+        appendValue(row, entity.getLaunchDate());
+        row.append(',');
+        appendValue(row, entity.getDecayDate());
+        row.append(',');
+        appendValue(row, entity.getLastUpdated());
+        row.append(',');
+        appendValue(row, entity.getEpoch());
+        row.append(',');
+        appendText(row, entity.getTleLine1());
+        row.append(',');
+        appendText(row, entity.getTleLine2());
+        row.append(',').append(entity.getInclination());
+        row.append(',').append(entity.getEccentricity());
+        row.append(',').append(entity.getPeriod());
+        row.append(',').append(entity.getApoapsis());
+        row.append(',').append(entity.getPeriapsis());
+        row.append(',').append(entity.getSemimajorAxis());
+        row.append(',');
+        appendValue(row, entity.getMeanMotion());
+        row.append(',');
+        appendValue(row, entity.getMeanMotionDot());
+        row.append(',');
+        appendValue(row, entity.getMeanMotionDdot());
+        row.append(',');
+        appendValue(row, entity.getBstar());
+        row.append(',');
+        appendValue(row, entity.getRaOfAscNode());
+        row.append(',');
+        appendValue(row, entity.getArgOfPericenter());
+        row.append(',');
+        appendValue(row, entity.getMeanAnomaly());
+        row.append(',');
+        appendValue(row, entity.getContentHash());
+        return row.append('\n').toString();
+    }
+
+    // Unquoted empty fields are NULL in CSV COPY, so every non-null string is quoted
+    private static void appendText(StringBuilder row, String value) {
+        if (value == null) {
+            return;
+        }
+        row.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                row.append('"');
+            }
+            row.append(c);
+        }
+        row.append('"');
+    }
+
+    private static void appendValue(StringBuilder row, Object value) {
+        if (value != null) {
+            row.append(value);
+        }
+    }
+}
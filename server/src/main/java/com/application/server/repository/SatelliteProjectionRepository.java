@@ -0,0 +1,13 @@
+package com.application.server.repository;
+
+import com.application.server.model.Satellite.SatelliteField;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.Map;
+
+// Custom fragment of SatelliteRepository for queries whose column list is chosen at runtime
+public interface SatelliteProjectionRepository {
+
+    Flux<Map<String, Object>> fetchGroupProjection(String namePrefix, List<SatelliteField> fields, int after, int limit);
+}
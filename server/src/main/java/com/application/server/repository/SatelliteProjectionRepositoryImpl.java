@@ -0,0 +1,39 @@
+package com.application.server.repository;
+
+import com.application.server.model.Satellite.SatelliteField;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class SatelliteProjectionRepositoryImpl implements SatelliteProjectionRepository {
+    private final DatabaseClient databaseClient;
+
+    public SatelliteProjectionRepositoryImpl(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    // Only the requested columns are selected and decoded; names come from the SatelliteField whitelist
+    @Override
+    public Flux<Map<String, Object>> fetchGroupProjection(String namePrefix, List<SatelliteField> fields, int after, int limit) {
+        String columns = fields.stream().map(SatelliteField::getColumn).collect(Collectors.joining(", "));
+        String sql = "SELECT " + columns + " FROM satellites WHERE object_name ILIKE :pattern AND norad_cat_id > :after " +
+                "ORDER BY norad_cat_id LIMIT :limit";
+
+        return databaseClient.sql(sql)
+                .bind("pattern", namePrefix + "%")
+                .bind("after", after)
+                .bind("limit", limit)
+                .map(row -> {
+                    Map<String, Object> projected = new LinkedHashMap<>();
+                    for (SatelliteField field : fields) {
+                        projected.put(field.getJsonName(), row.get(field.getColumn(), field.getType()));
+                    }
+                    return projected;
+                })
+                .all();
+    }
+}
@@ -8,20 +8,27 @@ import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import java.util.Collection;
 import java.util.UUID;
 
 @Repository
-public interface SatelliteRepository extends ReactiveCrudRepository<SatelliteEntity, UUID> {
+public interface SatelliteRepository extends ReactiveCrudRepository<SatelliteEntity, UUID>, SatelliteProjectionRepository {
 
     @Query("SELECT * FROM satellites WHERE norad_cat_id = :noradCatId")
     Mono<SatelliteEntity> findByNoradCatId(@Param("noradCatId") int noradCatId);
 
-    @Query("SELECT * FROM satellites WHERE object_name ILIKE 'STARLINK%'")
-    Flux<SatelliteEntity> fetchStarlink();
+    Flux<SatelliteEntity> findByNoradCatIdIn(Collection<Integer> noradCatIds);
 
-    @Query("SELECT * FROM satellites WHERE object_name ILIKE 'ONEWEB%'")
-    Flux<SatelliteEntity> fetchOneweb();
+    @Query("SELECT norad_cat_id FROM satellites")
+    Flux<Integer> findAllNoradCatIds();
 
-    @Query("SELECT * FROM satellites WHERE object_name ILIKE 'IRIDIUM%'")
-    Flux<SatelliteEntity> fetchIridium();
+    // Keyset pages ordered by NORAD ID: pass the last ID of the previous page as "after"
+    @Query("SELECT * FROM satellites WHERE object_name ILIKE 'STARLINK%' AND norad_cat_id > :after ORDER BY norad_cat_id LIMIT :limit")
+    Flux<SatelliteEntity> fetchStarlink(@Param("after") int after, @Param("limit") int limit);
+
+    @Query("SELECT * FROM satellites WHERE object_name ILIKE 'ONEWEB%' AND norad_cat_id > :after ORDER BY norad_cat_id LIMIT :limit")
+    Flux<SatelliteEntity> fetchOneweb(@Param("after") int after, @Param("limit") int limit);
+
+    @Query("SELECT * FROM satellites WHERE object_name ILIKE 'IRIDIUM%' AND norad_cat_id > :after ORDER BY norad_cat_id LIMIT :limit")
+    Flux<SatelliteEntity> fetchIridium(@Param("after") int after, @Param("limit") int limit);
 }
\ No newline at end of file
@@ -0,0 +1,141 @@
+package com.application.server.repository;
+
+import com.application.server.model.Sync.SyncRun;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Optional;
+
+// The sync_runs journal: one row per ingestion run, checkpointed as the run commits batches
+@Repository
+public class SyncRunRepository {
+    private static final String COLUMNS = "id, source, status, resumed_from, started_at, updated_at, finished_at, watermark, " +
+            "last_norad_cat_id, batches_committed, processed, created, updated, unchanged, rejected, failed, error";
+
+    private final DatabaseClient databaseClient;
+
+    // Per-outcome counts of a run so far
+    public record Counts(long processed, long created, long updated, long unchanged, long rejected, long failed) {}
+
+    public SyncRunRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<SyncRun> start(String source, Long resumedFrom, Integer lastNoradCatId, Instant watermark) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("INSERT INTO sync_runs (source, status, resumed_from, started_at, updated_at, watermark, last_norad_cat_id) " +
+                        "VALUES (:source, :status, :resumedFrom, NOW(), NOW(), :watermark, :lastNoradCatId) RETURNING " + COLUMNS)
+                .bind("source", source)
+                .bind("status", SyncRun.RUNNING);
+        spec = resumedFrom != null ? spec.bind("resumedFrom", resumedFrom) : spec.bindNull("resumedFrom", Long.class);
+        spec = watermark != null ? spec.bind("watermark", watermark) : spec.bindNull("watermark", Instant.class);
+        spec = lastNoradCatId != null ? spec.bind("lastNoradCatId", lastNoradCatId) : spec.bindNull("lastNoradCatId", Integer.class);
+        return spec.map(SyncRunRepository::toRun).one();
+    }
+
+    // A RUNNING row found while holding the sync lock belongs to a run whose node died or was restarted
+    public Mono<Long> markInterrupted(String source) {
+        return databaseClient.sql("UPDATE sync_runs SET status = :interrupted, finished_at = updated_at " +
+                        "WHERE source = :source AND status = :running")
+                .bind("interrupted", SyncRun.INTERRUPTED)
+                .bind("running", SyncRun.RUNNING)
+                .bind("source", source)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<SyncRun> findLatest(String source) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM sync_runs WHERE source = :source ORDER BY id DESC LIMIT 1")
+                .bind("source", source)
+                .map(SyncRunRepository::toRun)
+                .one();
+    }
+
+    // Start of the earliest run before this one since the source last completed; empty if the previous run completed
+    public Mono<Instant> unfinishedSince(String source, long beforeId) {
+        return databaseClient.sql("SELECT MIN(started_at) AS since FROM sync_runs WHERE source = :source AND id < :beforeId " +
+                        "AND id > COALESCE((SELECT MAX(id) FROM sync_runs WHERE source = :source AND status = :completed), 0)")
+                .bind("source", source)
+                .bind("beforeId", beforeId)
+                .bind("completed", SyncRun.COMPLETED)
+                .map(row -> Optional.ofNullable(row.get("since", Instant.class)))
+                .one()
+                .flatMap(Mono::justOrEmpty);
+    }
+
+    // Newest first; source may be null for every source
+    public Flux<SyncRun> findRecent(String source, int limit) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("SELECT " + COLUMNS + " FROM sync_runs " +
+                        (source != null ? "WHERE source = :source " : "") + "ORDER BY id DESC LIMIT :limit")
+                .bind("limit", limit);
+        if (source != null) {
+            spec = spec.bind("source", source);
+        }
+        return spec.map(SyncRunRepository::toRun).all();
+    }
+
+    // lastNoradCatId is null for sources that are not checkpointed by NORAD ID
+    public Mono<Void> checkpoint(long id, Integer lastNoradCatId, Instant watermark, Counts counts) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("UPDATE sync_runs SET updated_at = NOW(), " +
+                        "last_norad_cat_id = COALESCE(:lastNoradCatId, last_norad_cat_id), batches_committed = batches_committed + 1, " +
+                        "watermark = GREATEST(watermark, :watermark), " +
+                        "processed = :processed, created = :created, updated = :updated, unchanged = :unchanged, rejected = :rejected, failed = :failed " +
+                        "WHERE id = :id")
+                .bind("id", id);
+        spec = lastNoradCatId != null ? spec.bind("lastNoradCatId", lastNoradCatId) : spec.bindNull("lastNoradCatId", Integer.class);
+        spec = watermark != null ? spec.bind("watermark", watermark) : spec.bindNull("watermark", Instant.class);
+        return bindCounts(spec, counts).then();
+    }
+
+    public Mono<Void> finish(long id, String status, Instant watermark, Counts counts, String error) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("UPDATE sync_runs SET status = :status, updated_at = NOW(), finished_at = NOW(), " +
+                        "watermark = GREATEST(watermark, :watermark), " +
+                        "processed = :processed, created = :created, updated = :updated, unchanged = :unchanged, rejected = :rejected, failed = :failed, " +
+                        "error = :error WHERE id = :id")
+                .bind("id", id)
+                .bind("status", status);
+        spec = watermark != null ? spec.bind("watermark", watermark) : spec.bindNull("watermark", Instant.class);
+        spec = error != null ? spec.bind("error", error) : spec.bindNull("error", String.class);
+        return bindCounts(spec, counts).then();
+    }
+
+    public Mono<Long> deleteStartedBefore(Instant cutoff) {
+        return databaseClient.sql("DELETE FROM sync_runs WHERE started_at < :cutoff")
+                .bind("cutoff", cutoff)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindCounts(DatabaseClient.GenericExecuteSpec spec, Counts counts) {
+        return spec.bind("processed", counts.processed())
+                .bind("created", counts.created())
+                .bind("updated", counts.updated())
+                .bind("unchanged", counts.unchanged())
+                .bind("rejected", counts.rejected())
+                .bind("failed", counts.failed());
+    }
+
+    private static SyncRun toRun(Readable row) {
+        return new SyncRun(
+                row.get("id", Long.class),
+                row.get("source", String.class),
+                row.get("status", String.class),
+                row.get("resumed_from", Long.class),
+                row.get("started_at", Instant.class),
+                row.get("updated_at", Instant.class),
+                row.get("finished_at", Instant.class),
+                row.get("watermark", Instant.class),
+                row.get("last_norad_cat_id", Integer.class),
+                row.get("batches_committed", Integer.class),
+                row.get("processed", Long.class),
+                row.get("created", Long.class),
+                row.get("updated", Long.class),
+                row.get("unchanged", Long.class),
+                row.get("rejected", Long.class),
+                row.get("failed", Long.class),
+                row.get("error", String.class));
+    }
+}
@@ -1,15 +1,40 @@
 package com.application.server.scheduler;
 
+import com.application.server.service.ClusterLockService;
+import com.application.server.service.EarthquakeHeatmapService;
+import com.application.server.service.EarthquakeRollupService;
 import com.application.server.service.EarthquakeService;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Component
 public class EarthquakeScheduler {
     private final EarthquakeService earthquakeService;
+    private final EarthquakeHeatmapService heatmapService;
+    private final EarthquakeRollupService rollupService;
+    private final ClusterLockService clusterLockService;
+    private final AtomicBoolean rollupsCaughtUp = new AtomicBoolean();
 
-    public EarthquakeScheduler(EarthquakeService earthquakeService) {
+    public EarthquakeScheduler(EarthquakeService earthquakeService, EarthquakeHeatmapService heatmapService,
+                               EarthquakeRollupService rollupService, ClusterLockService clusterLockService) {
         this.earthquakeService = earthquakeService;
+        this.heatmapService = heatmapService;
+        this.rollupService = rollupService;
+        this.clusterLockService = clusterLockService;
+    }
+
+    // Rollup deltas assume the rollups already count the rows they revise, so bring them up to the table first.
+    // Under the sync lock so no deltas land while buckets are recomputed; if another node holds it, this node's first sync does it
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUpRollups() {
+        clusterLockService.runUnderLock("earthquake-sync", catchUpRollupsOnce()).subscribe();
     }
 
     // Update earthquake data every 5 minutes
@@ -17,7 +42,14 @@ public class EarthquakeScheduler {
     public void syncEarthquakeData() {
         System.out.println("The time has come... Updating earthquake data!");
 
-        earthquakeService.syncEarthquakeData().subscribe();
+        clusterLockService.runExclusively("earthquake-sync", Duration.ofMinutes(2),
+                catchUpRollupsOnce().then(earthquakeService.syncEarthquakeData().then())).subscribe();
+    }
+
+    private Mono<Void> catchUpRollupsOnce() {
+        return Mono.defer(() -> rollupsCaughtUp.get()
+                ? Mono.empty()
+                : rollupService.catchUp(Instant.now()).doOnSuccess(recomputed -> rollupsCaughtUp.set(true)).then());
     }
 
     // Schedule earthquake cleanup at midnight every day
@@ -25,6 +57,12 @@ public class EarthquakeScheduler {
     public void cleanupEarthquakeData() {
         System.out.println("The time has come... Deleting old earthquake data!");
 
-        earthquakeService.cleanupEarthquakeData().subscribe();
+        clusterLockService.runExclusively("earthquake-cleanup", Duration.ofHours(12), earthquakeService.cleanupEarthquakeData()).subscribe();
+    }
+
+    // The heatmap lives in each node's memory, so every node prunes its own copy
+    @Scheduled(cron = "0 0 * * * *")
+    public void pruneHeatmap() {
+        heatmapService.prune();
     }
 }
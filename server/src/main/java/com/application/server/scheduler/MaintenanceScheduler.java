@@ -1,23 +1,27 @@
 package com.application.server.scheduler;
 
+import com.application.server.service.ClusterLockService;
 import com.application.server.service.MaintenanceService;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 @Component
 public class MaintenanceScheduler {
     private final MaintenanceService maintenanceService;
+    private final ClusterLockService clusterLockService;
 
-    public MaintenanceScheduler(MaintenanceService maintenanceService) {
+    public MaintenanceScheduler(MaintenanceService maintenanceService, ClusterLockService clusterLockService) {
         this.maintenanceService = maintenanceService;
+        this.clusterLockService = clusterLockService;
     }
 
-    // Schedule database cleanup at midnight every day
-    @Scheduled(cron = "0 0 0 * * *")
-    public void scheduleDatabaseCleanup() {
-        System.out.println("The time has come... to vacuum!");
-        maintenanceService
-                .runVacuumAnalysis()
+    // Check every hour; the service only acts inside its low-traffic window and on tables that need it
+    @Scheduled(cron = "0 15 * * * *")
+    public void scheduleDatabaseMaintenance() {
+        clusterLockService
+                .runExclusively("database-maintenance", Duration.ofMinutes(30), maintenanceService.runScheduledMaintenance())
                 .subscribe();
     }
 
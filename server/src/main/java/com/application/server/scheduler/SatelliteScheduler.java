@@ -1,15 +1,20 @@
 package com.application.server.scheduler;
 
+import com.application.server.service.ClusterLockService;
 import com.application.server.service.SatelliteService;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 @Component
 public class SatelliteScheduler {
     private final SatelliteService satelliteService;
+    private final ClusterLockService clusterLockService;
 
-    public SatelliteScheduler(SatelliteService satelliteService) {
+    public SatelliteScheduler(SatelliteService satelliteService, ClusterLockService clusterLockService) {
         this.satelliteService = satelliteService;
+        this.clusterLockService = clusterLockService;
     }
 
     // Update every hour and 20 minutes
@@ -17,6 +22,6 @@ public class SatelliteScheduler {
     public void refreshSatelliteData() {
         System.out.println("The time has come... Updating satellite data!");
 
-        satelliteService.updateSatelliteData().subscribe();
+        clusterLockService.runExclusively("satellite-sync", Duration.ofMinutes(30), satelliteService.syncSatelliteData()).subscribe();
     }
 }
\ No newline at end of file
@@ -0,0 +1,105 @@
+package com.application.server.service;
+
+import com.application.server.model.Satellite.CatalogDelta;
+import com.application.server.model.Satellite.SatelliteDTO;
+import com.application.server.model.Satellite.SatelliteGroup;
+import com.application.server.model.Satellite.SatelliteMapper;
+import com.application.server.repository.CatalogChangeRepository;
+import com.application.server.repository.SatelliteRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Cluster-wide catalog versions for incremental client sync. Unlike {@link SatelliteCatalog#getVersion()}, which
+ * counts reloads of one node's in-memory copy, these versions live in the database, so every node answers
+ * GET /api/satellites/changes the same way.
+ *
+ * A client loads its constellations, remembers the version it was given and afterwards asks for what changed
+ * since. It is told to reload instead when its version predates the retained log, a full reload or the
+ * server's current version, or when the delta would be larger than max-objects.
+ */
+@Service
+public class CatalogChangeService {
+    private final CatalogChangeRepository changeRepository;
+    private final SatelliteRepository satelliteRepository;
+
+    @Value("${catalog.changes.retention-days}")
+    private long retentionDays;
+
+    @Value("${catalog.changes.max-objects}")
+    private int maxObjects;
+
+    public CatalogChangeService(CatalogChangeRepository changeRepository, SatelliteRepository satelliteRepository) {
+        this.changeRepository = changeRepository;
+        this.satelliteRepository = satelliteRepository;
+    }
+
+    // Called once the objects are committed; an empty change set does not bump the version
+    public Mono<Void> recordUpserted(String source, Collection<Integer> noradCatIds) {
+        if (noradCatIds.isEmpty()) {
+            return Mono.empty();
+        }
+        return changeRepository.recordUpserted(source, noradCatIds).then();
+    }
+
+    public Mono<Void> deleteSatellites(String source, Collection<Integer> noradCatIds) {
+        if (noradCatIds.isEmpty()) {
+            return Mono.empty();
+        }
+        return changeRepository.deleteSatellites(source, noradCatIds)
+                .doOnNext(version -> System.out.println("Removed " + noradCatIds.size() + " satellites in catalog version " + version))
+                .then();
+    }
+
+    public Mono<Void> recordFullReload(String source) {
+        return changeRepository.recordFullReload(source).then();
+    }
+
+    public Mono<Long> pruneLog() {
+        return changeRepository.deleteCommittedBefore(Instant.now().minus(Duration.ofDays(retentionDays)));
+    }
+
+    // since == null asks for the current version only, e.g. right before a full load
+    public Mono<CatalogDelta> changesSince(Long since, SatelliteGroup group) {
+        return changeRepository.versions().flatMap(versions -> {
+            long current = versions.current();
+            if (since == null || since <= 0 || since > current || since < versions.oldest() - 1
+                    || (versions.lastFullReload() != null && versions.lastFullReload() > since)) {
+                return Mono.just(CatalogDelta.reload(current));
+            }
+            if (since == current) {
+                return Mono.just(new CatalogDelta(current, false, List.of(), List.of()));
+            }
+
+            // One past the limit tells an oversized delta apart from one that is exactly max-objects long
+            return changeRepository.changesBetween(since, current, group != null ? group.getNamePrefix() : null, maxObjects + 1)
+                    .collectList()
+                    .flatMap(changes -> {
+                        if (changes.size() > maxObjects) {
+                            return Mono.just(CatalogDelta.reload(current));
+                        }
+                        List<Integer> upserted = changes.stream().filter(change -> !change.removed()).map(CatalogChangeRepository.Change::noradCatId).toList();
+                        List<Integer> removed = changes.stream().filter(CatalogChangeRepository.Change::removed).map(CatalogChangeRepository.Change::noradCatId).toList();
+                        return upsertedObjects(upserted)
+                                .map(objects -> new CatalogDelta(current, false, objects, removed));
+                    });
+        });
+    }
+
+    // Objects are read from the table rather than this node's catalog, which may not have applied the change yet
+    private Mono<List<SatelliteDTO>> upsertedObjects(List<Integer> noradCatIds) {
+        if (noradCatIds.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        return satelliteRepository.findByNoradCatIdIn(noradCatIds)
+                .map(SatelliteMapper::toDTO)
+                .collectSortedList(Comparator.comparingInt(SatelliteDTO::noradCatId));
+    }
+}
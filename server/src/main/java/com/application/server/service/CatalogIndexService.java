@@ -0,0 +1,69 @@
+package com.application.server.service;
+
+import com.application.server.index.CatalogFilter;
+import com.application.server.index.CatalogIndex;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Keeps a bitmap attribute index over the in-memory catalog, rebuilt lazily once per catalog version,
+ * and evaluates filter expressions against it for the listing and position endpoints.
+ */
+@Service
+public class CatalogIndexService {
+    private final SatelliteCatalog catalog;
+    private volatile CatalogIndex current;
+
+    // Matching slots of one index version; slots resolve to entities and NORAD IDs through the index
+    public record Selection(CatalogIndex index, RoaringBitmap slots) {
+        public boolean matches(int noradCatId) {
+            int slot = index.slotOf(noradCatId);
+            return slot >= 0 && slots.contains(slot);
+        }
+    }
+
+    public CatalogIndexService(SatelliteCatalog catalog) {
+        this.catalog = catalog;
+    }
+
+    public CatalogIndex index() {
+        CatalogIndex index = current;
+        long version = catalog.getVersion();
+        if (index != null && index.getCatalogVersion() == version) {
+            return index;
+        }
+        return rebuild(version);
+    }
+
+    public Selection select(String filter) {
+        if (!catalog.isReady()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Satellite catalog is still loading");
+        }
+
+        CatalogFilter parsed;
+        try {
+            parsed = CatalogFilter.parse(filter);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+
+        CatalogIndex index = index();
+        return new Selection(index, parsed.evaluate(index));
+    }
+
+    private synchronized CatalogIndex rebuild(long version) {
+        CatalogIndex index = current;
+        if (index != null && index.getCatalogVersion() == version) {
+            return index;
+        }
+
+        long started = System.nanoTime();
+        index = CatalogIndex.build(version, catalog.all());
+        current = index;
+        System.out.println("Built catalog index v" + version + " over " + index.size() + " objects in "
+                + (System.nanoTime() - started) / 1_000_000 + " ms (" + index.sizeInBytes() / 1024 + " KiB)");
+        return index;
+    }
+}
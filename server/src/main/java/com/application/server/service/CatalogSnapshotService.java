@@ -0,0 +1,262 @@
+package com.application.server.service;
+
+import com.application.server.model.Satellite.SatelliteEntity;
+import com.application.server.model.Satellite.SatelliteGroup;
+import com.application.server.repository.SatelliteRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Persists the satellite catalog to a compact binary file after each sync and restores it on boot,
+ * so constellation requests can be served before the database or Space-Track have been contacted.
+ */
+@Service
+public class CatalogSnapshotService {
+    private static final int MAGIC = 0x48534E50; // "HSNP"
+    private static final int FORMAT_VERSION = 3;
+    private static final long NULL_LONG = Long.MIN_VALUE;
+
+    private final SatelliteCatalog catalog;
+    private final SatelliteRepository satelliteRepository;
+
+    @Value("${catalog.snapshot.path}")
+    private Path snapshotPath;
+
+    public CatalogSnapshotService(SatelliteCatalog catalog, SatelliteRepository satelliteRepository) {
+        this.catalog = catalog;
+        this.satelliteRepository = satelliteRepository;
+    }
+
+    // Runs before the web server accepts traffic
+    @PostConstruct
+    public void loadSnapshot() {
+        if (!Files.isRegularFile(snapshotPath)) {
+            System.out.println("No catalog snapshot found at " + snapshotPath + ", waiting for database");
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            readSnapshot();
+            System.out.println("Loaded " + catalog.size() + " satellites (catalog version " + catalog.getVersion()
+                    + ") from snapshot in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Ignoring unreadable catalog snapshot: " + e.getMessage());
+        }
+    }
+
+    // Reconcile against the database in the background once the application is serving
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileWithDatabase() {
+        satelliteRepository.findAll()
+                .collectList()
+                .doOnNext(entities -> {
+                    if (entities.isEmpty() && catalog.isReady()) {
+                        System.out.println("Database has no satellites yet, keeping snapshot catalog");
+                        return;
+                    }
+                    // A new version, so caches built from the snapshot since startup are rebuilt from the database rows
+                    catalog.replaceAll(entities, catalog.getVersion() + 1);
+                    System.out.println("Catalog reconciled with database: " + entities.size() + " satellites");
+                })
+                .doOnError(err -> System.err.println("Catalog reconcile error: " + err.getMessage()))
+                .onErrorResume(err -> Mono.empty())
+                .subscribe();
+    }
+
+    public Mono<Void> writeSnapshotAsync() {
+        return Mono.fromCallable(() -> {
+                    writeSnapshot();
+                    return snapshotPath;
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .doOnNext(path -> System.out.println("Catalog snapshot written to " + path))
+                .doOnError(err -> System.err.println("Failed to write catalog snapshot: " + err.getMessage()))
+                .onErrorResume(err -> Mono.empty())
+                .then();
+    }
+
+    public void writeSnapshot() throws IOException {
+        Path directory = snapshotPath.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, "catalog", ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+            List<SatelliteEntity> entities = new ArrayList<>(catalog.all());
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(catalog.getVersion());
+            out.writeLong(System.currentTimeMillis());
+            out.writeInt(entities.size());
+
+            for (SatelliteEntity entity : entities) {
+                SatelliteGroup group = SatelliteGroup.of(entity.getObjectName());
+                writeUuid(out, entity.getId());
+                out.writeInt(entity.getNoradCatId());
+                out.writeByte(group == null ? -1 : group.ordinal());
+                writeString(out, entity.getObjectName());
+                writeString(out, entity.getObjectType());
+                writeString(out, entity.getCountryCode());
+                out.writeLong(entity.getLaunchDate() == null ? NULL_LONG : entity.getLaunchDate().toEpochDay());
+                out.writeLong(entity.getDecayDate() == null ? NULL_LONG : entity.getDecayDate().toEpochDay());
+                writeInstant(out, entity.getEpoch());
+                writeInstant(out, entity.getLastUpdated());
+                writeString(out, entity.getTleLine1());
+                writeString(out, entity.getTleLine2());
+                out.writeDouble(entity.getInclination());
+                out.writeDouble(entity.getEccentricity());
+                out.writeDouble(entity.getPeriod());
+                out.writeDouble(entity.getApoapsis());
+                out.writeDouble(entity.getPeriapsis());
+                out.writeDouble(entity.getSemimajorAxis());
+                writeNullableDouble(out, entity.getMeanMotion());
+                writeNullableDouble(out, entity.getMeanMotionDot());
+                writeNullableDouble(out, entity.getMeanMotionDdot());
+                writeNullableDouble(out, entity.getBstar());
+                writeNullableDouble(out, entity.getRaOfAscNode());
+                writeNullableDouble(out, entity.getArgOfPericenter());
+                writeNullableDouble(out, entity.getMeanAnomaly());
+                out.writeLong(entity.getContentHash() == null ? NULL_LONG : entity.getContentHash());
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        // Readers never observe a half-written snapshot
+        Files.move(temp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void readSnapshot() throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                throw new IOException("unsupported snapshot format");
+            }
+
+            long version = buffer.getLong();
+            buffer.getLong(); // written at
+            int count = buffer.getInt();
+            List<SatelliteEntity> entities = new ArrayList<>(count);
+
+            for (int i = 0; i < count; i++) {
+                SatelliteEntity entity = new SatelliteEntity();
+                entity.setId(readUuid(buffer));
+                entity.setNoradCatId(buffer.getInt());
+                buffer.get(); // group key, derivable from the name
+                entity.setObjectName(readString(buffer));
+                entity.setObjectType(readString(buffer));
+                entity.setCountryCode(readString(buffer));
+                entity.setLaunchDate(readDate(buffer));
+                entity.setDecayDate(readDate(buffer));
+                entity.setEpoch(readInstant(buffer));
+                entity.setLastUpdated(readInstant(buffer));
+                entity.setTleLine1(readString(buffer));
+                entity.setTleLine2(readString(buffer));
+                entity.setInclination(buffer.getDouble());
+                entity.setEccentricity(buffer.getDouble());
+                entity.setPeriod(buffer.getDouble());
+                entity.setApoapsis(buffer.getDouble());
+                entity.setPeriapsis(buffer.getDouble());
+                entity.setSemimajorAxis(buffer.getDouble());
+                entity.setMeanMotion(readNullableDouble(buffer));
+                entity.setMeanMotionDot(readNullableDouble(buffer));
+                entity.setMeanMotionDdot(readNullableDouble(buffer));
+                entity.setBstar(readNullableDouble(buffer));
+                entity.setRaOfAscNode(readNullableDouble(buffer));
+                entity.setArgOfPericenter(readNullableDouble(buffer));
+                entity.setMeanAnomaly(readNullableDouble(buffer));
+                long contentHash = buffer.getLong();
+                entity.setContentHash(contentHash == NULL_LONG ? null : contentHash);
+                entities.add(entity);
+            }
+
+            catalog.replaceAll(entities, version);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeShort(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // NaN marks a missing value; none of these columns can legitimately hold NaN
+    private static void writeNullableDouble(DataOutputStream out, Double value) throws IOException {
+        out.writeDouble(value == null ? Double.NaN : value);
+    }
+
+    private static Double readNullableDouble(ByteBuffer buffer) {
+        double value = buffer.getDouble();
+        return Double.isNaN(value) ? null : value;
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID value) throws IOException {
+        out.writeLong(value == null ? 0L : value.getMostSignificantBits());
+        out.writeLong(value == null ? 0L : value.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(ByteBuffer buffer) {
+        long most = buffer.getLong();
+        long least = buffer.getLong();
+        return most == 0L && least == 0L ? null : new UUID(most, least);
+    }
+
+    private static void writeInstant(DataOutputStream out, Instant value) throws IOException {
+        if (value == null) {
+            out.writeLong(NULL_LONG);
+            out.writeInt(0);
+            return;
+        }
+        out.writeLong(value.getEpochSecond());
+        out.writeInt(value.getNano());
+    }
+
+    private static Instant readInstant(ByteBuffer buffer) {
+        long seconds = buffer.getLong();
+        int nanos = buffer.getInt();
+        return seconds == NULL_LONG ? null : Instant.ofEpochSecond(seconds, nanos);
+    }
+
+    private static LocalDate readDate(ByteBuffer buffer) {
+        long epochDay = buffer.getLong();
+        return epochDay == NULL_LONG ? null : LocalDate.ofEpochDay(epochDay);
+    }
+}
@@ -0,0 +1,146 @@
+package com.application.server.service;
+
+import com.application.server.model.Sync.ChangeNotification;
+import com.application.server.repository.PostgresConnections;
+import io.r2dbc.postgresql.PostgresqlConnectionFactory;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Cross-node cache coherence over Postgres LISTEN/NOTIFY.
+ *
+ * The node that commits ingested data publishes the affected topic and IDs; every node listens on one
+ * long-lived connection and hands notifications from other nodes to the services that cache that topic.
+ * The listener opens its own connection outside the pool: it would otherwise hold a pool slot for the
+ * life of the node, and a broken session would be released back to the pool still subscribed to the
+ * channel. On any error or cancellation that connection is closed, not released. If it drops,
+ * notifications sent meanwhile are lost, so after reconnecting every topic is told to refresh in full.
+ */
+@Service
+public class ChangeNotificationService {
+    public static final String TOPIC_SATELLITES = "satellites";
+    public static final String TOPIC_EARTHQUAKES = "earthquakes";
+
+    private static final String CHANNEL = "heimdall_changes";
+    private static final int MAX_PAYLOAD_BYTES = 7900; // Postgres rejects payloads of 8000 bytes or more
+    private static final List<String> TOPICS = List.of(TOPIC_SATELLITES, TOPIC_EARTHQUAKES);
+
+    private final DatabaseClient databaseClient;
+    private final PostgresqlConnectionFactory listenerConnectionFactory;
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+    private final Sinks.Many<ChangeNotification> changes = Sinks.many().multicast().directBestEffort();
+    private final AtomicBoolean connectedBefore = new AtomicBoolean();
+    private Disposable listener;
+
+    public ChangeNotificationService(DatabaseClient databaseClient, R2dbcProperties r2dbcProperties) {
+        this.databaseClient = databaseClient;
+        this.listenerConnectionFactory = PostgresConnections.unpooled(r2dbcProperties);
+    }
+
+    // Changes made by other nodes for one topic
+    public Flux<ChangeNotification> changes(String topic) {
+        return changes.asFlux()
+                .filter(change -> change.topic().equals(topic))
+                .onBackpressureBuffer(); // consumers refresh from the database and may lag behind bursts
+    }
+
+    public Mono<Void> publish(String topic, Collection<?> ids) {
+        if (ids.isEmpty()) {
+            return Mono.empty();
+        }
+        return Flux.fromIterable(chunk(topic, ids))
+                .concatMap(this::notifyChannel)
+                .then()
+                .doOnSuccess(unused -> System.out.println("Published " + ids.size() + " " + topic + " changes"));
+    }
+
+    public Mono<Void> publishAll(String topic) {
+        return notifyChannel(new ChangeNotification(nodeId, topic, true, List.of()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void listen() {
+        listener = Flux.usingWhen(
+                        listenerConnectionFactory.create(),
+                        this::receive,
+                        PostgresqlConnection::close)
+                .repeat() // the server closed the connection cleanly
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofMinutes(1))
+                        .doBeforeRetry(signal -> System.err.println("Change listener lost its connection: " + signal.failure().getMessage())))
+                .subscribe(this::dispatch);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (listener != null) {
+            listener.dispose();
+        }
+    }
+
+    private Flux<ChangeNotification> receive(PostgresqlConnection postgres) {
+        return postgres.createStatement("LISTEN " + CHANNEL)
+                .execute()
+                .flatMap(result -> result.getRowsUpdated())
+                .thenMany(Flux.defer(() -> {
+                    System.out.println("Listening for cross-node changes on " + CHANNEL);
+                    Flux<ChangeNotification> missed = connectedBefore.getAndSet(true)
+                            ? Flux.fromIterable(TOPICS).map(topic -> new ChangeNotification("", topic, true, List.of()))
+                            : Flux.empty();
+                    return missed.concatWith(postgres.getNotifications()
+                            .filter(notification -> notification.getParameter() != null)
+                            .map(notification -> ChangeNotification.fromPayload(notification.getParameter())));
+                }));
+    }
+
+    private void dispatch(ChangeNotification change) {
+        if (nodeId.equals(change.origin())) {
+            return; // our own commit, caches are already current
+        }
+        changes.tryEmitNext(change);
+    }
+
+    private Mono<Void> notifyChannel(ChangeNotification change) {
+        return databaseClient.sql("SELECT pg_notify(:channel, :payload)")
+                .bind("channel", CHANNEL)
+                .bind("payload", change.toPayload())
+                .then()
+                .doOnError(err -> System.err.println("Failed to publish " + change.topic() + " changes: " + err.getMessage()));
+    }
+
+    // Splits an ID list into notifications that each fit the payload limit
+    private List<ChangeNotification> chunk(String topic, Collection<?> ids) {
+        List<ChangeNotification> chunks = new ArrayList<>();
+        List<String> current = new ArrayList<>();
+        int length = nodeId.length() + topic.length() + 2;
+
+        for (Object id : ids) {
+            String value = String.valueOf(id);
+            if (!current.isEmpty() && length + value.length() + 1 > MAX_PAYLOAD_BYTES) {
+                chunks.add(new ChangeNotification(nodeId, topic, false, current));
+                current = new ArrayList<>();
+                length = nodeId.length() + topic.length() + 2;
+            }
+            current.add(value);
+            length += value.length() + 1;
+        }
+        chunks.add(new ChangeNotification(nodeId, topic, false, current));
+        return chunks;
+    }
+}
@@ -0,0 +1,125 @@
+package com.application.server.service;
+
+import io.r2dbc.spi.Connection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Runs scheduled jobs on exactly one node of a cluster using Postgres session advisory locks.
+ *
+ * Every node fires the same cron; the first to take the job's lock runs it and the others skip that tick.
+ * The lock alone only keeps runs from overlapping: a short job finishes before a slower node reaches the
+ * same tick, so under the lock the node also claims the tick in scheduled_job_runs, which succeeds only if
+ * the last claim is older than the job's minimum interval (on the database clock, so node skew does not
+ * matter). The lock lives on a dedicated pooled connection for the duration of the job and is released explicitly
+ * before the connection goes back to the pool. If the holder dies its session ends, Postgres drops the lock
+ * and the next tick runs on another node. A heartbeat on the lock connection cancels the job if the
+ * connection (and with it the lock) is lost mid-run.
+ */
+@Service
+public class ClusterLockService {
+    // First key of the two-part advisory lock, so job locks cannot collide with other applications' locks
+    private static final int LOCK_NAMESPACE = 0x48444D4C; // "HDML"
+
+    private final DatabaseClient databaseClient;
+
+    @Value("${cluster.lock.heartbeat-seconds}")
+    private long heartbeatSeconds;
+
+    public ClusterLockService(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    // Emits true when this node ran the job, false when another node holds its lock or already ran this tick.
+    // minInterval should be shorter than the cron period but longer than the spread between nodes firing it
+    public Mono<Boolean> runExclusively(String jobName, Duration minInterval, Mono<?> job) {
+        return runLocked(jobName, minInterval, job);
+    }
+
+    // Runs job under jobName's lock without claiming a tick, for one-off work that must not overlap the job
+    public Mono<Boolean> runUnderLock(String jobName, Mono<?> job) {
+        return runLocked(jobName, null, job);
+    }
+
+    private Mono<Boolean> runLocked(String jobName, Duration minInterval, Mono<?> job) {
+        int jobKey = jobName.hashCode();
+
+        return databaseClient.inConnection(connection -> Mono.usingWhen(
+                tryLock(connection, jobKey),
+                acquired -> {
+                    if (!acquired) {
+                        System.out.println("Skipping " + jobName + ": another node holds the lock");
+                        return Mono.just(false);
+                    }
+                    Mono<Boolean> claim = minInterval != null ? claimRun(connection, jobName, minInterval) : Mono.just(true);
+                    return claim.flatMap(claimed -> {
+                        if (!claimed) {
+                            System.out.println("Skipping " + jobName + ": already ran within " + minInterval);
+                            return Mono.just(false);
+                        }
+                        System.out.println("Acquired cluster lock for " + jobName);
+                        return job.then()
+                                .takeUntilOther(lockLost(connection, jobName))
+                                .thenReturn(true);
+                    });
+                },
+                acquired -> unlock(connection, jobKey, acquired),
+                (acquired, err) -> unlock(connection, jobKey, acquired),
+                acquired -> unlock(connection, jobKey, acquired)));
+    }
+
+    private Mono<Boolean> tryLock(Connection connection, int jobKey) {
+        return Flux.from(connection.createStatement("SELECT pg_try_advisory_lock($1, $2)")
+                        .bind(0, LOCK_NAMESPACE)
+                        .bind(1, jobKey)
+                        .execute())
+                .flatMap(result -> result.map((row, metadata) -> Boolean.TRUE.equals(row.get(0, Boolean.class))))
+                .next()
+                .defaultIfEmpty(false);
+    }
+
+    // Records this run unless another node recorded one less than minInterval ago
+    private Mono<Boolean> claimRun(Connection connection, String jobName, Duration minInterval) {
+        return Flux.from(connection.createStatement("INSERT INTO scheduled_job_runs (job_name, last_run_at) VALUES ($1, NOW()) " +
+                                "ON CONFLICT (job_name) DO UPDATE SET last_run_at = EXCLUDED.last_run_at " +
+                                "WHERE scheduled_job_runs.last_run_at <= NOW() - $2 * INTERVAL '1 millisecond' " +
+                                "RETURNING job_name")
+                        .bind(0, jobName)
+                        .bind(1, (double) minInterval.toMillis())
+                        .execute())
+                .flatMap(result -> result.map((row, metadata) -> true))
+                .next()
+                .defaultIfEmpty(false);
+    }
+
+    private Mono<Void> unlock(Connection connection, int jobKey, boolean acquired) {
+        if (!acquired) {
+            return Mono.empty();
+        }
+        return Flux.from(connection.createStatement("SELECT pg_advisory_unlock($1, $2)")
+                        .bind(0, LOCK_NAMESPACE)
+                        .bind(1, jobKey)
+                        .execute())
+                .flatMap(result -> result.getRowsUpdated())
+                .then()
+                .onErrorResume(err -> Mono.empty()); // a dead session has already released the lock
+    }
+
+    // Completes only if the lock connection stops answering
+    private Mono<Void> lockLost(Connection connection, String jobName) {
+        return Flux.interval(Duration.ofSeconds(heartbeatSeconds))
+                .concatMap(tick -> Flux.from(connection.createStatement("SELECT 1").execute())
+                        .flatMap(result -> result.getRowsUpdated())
+                        .then())
+                .then()
+                .onErrorResume(err -> {
+                    System.err.println("Lost cluster lock for " + jobName + ", cancelling: " + err.getMessage());
+                    return Mono.empty();
+                });
+    }
+}
@@ -0,0 +1,234 @@
+package com.application.server.service;
+
+import com.application.server.model.Earthquake.BackfillReport;
+import com.application.server.model.Earthquake.EarthquakeCount;
+import com.application.server.model.Earthquake.EarthquakeMapper;
+import com.application.server.repository.BackfillCheckpointRepository;
+import com.application.server.repository.BackfillCheckpointRepository.Window;
+import com.application.server.repository.EarthquakeBulkRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Loads historical USGS events for an arbitrary date range.
+ * The range is split into windows that stay under the per-query event cap, windows are fetched with
+ * bounded parallelism and bulk-upserted, and each finished window is checkpointed so a rerun resumes.
+ */
+@Service
+public class EarthquakeBackfillService {
+    private static final DateTimeFormatter USGS_TIME_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE_TIME.withZone(ZoneOffset.UTC);
+    private static final Duration MIN_WINDOW = Duration.ofMinutes(1);
+
+    private final WebClient.Builder webClientBuilder;
+    private final EarthquakeService earthquakeService;
+    private final EarthquakeBulkRepository bulkRepository;
+    private final BackfillCheckpointRepository checkpointRepository;
+    private final EarthquakeHeatmapService heatmapService;
+    private final ChangeNotificationService notificationService;
+    private final EarthquakeRollupService rollupService;
+    private final Map<String, Progress> jobs = new ConcurrentHashMap<>();
+    private WebClient webClient;
+
+    @Value("${usgs.base}")
+    private String baseUrl;
+
+    @Value("${usgs.backfill.initial-window-days}")
+    private long initialWindowDays;
+
+    @Value("${usgs.backfill.max-events-per-window}")
+    private int maxEventsPerWindow;
+
+    @Value("${usgs.backfill.parallelism}")
+    private int parallelism;
+
+    @Value("${usgs.backfill.batch-size}")
+    private int batchSize;
+
+    public EarthquakeBackfillService(
+            WebClient.Builder webClientBuilder,
+            EarthquakeService earthquakeService,
+            EarthquakeBulkRepository bulkRepository,
+            BackfillCheckpointRepository checkpointRepository,
+            EarthquakeHeatmapService heatmapService,
+            ChangeNotificationService notificationService,
+            EarthquakeRollupService rollupService) {
+        this.webClientBuilder = webClientBuilder;
+        this.earthquakeService = earthquakeService;
+        this.bulkRepository = bulkRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.heatmapService = heatmapService;
+        this.notificationService = notificationService;
+        this.rollupService = rollupService;
+    }
+
+    @PostConstruct
+    private void init() {
+        webClient = webClientBuilder.baseUrl(baseUrl).build();
+    }
+
+    // Starts (or resumes) a backfill in the background and returns its initial progress
+    public BackfillReport startBackfill(Instant start, Instant end, double minMagnitude) {
+        if (start == null || end == null || !start.isBefore(end)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "start must be before end");
+        }
+
+        String jobId = start.getEpochSecond() + "-" + end.getEpochSecond() + "-m" + minMagnitude;
+        Progress running = jobs.get(jobId);
+        if (running != null && "RUNNING".equals(running.status)) {
+            return running.toReport();
+        }
+
+        Progress progress = new Progress(jobId, start, end, minMagnitude);
+        jobs.put(jobId, progress);
+        runBackfill(progress).subscribe();
+        return progress.toReport();
+    }
+
+    public BackfillReport getReport(String jobId) {
+        Progress progress = jobs.get(jobId);
+        if (progress == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown backfill job " + jobId);
+        }
+        return progress.toReport();
+    }
+
+    private Mono<Void> runBackfill(Progress progress) {
+        System.out.println("Starting earthquake backfill " + progress.jobId);
+
+        return checkpointRepository.findCompletedWindows(progress.jobId)
+                .collect(Collectors.toSet())
+                .flatMapMany(completed -> splitRange(progress, completed))
+                .doOnNext(window -> progress.windowsPlanned.incrementAndGet())
+                .flatMap(window -> loadWindow(progress, window), parallelism)
+                .then(Mono.defer(heatmapService::rebuild)) // bulk upserts bypass the per-event heatmap and rollup updates
+                .then(Mono.defer(() -> rollupService.recompute(progress.start, progress.end)))
+                .then(Mono.defer(() -> notificationService.publishAll(ChangeNotificationService.TOPIC_EARTHQUAKES)))
+                .doOnSuccess(unused -> {
+                    progress.finish("COMPLETED", null);
+                    BackfillReport report = progress.toReport();
+                    System.out.println("Earthquake backfill " + progress.jobId + " complete: " + report.eventsLoaded()
+                            + " events in " + report.elapsedMillis() + " ms (" + Math.round(report.eventsPerSecond()) + " events/sec)");
+                })
+                .doOnError(err -> {
+                    progress.finish("FAILED", err.getMessage());
+                    System.err.println("Earthquake backfill " + progress.jobId + " failed: " + err.getMessage());
+                })
+                .onErrorResume(err -> Mono.empty());
+    }
+
+    // Emits windows that fit under the event cap; completed windows are skipped without a count query
+    private Flux<Window> splitRange(Progress progress, Set<Window> completed) {
+        Duration initial = Duration.ofDays(initialWindowDays);
+        return Flux.<Window, Instant>generate(() -> progress.start, (cursor, sink) -> {
+                    if (!cursor.isBefore(progress.end)) {
+                        sink.complete();
+                        return cursor;
+                    }
+                    Instant windowEnd = cursor.plus(initial).isBefore(progress.end) ? cursor.plus(initial) : progress.end;
+                    sink.next(new Window(cursor, windowEnd));
+                    return windowEnd;
+                })
+                .concatMap(window -> splitWindow(progress, window, completed));
+    }
+
+    private Flux<Window> splitWindow(Progress progress, Window window, Set<Window> completed) {
+        if (completed.contains(window)) {
+            progress.windowsSkipped.incrementAndGet();
+            return Flux.empty();
+        }
+
+        return countEvents(window, progress.minMagnitude).flatMapMany(count -> {
+            int cap = Math.min(maxEventsPerWindow, count.maxAllowed() > 0 ? count.maxAllowed() : maxEventsPerWindow);
+            Duration length = Duration.between(window.start(), window.end());
+            if (count.count() <= cap || length.compareTo(MIN_WINDOW) <= 0) {
+                return Flux.just(window);
+            }
+
+            Instant middle = window.start().plus(length.dividedBy(2)).truncatedTo(ChronoUnit.SECONDS);
+            return Flux.concat(
+                    splitWindow(progress, new Window(window.start(), middle), completed),
+                    splitWindow(progress, new Window(middle, window.end()), completed));
+        });
+    }
+
+    private Mono<EarthquakeCount> countEvents(Window window, double minMagnitude) {
+        return webClient.get()
+                .uri("/count?format=geojson" + windowQuery(window, minMagnitude))
+                .retrieve()
+                .bodyToMono(EarthquakeCount.class);
+    }
+
+    private Mono<Void> loadWindow(Progress progress, Window window) {
+        AtomicInteger events = new AtomicInteger();
+
+        return earthquakeService.fetchEarthquakeFeatures("/query?format=geojson&orderby=time-asc" + windowQuery(window, progress.minMagnitude))
+                .map(EarthquakeMapper::toEntity)
+                .buffer(batchSize)
+                .concatMap(batch -> bulkRepository.upsertAll(batch).doOnNext(unused -> {
+                    events.addAndGet(batch.size());
+                    progress.eventsLoaded.addAndGet(batch.size());
+                }))
+                .then(Mono.defer(() -> checkpointRepository.markCompleted(progress.jobId, window, events.get())))
+                .doOnSuccess(unused -> progress.windowsCompleted.incrementAndGet());
+    }
+
+    private static String windowQuery(Window window, double minMagnitude) {
+        return "&starttime=" + USGS_TIME_FORMAT.format(window.start())
+                + "&endtime=" + USGS_TIME_FORMAT.format(window.end())
+                + "&minmagnitude=" + minMagnitude;
+    }
+
+    private static class Progress {
+        private final String jobId;
+        private final Instant start;
+        private final Instant end;
+        private final double minMagnitude;
+        private final long startedAt = System.currentTimeMillis();
+        private final AtomicInteger windowsPlanned = new AtomicInteger();
+        private final AtomicInteger windowsSkipped = new AtomicInteger();
+        private final AtomicInteger windowsCompleted = new AtomicInteger();
+        private final AtomicLong eventsLoaded = new AtomicLong();
+        private volatile String status = "RUNNING";
+        private volatile String error;
+        private volatile long finishedAt;
+
+        Progress(String jobId, Instant start, Instant end, double minMagnitude) {
+            this.jobId = jobId;
+            this.start = start;
+            this.end = end;
+            this.minMagnitude = minMagnitude;
+        }
+
+        void finish(String status, String error) {
+            this.finishedAt = System.currentTimeMillis();
+            this.error = error;
+            this.status = status;
+        }
+
+        BackfillReport toReport() {
+            long elapsed = (finishedAt > 0 ? finishedAt : System.currentTimeMillis()) - startedAt;
+            long loaded = eventsLoaded.get();
+            double eventsPerSecond = elapsed > 0 ? loaded * 1000.0 / elapsed : 0.0;
+            return new BackfillReport(jobId, status, start, end, minMagnitude, windowsPlanned.get(), windowsSkipped.get(),
+                    windowsCompleted.get(), loaded, elapsed, eventsPerSecond, error);
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.application.server.service;
+
+import com.application.server.model.Earthquake.EarthquakeEntity;
+import com.application.server.model.Earthquake.EarthquakeHeatmap;
+import com.application.server.repository.EarthquakeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Earthquake heatmap grids kept up to date as events are written, so a request is a read of in-memory
+ * accumulators rather than an aggregation over the earthquakes table.
+ *
+ * Every event contributes to one accumulator per resolution, keyed by grid cell, hour and half-magnitude band.
+ * The last contribution of each event is remembered, so a revision (new magnitude, location, time or a
+ * reclassification away from "earthquake") first subtracts what the event added before. Each accumulator
+ * keeps a magnitude multiset, which keeps the maximum exact after retractions and lets a minMag that falls
+ * inside a band be answered exactly.
+ *
+ * Hours that fall out of the retention window are pruned hourly on each node. A full rebuild loads the table
+ * without holding the lock, so events applied or removed while it loads are recorded and replayed over the
+ * loaded snapshot instead of being overwritten by it.
+ */
+@Service
+public class EarthquakeHeatmapService {
+    private static final double[] RESOLUTIONS = { 1.0, 2.0, 5.0, 10.0 };
+    private static final long HOUR_SECONDS = 3600;
+
+    private final EarthquakeRepository earthquakeRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Contribution> contributions = new HashMap<>(); // preferred event ID -> last contribution
+    private final List<Map<CellKey, Accumulator>> grids = new ArrayList<>();
+    private final List<Map<String, Optional<EarthquakeEntity>>> pendingRebuilds = new ArrayList<>(); // writes seen while a rebuild loads; empty = removed
+
+    @Value("${heatmap.retention-days}")
+    private long retentionDays;
+
+    // What one event added to the grids
+    private record Contribution(double latitude, double longitude, double magnitude, long hour) {}
+
+    private record CellKey(int row, int column, long hour, int band) {}
+
+    private static class Accumulator {
+        final TreeMap<Double, Integer> magnitudes = new TreeMap<>();
+        int count;
+        double energyJoules;
+
+        void add(double magnitude) {
+            magnitudes.merge(magnitude, 1, Integer::sum);
+            count++;
+            energyJoules += energy(magnitude);
+        }
+
+        void remove(double magnitude) {
+            magnitudes.computeIfPresent(magnitude, (m, n) -> n == 1 ? null : n - 1);
+            count--;
+            energyJoules -= energy(magnitude);
+        }
+    }
+
+    public EarthquakeHeatmapService(EarthquakeRepository earthquakeRepository) {
+        this.earthquakeRepository = earthquakeRepository;
+        for (int i = 0; i < RESOLUTIONS.length; i++) {
+            grids.add(new HashMap<>());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild().subscribe();
+    }
+
+    // Reloads every grid from the table, e.g. after a backfill or when another node asks for a full refresh
+    public Mono<Void> rebuild() {
+        return Mono.defer(() -> {
+            Map<String, Optional<EarthquakeEntity>> pending = new LinkedHashMap<>();
+            lock.writeLock().lock();
+            try {
+                pendingRebuilds.add(pending);
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            Instant cutoff = Instant.now().minus(Duration.ofDays(retentionDays));
+            return earthquakeRepository.findByEventTimeAfter(cutoff)
+                    .collectList()
+                    .doOnNext(entities -> {
+                        lock.writeLock().lock();
+                        try {
+                            contributions.clear();
+                            grids.forEach(Map::clear);
+                            entities.forEach(this::applyLocked);
+                            // Anything written during the load is newer than the snapshot
+                            pending.forEach((eventId, entity) -> {
+                                if (entity.isPresent()) {
+                                    applyLocked(entity.get());
+                                } else {
+                                    retract(eventId);
+                                }
+                            });
+                        } finally {
+                            lock.writeLock().unlock();
+                        }
+                        System.out.println("Earthquake heatmap built from " + entities.size() + " events");
+                    })
+                    .doOnError(err -> System.err.println("Failed to build earthquake heatmap: " + err.getMessage()))
+                    .onErrorResume(err -> Mono.empty())
+                    .doFinally(signal -> {
+                        lock.writeLock().lock();
+                        try {
+                            pendingRebuilds.remove(pending);
+                        } finally {
+                            lock.writeLock().unlock();
+                        }
+                    })
+                    .then();
+        });
+    }
+
+    // Replaces the event's previous contribution, if any, with its current state
+    public void apply(EarthquakeEntity entity) {
+        lock.writeLock().lock();
+        try {
+            applyLocked(entity);
+            pendingRebuilds.forEach(pending -> pending.put(entity.getPreferred_event_id(), Optional.of(entity)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String preferredEventId) {
+        lock.writeLock().lock();
+        try {
+            retract(preferredEventId);
+            pendingRebuilds.forEach(pending -> pending.put(preferredEventId, Optional.empty()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Drops events whose hour has left the retention window; independent of the table cleanup
+    public void prune() {
+        long cutoffHour = Math.floorDiv(Instant.now().minus(Duration.ofDays(retentionDays)).getEpochSecond(), HOUR_SECONDS);
+        int pruned = 0;
+        lock.writeLock().lock();
+        try {
+            List<String> expired = new ArrayList<>();
+            contributions.forEach((eventId, contribution) -> {
+                if (contribution.hour() < cutoffHour) {
+                    expired.add(eventId);
+                }
+            });
+            expired.forEach(this::retract);
+            pruned = expired.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (pruned > 0) {
+            System.out.println("Pruned " + pruned + " expired events from the earthquake heatmap");
+        }
+    }
+
+    public EarthquakeHeatmap heatmap(double resolution, Instant since, Double minMag) {
+        double minMagnitude = minMag == null ? Double.NEGATIVE_INFINITY : minMag;
+        int level = resolutionIndex(resolution);
+        Instant earliest = Instant.now().minus(Duration.ofDays(retentionDays));
+        Instant from = since == null || since.isBefore(earliest) ? earliest : since;
+        long fromHour = Math.floorDiv(from.getEpochSecond(), HOUR_SECONDS);
+        int fullBand = (int) Math.ceil(minMagnitude * 2.0);
+
+        Map<Long, double[]> cells = new HashMap<>(); // row/column -> {count, max, energy}
+        int eventCount = 0;
+
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<CellKey, Accumulator> entry : grids.get(level).entrySet()) {
+                CellKey key = entry.getKey();
+                if (key.hour() < fromHour || key.band() + 1 <= minMagnitude * 2.0) {
+                    continue;
+                }
+
+                Accumulator accumulator = entry.getValue();
+                int count;
+                double max;
+                double energy;
+                if (key.band() >= fullBand) {
+                    count = accumulator.count;
+                    max = accumulator.magnitudes.lastKey();
+                    energy = accumulator.energyJoules;
+                } else {
+                    // minMagnitude falls inside this band: use only the magnitudes at or above it
+                    count = 0;
+                    energy = 0.0;
+                    for (Map.Entry<Double, Integer> magnitude : accumulator.magnitudes.tailMap(minMagnitude, true).entrySet()) {
+                        count += magnitude.getValue();
+                        energy += magnitude.getValue() * energy(magnitude.getKey());
+                    }
+                    if (count == 0) {
+                        continue;
+                    }
+                    max = accumulator.magnitudes.lastKey();
+                }
+
+                double[] cell = cells.computeIfAbsent(((long) key.row() << 32) | (key.column() & 0xffffffffL),
+                        k -> new double[] { 0, Double.NEGATIVE_INFINITY, 0 });
+                cell[0] += count;
+                cell[1] = Math.max(cell[1], max);
+                cell[2] += energy;
+                eventCount += count;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<EarthquakeHeatmap.Cell> result = new ArrayList<>(cells.size());
+        for (Map.Entry<Long, double[]> entry : cells.entrySet()) {
+            int row = (int) (entry.getKey() >> 32);
+            int column = (int) (long) entry.getKey();
+            double[] cell = entry.getValue();
+            result.add(new EarthquakeHeatmap.Cell(row * resolution - 90.0, column * resolution - 180.0,
+                    (int) cell[0], cell[1], cell[2]));
+        }
+        result.sort(Comparator.comparingDouble(EarthquakeHeatmap.Cell::latitude).thenComparingDouble(EarthquakeHeatmap.Cell::longitude));
+        return new EarthquakeHeatmap(resolution, from, minMag, eventCount, result);
+    }
+
+    private void applyLocked(EarthquakeEntity entity) {
+        String eventId = entity.getPreferred_event_id();
+        retract(eventId);
+
+        if (entity.getMagnitude() == null || entity.getEpicenter_latitude() == null || entity.getEpicenter_longitude() == null
+                || entity.getEvent_time() == null || !isEarthquake(entity.getEvent_type())) {
+            return;
+        }
+
+        Contribution contribution = new Contribution(entity.getEpicenter_latitude(), entity.getEpicenter_longitude(),
+                entity.getMagnitude(), Math.floorDiv(entity.getEvent_time().getEpochSecond(), HOUR_SECONDS));
+        for (int level = 0; level < RESOLUTIONS.length; level++) {
+            grids.get(level).computeIfAbsent(keyOf(contribution, RESOLUTIONS[level]), k -> new Accumulator())
+                    .add(contribution.magnitude());
+        }
+        contributions.put(eventId, contribution);
+    }
+
+    private void retract(String eventId) {
+        Contribution previous = contributions.remove(eventId);
+        if (previous == null) {
+            return;
+        }
+        for (int level = 0; level < RESOLUTIONS.length; level++) {
+            Map<CellKey, Accumulator> grid = grids.get(level);
+            CellKey key = keyOf(previous, RESOLUTIONS[level]);
+            Accumulator accumulator = grid.get(key);
+            if (accumulator != null) {
+                accumulator.remove(previous.magnitude());
+                if (accumulator.count <= 0) {
+                    grid.remove(key);
+                }
+            }
+        }
+    }
+
+    private static CellKey keyOf(Contribution contribution, double resolution) {
+        int rows = (int) Math.ceil(180.0 / resolution);
+        int columns = (int) Math.ceil(360.0 / resolution);
+        int row = Math.min(rows - 1, Math.max(0, (int) Math.floor((contribution.latitude() + 90.0) / resolution)));
+        int column = Math.floorMod((int) Math.floor((contribution.longitude() + 180.0) / resolution), columns);
+        return new CellKey(row, column, contribution.hour(), (int) Math.floor(contribution.magnitude() * 2.0));
+    }
+
+    private static int resolutionIndex(double resolution) {
+        for (int i = 0; i < RESOLUTIONS.length; i++) {
+            if (RESOLUTIONS[i] == resolution) {
+                return i;
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "res must be one of 1, 2, 5 or 10 degrees");
+    }
+
+    private static boolean isEarthquake(String eventType) {
+        return eventType == null || "earthquake".equalsIgnoreCase(eventType);
+    }
+
+    // Radiated energy from magnitude (Gutenberg-Richter): log10 E = 1.5 M + 4.8, in joules
+    private static double energy(double magnitude) {
+        return Math.pow(10.0, 1.5 * magnitude + 4.8);
+    }
+}
@@ -0,0 +1,146 @@
+package com.application.server.service;
+
+import com.application.server.model.Earthquake.EarthquakeEntity;
+import com.application.server.model.Earthquake.EarthquakeRollup;
+import com.application.server.model.Earthquake.RollupGranularity;
+import com.application.server.repository.EarthquakeRollupRepository;
+import com.application.server.repository.EarthquakeRollupRepository.Delta;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the hourly and daily rollup tables in step with the earthquakes table.
+ *
+ * The sync hands over each event's contribution before and after it was written, inside the transaction
+ * that writes the row; the old contribution is retracted and the new one added, so revisions and reclassifications (event_type no longer "earthquake")
+ * move counts instead of duplicating them. Rollups are not touched by the 30-day retention cleanup, so
+ * they keep history the raw table no longer has.
+ *
+ * Deltas are only right on top of rollups that already count the event being revised, so before a node's
+ * first sync {@link #catchUp(Instant)} recomputes the retained days if their counts disagree with the table,
+ * e.g. on the first start after the rollup tables were added.
+ */
+@Service
+public class EarthquakeRollupService {
+    private static final Duration MAX_HOURLY_RANGE = Duration.ofDays(92);
+    // How far back the earthquakes table reaches (EarthquakeRepository.deleteEarthquakesOlderThan30Days)
+    private static final Duration RAW_RETENTION = Duration.ofDays(30);
+
+    private final EarthquakeRollupRepository rollupRepository;
+
+    // What one event adds to the rollups; null when the event is not counted
+    public record Contribution(Instant eventTime, int magnitudeBand, int regionId, double magnitude) {
+
+        public static Contribution of(EarthquakeEntity entity) {
+            if (entity.getMagnitude() == null || entity.getEvent_time() == null
+                    || entity.getEpicenter_latitude() == null || entity.getEpicenter_longitude() == null) {
+                return null;
+            }
+            if (entity.getEvent_type() != null && !"earthquake".equalsIgnoreCase(entity.getEvent_type())) {
+                return null;
+            }
+
+            int row = Math.min(5, (int) Math.floor((entity.getEpicenter_latitude() + 90.0) / EarthquakeRollupRepository.REGION_DEGREES));
+            int column = Math.floorMod((int) Math.floor((entity.getEpicenter_longitude() + 180.0) / EarthquakeRollupRepository.REGION_DEGREES),
+                    EarthquakeRollupRepository.REGION_COLUMNS);
+            double magnitude = entity.getMagnitude();
+            return new Contribution(entity.getEvent_time(), (int) Math.floor(magnitude * 2.0),
+                    row * EarthquakeRollupRepository.REGION_COLUMNS + column, magnitude);
+        }
+
+        Delta toDelta(RollupGranularity granularity, int sign) {
+            return new Delta(granularity.bucketOf(eventTime), magnitudeBand, regionId, sign,
+                    sign * magnitude, sign * Math.pow(10.0, 1.5 * magnitude + 4.8));
+        }
+    }
+
+    public EarthquakeRollupService(EarthquakeRollupRepository rollupRepository) {
+        this.rollupRepository = rollupRepository;
+    }
+
+    // Either side may be null: a new event has no previous contribution, a reclassified one no current one
+    public Mono<Void> apply(Contribution previous, Contribution current) {
+        if (previous == null && current == null || previous != null && previous.equals(current)) {
+            return Mono.empty();
+        }
+
+        return Flux.fromArray(RollupGranularity.values())
+                .concatMap(granularity -> {
+                    List<Delta> deltas = new ArrayList<>(2);
+                    if (previous != null) {
+                        deltas.add(previous.toDelta(granularity, -1));
+                    }
+                    if (current != null) {
+                        deltas.add(current.toDelta(granularity, 1));
+                    }
+                    return rollupRepository.applyDeltas(granularity, deltas);
+                })
+                .then()
+                .doOnError(err -> System.err.println("Failed to update earthquake rollups: " + err.getMessage()));
+    }
+
+    // Rebuilds every bucket touching [start, end) from the raw table, for bulk loads that bypass apply()
+    public Mono<Void> recompute(Instant start, Instant end) {
+        Instant from = start.truncatedTo(ChronoUnit.DAYS);
+        Instant to = end.truncatedTo(ChronoUnit.DAYS).equals(end) ? end : end.truncatedTo(ChronoUnit.DAYS).plus(Duration.ofDays(1));
+
+        return Flux.fromArray(RollupGranularity.values())
+                .concatMap(granularity -> rollupRepository.recompute(granularity, from, to))
+                .then()
+                .doOnSuccess(unused -> System.out.println("Recomputed earthquake rollups from " + from + " to " + to));
+    }
+
+    /**
+     * Recomputes the rollups of every whole day the earthquakes table still holds unless they count the same events.
+     * The partly cleaned-up oldest day is left alone, since recomputing it would drop the history the table has lost.
+     * Emits whether anything was recomputed. Callers hold the earthquake sync lock, so no deltas land meanwhile.
+     */
+    public Mono<Boolean> catchUp(Instant now) {
+        Instant start = now.minus(RAW_RETENTION).truncatedTo(ChronoUnit.DAYS).plus(Duration.ofDays(1));
+        return rollupRepository.coverage(start)
+                .flatMap(coverage -> {
+                    if (coverage.inStep()) {
+                        return Mono.just(false);
+                    }
+                    System.out.println("Earthquake rollups count " + coverage.hourly() + " hourly / " + coverage.daily()
+                            + " daily events since " + start + " against " + coverage.events() + " in the table, recomputing");
+                    return recompute(start, now).thenReturn(true);
+                });
+    }
+
+    public Flux<EarthquakeRollup> query(String granularity, Instant from, Instant to, Double minMagnitude, Integer regionId) {
+        RollupGranularity resolved;
+        try {
+            resolved = RollupGranularity.valueOf(granularity.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "granularity must be hour or day");
+        }
+        if (minMagnitude != null && minMagnitude * 2.0 != Math.floor(minMagnitude * 2.0)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "minMag must be a multiple of 0.5");
+        }
+        if (regionId != null && (regionId < 0 || regionId >= 6 * EarthquakeRollupRepository.REGION_COLUMNS)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "region must be between 0 and 71");
+        }
+
+        Instant end = to == null ? Instant.now() : to;
+        Instant start = from == null ? end.minus(Duration.ofDays(30)) : from;
+        if (!start.isBefore(end)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must be before to");
+        }
+        if (resolved == RollupGranularity.HOUR && Duration.between(start, end).compareTo(MAX_HOURLY_RANGE) > 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "hourly rollups are limited to 92 days; use granularity=day");
+        }
+
+        int minBand = minMagnitude == null ? Short.MIN_VALUE : (int) Math.floor(minMagnitude * 2.0);
+        return rollupRepository.find(resolved, resolved.bucketOf(start), end, minBand, regionId);
+    }
+}
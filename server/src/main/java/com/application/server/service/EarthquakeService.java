@@ -1,73 +1,237 @@
 package com.application.server.service;
 
+import com.application.server.codec.GeoJsonFeatureDecoder;
+import com.application.server.logging.IngestionLog;
+import com.application.server.logging.IngestionLog.Outcome;
 import com.application.server.model.Earthquake.Earthquake;
 import com.application.server.model.Earthquake.EarthquakeEntity;
-import com.application.server.model.Earthquake.EarthquakeFeatureCollection;
+import com.application.server.model.Earthquake.EarthquakeFilter;
 import com.application.server.model.Earthquake.EarthquakeMapper;
+import com.application.server.model.Sync.IngestWatermarkEntity;
+import com.application.server.repository.EarthquakeQueryRepository;
 import com.application.server.repository.EarthquakeRepository;
+import com.application.server.repository.IngestWatermarkRepository;
+import com.application.server.service.EarthquakeRollupService.Contribution;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import java.time.format.DateTimeFormatter;
 
+import java.time.DateTimeException;
 import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class EarthquakeService {
+    private static final String USGS_SOURCE = "usgs";
+    private static final DateTimeFormatter USGS_TIME_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE_TIME.withZone(ZoneOffset.UTC);
+    private static final Set<String> ALERT_LEVELS = Set.of("green", "yellow", "orange", "red");
+    private static final Set<String> REVIEW_STATUSES = Set.of("automatic", "reviewed", "deleted");
+
     private final WebClient.Builder webClientBuilder;
     private final EarthquakeRepository earthquakeRepository;
+    private final EarthquakeQueryRepository queryRepository;
+    private final IngestWatermarkRepository watermarkRepository;
+    private final ChangeNotificationService notificationService;
+    private final EarthquakeHeatmapService heatmapService;
+    private final EarthquakeRollupService rollupService;
+    private final IngestionLog ingestionLog;
+    private final SyncJournalService journalService;
+    private final GeoJsonFeatureDecoder<Earthquake> featureDecoder;
+    private final TransactionalOperator transactionalOperator;
+    private final Map<String, Long> contentHashes = new ConcurrentHashMap<>(); // preferred event ID -> stored content hash
     private WebClient webClient;
 
     @Value("${usgs.base}")
     private String baseUrl;
 
+    @Value("${usgs.poll.overlap-seconds}")
+    private long overlapSeconds;
+
+    @Value("${earthquakes.listing.default-limit}")
+    private int defaultListingLimit;
+
+    @Value("${earthquakes.listing.max-limit}")
+    private int maxListingLimit;
+
     public EarthquakeService(
             WebClient.Builder webClientBuilder,
-            EarthquakeRepository earthquakeRepository
+            EarthquakeRepository earthquakeRepository,
+            EarthquakeQueryRepository queryRepository,
+            IngestWatermarkRepository watermarkRepository,
+            ChangeNotificationService notificationService,
+            EarthquakeHeatmapService heatmapService,
+            EarthquakeRollupService rollupService,
+            IngestionLog ingestionLog,
+            SyncJournalService journalService,
+            ReactiveTransactionManager transactionManager,
+            ObjectMapper objectMapper
     ) {
         this.webClientBuilder = webClientBuilder;
         this.earthquakeRepository = earthquakeRepository;
+        this.queryRepository = queryRepository;
+        this.watermarkRepository = watermarkRepository;
+        this.notificationService = notificationService;
+        this.heatmapService = heatmapService;
+        this.rollupService = rollupService;
+        this.ingestionLog = ingestionLog;
+        this.journalService = journalService;
+        this.featureDecoder = new GeoJsonFeatureDecoder<>(objectMapper, Earthquake.class);
+        this.transactionalOperator = TransactionalOperator.create(transactionManager);
     }
 
     @PostConstruct
     public void init() {
         webClient = webClientBuilder.baseUrl(baseUrl).build();
+
+        // Another node wrote these events: forget their hashes so the next local sync re-checks the database,
+        // and fold the new state into the heatmap
+        notificationService.changes(ChangeNotificationService.TOPIC_EARTHQUAKES)
+                .concatMap(change -> {
+                    if (change.all()) {
+                        contentHashes.clear();
+                        return heatmapService.rebuild();
+                    }
+                    change.ids().forEach(contentHashes::remove);
+                    return earthquakeRepository.findByEarthquakeIds(change.ids())
+                            .doOnNext(heatmapService::apply)
+                            .then()
+                            .onErrorResume(err -> Mono.empty());
+                })
+                .subscribe();
     }
 
+    // Features are emitted as they are parsed off the wire, never materializing the whole collection
     public Flux<Earthquake> fetchEarthquakeFeatures(String endpoint) {
-        return webClient.get()
+        return featureDecoder.decode(webClient.get()
                 .uri(endpoint)
                 .retrieve()
-                .bodyToMono(EarthquakeFeatureCollection.class)
-                .flatMapMany(collection -> Flux.fromIterable(collection.getFeatures()));
+                .bodyToFlux(DataBuffer.class));
     }
 
-    public Flux<Earthquake> fetchRecentEarthquakes() {
-        System.out.println("Fetching all earthquake data from the past 24 hours UTC");
+    // Conditional GET: a 304 means nothing changed since the last poll. Validators describe one exact URL, so they
+    // are only sent when the high-water mark has not moved and the poll repeats the previous request
+    private Flux<Earthquake> fetchEarthquakeFeatures(String endpoint, FeedPoll poll) {
+        boolean conditional = endpoint.equals(poll.validatorUrl);
+        return webClient.get()
+                .uri(endpoint)
+                .headers(headers -> {
+                    if (conditional && poll.etag != null) {
+                        headers.setIfNoneMatch(poll.etag);
+                    }
+                    if (conditional && poll.lastModified != null) {
+                        headers.set(HttpHeaders.IF_MODIFIED_SINCE, poll.lastModified);
+                    }
+                })
+                .exchangeToFlux(response -> {
+                    if (response.statusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                        System.out.println("USGS feed not modified since last poll");
+                        return Flux.empty();
+                    }
+                    if (!response.statusCode().is2xxSuccessful()) {
+                        return response.<Earthquake>createError().flux();
+                    }
 
-        LocalDateTime start = LocalDateTime.now().minusDays(1);
-        LocalDateTime end = LocalDateTime.now();
+                    HttpHeaders headers = response.headers().asHttpHeaders();
+                    poll.etag = headers.getETag();
+                    poll.lastModified = headers.getFirst(HttpHeaders.LAST_MODIFIED);
+                    poll.validatorUrl = endpoint;
+                    return featureDecoder.decode(response.bodyToFlux(DataBuffer.class));
+                });
+    }
 
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-        String formattedStart = start.format(formatter);
-        String formattedEnd = end.format(formatter);
+    // Only request events updated after the persisted high-water mark (minus an overlap for late commits)
+    public Flux<Earthquake> fetchRecentEarthquakes(FeedPoll poll) {
+        String endpoint;
+        if (poll.highWaterMark == null) {
+            System.out.println("Fetching all earthquake data from the past 24 hours UTC");
+            endpoint = "/query?format=geojson&starttime=now-1day&minmagnitude=2.5";
+        } else {
+            Instant updatedAfter = poll.highWaterMark.minusSeconds(overlapSeconds);
+            System.out.println("Fetching earthquake data updated after " + updatedAfter);
+            endpoint = "/query?format=geojson&minmagnitude=2.5&updatedafter="
+                    + USGS_TIME_FORMAT.format(updatedAfter.truncatedTo(ChronoUnit.SECONDS));
+        }
 
-        String endpoint = "/query?format=geojson&starttime=now-1day&minmagnitude=2.5";
         System.out.println(endpoint);
-        return fetchEarthquakeFeatures(endpoint);
+        return fetchEarthquakeFeatures(endpoint, poll)
+                .doOnNext(poll::observe);
     }
 
+    // Polls already resume from the stored watermark, so the journal only records the run and where it left the feed
     public Flux<EarthquakeEntity> syncEarthquakeData() {
-        return fetchRecentEarthquakes()
-                .flatMap(this::UpdateEarthquakeDatabase)
-                .doOnNext(updated -> System.out.println("Processed: earthquake ID " + updated.getPreferred_event_id()))
-                .doOnError(err -> System.err.println("Process error: " + err.getMessage()))
-                .doOnComplete(() -> System.out.println("Earthquake update protocol complete!"));
+        return journalService.begin("earthquakes", false).flatMapMany(journalRun -> {
+            Set<String> changed = ConcurrentHashMap.newKeySet();
+            IngestionLog.Run run = ingestionLog.start("earthquakes");
+            return watermarkRepository.findBySource(USGS_SOURCE)
+                    .map(FeedPoll::new)
+                    .defaultIfEmpty(new FeedPoll())
+                    .flatMapMany(poll -> fetchRecentEarthquakes(poll)
+                            .flatMap(earthquake -> UpdateEarthquakeDatabase(earthquake, run))
+                            .doOnNext(saved -> changed.add(saved.getPreferred_event_id())) // created or updated only
+                            .concatWith(Mono.defer(() -> saveWatermark(poll)
+                                    .then(notificationService.publish(ChangeNotificationService.TOPIC_EARTHQUAKES, changed))
+                                    .then(journalService.complete(journalRun, highWaterMark(poll), run))).then(Mono.empty())))
+                    .doOnError(run::fail)
+                    .doOnComplete(run::finish)
+                    .onErrorResume(err -> journalService.fail(journalRun, run, err).then(Mono.error(err)))
+                    .doOnCancel(() -> journalService.interrupted(journalRun, run));
+        });
+    }
+
+    private static Instant highWaterMark(FeedPoll poll) {
+        return poll.maxUpdated > 0 ? Instant.ofEpochMilli(poll.maxUpdated) : poll.highWaterMark;
+    }
+
+    // Persisted only after every feature of the poll has been written
+    private Mono<Integer> saveWatermark(FeedPoll poll) {
+        Instant highWaterMark = highWaterMark(poll);
+        return watermarkRepository.upsert(USGS_SOURCE, highWaterMark, poll.etag, poll.lastModified, poll.validatorUrl)
+                .doOnSuccess(unused -> System.out.println("USGS watermark advanced to " + highWaterMark));
+    }
+
+    // State of one incremental poll of the USGS feed
+    public static class FeedPoll {
+        private final Instant highWaterMark;
+        private String etag;
+        private String lastModified;
+        private String validatorUrl;
+        private long maxUpdated;
+
+        FeedPoll() {
+            this.highWaterMark = null;
+        }
+
+        FeedPoll(IngestWatermarkEntity watermark) {
+            this.highWaterMark = watermark.getHighWaterMark();
+            this.etag = watermark.getEtag();
+            this.lastModified = watermark.getLastModified();
+            this.validatorUrl = watermark.getValidatorUrl();
+            this.maxUpdated = highWaterMark == null ? 0 : highWaterMark.toEpochMilli();
+        }
+
+        void observe(Earthquake earthquake) {
+            Long updated = earthquake.getProperties().getUpdated();
+            if (updated != null && updated > maxUpdated) {
+                maxUpdated = updated;
+            }
+        }
     }
 
     private void UpdateEarthquakeData(EarthquakeEntity existing, Earthquake updated) {
@@ -82,6 +246,7 @@ public class EarthquakeService {
         existing.setEvent_type(updated.getProperties().getType());
         existing.setDepth_km(updated.getGeometry().getDepth());
         existing.setKnown_event_ids(updated.getProperties().getIds());
+        existing.setContent_hash(updated.getContentHash());
         existing.setLastUpdated(Instant.now());
 
         // Process usgs update time to local time
@@ -96,49 +261,124 @@ public class EarthquakeService {
         existing.setTsunami_potential(updated.getProperties().getTsunami());
     }
 
-    public Mono<EarthquakeEntity> UpdateEarthquakeDatabase(Earthquake updatedEarthquake) {
+    // Emits the event only when it was created or updated; unchanged events, recognised by content hash, complete empty
+    public Mono<EarthquakeEntity> UpdateEarthquakeDatabase(Earthquake updatedEarthquake, IngestionLog.Run run) {
+        Long knownHash = contentHashes.get(updatedEarthquake.getEarthquakeId());
+        if (knownHash != null && knownHash == updatedEarthquake.getContentHash()) {
+            run.record(Outcome.UNCHANGED, "event_id", updatedEarthquake.getEarthquakeId());
+            return Mono.empty();
+        }
+
         return earthquakeRepository.findByEarthquakeId(updatedEarthquake.getEarthquakeId())
-                .flatMap(existing -> {
-                    boolean updateTimeChanged = !existing
-                            .getUsgs_update_time()
-                            .equals(Instant.ofEpochMilli(updatedEarthquake.getProperties().getUpdated()));
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty()) // so an unchanged row is not mistaken for an unknown event
+                .flatMap(found -> {
+                    if (found.isEmpty()) {
+                        return saveNewEarthquake(updatedEarthquake, run);
+                    }
+                    EarthquakeEntity existing = found.get();
+                    boolean contentChanged = existing.getContent_hash() == null
+                            || existing.getContent_hash() != updatedEarthquake.getContentHash();
 
-                    if (!updateTimeChanged) {
-                        System.out.println("Earthquake " + existing.getPreferred_event_id() + " does not require update!");
-                        return Mono.just(existing); // nothing to update
+                    if (!contentChanged) {
+                        run.record(Outcome.UNCHANGED, "event_id", existing.getPreferred_event_id());
+                        rememberHash(existing);
+                        return Mono.<EarthquakeEntity>empty(); // nothing to update, and the heatmap already has this row
                     }
 
+                    Contribution before = Contribution.of(existing);
                     UpdateEarthquakeData(existing, updatedEarthquake);
 
-                    return earthquakeRepository.save(existing); // write to DB
+                    return saveWithRollups(existing, before)
+                            .doOnNext(this::rememberHash)
+                            .doOnNext(heatmapService::apply)
+                            .doOnNext(saved -> run.record(Outcome.UPDATED, "event_id", saved.getPreferred_event_id()));
+                })
+                .doOnError(err -> run.record(Outcome.FAILED, "event_id", updatedEarthquake.getEarthquakeId(), err.getMessage()));
+    }
+
+    // An event ID not in the table yet: either a known event under its new preferred ID, or a new event
+    private Mono<EarthquakeEntity> saveNewEarthquake(Earthquake updatedEarthquake, IngestionLog.Run run) {
+        return Flux.fromIterable(updatedEarthquake.getProperties().getKnowIds())
+                .flatMapSequential(id ->
+                        earthquakeRepository.findByEarthquakeId(id)
+                )
+                .next()
+                .flatMap(existing -> {
+                    String previousId = existing.getPreferred_event_id();
+                    Contribution before = Contribution.of(existing);
+                    existing.setPreferred_event_id(updatedEarthquake.getEarthquakeId());
+                    existing.setKnown_event_ids(updatedEarthquake.getProperties().getIds());
+                    UpdateEarthquakeData(existing, updatedEarthquake);
+                    return saveWithRollups(existing, before)
+                            .doOnNext(this::rememberHash)
+                            .doOnNext(saved -> heatmapService.remove(previousId))
+                            .doOnNext(heatmapService::apply)
+                            .doOnNext(saved -> run.record(Outcome.UPDATED, "event_id", saved.getPreferred_event_id(), "event ID changed"));
                 })
-                .switchIfEmpty( // handle new satellite
+                .switchIfEmpty(
                         Mono.defer(() -> {
-                            return Flux.fromIterable(updatedEarthquake.getProperties().getKnowIds())
-                                    .flatMapSequential(id ->
-                                            earthquakeRepository.findByEarthquakeId(id)
-                                    )
-                                    .next()
-                                    .flatMap(existing -> {
-                                        System.out.println("Earthquake changed ID to " + updatedEarthquake.getEarthquakeId() + "!");
-                                        existing.setPreferred_event_id(updatedEarthquake.getEarthquakeId());
-                                        existing.setKnown_event_ids(updatedEarthquake.getProperties().getIds());
-                                        UpdateEarthquakeData(existing, updatedEarthquake);
-                                        return earthquakeRepository.save(existing); // write to DB
-                                    })
-                                    .switchIfEmpty(
-                                            Mono.defer(() -> {
-                                                System.out.println("New earthquake " + updatedEarthquake.getEarthquakeId() + " discovered!");
-                                                EarthquakeEntity newEarthquake = EarthquakeMapper.toEntity(updatedEarthquake);
-                                                return earthquakeRepository.save(newEarthquake);
-                                            })
-                                    );
-                        }));
+                            EarthquakeEntity newEarthquake = EarthquakeMapper.toEntity(updatedEarthquake);
+                            return saveWithRollups(newEarthquake, null)
+                                    .doOnNext(this::rememberHash)
+                                    .doOnNext(heatmapService::apply)
+                                    .doOnNext(saved -> run.record(Outcome.CREATED, "event_id", saved.getPreferred_event_id()));
+                        })
+                );
+    }
+
+    // The row and its rollup delta commit together, so a failed delta cannot leave the rollups out of step with the table
+    private Mono<EarthquakeEntity> saveWithRollups(EarthquakeEntity entity, Contribution before) {
+        return earthquakeRepository.save(entity) // write to DB
+                .flatMap(saved -> rollupService.apply(before, Contribution.of(saved)).thenReturn(saved))
+                .as(transactionalOperator::transactional);
+    }
+
+    // Called for every event a sync has written or confirmed against the database
+    private void rememberHash(EarthquakeEntity entity) {
+        if (entity.getContent_hash() != null) {
+            contentHashes.put(entity.getPreferred_event_id(), entity.getContent_hash());
+        }
+    }
+
+    // Newest first; after is "<event_time>,<id>" of the last earthquake on the previous page
+    public Flux<EarthquakeEntity> listEarthquakes(Instant from, Instant to, Double minMagnitude, Double maxMagnitude,
+                                                  Double minDepth, Double maxDepth, String alert, Boolean tsunami,
+                                                  String status, String after, Integer limit) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must be before to");
+        }
+        if (alert != null && !ALERT_LEVELS.contains(alert)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "alert must be one of " + ALERT_LEVELS);
+        }
+        if (status != null && !REVIEW_STATUSES.contains(status)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "status must be one of " + REVIEW_STATUSES);
+        }
+        if (limit != null && (limit < 1 || limit > maxListingLimit)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + maxListingLimit);
+        }
+
+        Instant afterTime = null;
+        UUID afterId = null;
+        if (after != null) {
+            String[] cursor = after.split(",", 2);
+            try {
+                afterTime = Instant.parse(cursor[0]);
+                afterId = UUID.fromString(cursor[1]);
+            } catch (DateTimeException | IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "after must be <event_time>,<id> of the last earthquake");
+            }
+        }
+
+        return queryRepository.find(new EarthquakeFilter(from, to, minMagnitude, maxMagnitude, minDepth, maxDepth,
+                alert, tsunami, status, afterTime, afterId, limit != null ? limit : defaultListingLimit));
     }
 
     public Mono<Void> cleanupEarthquakeData() {
         return earthquakeRepository
                 .deleteEarthquakesOlderThan30Days()
+                .doOnSuccess(unused -> contentHashes.clear())
+                .then(notificationService.publishAll(ChangeNotificationService.TOPIC_EARTHQUAKES))
                 .doOnSuccess(unused -> System.out.println("Old earthquake data successfully removed!"))
                 .doOnError(err -> System.err.println("Failed to clean up old earthquake data: " + err.getMessage()));
     }
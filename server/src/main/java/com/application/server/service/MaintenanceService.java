@@ -1,28 +1,229 @@
 package com.application.server.service;
 
-import org.springframework.r2dbc.core.DatabaseClient;
+import com.application.server.model.Earthquake.EarthquakeFilter;
+import com.application.server.model.Maintenance.MaintenanceRun;
+import com.application.server.repository.DatabaseStatsRepository;
+import com.application.server.repository.DatabaseStatsRepository.IndexStats;
+import com.application.server.repository.DatabaseStatsRepository.TableStats;
+import com.application.server.repository.EarthquakeQueryRepository;
+import com.application.server.repository.MaintenanceRunRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.time.LocalDateTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
 
+/**
+ * Stats-driven database maintenance.
+ *
+ * Each run reads the table and index statistics and only vacuums tables with enough dead tuples, analyzes tables
+ * with enough modifications since the last analyze and rebuilds B-tree indexes that have grown well past their
+ * estimated compact size. Runs happen inside the configured UTC window and back off while the database is busy.
+ * When there is work to do, a few representative queries are timed before and after so the history shows whether
+ * the maintenance helped.
+ */
 @Service
 public class MaintenanceService {
-    private final DatabaseClient databaseClient;
+    private static final int PROBE_REPETITIONS = 3;
 
-    LocalDateTime lastCleanupTime;
+    private final DatabaseStatsRepository statsRepository;
+    private final MaintenanceRunRepository runRepository;
 
-    public MaintenanceService(DatabaseClient databaseClient) {
-        this.databaseClient = databaseClient;
+    @Value("${maintenance.window.start-hour}")
+    private int windowStartHour;
+
+    @Value("${maintenance.window.end-hour}")
+    private int windowEndHour;
+
+    @Value("${maintenance.max-active-queries}")
+    private long maxActiveQueries;
+
+    @Value("${maintenance.vacuum.min-dead-tuples}")
+    private long vacuumMinDeadTuples;
+
+    @Value("${maintenance.vacuum.dead-ratio}")
+    private double vacuumDeadRatio;
+
+    @Value("${maintenance.analyze.min-modified}")
+    private long analyzeMinModified;
+
+    @Value("${maintenance.analyze.modified-ratio}")
+    private double analyzeModifiedRatio;
+
+    @Value("${maintenance.reindex.min-bytes}")
+    private long reindexMinBytes;
+
+    @Value("${maintenance.reindex.bloat-ratio}")
+    private double reindexBloatRatio;
+
+    @Value("${maintenance.history-days}")
+    private long historyDays;
+
+    // A planned statement; sizeTarget is the relation whose size is recorded around it
+    record Planned(String target, String operation, String reason, String sql, String sizeTarget) {}
+
+    private record ProbeQuery(String name, String sql, List<Object> bindings) {}
+
+    public MaintenanceService(DatabaseStatsRepository statsRepository, MaintenanceRunRepository runRepository) {
+        this.statsRepository = statsRepository;
+        this.runRepository = runRepository;
+    }
+
+    // Scheduled entry point: does nothing outside the maintenance window
+    public Mono<MaintenanceRun> runScheduledMaintenance() {
+        int hour = Instant.now().atZone(ZoneOffset.UTC).getHour();
+        if (!inWindow(hour)) {
+            return Mono.empty();
+        }
+        return runMaintenance();
+    }
+
+    private Mono<MaintenanceRun> runMaintenance() {
+        Instant startedAt = Instant.now();
+        return statsRepository.activeQueries()
+                .flatMap(active -> {
+                    if (active > maxActiveQueries) {
+                        System.out.println("Skipping database maintenance, " + active + " active queries");
+                        return finish(startedAt, "SKIPPED_BUSY", 0, 0, List.of(), List.of());
+                    }
+                    return Mono.zip(statsRepository.tableStats().collectList(), statsRepository.indexStats().collectList())
+                            .flatMap(stats -> execute(startedAt, stats.getT1(), stats.getT2()));
+                })
+                .flatMap(run -> runRepository.deleteStartedBefore(Instant.now().minus(Duration.ofDays(historyDays))).thenReturn(run))
+                .doOnSuccess(run -> {
+                    if (run != null) {
+                        System.out.println("Database maintenance " + run.status() + ": " + run.actions().size() + " actions");
+                    }
+                })
+                .doOnError(err -> System.err.println("Database maintenance failed: " + err.getMessage()));
     }
 
-    public Mono<Void> runVacuumAnalysis() {
-        return databaseClient.sql("VACUUM ANALYZE satellites").then()
-                .then(databaseClient.sql("VACUUM ANALYZE earthquakes").then())
-                .doOnError(err -> System.out.println("Error on vacuum of database!"))
-                .doOnSuccess(s -> {
-                    lastCleanupTime = LocalDateTime.now();
-                    System.out.println("Completed vacuuming database at " + lastCleanupTime);
+    public Flux<MaintenanceRun> recentRuns(int limit) {
+        if (limit < 1 || limit > 500) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and 500");
+        }
+        return runRepository.findRecent(limit);
+    }
+
+    private Mono<MaintenanceRun> execute(Instant startedAt, List<TableStats> tables, List<IndexStats> indexes) {
+        List<Planned> plan = plan(tables, indexes);
+        if (plan.isEmpty()) {
+            return finish(startedAt, "NOTHING_TO_DO", tables.size(), indexes.size(), List.of(), List.of());
+        }
+
+        List<ProbeQuery> probes = probes();
+        return Flux.fromIterable(probes).concatMap(this::medianMillis).collectList()
+                .flatMap(before -> Flux.fromIterable(plan).concatMap(this::perform).collectList()
+                        .flatMap(actions -> Flux.fromIterable(probes).concatMap(this::medianMillis).collectList()
+                                .flatMap(after -> {
+                                    List<MaintenanceRun.Probe> timings = new ArrayList<>();
+                                    for (int i = 0; i < probes.size(); i++) {
+                                        timings.add(new MaintenanceRun.Probe(probes.get(i).name(), before.get(i), after.get(i)));
+                                    }
+                                    boolean failed = actions.stream().anyMatch(action -> action.error() != null);
+                                    return finish(startedAt, failed ? "PARTIAL" : "COMPLETED", tables.size(), indexes.size(), actions, timings);
+                                })));
+    }
+
+    List<Planned> plan(List<TableStats> tables, List<IndexStats> indexes) {
+        List<Planned> plan = new ArrayList<>();
+        for (TableStats table : tables) {
+            long rows = Math.max(1, table.liveTuples() + table.deadTuples());
+            boolean vacuum = table.deadTuples() >= vacuumMinDeadTuples && table.deadTuples() >= vacuumDeadRatio * rows;
+            boolean analyze = table.modifiedSinceAnalyze() >= analyzeMinModified && table.modifiedSinceAnalyze() >= analyzeModifiedRatio * rows;
+
+            // VACUUM (ANALYZE) covers both in one pass
+            if (vacuum) {
+                String reason = String.format(Locale.ROOT, "%d dead tuples (%.1f%% of rows)", table.deadTuples(), 100.0 * table.deadTuples() / rows);
+                if (analyze) {
+                    reason += String.format(Locale.ROOT, ", %d rows modified since analyze", table.modifiedSinceAnalyze());
+                }
+                plan.add(new Planned(table.name(), analyze ? "VACUUM ANALYZE" : "VACUUM", reason,
+                        (analyze ? "VACUUM (ANALYZE) " : "VACUUM ") + table.identifier(), table.identifier()));
+            } else if (analyze) {
+                plan.add(new Planned(table.name(), "ANALYZE",
+                        String.format(Locale.ROOT, "%d rows modified since analyze (%.1f%% of rows)", table.modifiedSinceAnalyze(), 100.0 * table.modifiedSinceAnalyze() / rows),
+                        "ANALYZE " + table.identifier(), null));
+            }
+        }
+
+        for (IndexStats index : indexes) {
+            if (index.expectedBytes() == null || index.sizeBytes() < reindexMinBytes) {
+                continue;
+            }
+            double bloat = (double) index.sizeBytes() / index.expectedBytes();
+            if (bloat >= reindexBloatRatio) {
+                plan.add(new Planned(index.identifier(), "REINDEX",
+                        String.format(Locale.ROOT, "%d bytes, %.1fx its estimated compact size", index.sizeBytes(), bloat),
+                        "REINDEX INDEX CONCURRENTLY " + index.identifier(), index.identifier()));
+            }
+        }
+        return plan;
+    }
+
+    // A failed statement is recorded on its action and does not stop the rest of the plan
+    private Mono<MaintenanceRun.Action> perform(Planned planned) {
+        Mono<Long> size = planned.sizeTarget() != null ? statsRepository.relationSize(planned.sizeTarget()) : Mono.just(-1L);
+        return size.flatMap(before -> {
+            long start = System.nanoTime();
+            return statsRepository.execute(planned.sql())
+                    .thenReturn("")
+                    .onErrorResume(err -> Mono.just(err.getMessage() != null ? err.getMessage() : err.toString()))
+                    .flatMap(error -> {
+                        long durationMillis = (System.nanoTime() - start) / 1_000_000;
+                        String failure = error.isEmpty() ? null : error;
+                        if (failure != null) {
+                            System.err.println(planned.operation() + " of " + planned.target() + " failed: " + failure);
+                        }
+                        Mono<Long> after = planned.sizeTarget() != null ? statsRepository.relationSize(planned.sizeTarget()) : Mono.just(-1L);
+                        return after.map(sizeAfter -> new MaintenanceRun.Action(planned.target(), planned.operation(), planned.reason(),
+                                durationMillis, before >= 0 ? before : null, sizeAfter >= 0 ? sizeAfter : null, failure));
+                    });
+        });
+    }
+
+    private Mono<Double> medianMillis(ProbeQuery probe) {
+        return Flux.range(0, PROBE_REPETITIONS)
+                .concatMap(unused -> statsRepository.executionMillis(probe.sql(), probe.bindings()))
+                .collectList()
+                .map(samples -> {
+                    Double[] sorted = samples.toArray(new Double[0]);
+                    Arrays.sort(sorted);
+                    return sorted.length == 0 ? -1.0 : sorted[sorted.length / 2];
                 });
     }
+
+    // The hot paths of the API: the newest page of earthquakes, recent significant ones and a catalog page
+    private static List<ProbeQuery> probes() {
+        EarthquakeQueryRepository.ListingQuery latest = EarthquakeQueryRepository.buildQuery(
+                new EarthquakeFilter(null, null, null, null, null, null, null, null, null, null, null, 100));
+        EarthquakeQueryRepository.ListingQuery significant = EarthquakeQueryRepository.buildQuery(
+                new EarthquakeFilter(Instant.now().minus(Duration.ofDays(1)), null, 4.5, null, null, null, null, null, null, null, null, 100));
+        return List.of(
+                new ProbeQuery("earthquakes-latest", latest.sql(), latest.bindings()),
+                new ProbeQuery("earthquakes-significant-day", significant.sql(), significant.bindings()),
+                new ProbeQuery("satellites-page", "SELECT * FROM satellites WHERE norad_cat_id > $1 ORDER BY norad_cat_id LIMIT 100", List.of(0)));
+    }
+
+    private Mono<MaintenanceRun> finish(Instant startedAt, String status, int tablesChecked, int indexesChecked,
+                                        List<MaintenanceRun.Action> actions, List<MaintenanceRun.Probe> probes) {
+        return runRepository.save(new MaintenanceRun(null, startedAt, Instant.now(), status, tablesChecked, indexesChecked, actions, probes));
+    }
+
+    // The window may wrap midnight, e.g. 22 to 4
+    private boolean inWindow(int hour) {
+        if (windowStartHour <= windowEndHour) {
+            return hour >= windowStartHour && hour < windowEndHour;
+        }
+        return hour >= windowStartHour || hour < windowEndHour;
+    }
 }
@@ -0,0 +1,153 @@
+package com.application.server.service;
+
+import com.application.server.model.Satellite.OrbitTrack;
+import com.application.server.model.Satellite.SatelliteEntity;
+import com.application.server.model.Satellite.SatelliteMapper;
+import com.application.server.model.Satellite.SatelliteGroup;
+import com.application.server.orbit.Frames;
+import com.application.server.orbit.PathSimplifier;
+import com.application.server.orbit.Sgp4Propagator;
+import com.application.server.orbit.TleElements;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class OrbitTrackService {
+    public static final String FRAME_ORBIT = "orbit";
+    public static final String FRAME_GROUND = "ground";
+
+    private static final int MAX_SAMPLES = 10_000;
+
+    private final SatelliteService satelliteService;
+    private Map<TrackKey, OrbitTrack> trackCache;
+
+    @Value("${track.cache.max-entries}")
+    private int maxCacheEntries;
+
+    @Value("${track.cache.bucket-seconds}")
+    private long bucketSeconds;
+
+    @Value("${track.simplify.tolerance-km}")
+    private double toleranceKm;
+
+    // Tracks for the same TLE, time bucket and sampling are identical, so they are shared between requests
+    private record TrackKey(int noradCatId, Instant epoch, long bucket, double minutes, double step, String frame) {}
+
+    public OrbitTrackService(SatelliteService satelliteService) {
+        this.satelliteService = satelliteService;
+    }
+
+    @PostConstruct
+    private void init() {
+        trackCache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<TrackKey, OrbitTrack> eldest) {
+                return size() > maxCacheEntries;
+            }
+        });
+    }
+
+    public Mono<OrbitTrack> getTrack(int noradCatId, Instant start, double minutes, double step, String frame) {
+        validate(minutes, step, frame);
+
+        return satelliteService.findSatellite(noradCatId)
+                .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown NORAD ID " + noradCatId)))
+                .map(entity -> getTrack(entity, start, minutes, step, frame));
+    }
+
+    public Flux<OrbitTrack> getGroupTracks(SatelliteGroup group, Instant start, double minutes, double step, String frame) {
+        validate(minutes, step, frame);
+
+        return satelliteService.fetchGroupEntities(group)
+                .map(entity -> getTrack(entity, start, minutes, step, frame));
+    }
+
+    private OrbitTrack getTrack(SatelliteEntity entity, Instant start, double minutes, double step, String frame) {
+        Instant requested = start != null ? start : Instant.now();
+        long bucket = Math.floorDiv(requested.getEpochSecond(), bucketSeconds);
+        TrackKey key = new TrackKey(entity.getNoradCatId(), entity.getEpoch(), bucket, minutes, step, frame);
+
+        OrbitTrack cached = trackCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        OrbitTrack track = computeTrack(entity, Instant.ofEpochSecond(bucket * bucketSeconds), minutes, step, frame);
+        trackCache.put(key, track);
+        return track;
+    }
+
+    private OrbitTrack computeTrack(SatelliteEntity entity, Instant start, double minutes, double step, String frame) {
+        TleElements elements;
+        try {
+            elements = SatelliteMapper.toElements(entity);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, "Stored TLE cannot be parsed: " + e.getMessage());
+        }
+
+        Sgp4Propagator propagator = new Sgp4Propagator(elements);
+        boolean ground = FRAME_GROUND.equals(frame);
+        double startOffset = elements.minutesSinceEpoch(start);
+        double startJulianDate = TleElements.julianDate(start);
+        int samples = (int) Math.floor(minutes / step) + 1;
+
+        List<double[]> positions = new ArrayList<>(samples);
+        List<Double> offsets = new ArrayList<>(samples);
+        double[] state = new double[6];
+
+        for (int i = 0; i < samples; i++) {
+            double offset = i * step;
+            if (!propagator.propagate(startOffset + offset, state)) {
+                continue; // skip decayed / invalid samples like the client does
+            }
+
+            double[] position = { state[0], state[1], state[2] };
+            if (ground) {
+                Frames.temeToEcef(position, Frames.gmst(startJulianDate + offset / 1440.0));
+            }
+            positions.add(position);
+            offsets.add(offset);
+        }
+
+        boolean[] keep = PathSimplifier.simplify(positions.toArray(new double[0][]), toleranceKm);
+        List<double[]> points = new ArrayList<>();
+        double[] geodetic = new double[3];
+
+        for (int i = 0; i < keep.length; i++) {
+            if (!keep[i]) {
+                continue;
+            }
+
+            double[] position = positions.get(i);
+            if (ground) {
+                Frames.ecefToGeodetic(position[0], position[1], position[2], geodetic);
+                points.add(new double[] { offsets.get(i), geodetic[0], geodetic[1], geodetic[2] });
+            } else {
+                points.add(new double[] { offsets.get(i), position[0], position[1], position[2] });
+            }
+        }
+
+        return new OrbitTrack(entity.getNoradCatId(), frame, elements.epoch(), start, minutes, step, positions.size(), points);
+    }
+
+    private static void validate(double minutes, double step, String frame) {
+        if (!FRAME_ORBIT.equals(frame) && !FRAME_GROUND.equals(frame)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "frame must be 'orbit' or 'ground'");
+        }
+        if (!(minutes > 0) || !(step > 0) || minutes / step > MAX_SAMPLES) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "minutes and step must be positive with at most " + MAX_SAMPLES + " samples");
+        }
+    }
+}
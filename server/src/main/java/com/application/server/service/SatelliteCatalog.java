@@ -0,0 +1,71 @@
+package com.application.server.service;
+
+import com.application.server.model.Satellite.SatelliteEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory copy of the satellite catalog, keyed by NORAD ID.
+ * Hydrated from the on-disk snapshot at boot and kept in step with the database by the sync.
+ */
+@Component
+public class SatelliteCatalog {
+    private volatile ConcurrentSkipListMap<Integer, SatelliteEntity> satellites = new ConcurrentSkipListMap<>();
+
+    private volatile long version;
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return satellites.size();
+    }
+
+    public SatelliteEntity get(int noradCatId) {
+        return satellites.get(noradCatId);
+    }
+
+    // Entities ordered by NORAD ID
+    public Collection<SatelliteEntity> all() {
+        return Collections.unmodifiableCollection(satellites.values());
+    }
+
+    // Entities with a NORAD ID greater than "after", in ascending order
+    public Collection<SatelliteEntity> after(int after) {
+        return Collections.unmodifiableCollection(satellites.tailMap(after, false).values());
+    }
+
+    public void put(SatelliteEntity entity) {
+        satellites.put(entity.getNoradCatId(), entity);
+    }
+
+    public void remove(int noradCatId) {
+        satellites.remove(noradCatId);
+    }
+
+    // Swap in a complete catalog (snapshot load or database reconcile)
+    public synchronized void replaceAll(Collection<SatelliteEntity> entities, long newVersion) {
+        ConcurrentSkipListMap<Integer, SatelliteEntity> replacement = new ConcurrentSkipListMap<>();
+        for (SatelliteEntity entity : entities) {
+            replacement.put(entity.getNoradCatId(), entity);
+        }
+        satellites = replacement;
+        version = newVersion;
+        ready = true;
+    }
+
+    public synchronized long bumpVersion() {
+        version = version + 1;
+        ready = true;
+        return version;
+    }
+}
@@ -0,0 +1,201 @@
+package com.application.server.service;
+
+import com.application.server.model.Satellite.SatelliteEntity;
+import com.application.server.model.Satellite.SatelliteGroup;
+import com.application.server.model.Satellite.SatelliteMapper;
+import com.application.server.orbit.BatchPropagator;
+import com.application.server.orbit.ElementStore;
+import com.application.server.orbit.Frames;
+import com.application.server.orbit.PositionSnapshot;
+import com.application.server.orbit.Sgp4Propagator;
+import com.application.server.orbit.TleElements;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Propagates the in-memory catalog to a time bucket and caches the resulting position snapshots
+@Service
+public class SatellitePositionService {
+    private final SatelliteCatalog catalog;
+    private final Map<Integer, CachedPropagator> propagators = new ConcurrentHashMap<>();
+    private Map<SnapshotKey, PositionSnapshot> snapshotCache;
+    private BatchPropagator batchPropagator;
+    private volatile PackedCatalog packed;
+
+    @Value("${positions.bucket-seconds}")
+    private long bucketSeconds;
+
+    @Value("${positions.cache.max-buckets}")
+    private int maxBuckets;
+
+    @Value("${positions.vector.enabled}")
+    private boolean vectorEnabled;
+
+    // Propagators are rebuilt only when the TLE changes
+    private record CachedPropagator(String tleLine1, String tleLine2, Sgp4Propagator propagator) {}
+
+    // Snapshots are invalidated by a new catalog version
+    private record SnapshotKey(long bucket, long catalogVersion) {}
+
+    // The catalog packed into struct-of-arrays form, rebuilt once per catalog version
+    private record PackedCatalog(long catalogVersion, ElementStore store, byte[] groups, Map<SatelliteGroup, ElementStore> groupStores) {}
+
+    public SatellitePositionService(SatelliteCatalog catalog) {
+        this.catalog = catalog;
+    }
+
+    @PostConstruct
+    private void init() {
+        batchPropagator = BatchPropagator.create(vectorEnabled);
+        System.out.println("Batch propagation using " + batchPropagator.getClass().getSimpleName());
+        snapshotCache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<SnapshotKey, PositionSnapshot> eldest) {
+                return size() > maxBuckets;
+            }
+        });
+    }
+
+    public long bucketOf(Instant time) {
+        return Math.floorDiv(time.getEpochSecond(), bucketSeconds);
+    }
+
+    public PositionSnapshot positionsAt(Instant time) {
+        long bucket = bucketOf(time);
+        SnapshotKey key = new SnapshotKey(bucket, catalog.getVersion());
+
+        PositionSnapshot cached = snapshotCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        PositionSnapshot snapshot = propagateCatalog(Instant.ofEpochSecond(bucket * bucketSeconds), key.catalogVersion());
+        snapshotCache.put(key, snapshot);
+        return snapshot;
+    }
+
+    // One constellation at an exact instant, neither bucketed nor cached (the simulation stream runs its own clock)
+    public PositionSnapshot positionsOf(SatelliteGroup group, Instant time) {
+        long catalogVersion = catalog.getVersion();
+        PackedCatalog current = packedCatalog(catalogVersion);
+        ElementStore store = current.groupStores().get(group);
+        byte[] groups = new byte[store.size()];
+        Arrays.fill(groups, (byte) group.ordinal());
+        return propagate(store, groups, time, catalogVersion);
+    }
+
+    private PositionSnapshot propagateCatalog(Instant time, long catalogVersion) {
+        PackedCatalog current = packedCatalog(catalogVersion);
+        return propagate(current.store(), current.groups(), time, catalogVersion);
+    }
+
+    private PositionSnapshot propagate(ElementStore store, byte[] slotGroups, Instant time, long catalogVersion) {
+        int capacity = store.size();
+        double[] x = new double[capacity];
+        double[] y = new double[capacity];
+        double[] z = new double[capacity];
+        batchPropagator.propagate(store, time.getEpochSecond() + time.getNano() / 1e9, x, y, z);
+
+        int[] noradCatIds = new int[capacity];
+        byte[] groups = new byte[capacity];
+        float[] latitudes = new float[capacity];
+        float[] longitudes = new float[capacity];
+        float[] altitudes = new float[capacity];
+
+        double gmst = Frames.gmst(TleElements.julianDate(time));
+        double[] position = new double[3];
+        double[] geodetic = new double[3];
+        int size = 0;
+
+        for (int slot = 0; slot < capacity; slot++) {
+            if (Double.isNaN(x[slot])) {
+                continue; // decayed or invalid elements
+            }
+
+            position[0] = x[slot];
+            position[1] = y[slot];
+            position[2] = z[slot];
+            Frames.temeToEcef(position, gmst);
+            Frames.ecefToGeodetic(position[0], position[1], position[2], geodetic);
+
+            noradCatIds[size] = store.noradCatId(slot);
+            groups[size] = slotGroups[slot];
+            latitudes[size] = (float) geodetic[0];
+            longitudes[size] = (float) geodetic[1];
+            altitudes[size] = (float) geodetic[2];
+            size++;
+        }
+
+        return new PositionSnapshot(time, catalogVersion, size, noradCatIds, groups, latitudes, longitudes, altitudes);
+    }
+
+    private synchronized PackedCatalog packedCatalog(long catalogVersion) {
+        PackedCatalog current = packed;
+        if (current != null && current.catalogVersion() == catalogVersion) {
+            return current;
+        }
+
+        List<Sgp4Propagator> propagators = new ArrayList<>();
+        List<Byte> groups = new ArrayList<>();
+        Map<SatelliteGroup, List<Sgp4Propagator>> groupPropagators = new EnumMap<>(SatelliteGroup.class);
+        for (SatelliteGroup group : SatelliteGroup.values()) {
+            groupPropagators.put(group, new ArrayList<>());
+        }
+        Set<Integer> noradCatIds = new HashSet<>();
+        for (SatelliteEntity entity : catalog.all()) {
+            noradCatIds.add(entity.getNoradCatId());
+            Sgp4Propagator propagator = propagatorFor(entity);
+            if (propagator == null) {
+                continue;
+            }
+            SatelliteGroup group = SatelliteGroup.of(entity.getObjectName());
+            propagators.add(propagator);
+            groups.add((byte) (group == null ? -1 : group.ordinal()));
+            if (group != null) {
+                groupPropagators.get(group).add(propagator);
+            }
+        }
+
+        byte[] groupArray = new byte[groups.size()];
+        for (int i = 0; i < groupArray.length; i++) {
+            groupArray[i] = groups.get(i);
+        }
+
+        Map<SatelliteGroup, ElementStore> groupStores = new EnumMap<>(SatelliteGroup.class);
+        groupPropagators.forEach((group, members) -> groupStores.put(group, ElementStore.of(members)));
+
+        // Objects removed from the catalog since the last version
+        this.propagators.keySet().retainAll(noradCatIds);
+
+        current = new PackedCatalog(catalogVersion, ElementStore.of(propagators), groupArray, groupStores);
+        packed = current;
+        return current;
+    }
+
+    private Sgp4Propagator propagatorFor(SatelliteEntity entity) {
+        CachedPropagator cached = propagators.get(entity.getNoradCatId());
+        if (cached != null && cached.tleLine1().equals(entity.getTleLine1()) && cached.tleLine2().equals(entity.getTleLine2())) {
+            return cached.propagator();
+        }
+
+        try {
+            Sgp4Propagator propagator = new Sgp4Propagator(SatelliteMapper.toElements(entity));
+            propagators.put(entity.getNoradCatId(), new CachedPropagator(entity.getTleLine1(), entity.getTleLine2(), propagator));
+            return propagator;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
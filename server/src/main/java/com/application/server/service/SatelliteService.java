@@ -1,12 +1,21 @@
 package com.application.server.service;
 
+import com.application.server.codec.GpRecordDecoder;
+import com.application.server.logging.IngestionLog;
+import com.application.server.logging.IngestionLog.Outcome;
 import com.application.server.model.Satellite.Satellite;
 import com.application.server.model.Satellite.SatelliteDTO;
 import com.application.server.model.Satellite.SatelliteEntity;
+import com.application.server.model.Satellite.SatelliteField;
+import com.application.server.model.Satellite.SatelliteGroup;
 import com.application.server.model.Satellite.SatelliteMapper;
+import com.application.server.model.Sync.ChangeNotification;
+import com.application.server.model.Sync.SyncRun;
+import com.application.server.repository.SatelliteBulkRepository;
 import com.application.server.repository.SatelliteRepository;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Flux;
@@ -14,7 +23,13 @@ import reactor.core.publisher.Mono;
 import org.springframework.http.HttpHeaders;
 
 import java.time.Instant;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 @Service
@@ -38,9 +53,21 @@ public class SatelliteService {
             53106  // GOES-18 (West)
     );
 
+    private static final String SOURCE_SATELLITES = "satellites";
+    private static final String SOURCE_SATELLITES_BULK = "satellites-bulk";
+
     private final WebClient.Builder webClientBuilder;
     private final SpaceTrackAuthService authService;
     private final SatelliteRepository satelliteRepository;
+    private final SatelliteBulkRepository satelliteBulkRepository;
+    private final SatelliteCatalog catalog;
+    private final CatalogSnapshotService snapshotService;
+    private final ChangeNotificationService notificationService;
+    private final CatalogIndexService indexService;
+    private final IngestionLog ingestionLog;
+    private final SyncJournalService journalService;
+    private final CatalogChangeService changeService;
+    private final GpRecordDecoder gpDecoder = new GpRecordDecoder();
     private WebClient webClient;
 
     @Value("${spacetrack.base}")
@@ -61,21 +88,77 @@ public class SatelliteService {
     @Value("${spacetrack.one}")
     private String oneSatelliteEndpoint;
 
+    @Value("${sync.checkpoint.batch-size}")
+    private int checkpointBatchSize;
+
+    @Value("${sync.prune.max-fraction}")
+    private double pruneMaxFraction;
+
     // Injecting WebClient.Builder dependency
     public SatelliteService(
                 WebClient.Builder webClientBuilder,
                 SpaceTrackAuthService authService,
-                SatelliteRepository satelliteRepository) {
+                SatelliteRepository satelliteRepository,
+                SatelliteBulkRepository satelliteBulkRepository,
+                SatelliteCatalog catalog,
+                CatalogSnapshotService snapshotService,
+                ChangeNotificationService notificationService,
+                CatalogIndexService indexService,
+                IngestionLog ingestionLog,
+                SyncJournalService journalService,
+                CatalogChangeService changeService) {
 
             // Set API base URL
             this.webClientBuilder = webClientBuilder;
             this.authService = authService;
             this.satelliteRepository = satelliteRepository;
+            this.satelliteBulkRepository = satelliteBulkRepository;
+            this.catalog = catalog;
+            this.snapshotService = snapshotService;
+            this.notificationService = notificationService;
+            this.indexService = indexService;
+            this.ingestionLog = ingestionLog;
+            this.journalService = journalService;
+            this.changeService = changeService;
     }
 
     @PostConstruct
     private void init() {
         this.webClient = webClientBuilder.baseUrl(baseUrl).build();
+
+        notificationService.changes(ChangeNotificationService.TOPIC_SATELLITES)
+                .concatMap(this::applyRemoteChange)
+                .subscribe();
+    }
+
+    // Another node committed a sync: reload the affected objects, drop the ones it deleted and invalidate version-keyed caches
+    private Mono<Void> applyRemoteChange(ChangeNotification change) {
+        Mono<Void> refresh;
+        if (change.all()) {
+            refresh = satelliteRepository.findAll()
+                    .collectList()
+                    .doOnNext(entities -> catalog.replaceAll(entities, catalog.getVersion() + 1))
+                    .then();
+        } else {
+            Set<Integer> noradCatIds = change.ids().stream().map(Integer::valueOf).collect(Collectors.toSet());
+            refresh = satelliteRepository.findByNoradCatIdIn(noradCatIds)
+                    .doOnNext(entity -> {
+                        catalog.put(entity);
+                        noradCatIds.remove(entity.getNoradCatId());
+                    })
+                    .then(Mono.fromRunnable(() -> {
+                        noradCatIds.forEach(catalog::remove); // no longer in the table
+                        catalog.bumpVersion();
+                    }));
+        }
+
+        return refresh
+                .then(snapshotService.writeSnapshotAsync())
+                .doOnSuccess(unused -> System.out.println("Applied remote satellite changes, catalog version " + catalog.getVersion()))
+                .onErrorResume(err -> {
+                    System.err.println("Failed to apply remote satellite changes: " + err.getMessage());
+                    return Mono.empty();
+                });
     }
 
     public Flux<Satellite> getAllSatelliteData() {
@@ -83,6 +166,14 @@ public class SatelliteService {
         return querySatelliteGroup(allActiveSatellitesEndpoint);
     }
 
+    // The active catalog past a NORAD ID; the feed is ordered by NORAD ID, so this is the rest of an interrupted sync.
+    // Keep the filters in step with spacetrack.all
+    public Flux<Satellite> getAllSatelliteDataAfter(int noradCatId) {
+        System.out.println("Fetching satellite data after NORAD " + noradCatId);
+        String endpoint = "/basicspacedata/query/class/gp/decay_date/null-val/epoch/>now-30/NORAD_CAT_ID/>" + noradCatId + "/orderby/norad_cat_id/format/json";
+        return querySatelliteGroup(endpoint);
+    }
+
     public Flux<Satellite> getAllStarlinkData() {
         System.out.println("Fetching all Starlink data");
         return querySatelliteGroup(spaceLinkSatellitesEndpoint);
@@ -127,48 +218,119 @@ public class SatelliteService {
         return querySatelliteGroup(endpoint);
     }
 
-    public Flux<SatelliteDTO> fetchStarlinkSatellites() {
-        Flux<SatelliteEntity> starlinkEntities = satelliteRepository.fetchStarlink();
+    public Flux<SatelliteDTO> fetchStarlinkSatellites(int after, int limit) {
+        Flux<SatelliteEntity> starlinkEntities = fetchGroupEntities(SatelliteGroup.STARLINK, after, limit);
 
         return fetchSatelliteDTO(starlinkEntities);
     }
 
-    public Flux<SatelliteDTO> fetchOnewebSatellites() {
-        Flux<SatelliteEntity> onewebEntities = satelliteRepository.fetchOneweb();
+    public Flux<SatelliteDTO> fetchOnewebSatellites(int after, int limit) {
+        Flux<SatelliteEntity> onewebEntities = fetchGroupEntities(SatelliteGroup.ONEWEB, after, limit);
 
         return fetchSatelliteDTO(onewebEntities);
     }
 
-    public Flux<SatelliteDTO> fetchIridiumSatellites() {
-        Flux<SatelliteEntity> iridiumEntities = satelliteRepository.fetchIridium();
+    public Flux<SatelliteDTO> fetchIridiumSatellites(int after, int limit) {
+        Flux<SatelliteEntity> iridiumEntities = fetchGroupEntities(SatelliteGroup.IRIDIUM, after, limit);
 
         return fetchSatelliteDTO(iridiumEntities);
     }
 
+    // Only the requested fields are read from the database and serialized
+    public Flux<Map<String, Object>> fetchGroupProjection(SatelliteGroup group, List<SatelliteField> fields, int after, int limit) {
+        return Flux.defer(() -> {
+            if (catalog.isReady()) {
+                return fetchGroupEntities(group, after, limit).map(entity -> {
+                    Map<String, Object> projected = new LinkedHashMap<>();
+                    for (SatelliteField field : fields) {
+                        projected.put(field.getJsonName(), field.valueOf(entity));
+                    }
+                    return projected;
+                });
+            }
+            return satelliteRepository.fetchGroupProjection(group.getNamePrefix(), fields, after, limit);
+        });
+    }
+
+    // Catalog objects matching a CatalogFilter expression, keyset-paged by NORAD ID
+    public Flux<SatelliteEntity> fetchFilteredEntities(String filter, int after, int limit) {
+        return Flux.defer(() -> {
+            CatalogIndexService.Selection selection = indexService.select(filter);
+            int[] slots = selection.slots().toArray();
+
+            // Slots follow NORAD order, so the page start is a binary search
+            int low = 0;
+            int high = slots.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (selection.index().entity(slots[middle]).getNoradCatId() <= after) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+
+            return Flux.range(low, slots.length - low)
+                    .take(limit, true)
+                    .map(i -> selection.index().entity(slots[i]));
+        });
+    }
+
+    public Flux<Map<String, Object>> fetchFilteredProjection(String filter, List<SatelliteField> fields, int after, int limit) {
+        return fetchFilteredEntities(filter, after, limit).map(entity -> {
+            Map<String, Object> projected = new LinkedHashMap<>();
+            for (SatelliteField field : fields) {
+                projected.put(field.getJsonName(), field.valueOf(entity));
+            }
+            return projected;
+        });
+    }
+
+    public Flux<SatelliteEntity> fetchGroupEntities(SatelliteGroup group) {
+        return fetchGroupEntities(group, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Keyset page of a constellation ordered by NORAD ID. Served from the in-memory catalog once it is
+     * hydrated, otherwise streamed from the database; both sources are consumed lazily on demand.
+     */
+    public Flux<SatelliteEntity> fetchGroupEntities(SatelliteGroup group, int after, int limit) {
+        return Flux.defer(() -> {
+            if (catalog.isReady()) {
+                return Flux.fromIterable(catalog.after(after))
+                        .filter(entity -> group.matches(entity.getObjectName()))
+                        .take(limit, true);
+            }
+            return switch (group) {
+                case STARLINK -> satelliteRepository.fetchStarlink(after, limit);
+                case ONEWEB -> satelliteRepository.fetchOneweb(after, limit);
+                case IRIDIUM -> satelliteRepository.fetchIridium(after, limit);
+            };
+        });
+    }
+
+    public Mono<SatelliteEntity> findSatellite(int noradCatId) {
+        return Mono.defer(() -> {
+            SatelliteEntity cached = catalog.get(noradCatId);
+            return cached != null ? Mono.just(cached) : satelliteRepository.findByNoradCatId(noradCatId);
+        });
+    }
+
     public Flux<SatelliteDTO> fetchSatelliteDTO(Flux<SatelliteEntity> satelliteEntities) {
-        return satelliteEntities.map(entity -> new SatelliteDTO(
-                entity.getNoradCatId(),
-                entity.getObjectName(),
-                entity.getCountryCode(),
-                entity.getLaunchDate(),
-                entity.getDecayDate(),
-                entity.getLastUpdated(),
-                entity.getEpoch(),
-                entity.getTleLine1(),
-                entity.getTleLine2()
-        ));
+        return satelliteEntities.map(SatelliteMapper::toDTO);
     }
 
+    // GP records are decoded from the raw body as it streams in (see GpRecordDecoder)
     public Flux<Satellite> querySatelliteGroup(String endpoint) {
         return authService.login()
-                .flatMapMany(cookie ->
+                .flatMapMany(cookie -> gpDecoder.decode(
                         webClient
                                 .get()
                                 .uri(endpoint)
                                 .header(HttpHeaders.COOKIE, cookie)
                                 .retrieve()
-                                .bodyToFlux(Satellite.class)
-                );
+                                .bodyToFlux(DataBuffer.class)
+                ));
     }
 
     public Mono<SatelliteEntity> saveSatelliteToDb(Satellite satellite) {
@@ -181,16 +343,208 @@ public class SatelliteService {
     }
 
     public Flux<SatelliteEntity> populateAllSatellites() {
-        return querySatelliteGroup(allActiveSatellitesEndpoint).transform(this::saveAllSatelliteToDb)
-                .doOnNext(e -> System.out.println("Saved: " + e.getObjectName()));
+        return Flux.defer(() -> {
+            IngestionLog.Run run = ingestionLog.start("satellites-populate");
+            return querySatelliteGroup(allActiveSatellitesEndpoint)
+                    .filter(satellite -> hasValidTle(satellite, run))
+                    .transform(this::saveAllSatelliteToDb)
+                    .doOnNext(saved -> run.record(Outcome.CREATED, "norad_cat_id", saved.getNoradCatId()))
+                    .concatWith(changeService.recordFullReload("satellites-populate").then(Mono.empty()))
+                    .doOnError(run::fail)
+                    .doOnComplete(run::finish)
+                    .transform(this::publishToCatalog);
+        });
     }
 
+    // Seed an empty database: stream the decoded feed through COPY and merge it in one statement
+    // The COPY merge commits all or nothing, so the journal records the run but there is no checkpoint to resume from
+    public Mono<Long> bulkLoadAllSatellites() {
+        return journalService.begin(SOURCE_SATELLITES_BULK, false)
+                .flatMap(journalRun -> {
+                    IngestionLog.Run run = ingestionLog.start(SOURCE_SATELLITES_BULK);
+                    Flux<SatelliteEntity> rows = getAllSatelliteData()
+                            .filter(satellite -> hasValidTle(satellite, run))
+                            .map(SatelliteMapper::toEntity)
+                            .doOnNext(entity -> run.record(Outcome.CREATED, "norad_cat_id", entity.getNoradCatId()));
+                    return satelliteBulkRepository.copyLoad(rows)
+                            .doOnNext(count -> run.finish())
+                            .flatMap(count -> changeService.recordFullReload(SOURCE_SATELLITES_BULK).thenReturn(count))
+                            .flatMap(count -> reloadCatalog().thenReturn(count))
+                            .flatMap(count -> journalService.complete(journalRun, null, run).thenReturn(count))
+                            .doOnError(run::fail)
+                            .onErrorResume(err -> journalService.fail(journalRun, run, err).then(Mono.error(err)))
+                            .doOnCancel(() -> journalService.interrupted(journalRun, run));
+                })
+                .doOnError(err -> System.err.println("Bulk load error: " + err.getMessage()));
+    }
+
+    // Replace the in-memory catalog with the table, snapshot it and have every other node reload too
+    private Mono<Void> reloadCatalog() {
+        return satelliteRepository.findAll()
+                .collectList()
+                .flatMap(entities -> {
+                    catalog.replaceAll(entities, catalog.getVersion() + 1);
+                    return snapshotService.writeSnapshotAsync();
+                })
+                .then(notificationService.publishAll(ChangeNotificationService.TOPIC_SATELLITES));
+    }
+
+    // Cold databases are seeded in bulk; afterwards the per-object diff keeps them current
+    public Mono<Void> syncSatelliteData() {
+        return satelliteRepository.count()
+                .flatMap(count -> count == 0
+                        ? bulkLoadAllSatellites().then()
+                        : updateSatelliteData().then());
+    }
+
+    /**
+     * Diffs the feed against the database and journals the run in sync_runs. Objects are committed in feed
+     * (NORAD) order and checkpointed every checkpointBatchSize objects, so a run that fails or is cut off is
+     * resumed by the next one from its last checkpoint rather than re-fetching and re-diffing the whole catalog.
+     * Each batch's changed objects are recorded as a catalog version before its checkpoint, and a full run
+     * deletes the objects that have left the feed. Per-object outcomes go to the ingestion log, which summarizes
+     * the run instead of printing every object.
+     */
     public Flux<SatelliteEntity> updateSatelliteData() {
-        return getAllSatelliteData()
-                .flatMap(this::updateSatelliteDatabase)
-                .doOnNext(updated -> System.out.println("Processed: NORAD ID " + updated.getNoradCatId()))
-                .doOnError(err -> System.err.println("Process error: " + err.getMessage()))
-                .doOnComplete(() -> System.out.println("Satellite update protocol complete!"));
+        return journalService.begin(SOURCE_SATELLITES, true)
+                .flatMapMany(journalRun -> journalService.unfinishedSince(journalRun)
+                        .defaultIfEmpty(Instant.MAX)
+                        .flatMapMany(unfinishedSince -> updateSatelliteData(journalRun, unfinishedSince)));
+    }
+
+    private Flux<SatelliteEntity> updateSatelliteData(SyncRun journalRun, Instant unfinishedSince) {
+        IngestionLog.Run run = ingestionLog.start(SOURCE_SATELLITES);
+        boolean resumed = journalRun.lastNoradCatId() != null;
+        Flux<Satellite> feed = resumed ? getAllSatelliteDataAfter(journalRun.lastNoradCatId()) : getAllSatelliteData();
+        Set<Integer> feedIds = ConcurrentHashMap.newKeySet();
+
+        return feed
+                .doOnNext(satellite -> feedIds.add(satellite.getNoradCatId()))
+                .filter(satellite -> hasValidTle(satellite, run))
+                .flatMapSequential(satellite -> updateSatelliteDatabase(satellite, run))
+                .buffer(checkpointBatchSize)
+                .concatMap(batch -> commitBatch(journalRun, run, batch, unfinishedSince).thenMany(Flux.fromIterable(batch)))
+                .doOnError(run::fail)
+                .doOnComplete(run::finish)
+                .transform(persisted -> resumed
+                        ? publishResumed(persisted)
+                        : publishToCatalog(persisted, Mono.defer(() -> deleteDropped(feedIds))))
+                .concatWith(Mono.defer(() -> changeService.pruneLog()
+                        .then(journalService.complete(journalRun, null, run))).then(Mono.empty()))
+                .onErrorResume(err -> journalService.fail(journalRun, run, err).then(Mono.error(err)))
+                .doOnCancel(() -> journalService.interrupted(journalRun, run));
+    }
+
+    /**
+     * Records the batch's changed objects as one catalog version, then checkpoints past them. Objects written
+     * since unfinishedSince are counted as changed even when this run finds them current: a run that died after
+     * writing them may not have recorded them.
+     */
+    Mono<Void> commitBatch(SyncRun journalRun, IngestionLog.Run run, List<SatelliteEntity> batch, Instant unfinishedSince) {
+        List<Integer> changed = batch.stream()
+                .filter(entity -> catalog.get(entity.getNoradCatId()) != entity // unchanged objects come back as the cached instance
+                        || (entity.getLastUpdated() != null && !entity.getLastUpdated().isBefore(unfinishedSince)))
+                .map(SatelliteEntity::getNoradCatId)
+                .toList();
+
+        return changeService.recordUpserted(SOURCE_SATELLITES, changed)
+                .then(journalService.checkpoint(journalRun, batch.get(batch.size() - 1).getNoradCatId(), latestEpoch(batch), run));
+    }
+
+    /**
+     * Deletes the objects a complete feed no longer lists (decayed, or without an element set for 30 days).
+     * A feed that would remove more than pruneMaxFraction of the catalog is more likely truncated than
+     * right, so nothing is deleted then.
+     */
+    Mono<List<Integer>> deleteDropped(Set<Integer> feedIds) {
+        return satelliteRepository.findAllNoradCatIds()
+                .collectList()
+                .flatMap(stored -> {
+                    List<Integer> dropped = stored.stream().filter(id -> !feedIds.contains(id)).toList();
+                    if (dropped.size() > stored.size() * pruneMaxFraction) {
+                        System.err.println("Not removing " + dropped.size() + " of " + stored.size()
+                                + " satellites missing from the feed: more than the prune limit");
+                        return Mono.just(List.<Integer>of());
+                    }
+                    return changeService.deleteSatellites(SOURCE_SATELLITES, dropped).thenReturn(dropped);
+                });
+    }
+
+    private static Instant latestEpoch(List<SatelliteEntity> batch) {
+        return batch.stream()
+                .map(SatelliteEntity::getEpoch)
+                .filter(epoch -> epoch != null)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+    }
+
+    // Malformed element sets are dropped at ingest so clients never receive a TLE they cannot propagate
+    private boolean hasValidTle(Satellite satellite, IngestionLog.Run run) {
+        try {
+            satellite.getElements();
+            return true;
+        } catch (IllegalArgumentException e) {
+            run.record(Outcome.REJECTED, "norad_cat_id", satellite.getNoradCatId(), e.getMessage());
+            return false;
+        }
+    }
+
+    private Flux<SatelliteEntity> publishToCatalog(Flux<SatelliteEntity> persisted) {
+        return publishToCatalog(persisted, Mono.just(List.of()));
+    }
+
+    // Mirror persisted rows into the in-memory catalog, apply the removals once the sync succeeds, snapshot it and
+    // tell other nodes what changed. A run that fails or is cancelled still publishes the objects it has put: their
+    // batches are committed, and version-keyed caches and other nodes would otherwise keep the old rows
+    Flux<SatelliteEntity> publishToCatalog(Flux<SatelliteEntity> persisted, Mono<List<Integer>> removals) {
+        return Flux.defer(() -> {
+            Set<Integer> changed = ConcurrentHashMap.newKeySet();
+            AtomicBoolean published = new AtomicBoolean();
+            return persisted
+                    .doOnNext(entity -> {
+                        if (catalog.get(entity.getNoradCatId()) != entity) {
+                            changed.add(entity.getNoradCatId()); // unchanged objects come back as the cached instance
+                        }
+                        catalog.put(entity);
+                    })
+                    .concatWith(removals.flatMap(removed -> {
+                        removed.forEach(catalog::remove);
+                        changed.addAll(removed);
+                        return publishChanges(changed, published);
+                    }).then(Mono.empty()))
+                    .onErrorResume(err -> publishChanges(changed, published)
+                            .onErrorResume(publishErr -> Mono.empty())
+                            .then(Mono.error(err)))
+                    .doOnCancel(() -> publishChanges(changed, published)
+                            .subscribe(null, err -> System.err.println("Failed to publish satellite changes of a cancelled sync: " + err.getMessage())));
+        });
+    }
+
+    // Bumps the catalog version, snapshots it and notifies other nodes, once per run however it ends
+    private Mono<Void> publishChanges(Set<Integer> changed, AtomicBoolean published) {
+        return Mono.defer(() -> {
+            if (!published.compareAndSet(false, true)) {
+                return Mono.empty();
+            }
+            catalog.bumpVersion();
+            return snapshotService.writeSnapshotAsync()
+                    .then(notificationService.publish(ChangeNotificationService.TOPIC_SATELLITES, changed));
+        });
+    }
+
+    // A resumed run only sees the tail of the feed, and the run before it never published its changes, so the
+    // whole catalog is reloaded and every node told to reload rather than announcing this run's changes alone.
+    // That happens however the run ends, for the same reason as in publishToCatalog
+    private Flux<SatelliteEntity> publishResumed(Flux<SatelliteEntity> persisted) {
+        return Flux.defer(() -> {
+            AtomicBoolean reloaded = new AtomicBoolean();
+            Mono<Void> reload = Mono.defer(() -> reloaded.compareAndSet(false, true) ? reloadCatalog() : Mono.empty());
+            return persisted
+                    .doOnNext(catalog::put)
+                    .concatWith(reload.then(Mono.empty()))
+                    .onErrorResume(err -> reload.onErrorResume(reloadErr -> Mono.empty()).then(Mono.error(err)))
+                    .doOnCancel(() -> reload.subscribe(null, err -> System.err.println("Failed to reload the catalog after a cancelled sync: " + err.getMessage())));
+        });
     }
 
 //    public Flux<SatelliteEntity> updateSatelliteData() {
@@ -202,19 +556,26 @@ public class SatelliteService {
 //    }
 
     /**
-     * ...
+     * Upserts one decoded record. Unchanged records are recognised by content hash against the
+     * in-memory catalog, so they cost neither a database read nor a write.
      */
-    public Mono<SatelliteEntity> updateSatelliteDatabase(Satellite updatedSatellite) {
+    public Mono<SatelliteEntity> updateSatelliteDatabase(Satellite updatedSatellite, IngestionLog.Run run) {
+        SatelliteEntity cached = catalog.get(updatedSatellite.getNoradCatId());
+        if (cached != null && cached.getMeanMotion() != null && cached.getContentHash() != null
+                && cached.getContentHash() == updatedSatellite.getContentHash()) {
+            run.record(Outcome.UNCHANGED, "norad_cat_id", updatedSatellite.getNoradCatId());
+            return Mono.just(cached);
+        }
+
         return satelliteRepository.findByNoradCatId(updatedSatellite.getNoradCatId())
                 .flatMap(existing -> {
+                    // Rows stored before the element columns existed are rewritten once to fill them
+                    boolean contentChanged = existing.getContentHash() == null
+                            || existing.getMeanMotion() == null
+                            || existing.getContentHash() != updatedSatellite.getContentHash();
 
-
-
-                    boolean tleChanged = !existing.getTleLine1().equals(updatedSatellite.getTleLine1()) ||
-                            !existing.getTleLine2().equals(updatedSatellite.getTleLine2());
-
-                    if (!tleChanged) {
-                        System.out.println("Satellite " + existing.getNoradCatId() + " does not require update!");
+                    if (!contentChanged) {
+                        run.record(Outcome.UNCHANGED, "norad_cat_id", existing.getNoradCatId());
                         return Mono.just(existing); // nothing to update
                     }
 
@@ -225,6 +586,7 @@ public class SatelliteService {
                     existing.setObjectName(updatedSatellite.getObjectName());
                     existing.setObjectType(updatedSatellite.getObjectType());
                     existing.setCountryCode(updatedSatellite.getCountryCode());
+                    existing.setLaunchDate(updatedSatellite.getLaunchDate());
                     existing.setDecayDate(updatedSatellite.getDecayDate());
                     existing.setInclination(updatedSatellite.getInclination());
                     existing.setEccentricity(updatedSatellite.getEccentricity());
@@ -232,15 +594,19 @@ public class SatelliteService {
                     existing.setApoapsis(updatedSatellite.getApoapsis());
                     existing.setPeriapsis(updatedSatellite.getPeriapsis());
                     existing.setSemimajorAxis(updatedSatellite.getSemimajorAxis());
+                    SatelliteMapper.applyElements(existing, updatedSatellite.getElements());
+                    existing.setContentHash(updatedSatellite.getContentHash());
                     existing.setLastUpdated(Instant.now());
 
-                    return satelliteRepository.save(existing); // write to DB
+                    return satelliteRepository.save(existing) // write to DB
+                            .doOnNext(saved -> run.record(Outcome.UPDATED, "norad_cat_id", saved.getNoradCatId()));
                 })
                 .switchIfEmpty( // handle new satellite
                         Mono.defer(() -> {
-                            System.out.println("New satellite " + updatedSatellite.getNoradCatId() + " discovered!");
                             SatelliteEntity newEntity = SatelliteMapper.toEntity(updatedSatellite);
-                            return satelliteRepository.save(newEntity);
-                        }));
+                            return satelliteRepository.save(newEntity)
+                                    .doOnNext(saved -> run.record(Outcome.CREATED, "norad_cat_id", saved.getNoradCatId()));
+                        }))
+                .doOnError(err -> run.record(Outcome.FAILED, "norad_cat_id", updatedSatellite.getNoradCatId(), err.getMessage()));
     }
 }
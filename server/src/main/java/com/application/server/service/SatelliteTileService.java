@@ -0,0 +1,177 @@
+package com.application.server.service;
+
+import com.application.server.model.Satellite.SatelliteGroup;
+import com.application.server.model.Satellite.SatelliteTile;
+import com.application.server.orbit.PositionSnapshot;
+import com.application.server.service.CatalogIndexService.Selection;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Level-of-detail satellite tiles on the web-mercator grid.
+ * Below {@code tiles.cluster-max-zoom} objects are aggregated into a fixed grid of cells per tile,
+ * so the payload size depends on the grid, not on the catalog size.
+ */
+@Service
+public class SatelliteTileService {
+    private static final double MAX_LATITUDE = 85.05112878;
+    private static final SatelliteGroup[] GROUPS = SatelliteGroup.values();
+    private static final String OTHER_GROUP = "OTHER";
+
+    private final SatellitePositionService positionService;
+    private final CatalogIndexService indexService;
+    private Map<TileKey, SatelliteTile> tileCache;
+
+    @Value("${tiles.cluster-max-zoom}")
+    private int clusterMaxZoom;
+
+    @Value("${tiles.cluster-grid}")
+    private int clusterGrid;
+
+    @Value("${tiles.cache.max-entries}")
+    private int maxCacheEntries;
+
+    private record TileKey(Instant time, long catalogVersion, int z, int x, int y, String filter) {}
+
+    public SatelliteTileService(SatellitePositionService positionService, CatalogIndexService indexService) {
+        this.positionService = positionService;
+        this.indexService = indexService;
+    }
+
+    @PostConstruct
+    private void init() {
+        tileCache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<TileKey, SatelliteTile> eldest) {
+                return size() > maxCacheEntries;
+            }
+        });
+    }
+
+    // filter is an optional CatalogFilter expression; only matching objects are counted or listed
+    public SatelliteTile getTile(int z, int x, int y, Instant time, String filter) {
+        int tiles = validate(z, x, y);
+        Selection selection = filter != null ? indexService.select(filter) : null;
+        PositionSnapshot snapshot = positionService.positionsAt(time != null ? time : Instant.now());
+        TileKey key = new TileKey(snapshot.time(), snapshot.catalogVersion(), z, x, y, filter);
+
+        SatelliteTile cached = tileCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        SatelliteTile tile = z <= clusterMaxZoom
+                ? buildClusteredTile(snapshot, selection, z, x, y, tiles)
+                : buildDetailedTile(snapshot, selection, z, x, y, tiles);
+        tileCache.put(key, tile);
+        return tile;
+    }
+
+    private SatelliteTile buildClusteredTile(PositionSnapshot snapshot, Selection selection, int z, int x, int y, int tiles) {
+        int cells = clusterGrid * clusterGrid;
+        int[] counts = new int[cells];
+        double[] latitudeSums = new double[cells];
+        double[] longitudeSums = new double[cells];
+        int[][] groupCounts = new int[cells][GROUPS.length + 1]; // last slot counts objects outside a group
+        int objectCount = 0;
+
+        for (int i = 0; i < snapshot.size(); i++) {
+            double tileX = tileX(snapshot.longitudes()[i], tiles);
+            double tileY = tileY(snapshot.latitudes()[i], tiles);
+            if ((int) tileX != x || (int) tileY != y || selection != null && !selection.matches(snapshot.noradCatIds()[i])) {
+                continue;
+            }
+
+            int cellX = Math.min(clusterGrid - 1, (int) ((tileX - x) * clusterGrid));
+            int cellY = Math.min(clusterGrid - 1, (int) ((tileY - y) * clusterGrid));
+            int cell = cellY * clusterGrid + cellX;
+            int group = snapshot.groups()[i];
+
+            counts[cell]++;
+            latitudeSums[cell] += snapshot.latitudes()[i];
+            longitudeSums[cell] += snapshot.longitudes()[i];
+            groupCounts[cell][group < 0 ? GROUPS.length : group]++;
+            objectCount++;
+        }
+
+        List<SatelliteTile.Cluster> clusters = new ArrayList<>();
+        for (int cell = 0; cell < cells; cell++) {
+            if (counts[cell] == 0) {
+                continue;
+            }
+            clusters.add(new SatelliteTile.Cluster(
+                    counts[cell],
+                    latitudeSums[cell] / counts[cell],
+                    longitudeSums[cell] / counts[cell],
+                    dominantGroup(groupCounts[cell])));
+        }
+
+        return new SatelliteTile(z, x, y, snapshot.time(), objectCount, clusters, List.of());
+    }
+
+    private SatelliteTile buildDetailedTile(PositionSnapshot snapshot, Selection selection, int z, int x, int y, int tiles) {
+        List<SatelliteTile.Position> satellites = new ArrayList<>();
+
+        for (int i = 0; i < snapshot.size(); i++) {
+            if ((int) tileX(snapshot.longitudes()[i], tiles) != x || (int) tileY(snapshot.latitudes()[i], tiles) != y) {
+                continue;
+            }
+            if (selection != null && !selection.matches(snapshot.noradCatIds()[i])) {
+                continue;
+            }
+            int group = snapshot.groups()[i];
+            satellites.add(new SatelliteTile.Position(
+                    snapshot.noradCatIds()[i],
+                    snapshot.latitudes()[i],
+                    snapshot.longitudes()[i],
+                    snapshot.altitudes()[i],
+                    group < 0 ? OTHER_GROUP : GROUPS[group].name()));
+        }
+
+        return new SatelliteTile(z, x, y, snapshot.time(), satellites.size(), List.of(), satellites);
+    }
+
+    private static String dominantGroup(int[] groupCounts) {
+        int best = 0;
+        for (int i = 1; i < groupCounts.length; i++) {
+            if (groupCounts[i] > groupCounts[best]) {
+                best = i;
+            }
+        }
+        return best == GROUPS.length ? OTHER_GROUP : GROUPS[best].name();
+    }
+
+    // Fractional web-mercator tile coordinates, clamped to the valid tile range
+    private static double tileX(double longitude, int tiles) {
+        double value = (longitude + 180.0) / 360.0 * tiles;
+        return Math.min(Math.max(value, 0.0), Math.nextDown((double) tiles));
+    }
+
+    private static double tileY(double latitude, int tiles) {
+        double clamped = Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, latitude));
+        double radians = Math.toRadians(clamped);
+        double value = (1.0 - Math.log(Math.tan(radians) + 1.0 / Math.cos(radians)) / Math.PI) / 2.0 * tiles;
+        return Math.min(Math.max(value, 0.0), Math.nextDown((double) tiles));
+    }
+
+    private static int validate(int z, int x, int y) {
+        if (z < 0 || z > 22) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "z must be between 0 and 22");
+        }
+        int tiles = 1 << z;
+        if (x < 0 || x >= tiles || y < 0 || y >= tiles) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Tile " + z + "/" + x + "/" + y + " is out of range");
+        }
+        return tiles;
+    }
+}
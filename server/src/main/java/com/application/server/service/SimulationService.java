@@ -0,0 +1,267 @@
+package com.application.server.service;
+
+import com.application.server.model.Satellite.SatelliteGroup;
+import com.application.server.model.Satellite.SimulationFrame;
+import com.application.server.orbit.PositionSnapshot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.Disposable;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Time-accelerated position streams.
+ *
+ * A timeline is a constellation plus a simulated clock, sim = offset + wall * multiplier, at a frame rate.
+ * Each timeline propagates its group once per frame and fans the encoded frames out to every subscriber,
+ * so N browsers on the same fast-forwarded clock cost one propagation. Frames are quantized deltas against
+ * the previous frame with periodic keyframes; a subscriber that joins late or falls behind is sent the
+ * keyframe of the frame it resumes at instead of a delta it cannot apply.
+ */
+@Service
+public class SimulationService {
+    private static final int LONGITUDE_WRAP = (int) (360 * SimulationFrame.ANGLE_UNITS_PER_DEGREE);
+
+    private final SatellitePositionService positionService;
+    private final Map<TimelineKey, Timeline> timelines = new ConcurrentHashMap<>();
+    private final AtomicInteger running = new AtomicInteger();
+
+    @Value("${simulation.max-fps}")
+    private int maxFps;
+
+    @Value("${simulation.max-multiplier}")
+    private double maxMultiplier;
+
+    @Value("${simulation.keyframe-seconds}")
+    private double keyframeSeconds;
+
+    @Value("${simulation.idle-seconds}")
+    private long idleSeconds;
+
+    @Value("${simulation.buffer-frames}")
+    private int bufferFrames;
+
+    // Every timeline propagates its whole group at its frame rate, so this bounds the CPU the streams can take
+    @Value("${simulation.max-timelines}")
+    private int maxTimelines;
+
+    @Value("${simulation.share-tolerance-ms}")
+    private long shareToleranceMillis;
+
+    // offsetMillis is the simulated time at wall-clock epoch, rounded to the share tolerance (see timelineOffset)
+    private record TimelineKey(SatelliteGroup group, double multiplier, int fps, long offsetMillis) {}
+
+    // Quantized positions of one frame; the keyframe encoding is built at most once, on first demand
+    static final class State {
+        private final long index;
+        private final Instant time;
+        private final int[] noradCatIds;
+        private final int[] latitudes;
+        private final int[] longitudes;
+        private final int[] altitudes;
+        private volatile SimulationFrame keyframe;
+
+        State(long index, Instant time, int[] noradCatIds, int[] latitudes, int[] longitudes, int[] altitudes) {
+            this.index = index;
+            this.time = time;
+            this.noradCatIds = noradCatIds;
+            this.latitudes = latitudes;
+            this.longitudes = longitudes;
+            this.altitudes = altitudes;
+        }
+
+        SimulationFrame keyframe() {
+            SimulationFrame frame = keyframe;
+            if (frame == null) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream(noradCatIds.length * 10);
+                writeVarint(out, noradCatIds.length);
+                int previousId = 0;
+                for (int i = 0; i < noradCatIds.length; i++) {
+                    writeVarint(out, noradCatIds[i] - previousId);
+                    writeVarint(out, latitudes[i]);
+                    writeVarint(out, longitudes[i]);
+                    writeVarint(out, altitudes[i]);
+                    previousId = noradCatIds[i];
+                }
+                frame = new SimulationFrame(index, time, true, noradCatIds.length, Base64.getEncoder().encodeToString(out.toByteArray()));
+                keyframe = frame;
+            }
+            return frame;
+        }
+    }
+
+    // delta is null when every subscriber must be sent the keyframe
+    private record Step(State state, SimulationFrame delta) {}
+
+    public SimulationService(SatellitePositionService positionService) {
+        this.positionService = positionService;
+    }
+
+    public Flux<ServerSentEvent<SimulationFrame>> stream(SatelliteGroup group, Instant start, double multiplier, int fps) {
+        if (fps < 1 || fps > maxFps) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "fps must be between 1 and " + maxFps);
+        }
+        if (multiplier == 0 || Math.abs(multiplier) > maxMultiplier || Double.isNaN(multiplier)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "multiplier must be non-zero and at most " + maxMultiplier + " in magnitude");
+        }
+
+        return Flux.defer(() -> {
+            long now = System.currentTimeMillis();
+            TimelineKey key = new TimelineKey(group, multiplier, fps, timelineOffset(start, multiplier, now, shareToleranceMillis));
+            Timeline timeline = acquire(key);
+            long[] lastIndex = {Long.MIN_VALUE};
+
+            return timeline.steps.asFlux()
+                    .onBackpressureBuffer(bufferFrames, dropped -> {}, BufferOverflowStrategy.DROP_OLDEST)
+                    .map(step -> {
+                        State state = step.state();
+                        boolean inSequence = step.delta() != null && state.index == lastIndex[0] + 1;
+                        lastIndex[0] = state.index;
+                        SimulationFrame frame = inSequence ? step.delta() : state.keyframe();
+                        return ServerSentEvent.builder(frame)
+                                .id(Long.toString(frame.index()))
+                                .event(frame.keyframe() ? "keyframe" : "delta")
+                                .build();
+                    })
+                    .doFinally(signal -> timeline.subscribers.decrementAndGet());
+        });
+    }
+
+    // Simulated time at wall-clock epoch for a clock that reads start (now when null) at wall time now, rounded
+    // to a multiple of the tolerance. The tolerance is in simulated time: the shared timeline's clock is never
+    // more than half of it away from the requested one, however large the multiplier.
+    static long timelineOffset(Instant start, double multiplier, long now, long toleranceMillis) {
+        double offset = (start != null ? start.toEpochMilli() : now) - now * multiplier;
+        double quantum = Math.max(1, toleranceMillis);
+        return Math.round(Math.round(offset / quantum) * quantum);
+    }
+
+    private Timeline acquire(TimelineKey key) {
+        return timelines.compute(key, (unused, existing) -> {
+            if (existing == null && running.incrementAndGet() > maxTimelines) {
+                running.decrementAndGet();
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                        "All " + maxTimelines + " simulation timelines are in use, try again later");
+            }
+            Timeline timeline = existing != null ? existing : new Timeline(key);
+            timeline.subscribers.incrementAndGet();
+            if (existing == null) {
+                timeline.start();
+            }
+            return timeline;
+        });
+    }
+
+    private final class Timeline {
+        private final TimelineKey key;
+        private final Sinks.Many<Step> steps = Sinks.many().multicast().directBestEffort();
+        private final AtomicInteger subscribers = new AtomicInteger();
+        private final long keyframeInterval;
+        private Disposable ticker;
+        private State previous;
+        private long index;
+        private long idleSince;
+
+        Timeline(TimelineKey key) {
+            this.key = key;
+            this.keyframeInterval = Math.max(1, Math.round(keyframeSeconds * key.fps()));
+        }
+
+        void start() {
+            System.out.println("Starting simulation timeline " + key);
+            ticker = Flux.interval(Duration.ZERO, Duration.ofMillis(1000 / key.fps()), Schedulers.parallel())
+                    .onBackpressureDrop()
+                    .subscribe(tick -> step());
+        }
+
+        private void step() {
+            if (subscribers.get() == 0) {
+                long now = System.currentTimeMillis();
+                if (idleSince == 0) {
+                    idleSince = now;
+                } else if (now - idleSince > idleSeconds * 1000) {
+                    timelines.computeIfPresent(key, (unused, timeline) -> timeline == this && subscribers.get() == 0 ? stop() : timeline);
+                }
+                return;
+            }
+            idleSince = 0;
+
+            try {
+                double simulated = key.offsetMillis() + System.currentTimeMillis() * key.multiplier();
+                Instant time = Instant.ofEpochMilli(Math.round(simulated));
+                State state = quantize(index++, positionService.positionsOf(key.group(), time));
+
+                boolean keyframe = previous == null
+                        || state.index % keyframeInterval == 0
+                        || !Arrays.equals(previous.noradCatIds, state.noradCatIds);
+                SimulationFrame delta = keyframe ? null : encodeDelta(previous, state);
+                previous = state;
+                steps.tryEmitNext(new Step(state, delta));
+            } catch (RuntimeException e) {
+                System.err.println("Simulation timeline " + key + " failed to advance: " + e.getMessage());
+            }
+        }
+
+        private Timeline stop() {
+            ticker.dispose();
+            running.decrementAndGet();
+            steps.tryEmitComplete();
+            System.out.println("Stopped idle simulation timeline " + key);
+            return null;
+        }
+    }
+
+    static State quantize(long index, PositionSnapshot snapshot) {
+        int size = snapshot.size();
+        int[] latitudes = new int[size];
+        int[] longitudes = new int[size];
+        int[] altitudes = new int[size];
+        for (int i = 0; i < size; i++) {
+            latitudes[i] = (int) Math.round(snapshot.latitudes()[i] * SimulationFrame.ANGLE_UNITS_PER_DEGREE);
+            longitudes[i] = (int) Math.round(snapshot.longitudes()[i] * SimulationFrame.ANGLE_UNITS_PER_DEGREE);
+            altitudes[i] = (int) Math.round(snapshot.altitudes()[i] * SimulationFrame.ALTITUDE_UNITS_PER_KM);
+        }
+        return new State(index, snapshot.time(), Arrays.copyOf(snapshot.noradCatIds(), size), latitudes, longitudes, altitudes);
+    }
+
+    static SimulationFrame encodeDelta(State previous, State current) {
+        int size = current.noradCatIds.length;
+        ByteArrayOutputStream out = new ByteArrayOutputStream(size * 6);
+        for (int i = 0; i < size; i++) {
+            writeVarint(out, current.latitudes[i] - previous.latitudes[i]);
+            int longitude = current.longitudes[i] - previous.longitudes[i];
+            if (longitude > LONGITUDE_WRAP / 2) {
+                longitude -= LONGITUDE_WRAP;
+            } else if (longitude < -LONGITUDE_WRAP / 2) {
+                longitude += LONGITUDE_WRAP;
+            }
+            writeVarint(out, longitude);
+            writeVarint(out, current.altitudes[i] - previous.altitudes[i]);
+        }
+        return new SimulationFrame(current.index, current.time, false, size, Base64.getEncoder().encodeToString(out.toByteArray()));
+    }
+
+    // Zigzag so small negative deltas stay short, then 7 bits per byte with a continuation bit
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        int zigzag = (value << 1) ^ (value >> 31);
+        while ((zigzag & ~0x7F) != 0) {
+            out.write((zigzag & 0x7F) | 0x80);
+            zigzag >>>= 7;
+        }
+        out.write(zigzag);
+    }
+}
@@ -0,0 +1,98 @@
+package com.application.server.service;
+
+import com.application.server.logging.IngestionLog;
+import com.application.server.logging.IngestionLog.Outcome;
+import com.application.server.model.Sync.SyncRun;
+import com.application.server.repository.SyncRunRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Journals ingestion runs in sync_runs. A run is opened when a sync starts, checkpointed as it commits batches and
+ * closed as COMPLETED, FAILED or INTERRUPTED. Runs are only started under the source's cluster lock, so a RUNNING
+ * row found at the start of the next run belongs to a node that died mid-sync and is marked INTERRUPTED.
+ *
+ * A resumable source continues from the last checkpoint of a FAILED or INTERRUPTED predecessor, provided that run
+ * was still making progress within resume-max-age; older checkpoints are discarded and the feed is read in full, as
+ * they are after a resumed run that failed again without committing anything.
+ */
+@Service
+public class SyncJournalService {
+    private final SyncRunRepository runRepository;
+
+    @Value("${sync.resume.max-age-hours}")
+    private long resumeMaxAgeHours;
+
+    @Value("${sync.history-days}")
+    private long historyDays;
+
+    public SyncJournalService(SyncRunRepository runRepository) {
+        this.runRepository = runRepository;
+    }
+
+    public Mono<SyncRun> begin(String source, boolean resumable) {
+        return runRepository.markInterrupted(source)
+                .then(resumable ? runRepository.findLatest(source).filter(this::canResume) : Mono.empty())
+                .flatMap(previous -> runRepository.start(source, previous.id(), previous.lastNoradCatId(), previous.watermark())
+                        .doOnNext(run -> System.out.println("Resuming " + source + " sync run " + previous.id()
+                                + " after NORAD " + previous.lastNoradCatId() + " as run " + run.id())))
+                .switchIfEmpty(Mono.defer(() -> runRepository.start(source, null, null, null)));
+    }
+
+    // Objects written since then may have been committed by a run that died before publishing them
+    public Mono<Instant> unfinishedSince(SyncRun run) {
+        return runRepository.unfinishedSince(run.source(), run.id());
+    }
+
+    // Everything up to lastNoradCatId is committed; null keeps the previous checkpoint
+    public Mono<Void> checkpoint(SyncRun run, Integer lastNoradCatId, Instant watermark, IngestionLog.Run counts) {
+        return runRepository.checkpoint(run.id(), lastNoradCatId, watermark, counts(counts));
+    }
+
+    public Mono<Void> complete(SyncRun run, Instant watermark, IngestionLog.Run counts) {
+        return runRepository.finish(run.id(), SyncRun.COMPLETED, watermark, counts(counts), null)
+                .then(runRepository.deleteStartedBefore(Instant.now().minus(Duration.ofDays(historyDays))))
+                .then();
+    }
+
+    public Mono<Void> fail(SyncRun run, IngestionLog.Run counts, Throwable error) {
+        String message = error.getMessage() != null ? error.getMessage() : error.toString();
+        return runRepository.finish(run.id(), SyncRun.FAILED, null, counts(counts), message)
+                .onErrorResume(err -> {
+                    System.err.println("Failed to journal failure of sync run " + run.id() + ": " + err.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    // Cancelled runs (e.g. the cluster lock was lost) keep their checkpoint and are resumed like failed ones
+    public void interrupted(SyncRun run, IngestionLog.Run counts) {
+        runRepository.finish(run.id(), SyncRun.INTERRUPTED, null, counts(counts), "cancelled")
+                .subscribe(null, err -> System.err.println("Failed to journal interruption of sync run " + run.id() + ": " + err.getMessage()));
+    }
+
+    public Flux<SyncRun> recentRuns(String source, int limit) {
+        if (limit < 1 || limit > 500) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and 500");
+        }
+        return runRepository.findRecent(source, limit);
+    }
+
+    private boolean canResume(SyncRun previous) {
+        return (SyncRun.FAILED.equals(previous.status()) || SyncRun.INTERRUPTED.equals(previous.status()))
+                && previous.lastNoradCatId() != null
+                && (previous.resumedFrom() == null || previous.batchesCommitted() > 0) // a resume that got nowhere starts over
+                && previous.updatedAt().isAfter(Instant.now().minus(Duration.ofHours(resumeMaxAgeHours)));
+    }
+
+    private static SyncRunRepository.Counts counts(IngestionLog.Run run) {
+        return new SyncRunRepository.Counts(run.total(), run.count(Outcome.CREATED), run.count(Outcome.UPDATED),
+                run.count(Outcome.UNCHANGED), run.count(Outcome.REJECTED), run.count(Outcome.FAILED));
+    }
+}
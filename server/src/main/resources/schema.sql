@@ -17,7 +17,15 @@ CREATE TABLE IF NOT EXISTS satellites (
     period DOUBLE PRECISION,
     apoapsis DOUBLE PRECISION,
     periapsis DOUBLE PRECISION,
-    semimajor_axis DOUBLE PRECISION
+    semimajor_axis DOUBLE PRECISION,
+    mean_motion DOUBLE PRECISION,
+    mean_motion_dot DOUBLE PRECISION,
+    mean_motion_ddot DOUBLE PRECISION,
+    bstar DOUBLE PRECISION,
+    ra_of_asc_node DOUBLE PRECISION,
+    arg_of_pericenter DOUBLE PRECISION,
+    mean_anomaly DOUBLE PRECISION,
+    content_hash BIGINT
 );
 
 CREATE TABLE IF NOT EXISTS earthquakes (
@@ -41,5 +49,149 @@ CREATE TABLE IF NOT EXISTS earthquakes (
    depth_km DOUBLE PRECISION,
    known_event_ids TEXT,
    preferred_event_id VARCHAR(50) UNIQUE,
-   last_updated TIMESTAMPTZ
-);
\ No newline at end of file
+   last_updated TIMESTAMPTZ,
+   content_hash BIGINT
+);
+
+-- Columns added after the initial release
+ALTER TABLE satellites ADD COLUMN IF NOT EXISTS content_hash BIGINT;
+ALTER TABLE earthquakes ADD COLUMN IF NOT EXISTS content_hash BIGINT;
+ALTER TABLE satellites ADD COLUMN IF NOT EXISTS mean_motion DOUBLE PRECISION;
+ALTER TABLE satellites ADD COLUMN IF NOT EXISTS mean_motion_dot DOUBLE PRECISION;
+ALTER TABLE satellites ADD COLUMN IF NOT EXISTS mean_motion_ddot DOUBLE PRECISION;
+ALTER TABLE satellites ADD COLUMN IF NOT EXISTS bstar DOUBLE PRECISION;
+ALTER TABLE satellites ADD COLUMN IF NOT EXISTS ra_of_asc_node DOUBLE PRECISION;
+ALTER TABLE satellites ADD COLUMN IF NOT EXISTS arg_of_pericenter DOUBLE PRECISION;
+ALTER TABLE satellites ADD COLUMN IF NOT EXISTS mean_anomaly DOUBLE PRECISION;
+
+-- Earthquake listing (GET /api/earthquakes): every query orders by (event_time DESC, id DESC) for keyset paging
+CREATE INDEX IF NOT EXISTS earthquakes_event_time_id_idx ON earthquakes (event_time DESC, id DESC);
+CREATE INDEX IF NOT EXISTS earthquakes_magnitude_event_time_idx ON earthquakes (magnitude, event_time DESC);
+-- Alerts and tsunami flags are rare, so these stay small and make those filters a short range scan
+CREATE INDEX IF NOT EXISTS earthquakes_alert_event_time_idx ON earthquakes (event_time DESC, id DESC) WHERE usgs_alert_level IS NOT NULL;
+CREATE INDEX IF NOT EXISTS earthquakes_tsunami_event_time_idx ON earthquakes (event_time DESC, id DESC) WHERE tsunami_potential = 1;
+
+-- Earthquake rollups: magnitude_band = floor(magnitude * 2), region_id = 30 degree cell (row * 12 + column from -90, -180)
+CREATE TABLE IF NOT EXISTS earthquake_rollups_hourly (
+   bucket_start TIMESTAMPTZ NOT NULL,
+   magnitude_band SMALLINT NOT NULL,
+   region_id SMALLINT NOT NULL,
+   event_count INT NOT NULL,
+   magnitude_sum DOUBLE PRECISION NOT NULL,
+   energy_joules DOUBLE PRECISION NOT NULL,
+   PRIMARY KEY (bucket_start, magnitude_band, region_id)
+);
+
+CREATE TABLE IF NOT EXISTS earthquake_rollups_daily (
+   bucket_start TIMESTAMPTZ NOT NULL,
+   magnitude_band SMALLINT NOT NULL,
+   region_id SMALLINT NOT NULL,
+   event_count INT NOT NULL,
+   magnitude_sum DOUBLE PRECISION NOT NULL,
+   energy_joules DOUBLE PRECISION NOT NULL,
+   PRIMARY KEY (bucket_start, magnitude_band, region_id)
+);
+
+CREATE TABLE IF NOT EXISTS ingest_watermarks (
+   source VARCHAR(50) PRIMARY KEY,
+   high_water_mark TIMESTAMPTZ,
+   etag TEXT,
+   last_modified TEXT,
+   updated_at TIMESTAMPTZ
+);
+ALTER TABLE ingest_watermarks ADD COLUMN IF NOT EXISTS validator_url TEXT;
+
+
+CREATE TABLE IF NOT EXISTS earthquake_backfill_checkpoints (
+   job_id VARCHAR(100),
+   window_start TIMESTAMPTZ,
+   window_end TIMESTAMPTZ,
+   event_count INT,
+   completed_at TIMESTAMPTZ,
+   PRIMARY KEY (job_id, window_start, window_end)
+);
+
+-- Adaptive maintenance history; actions and probes go with their run
+CREATE TABLE IF NOT EXISTS maintenance_runs (
+   id BIGSERIAL PRIMARY KEY,
+   started_at TIMESTAMPTZ NOT NULL,
+   finished_at TIMESTAMPTZ NOT NULL,
+   status VARCHAR(20) NOT NULL,
+   tables_checked INT NOT NULL,
+   indexes_checked INT NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS maintenance_runs_started_at_idx ON maintenance_runs (started_at DESC);
+
+CREATE TABLE IF NOT EXISTS maintenance_actions (
+   id BIGSERIAL PRIMARY KEY,
+   run_id BIGINT NOT NULL REFERENCES maintenance_runs (id) ON DELETE CASCADE,
+   target TEXT NOT NULL,
+   operation VARCHAR(20) NOT NULL,
+   reason TEXT NOT NULL,
+   duration_ms BIGINT NOT NULL,
+   size_before_bytes BIGINT,
+   size_after_bytes BIGINT,
+   error TEXT
+);
+
+CREATE INDEX IF NOT EXISTS maintenance_actions_run_id_idx ON maintenance_actions (run_id);
+
+CREATE TABLE IF NOT EXISTS maintenance_probes (
+   run_id BIGINT NOT NULL REFERENCES maintenance_runs (id) ON DELETE CASCADE,
+   probe VARCHAR(50) NOT NULL,
+   before_ms DOUBLE PRECISION NOT NULL,
+   after_ms DOUBLE PRECISION NOT NULL,
+   PRIMARY KEY (run_id, probe)
+);
+
+-- Ingestion run journal; last_norad_cat_id is the resume checkpoint of a satellite sync
+CREATE TABLE IF NOT EXISTS sync_runs (
+   id BIGSERIAL PRIMARY KEY,
+   source VARCHAR(50) NOT NULL,
+   status VARCHAR(20) NOT NULL,
+   resumed_from BIGINT,
+   started_at TIMESTAMPTZ NOT NULL,
+   updated_at TIMESTAMPTZ NOT NULL,
+   finished_at TIMESTAMPTZ,
+   watermark TIMESTAMPTZ,
+   last_norad_cat_id INT,
+   batches_committed INT NOT NULL DEFAULT 0,
+   processed BIGINT NOT NULL DEFAULT 0,
+   created BIGINT NOT NULL DEFAULT 0,
+   updated BIGINT NOT NULL DEFAULT 0,
+   unchanged BIGINT NOT NULL DEFAULT 0,
+   rejected BIGINT NOT NULL DEFAULT 0,
+   failed BIGINT NOT NULL DEFAULT 0,
+   error TEXT
+);
+
+CREATE INDEX IF NOT EXISTS sync_runs_source_id_idx ON sync_runs (source, id DESC);
+
+-- Catalog change log behind GET /api/satellites/changes; a version is one committed change set
+CREATE TABLE IF NOT EXISTS catalog_versions (
+   version BIGINT PRIMARY KEY,
+   committed_at TIMESTAMPTZ NOT NULL,
+   source VARCHAR(50) NOT NULL,
+   full_reload BOOLEAN NOT NULL DEFAULT FALSE
+);
+
+CREATE TABLE IF NOT EXISTS catalog_changes (
+   version BIGINT NOT NULL REFERENCES catalog_versions (version) ON DELETE CASCADE,
+   norad_cat_id INT NOT NULL,
+   removed BOOLEAN NOT NULL,
+   PRIMARY KEY (version, norad_cat_id)
+);
+
+-- Single row handing out catalog versions; writers hold its row lock until they commit, so versions commit in order
+CREATE TABLE IF NOT EXISTS catalog_version_counter (
+   id BOOLEAN PRIMARY KEY DEFAULT TRUE CHECK (id),
+   version BIGINT NOT NULL
+);
+
+INSERT INTO catalog_version_counter (id, version) SELECT TRUE, COALESCE(MAX(version), 0) FROM catalog_versions ON CONFLICT (id) DO NOTHING;
+
+CREATE TABLE IF NOT EXISTS scheduled_job_runs (
+   job_name VARCHAR(100) PRIMARY KEY,
+   last_run_at TIMESTAMPTZ NOT NULL
+);
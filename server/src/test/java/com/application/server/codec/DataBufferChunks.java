@@ -0,0 +1,34 @@
+package com.application.server.codec;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+// Feeds a response body to a streaming decoder in chunks, the way it arrives off the network
+final class DataBufferChunks {
+
+    private DataBufferChunks() {
+    }
+
+    static Flux<DataBuffer> split(byte[] body, int chunkSize) {
+        List<DataBuffer> buffers = new ArrayList<>();
+        for (int offset = 0; offset < body.length; offset += chunkSize) {
+            buffers.add(DefaultDataBufferFactory.sharedInstance.wrap(Arrays.copyOfRange(body, offset, Math.min(body.length, offset + chunkSize))));
+        }
+        return Flux.fromIterable(buffers);
+    }
+
+    // Runs check over the body split into single bytes, then into random chunk sizes up to maxChunkSize
+    static void atRandomBoundaries(byte[] body, long seed, int rounds, int maxChunkSize, Consumer<Flux<DataBuffer>> check) {
+        Random random = new Random(seed);
+        for (int round = 0; round < rounds; round++) {
+            check.accept(split(body, round == 0 ? 1 : 1 + random.nextInt(maxChunkSize)));
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.application.server.codec;
+
+import com.application.server.model.Earthquake.Earthquake;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.codec.DecodingException;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.application.server.codec.DataBufferChunks.atRandomBoundaries;
+import static com.application.server.codec.DataBufferChunks.split;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GeoJsonFeatureDecoderTests {
+
+    private final GeoJsonFeatureDecoder<Earthquake> decoder = new GeoJsonFeatureDecoder<>(new ObjectMapper(), Earthquake.class);
+
+    @Test
+    void decodesFeaturesAcrossArbitraryBufferBoundaries() {
+        atRandomBoundaries(collection(50).getBytes(StandardCharsets.UTF_8), 3, 20, 200, chunks -> {
+            List<Earthquake> features = decoder.decode(chunks).collectList().block();
+
+            assertEquals(50, features.size());
+            for (int i = 0; i < features.size(); i++) {
+                assertEquals("us" + i, features.get(i).getEarthquakeId());
+                assertEquals(2.5 + i / 10.0, features.get(i).getProperties().getMag(), 1e-9);
+                assertEquals(10.0 + i, features.get(i).getGeometry().getDepth(), 1e-9);
+            }
+        });
+    }
+
+    @Test
+    void ignoresMembersOutsideTheFeaturesArray() {
+        String body = "{\"type\":\"FeatureCollection\",\"metadata\":{\"features\":[{\"id\":\"nested\"}],\"count\":1},"
+                + "\"features\":[" + feature(7) + "],\"bbox\":[-180,-90,0,180,90,700]}";
+
+        List<Earthquake> features = decoder.decode(split(body.getBytes(StandardCharsets.UTF_8), 5)).collectList().block();
+
+        assertEquals(List.of("us7"), features.stream().map(Earthquake::getEarthquakeId).toList());
+    }
+
+    @Test
+    void failsOnTruncatedBody() {
+        byte[] body = collection(3).getBytes(StandardCharsets.UTF_8);
+        Flux<Earthquake> truncated = decoder.decode(split(Arrays.copyOf(body, body.length - 40), 64));
+
+        assertThrows(DecodingException.class, () -> truncated.collectList().block());
+    }
+
+    private static String collection(int count) {
+        List<String> features = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            features.add(feature(i));
+        }
+        return "{\"type\":\"FeatureCollection\",\"metadata\":{\"count\":" + count + "},\"features\":[" + String.join(",", features) + "]}";
+    }
+
+    private static String feature(int i) {
+        return "{\"type\":\"Feature\",\"properties\":{\"mag\":" + (2.5 + i / 10.0) + ",\"place\":\"Somewhere \\\"" + i + "\\\"\","
+                + "\"time\":" + (1700000000000L + i) + ",\"updated\":" + (1700000001000L + i) + ",\"tz\":null,\"status\":\"reviewed\","
+                + "\"tsunami\":0,\"sig\":100,\"ids\":\",us" + i + ",\",\"type\":\"earthquake\"},"
+                + "\"geometry\":{\"type\":\"Point\",\"coordinates\":[" + (i - 100.5) + "," + (i / 2.0) + "," + (10.0 + i) + "]},"
+                + "\"id\":\"us" + i + "\"}";
+    }
+}
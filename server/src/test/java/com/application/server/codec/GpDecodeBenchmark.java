@@ -0,0 +1,86 @@
+package com.application.server.codec;
+
+import com.application.server.model.Satellite.Satellite;
+import com.application.server.model.Satellite.SatelliteMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding a full GP catalog response: WebFlux data binding (what bodyToFlux(Satellite.class) does) versus
+ * GpRecordDecoder, alone and through SatelliteMapper.toEntity. Divide gc.alloc.rate.norm by CATALOG_SIZE for
+ * bytes per record. Run with: java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *   org.openjdk.jmh.Main GpDecodeBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GpDecodeBenchmark {
+    private static final int CATALOG_SIZE = 30_000;
+    private static final int NETWORK_BUFFER_BYTES = 8_192;
+
+    private byte[][] chunks;
+    private Jackson2JsonDecoder dataBinding;
+    private GpRecordDecoder gpDecoder;
+
+    @Setup
+    public void setUp() {
+        byte[] body = GpRecordDecoderTests.catalog(CATALOG_SIZE).getBytes(StandardCharsets.UTF_8);
+        chunks = new byte[(body.length + NETWORK_BUFFER_BYTES - 1) / NETWORK_BUFFER_BYTES][];
+        for (int i = 0; i < chunks.length; i++) {
+            chunks[i] = Arrays.copyOfRange(body, i * NETWORK_BUFFER_BYTES, Math.min(body.length, (i + 1) * NETWORK_BUFFER_BYTES));
+        }
+        dataBinding = new Jackson2JsonDecoder(Jackson2ObjectMapperBuilder.json().build());
+        gpDecoder = new GpRecordDecoder();
+    }
+
+    @Benchmark
+    public long dataBinding() {
+        return bound().count().block();
+    }
+
+    @Benchmark
+    public long gpDecoder() {
+        return gpDecoder.decode(body()).count().block();
+    }
+
+    @Benchmark
+    public long dataBindingToEntity() {
+        return bound().map(SatelliteMapper::toEntity).count().block();
+    }
+
+    @Benchmark
+    public long gpDecoderToEntity() {
+        return gpDecoder.decode(body()).map(SatelliteMapper::toEntity).count().block();
+    }
+
+    // Wrapping the pre-split chunks allocates a few dozen bytes per network buffer, not per record
+    private Flux<DataBuffer> body() {
+        return Flux.fromArray(chunks).map(DefaultDataBufferFactory.sharedInstance::wrap);
+    }
+
+    private Flux<Satellite> bound() {
+        return dataBinding.decode(body(), ResolvableType.forClass(Satellite.class), null, null)
+                .cast(Satellite.class);
+    }
+}
@@ -0,0 +1,107 @@
+package com.application.server.codec;
+
+import com.application.server.model.Satellite.Satellite;
+import com.application.server.model.Satellite.SatelliteMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.application.server.codec.DataBufferChunks.atRandomBoundaries;
+import static com.application.server.codec.DataBufferChunks.split;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GpRecordDecoderTests {
+
+    static final String TLE_LINE1 = "1 25544U 98067A   08264.51782528 -.00002182  00000-0 -11606-4 0  2927";
+    static final String TLE_LINE2 = "2 25544  51.6416 247.4627 0006703 130.5360 325.0288 15.72125391563537";
+
+    private final GpRecordDecoder decoder = new GpRecordDecoder();
+
+    @Test
+    void matchesDataBindingAcrossArbitraryBufferBoundaries() throws Exception {
+        String body = catalog(200);
+        Satellite[] expected = Jackson2ObjectMapperBuilder.json().build().readValue(body, Satellite[].class);
+
+        atRandomBoundaries(body.getBytes(StandardCharsets.UTF_8), 11, 10, 300, chunks -> {
+            List<Satellite> decoded = decoder.decode(chunks).collectList().block();
+
+            assertEquals(expected.length, decoded.size());
+            for (int i = 0; i < expected.length; i++) {
+                Satellite want = expected[i];
+                Satellite got = decoded.get(i);
+                assertEquals(want.getNoradCatId(), got.getNoradCatId());
+                assertEquals(want.getObjectName(), got.getObjectName());
+                assertEquals(want.getObjectType(), got.getObjectType());
+                assertEquals(want.getCountryCode(), got.getCountryCode());
+                assertEquals(want.getLaunchDate(), got.getLaunchDate());
+                assertEquals(want.getDecayDate(), got.getDecayDate());
+                assertEquals(want.getEpoch(), got.getEpoch());
+                assertEquals(want.getInclination(), got.getInclination());
+                assertEquals(want.getEccentricity(), got.getEccentricity());
+                assertEquals(want.getSemimajorAxis(), got.getSemimajorAxis());
+                assertEquals(want.getContentHash(), got.getContentHash());
+            }
+        });
+    }
+
+    @Test
+    void poolsRepeatedValuesAndSkipsUnknownFields() {
+        List<Satellite> decoded = decoder.decode(split(catalog(50).getBytes(StandardCharsets.UTF_8), 64)).collectList().block();
+
+        assertSame(decoded.get(0).getObjectType(), decoded.get(4).getObjectType());
+        assertSame(decoded.get(1).getCountryCode(), decoded.get(6).getCountryCode());
+        assertSame(decoded.get(2).getLaunchDate(), decoded.get(9).getLaunchDate());
+        assertNull(decoded.get(3).getDecayDate());
+    }
+
+    @Test
+    void rejectsMalformedEpoch() {
+        String body = catalog(2).replace("2025-01-01T", "2025-01-01 ");
+
+        assertThrows(DecodingException.class, () -> decoder.decode(split(body.getBytes(StandardCharsets.UTF_8), 128)).collectList().block());
+    }
+
+    @Test
+    void keepsAMissingEpochNull() throws Exception {
+        String body = catalog(2).replaceFirst("\"EPOCH\":\"[^\"]*\",", "").replaceFirst("\"EPOCH\":\"[^\"]*\"", "\"EPOCH\":null");
+
+        for (Satellite satellite : decoder.decode(split(body.getBytes(StandardCharsets.UTF_8), 64)).collectList().block()) {
+            assertNull(satellite.getEpoch());
+            assertNull(SatelliteMapper.toEntity(satellite).getEpoch());
+        }
+        for (Satellite satellite : Jackson2ObjectMapperBuilder.json().build().readValue(body, Satellite[].class)) {
+            assertNull(satellite.getEpoch());
+        }
+    }
+
+    // Shaped like a Space-Track GP response: every value quoted, plenty of fields Satellite does not carry
+    static String catalog(int count) {
+        String[] types = {"PAYLOAD", "ROCKET BODY", "DEBRIS", "TBA"};
+        String[] countries = {"US", "PRC", "CIS", "UK", "FR"};
+        List<String> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            records.add("{\"CCSDS_OMM_VERS\":\"2.0\",\"COMMENT\":\"GENERATED VIA SPACE-TRACK.ORG API\",\"CREATION_DATE\":\"2025-01-02T03:04:05\","
+                    + "\"ORIGINATOR\":\"18 SPCS\",\"OBJECT_NAME\":\"OBJECT \\\"" + i + "\\\"\",\"OBJECT_ID\":\"2020-001" + (char) ('A' + i % 26) + "\","
+                    + "\"CENTER_NAME\":\"EARTH\",\"REF_FRAME\":\"TEME\",\"TIME_SYSTEM\":\"UTC\",\"MEAN_ELEMENT_THEORY\":\"SGP4\","
+                    + "\"EPOCH\":\"2025-01-01T" + String.format("%02d:%02d:%02d.%06d", i % 24, i % 60, (i * 7) % 60, i * 1_009 % 1_000_000) + "\","
+                    + "\"MEAN_MOTION\":\"15.0612\",\"ECCENTRICITY\":\"0." + String.format("%07d", i * 37 % 10_000_000) + "\","
+                    + "\"INCLINATION\":\"" + (i % 180) + "." + (i % 10_000) + "\",\"RA_OF_ASC_NODE\":\"12.5\",\"ARG_OF_PERICENTER\":\"99.1\","
+                    + "\"MEAN_ANOMALY\":\"261.0\",\"EPHEMERIS_TYPE\":\"0\",\"CLASSIFICATION_TYPE\":\"U\",\"NORAD_CAT_ID\":\"" + (10_000 + i) + "\","
+                    + "\"ELEMENT_SET_NO\":\"999\",\"REV_AT_EPOCH\":\"12345\",\"BSTAR\":\"0.00012\",\"MEAN_MOTION_DOT\":\"1.2e-05\","
+                    + "\"MEAN_MOTION_DDOT\":\"0\",\"SEMIMAJOR_AXIS\":\"" + (6_700 + i % 1_000) + ".125\",\"PERIOD\":\"95.61\","
+                    + "\"APOAPSIS\":\"420.5\",\"PERIAPSIS\":\"415.25\",\"OBJECT_TYPE\":\"" + types[i % types.length] + "\",\"RCS_SIZE\":\"LARGE\","
+                    + "\"COUNTRY_CODE\":\"" + countries[i % countries.length] + "\",\"LAUNCH_DATE\":\"20" + (10 + i % 7) + "-03-14\","
+                    + "\"SITE\":\"AFETR\",\"DECAY_DATE\":" + (i % 3 == 0 ? "null" : i % 3 == 1 ? "\"\"" : "\"2026-0" + (1 + i % 9) + "-01\"") + ","
+                    + "\"FILE\":\"4512345\",\"GP_ID\":\"" + (270_000_000 + i) + "\",\"TLE_LINE0\":\"0 OBJECT " + i + "\","
+                    + "\"TLE_LINE1\":\"" + TLE_LINE1 + "\",\"TLE_LINE2\":\"" + TLE_LINE2 + "\"}");
+        }
+        return "[" + String.join(",", records) + "]";
+    }
+}
@@ -0,0 +1,110 @@
+package com.application.server.index;
+
+import com.application.server.model.Satellite.OrbitRegime;
+import com.application.server.model.Satellite.SatelliteEntity;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CatalogIndexTests {
+
+    private static final String[] TYPES = {"PAYLOAD", "ROCKET BODY", "DEBRIS", "TBA"};
+    private static final String[] COUNTRIES = {"US", "PRC", "CIS", "UK", "FR"};
+    private static final String[] NAMES = {"STARLINK-", "ONEWEB-", "IRIDIUM ", "COSMOS ", "FENGYUN 1C DEB "};
+
+    @Test
+    void classifiesRegimeByEccentricityAndAltitude() {
+        assertEquals(OrbitRegime.LEO, regime(415, 422, 0.0005, 51.6));      // ISS
+        assertEquals(OrbitRegime.MEO, regime(20100, 20260, 0.003, 55.0));   // GPS
+        assertEquals(OrbitRegime.GEO, regime(35780, 35795, 0.0002, 0.05));  // geostationary
+        assertEquals(OrbitRegime.GEO, regime(35700, 35870, 0.002, 55.0));   // BeiDou IGSO
+        assertEquals(OrbitRegime.GEO, regime(32600, 38950, 0.075, 41.0));   // QZSS quasi-zenith
+        assertEquals(OrbitRegime.HEO, regime(24000, 47100, 0.268, 63.4));   // Sirius Tundra
+        assertEquals(OrbitRegime.HEO, regime(600, 39700, 0.74, 63.4));      // Molniya
+        assertEquals(OrbitRegime.HEO, regime(250, 35800, 0.73, 27.0));      // GTO
+        assertEquals(OrbitRegime.HEO, regime(36300, 36400, 0.001, 1.0));    // above the belt
+        assertEquals(OrbitRegime.UNKNOWN, regime(0, 0, 0.0, 0.0));
+    }
+
+    @Test
+    void filterMatchesBruteForce() {
+        List<SatelliteEntity> catalog = randomCatalog(new Random(11), 5000);
+        CatalogIndex index = CatalogIndex.build(1, catalog);
+
+        assertMatches(index, catalog, "type:payload AND regime:leo",
+                s -> "PAYLOAD".equals(s.getObjectType()) && OrbitRegime.of(s) == OrbitRegime.LEO);
+        assertMatches(index, catalog, "(country:US OR country:PRC) NOT type:debris",
+                s -> ("US".equals(s.getCountryCode()) || "PRC".equals(s.getCountryCode())) && !"DEBRIS".equals(s.getObjectType()));
+        assertMatches(index, catalog, "group:starlink,oneweb year:2019..2021 OR type:rocket_body",
+                s -> (s.getObjectName().startsWith("STARLINK") || s.getObjectName().startsWith("ONEWEB"))
+                        && s.getLaunchDate().getYear() >= 2019 && s.getLaunchDate().getYear() <= 2021
+                        || "ROCKET BODY".equals(s.getObjectType()));
+        assertMatches(index, catalog, "NOT (regime:geo OR regime:heo) AND type:unknown",
+                s -> OrbitRegime.of(s) != OrbitRegime.GEO && OrbitRegime.of(s) != OrbitRegime.HEO && "TBA".equals(s.getObjectType()));
+        assertMatches(index, catalog, "group:none AND country:FR",
+                s -> (s.getObjectName().startsWith("COSMOS") || s.getObjectName().startsWith("FENGYUN")) && "FR".equals(s.getCountryCode()));
+    }
+
+    @Test
+    void rejectsMalformedFilters() {
+        assertThrows(IllegalArgumentException.class, () -> CatalogFilter.parse("type:payload AND"));
+        assertThrows(IllegalArgumentException.class, () -> CatalogFilter.parse("(regime:leo"));
+        assertThrows(IllegalArgumentException.class, () -> CatalogFilter.parse("colour:red"));
+        assertThrows(IllegalArgumentException.class, () -> CatalogFilter.parse("year:19"));
+        assertThrows(IllegalArgumentException.class, () -> CatalogFilter.parse("payload"));
+    }
+
+    private static void assertMatches(CatalogIndex index, List<SatelliteEntity> catalog, String filter, Predicate<SatelliteEntity> expected) {
+        List<Integer> expectedSlots = new ArrayList<>();
+        for (int slot = 0; slot < catalog.size(); slot++) {
+            if (expected.test(catalog.get(slot))) {
+                expectedSlots.add(slot);
+            }
+        }
+        int[] actual = CatalogFilter.parse(filter).evaluate(index).toArray();
+        assertArrayEquals(expectedSlots.stream().mapToInt(Integer::intValue).toArray(), actual, filter);
+    }
+
+    private static OrbitRegime regime(double periapsis, double apoapsis, double eccentricity, double inclination) {
+        SatelliteEntity entity = new SatelliteEntity();
+        entity.setPeriapsis(periapsis);
+        entity.setApoapsis(apoapsis);
+        entity.setEccentricity(eccentricity);
+        entity.setInclination(inclination);
+        return OrbitRegime.of(entity);
+    }
+
+    private static List<SatelliteEntity> randomCatalog(Random random, int size) {
+        List<SatelliteEntity> catalog = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            SatelliteEntity entity = new SatelliteEntity();
+            entity.setNoradCatId(10000 + i * 3);
+            entity.setObjectName(NAMES[random.nextInt(NAMES.length)] + i);
+            entity.setObjectType(TYPES[random.nextInt(TYPES.length)]);
+            entity.setCountryCode(COUNTRIES[random.nextInt(COUNTRIES.length)]);
+            entity.setLaunchDate(LocalDate.of(2015 + random.nextInt(10), 1 + random.nextInt(12), 1));
+
+            double periapsis = switch (random.nextInt(4)) {
+                case 0 -> 300 + random.nextDouble() * 1500;
+                case 1 -> 19000 + random.nextDouble() * 4000;
+                case 2 -> 35700 + random.nextDouble() * 150;
+                default -> 500 + random.nextDouble() * 500;
+            };
+            double apoapsis = periapsis < 1000 && random.nextBoolean() ? 39000 : periapsis + random.nextDouble() * 100;
+            entity.setPeriapsis(periapsis);
+            entity.setApoapsis(apoapsis);
+            entity.setEccentricity((apoapsis - periapsis) / (apoapsis + periapsis + 2 * 6378.137));
+            entity.setInclination(random.nextDouble() * 100);
+            catalog.add(entity);
+        }
+        return catalog;
+    }
+}
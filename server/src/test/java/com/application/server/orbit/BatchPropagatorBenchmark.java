@@ -0,0 +1,87 @@
+package com.application.server.orbit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole-catalog propagation to one instant: per-object propagators versus the struct-of-arrays batch kernels.
+ * Run with: java --add-modules jdk.incubator.vector -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *   org.openjdk.jmh.Main BatchPropagatorBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class BatchPropagatorBenchmark {
+    private static final int CATALOG_SIZE = 30_000;
+
+    private List<Sgp4Propagator> propagators;
+    private ElementStore store;
+    private BatchPropagator scalar;
+    private BatchPropagator vector;
+    private double[] x;
+    private double[] y;
+    private double[] z;
+    private double unixSeconds;
+
+    @Setup
+    public void setUp() {
+        // A synthetic LEO-heavy catalog around one epoch, similar in shape to the active Space-Track set
+        Random random = new Random(42);
+        Instant epoch = Instant.parse("2025-01-01T00:00:00Z");
+        propagators = new ArrayList<>(CATALOG_SIZE);
+        for (int i = 0; i < CATALOG_SIZE; i++) {
+            double meanMotion = i % 10 == 0 ? 2.0 + random.nextDouble() * 12.0 : 14.0 + random.nextDouble() * 2.0;
+            TleElements elements = TleElements.fromMeanElements(i + 1, epoch.minusSeconds(random.nextInt(3 * 86_400)),
+                    random.nextDouble() * 1e-3, 1e-5, 0.0, random.nextDouble() * 100.0, random.nextDouble() * 360.0,
+                    random.nextDouble() * 0.02, random.nextDouble() * 360.0, random.nextDouble() * 360.0, meanMotion);
+            propagators.add(new Sgp4Propagator(elements));
+        }
+        store = ElementStore.of(propagators);
+        scalar = new ScalarBatchPropagator();
+        vector = BatchPropagator.create(true);
+        x = new double[CATALOG_SIZE];
+        y = new double[CATALOG_SIZE];
+        z = new double[CATALOG_SIZE];
+        unixSeconds = epoch.getEpochSecond() + 3_600.0;
+    }
+
+    @Benchmark
+    public void perObject(Blackhole blackhole) {
+        double[] state = new double[6];
+        Instant time = Instant.ofEpochSecond((long) unixSeconds);
+        for (Sgp4Propagator propagator : propagators) {
+            propagator.propagate(propagator.getElements().minutesSinceEpoch(time), state);
+            blackhole.consume(state[0]);
+        }
+    }
+
+    @Benchmark
+    public double[] scalarBatch() {
+        scalar.propagate(store, unixSeconds, x, y, z);
+        return x;
+    }
+
+    @Benchmark
+    public double[] vectorBatch() {
+        vector.propagate(store, unixSeconds, x, y, z);
+        return x;
+    }
+}
@@ -0,0 +1,178 @@
+package com.application.server.orbit;
+
+import com.application.server.model.Satellite.Satellite;
+import com.application.server.model.Satellite.SatelliteEntity;
+import com.application.server.model.Satellite.SatelliteMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Reference states from Vallado's SGP4 verification set (tcppver.out, WGS-72)
+class Sgp4PropagatorTests {
+
+    private static final String VANGUARD_LINE1 = "1 00005U 58002B   00179.78495062  .00000023  00000-0  28098-4 0  4753";
+    private static final String VANGUARD_LINE2 = "2 00005  34.2682 348.7242 1859667 331.7664  19.3264 10.82419157413667";
+
+    private static final String LOW_PERIGEE_LINE1 = "1 06251U 62025E   06176.82412014  .00008885  00000-0  12808-3 0  3985";
+    private static final String LOW_PERIGEE_LINE2 = "2 06251  58.0579  54.0425 0030035 139.1568 221.1854 15.56387291  6774";
+
+    // 12 hour Molniya orbit: half-day geopotential resonance
+    private static final String MOLNIYA_LINE1 = "1 08195U 75081A   06176.33215444  .00000099  00000-0  11873-3 0   813";
+    private static final String MOLNIYA_LINE2 = "2 08195  64.1586 279.0717 6877146 264.7651  20.2257  2.00491383225656";
+
+    // Geostationary: synchronous resonance, and the Lyddane branch of the lunar-solar periodics
+    private static final String GEOSTATIONARY_LINE1 = "1 28626U 05008A   06176.46683397 -.00000205  00000-0  10000-3 0  2190";
+    private static final String GEOSTATIONARY_LINE2 = "2 28626   0.0019 286.9433 0000335  13.7918  55.6504  1.00270176  4891";
+
+    // Non-resonant deep-space orbit just above the Lyddane inclination limit
+    private static final String DEEP_SPACE_LINE1 = "1 04632U 70093B   04031.91070959 -.00000084  00000-0  10000-3 0  9955";
+    private static final String DEEP_SPACE_LINE2 = "2 04632  11.4628 273.1101 1450506 207.6000 143.9350  1.20231981 44145";
+
+    @Test
+    void matchesReferenceAtEpoch() {
+        assertState(VANGUARD_LINE1, VANGUARD_LINE2, 0.0,
+                7022.46529266, -1400.08296755, 0.03995155, 1.893841015, 6.405893759, 4.534807250);
+        assertState(LOW_PERIGEE_LINE1, LOW_PERIGEE_LINE2, 0.0,
+                3988.31022699, 5498.96657235, 0.90055879, -3.290032738, 2.357652820, 6.496623475);
+    }
+
+    @Test
+    void matchesReferenceAfterPropagation() {
+        assertState(VANGUARD_LINE1, VANGUARD_LINE2, 360.0,
+                -7154.03120202, -3783.17682504, -3536.19412294, 4.741887409, -4.151817765, -2.093935425);
+        assertState(VANGUARD_LINE1, VANGUARD_LINE2, 720.0,
+                -7134.59340119, 6531.68641334, 3260.27186483, -4.113793027, -2.911922039, -2.557327851);
+    }
+
+    @Test
+    void matchesDeepSpaceReference() {
+        assertTrue(new Sgp4Propagator(TleElements.parse(MOLNIYA_LINE1, MOLNIYA_LINE2)).isDeepSpace());
+        assertState(MOLNIYA_LINE1, MOLNIYA_LINE2, 0.0,
+                2349.89483350, -14785.93811562, 0.02119378, 2.721488096, -3.256811655, 4.498416672);
+        assertState(MOLNIYA_LINE1, MOLNIYA_LINE2, 120.0,
+                15223.91713658, -17852.95881713, 25280.39558224, 1.079041732, 0.875187372, 2.485682813);
+        assertState(MOLNIYA_LINE1, MOLNIYA_LINE2, 1440.0,
+                2890.80638268, -15446.43952300, 948.77010176, 2.654407490, -2.909344895, 4.486437362);
+        assertState(GEOSTATIONARY_LINE1, GEOSTATIONARY_LINE2, 0.0,
+                42080.71852213, -2646.86387436, 0.81851294, 0.193105177, 3.068688251, 0.000438449);
+        assertState(GEOSTATIONARY_LINE1, GEOSTATIONARY_LINE2, 1440.0,
+                42119.96263499, -1925.77567263, -0.19827433, 0.140521206, 3.071541613, 0.000179561);
+        assertState(DEEP_SPACE_LINE1, DEEP_SPACE_LINE2, 0.0,
+                2334.11450085, -41920.44035349, -0.03867437, 2.826321032, -0.065091664, 0.570936053);
+        assertState(DEEP_SPACE_LINE1, DEEP_SPACE_LINE2, 1440.0,
+                35212.43899256, -21747.30678749, 6876.72334693, 1.266873576, 2.578023715, 0.285006768);
+    }
+
+    @Test
+    void rejectsCorruptedElementSets() {
+        String flippedDigit = VANGUARD_LINE2.substring(0, 10) + "5" + VANGUARD_LINE2.substring(11);
+        assertThrows(IllegalArgumentException.class, () -> TleElements.parse(VANGUARD_LINE1, flippedDigit));
+        assertThrows(IllegalArgumentException.class, () -> TleElements.parse(VANGUARD_LINE1, LOW_PERIGEE_LINE2));
+        assertThrows(IllegalArgumentException.class, () -> TleElements.parse(VANGUARD_LINE1, VANGUARD_LINE2.substring(0, 60)));
+    }
+
+    @Test
+    void storedMeanElementsPropagateLikeTheTle() {
+        TleElements parsed = TleElements.parse(VANGUARD_LINE1, VANGUARD_LINE2);
+        TleElements stored = TleElements.fromMeanElements(parsed.noradCatId(), parsed.epoch(), parsed.bstar(),
+                parsed.meanMotionDotTle(), parsed.meanMotionDdotTle(), parsed.inclinationDegrees(), parsed.raanDegrees(),
+                parsed.eccentricity(), parsed.argPerigeeDegrees(), parsed.meanAnomalyDegrees(), parsed.meanMotionRevPerDay());
+
+        double[] expected = new double[6];
+        double[] actual = new double[6];
+        new Sgp4Propagator(parsed).propagate(720.0, expected);
+        new Sgp4Propagator(stored).propagate(720.0, actual);
+        assertArrayEquals(expected, actual, 1e-9);
+    }
+
+    @Test
+    void storedColumnsRebuildTheTleElements() {
+        // GP records as Space-Track sends them: the EPOCH text and mean elements alongside the same TLE
+        assertStoredColumnsMatchTle(VANGUARD_LINE1, VANGUARD_LINE2, "2000-06-27T18:50:19.733568", 34.2682, 0.1859667);
+        assertStoredColumnsMatchTle(MOLNIYA_LINE1, MOLNIYA_LINE2, "2006-06-25T07:58:18.143616", 64.1586, 0.6877146);
+    }
+
+    @Test
+    void batchPropagatorsMatchSingleObjectPropagation() {
+        // An odd slot count exercises both the vector lanes and the scalar tail; the Molniya slots take the SDP4 path
+        TleElements[] sources = { TleElements.parse(VANGUARD_LINE1, VANGUARD_LINE2), TleElements.parse(LOW_PERIGEE_LINE1, LOW_PERIGEE_LINE2),
+                TleElements.parse(MOLNIYA_LINE1, MOLNIYA_LINE2) };
+        List<Sgp4Propagator> propagators = new ArrayList<>();
+        for (int i = 0; i < 37; i++) {
+            TleElements e = sources[i % sources.length];
+            propagators.add(new Sgp4Propagator(new TleElements(100 + i, e.epoch(), e.bstar(), e.meanMotionDot(), e.meanMotionDdot(),
+                    e.inclination(), e.raan(), e.eccentricity(), e.argPerigee(), e.meanAnomaly() + i * 0.1, e.meanMotion())));
+        }
+        ElementStore store = ElementStore.of(propagators);
+        assertEquals(136, store.noradCatId(store.slotOf(136)));
+
+        double epochSeconds = sources[0].epoch().getEpochSecond() + sources[0].epoch().getNano() / 1e9;
+        for (BatchPropagator batch : List.of(new ScalarBatchPropagator(), BatchPropagator.create(true))) {
+            for (double minutes : new double[] { 0.0, 360.0, 720.0 }) {
+                double[] x = new double[store.size()];
+                double[] y = new double[store.size()];
+                double[] z = new double[store.size()];
+                batch.propagate(store, epochSeconds + minutes * 60.0, x, y, z);
+
+                double[] state = new double[6];
+                for (int slot = 0; slot < store.size(); slot++) {
+                    Sgp4Propagator propagator = propagators.get(slot);
+                    assertTrue(propagator.propagate(propagator.getElements().minutesSinceEpoch(sources[0].epoch().plusSeconds((long) (minutes * 60))), state));
+                    String label = batch.getClass().getSimpleName() + " slot " + slot + " t=" + minutes;
+                    // Batch time is a double of Unix seconds, good to about a centimetre years from epoch
+                    assertEquals(state[0], x[slot], 1e-5, label);
+                    assertEquals(state[1], y[slot], 1e-5, label);
+                    assertEquals(state[2], z[slot], 1e-5, label);
+                }
+            }
+        }
+    }
+
+    private static void assertStoredColumnsMatchTle(String line1, String line2, String epoch, double inclination, double eccentricity) {
+        TleElements parsed = TleElements.parse(line1, line2);
+        Instant gpEpoch = Instant.parse(epoch + "Z");
+        Satellite satellite = new Satellite(parsed.noradCatId(), "TEST", "PAYLOAD", "US", null, null, epoch,
+                gpEpoch.getEpochSecond(), gpEpoch.getNano(), line1, line2, inclination, eccentricity, 0.0, 0.0, 0.0, 0.0);
+        SatelliteEntity entity = SatelliteMapper.toEntity(satellite);
+        TleElements stored = SatelliteMapper.toElements(entity);
+
+        assertEquals(parsed.epoch(), stored.epoch());
+        assertEquals(parsed.noradCatId(), stored.noradCatId());
+        assertEquals(parsed.inclination(), stored.inclination(), 1e-12);
+        assertEquals(parsed.eccentricity(), stored.eccentricity(), 1e-12);
+        assertEquals(parsed.raan(), stored.raan(), 1e-12);
+        assertEquals(parsed.argPerigee(), stored.argPerigee(), 1e-12);
+        assertEquals(parsed.meanAnomaly(), stored.meanAnomaly(), 1e-12);
+        assertEquals(parsed.meanMotion(), stored.meanMotion(), 1e-15);
+        assertEquals(parsed.bstar(), stored.bstar(), 1e-15);
+
+        Sgp4Propagator fromTle = new Sgp4Propagator(parsed);
+        Sgp4Propagator fromColumns = new Sgp4Propagator(stored);
+        double[] expected = new double[6];
+        double[] actual = new double[6];
+        for (double tsince : new double[] { 0.0, 720.0, 1440.0 }) {
+            assertTrue(fromTle.propagate(tsince, expected));
+            assertTrue(fromColumns.propagate(tsince, actual));
+            assertArrayEquals(expected, actual, 1e-6, "t=" + tsince);
+        }
+    }
+
+    private static void assertState(String line1, String line2, double tsince, double... expected) {
+        Sgp4Propagator propagator = new Sgp4Propagator(TleElements.parse(line1, line2));
+        double[] state = new double[6];
+
+        assertTrue(propagator.propagate(tsince, state));
+        for (int i = 0; i < 3; i++) {
+            assertEquals(expected[i], state[i], 1e-3, "position[" + i + "]");
+            assertEquals(expected[i + 3], state[i + 3], 1e-6, "velocity[" + i + "]");
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.application.server.repository;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Option;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Scratch schemas for the tests that need PostgreSQL; they run only when TEST_DB_URL points at a database
+final class TestDatabase {
+    static final String URL_VARIABLE = "TEST_DB_URL";
+
+    private TestDatabase() {
+    }
+
+    // Recreates the schema from schema.sql and returns a factory whose connections work inside it
+    static ConnectionFactory createSchema(String schema) {
+        DatabaseClient admin = DatabaseClient.create(ConnectionFactories.get(System.getenv(URL_VARIABLE)));
+        admin.sql("DROP SCHEMA IF EXISTS " + schema + " CASCADE").then().block();
+        admin.sql("CREATE SCHEMA " + schema).then().block();
+
+        ConnectionFactory factory = ConnectionFactories.get(ConnectionFactoryOptions.parse(System.getenv(URL_VARIABLE)).mutate()
+                .option(Option.valueOf("schema"), schema)
+                .build());
+        DatabaseClient client = DatabaseClient.create(factory);
+        for (String statement : schemaStatements()) {
+            client.sql(statement).then().block();
+        }
+        return factory;
+    }
+
+    static void dropSchema(String schema) {
+        DatabaseClient.create(ConnectionFactories.get(System.getenv(URL_VARIABLE)))
+                .sql("DROP SCHEMA IF EXISTS " + schema + " CASCADE").then().block();
+    }
+
+    // schema.sql split the way spring.sql.init runs it
+    static List<String> schemaStatements() {
+        try (InputStream in = TestDatabase.class.getClassLoader().getResourceAsStream("schema.sql")) {
+            String sql = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            return List.of(sql.lines().filter(line -> !line.trim().startsWith("--")).collect(Collectors.joining("\n")).split(";"))
+                    .stream().map(String::trim).filter(statement -> !statement.isEmpty()).toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.application.server.service;
+
+import com.application.server.model.Satellite.CatalogDelta;
+import com.application.server.model.Satellite.SatelliteDTO;
+import com.application.server.model.Satellite.SatelliteEntity;
+import com.application.server.model.Satellite.SatelliteGroup;
+import com.application.server.repository.CatalogChangeRepository;
+import com.application.server.repository.CatalogChangeRepository.Change;
+import com.application.server.repository.CatalogChangeRepository.Versions;
+import com.application.server.repository.SatelliteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CatalogChangeServiceTests {
+    private static final int MAX_OBJECTS = 3;
+
+    private CatalogChangeRepository changeRepository;
+    private SatelliteRepository satelliteRepository;
+    private CatalogChangeService changes;
+
+    @BeforeEach
+    void setUp() {
+        changeRepository = mock(CatalogChangeRepository.class);
+        satelliteRepository = mock(SatelliteRepository.class);
+        changes = new CatalogChangeService(changeRepository, satelliteRepository);
+        ReflectionTestUtils.setField(changes, "maxObjects", MAX_OBJECTS);
+        // Versions 10..20 are retained, 12 replaced the whole catalog
+        when(changeRepository.versions()).thenReturn(Mono.just(new Versions(10, 20, 12L)));
+    }
+
+    @Test
+    void reloadsWhenTheLogCannotAnswer() {
+        assertEquals(CatalogDelta.reload(20), changes.changesSince(null, null).block());
+        assertEquals(CatalogDelta.reload(20), changes.changesSince(0L, null).block());
+        // Version 9 is the last one a client can be on: 10 onwards is still in the log
+        assertEquals(CatalogDelta.reload(20), changes.changesSince(8L, null).block());
+        // Before the full reload at 12
+        assertEquals(CatalogDelta.reload(20), changes.changesSince(11L, null).block());
+        // Ahead of the server, e.g. after a restore
+        assertEquals(CatalogDelta.reload(20), changes.changesSince(21L, null).block());
+        verify(changeRepository, never()).changesBetween(anyLong(), anyLong(), any(), anyInt());
+    }
+
+    @Test
+    void anUpToDateClientGetsAnEmptyDelta() {
+        assertEquals(new CatalogDelta(20, false, List.of(), List.of()), changes.changesSince(20L, null).block());
+        verify(changeRepository, never()).changesBetween(anyLong(), anyLong(), any(), anyInt());
+    }
+
+    @Test
+    void reloadsPastMaxObjects() {
+        when(changeRepository.changesBetween(12, 20, null, MAX_OBJECTS + 1)).thenReturn(Flux.just(
+                new Change(1, false), new Change(2, false), new Change(3, true), new Change(4, false)));
+
+        assertEquals(CatalogDelta.reload(20), changes.changesSince(12L, null).block());
+        verify(satelliteRepository, never()).findByNoradCatIdIn(any());
+    }
+
+    @Test
+    void splitsUpsertsFromRemovalsAndFiltersTheGroupInTheQuery() {
+        when(changeRepository.changesBetween(12, 20, "STARLINK", MAX_OBJECTS + 1)).thenReturn(Flux.just(
+                new Change(1001, false), new Change(1002, true), new Change(1003, false)));
+        when(satelliteRepository.findByNoradCatIdIn(List.of(1001, 1003)))
+                .thenReturn(Flux.just(entity(1003, "STARLINK-1003"), entity(1001, "STARLINK-1001")));
+
+        CatalogDelta delta = changes.changesSince(12L, SatelliteGroup.STARLINK).block();
+        assertFalse(delta.fullReload());
+        assertEquals(20, delta.version());
+        assertEquals(List.of(1001, 1003), delta.upserted().stream().map(SatelliteDTO::noradCatId).toList());
+        assertEquals(List.of(1002), delta.removed());
+    }
+
+    @Test
+    void removalsAloneDoNotReadTheCatalog() {
+        when(changeRepository.changesBetween(19, 20, null, MAX_OBJECTS + 1)).thenReturn(Flux.just(new Change(7, true)));
+
+        assertEquals(new CatalogDelta(20, false, List.of(), List.of(7)), changes.changesSince(19L, null).block());
+        verify(satelliteRepository, never()).findByNoradCatIdIn(any());
+    }
+
+    private static SatelliteEntity entity(int noradCatId, String objectName) {
+        SatelliteEntity entity = new SatelliteEntity();
+        entity.setNoradCatId(noradCatId);
+        entity.setObjectName(objectName);
+        return entity;
+    }
+}
@@ -0,0 +1,158 @@
+package com.application.server.service;
+
+import com.application.server.model.Earthquake.EarthquakeEntity;
+import com.application.server.model.Earthquake.EarthquakeHeatmap;
+import com.application.server.repository.EarthquakeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EarthquakeHeatmapServiceTests {
+    private static final Instant RECENT = Instant.now().minus(Duration.ofHours(2));
+
+    private EarthquakeRepository repository;
+    private EarthquakeHeatmapService heatmap;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(EarthquakeRepository.class);
+        heatmap = new EarthquakeHeatmapService(repository);
+        ReflectionTestUtils.setField(heatmap, "retentionDays", 30L);
+    }
+
+    @Test
+    void accumulatesCountMaximumAndEnergyPerCell() {
+        heatmap.apply(earthquake("a", 35.2, 139.7, 4.0, RECENT));
+        heatmap.apply(earthquake("b", 35.8, 139.1, 5.0, RECENT));
+        heatmap.apply(earthquake("c", 35.5, 139.5, 4.5, RECENT.minus(Duration.ofHours(1))));
+        heatmap.apply(earthquake("d", -12.3, -77.0, 6.0, RECENT));
+
+        EarthquakeHeatmap grid = heatmap.heatmap(1.0, null, null);
+        assertEquals(4, grid.eventCount());
+        assertEquals(2, grid.cells().size());
+
+        EarthquakeHeatmap.Cell tokyo = cellAt(grid, 35.0, 139.0);
+        assertEquals(3, tokyo.count());
+        assertEquals(5.0, tokyo.maxMagnitude());
+        assertEquals(energy(4.0) + energy(5.0) + energy(4.5), tokyo.energyJoules(), energy(5.0) * 1e-12);
+
+        // Coarser resolutions aggregate the same events into larger cells
+        EarthquakeHeatmap coarse = heatmap.heatmap(10.0, null, null);
+        assertEquals(3, cellAt(coarse, 30.0, 130.0).count());
+        assertEquals(1, cellAt(coarse, -20.0, -80.0).count());
+    }
+
+    @Test
+    void revisionRetractsThePreviousContribution() {
+        heatmap.apply(earthquake("a", 35.2, 139.7, 4.0, RECENT));
+        heatmap.apply(earthquake("b", 35.4, 139.2, 4.2, RECENT));
+
+        // Relocated and upgraded: the old cell keeps only the other event, and its maximum drops back
+        heatmap.apply(earthquake("a", 10.5, 20.5, 5.5, RECENT));
+        EarthquakeHeatmap grid = heatmap.heatmap(1.0, null, null);
+        assertEquals(2, grid.eventCount());
+        assertEquals(1, cellAt(grid, 35.0, 139.0).count());
+        assertEquals(4.2, cellAt(grid, 35.0, 139.0).maxMagnitude());
+        assertEquals(5.5, cellAt(grid, 10.0, 20.0).maxMagnitude());
+
+        // Reclassified as something other than an earthquake: the event leaves the grid entirely
+        EarthquakeEntity blast = earthquake("a", 10.5, 20.5, 5.5, RECENT);
+        blast.setEvent_type("quarry blast");
+        heatmap.apply(blast);
+        heatmap.remove("b");
+        assertEquals(0, heatmap.heatmap(1.0, null, null).eventCount());
+        assertTrue(heatmap.heatmap(1.0, null, null).cells().isEmpty());
+    }
+
+    @Test
+    void bucketsByCellHourAndMagnitudeBand() {
+        heatmap.apply(earthquake("pole", 90.0, 0.5, 3.0, RECENT));
+        heatmap.apply(earthquake("antimeridian", 0.5, 180.0, 3.0, RECENT));
+        heatmap.apply(earthquake("low", -0.5, -0.5, 4.6, RECENT));
+        heatmap.apply(earthquake("high", -0.5, -0.5, 4.9, RECENT));
+        heatmap.apply(earthquake("old", -0.5, -0.5, 4.8, RECENT.minus(Duration.ofDays(3))));
+
+        EarthquakeHeatmap grid = heatmap.heatmap(1.0, null, null);
+        assertEquals(1, cellAt(grid, 89.0, 0.0).count()); // latitude 90 clamps into the top row
+        assertEquals(1, cellAt(grid, 0.0, -180.0).count()); // longitude 180 wraps onto -180
+
+        // minMag inside the 4.5-5.0 band is answered from the magnitudes, not the whole band
+        EarthquakeHeatmap filtered = heatmap.heatmap(1.0, null, 4.7);
+        assertEquals(2, filtered.eventCount());
+        assertEquals(2, cellAt(filtered, -1.0, -1.0).count());
+        assertEquals(energy(4.9) + energy(4.8), cellAt(filtered, -1.0, -1.0).energyJoules(), energy(4.9) * 1e-12);
+
+        // since drops whole hours
+        EarthquakeHeatmap lastDay = heatmap.heatmap(1.0, Instant.now().minus(Duration.ofDays(1)), 4.7);
+        assertEquals(1, lastDay.eventCount());
+    }
+
+    @Test
+    void pruneDropsHoursOutsideTheRetentionWindow() {
+        heatmap.apply(earthquake("expired", 1.5, 1.5, 5.0, Instant.now().minus(Duration.ofDays(31))));
+        heatmap.apply(earthquake("current", 1.5, 1.5, 4.0, RECENT));
+        heatmap.prune();
+
+        // Widen the window again: a pruned event must not come back
+        ReflectionTestUtils.setField(heatmap, "retentionDays", 60L);
+        EarthquakeHeatmap grid = heatmap.heatmap(1.0, null, null);
+        assertEquals(1, grid.eventCount());
+        assertEquals(4.0, cellAt(grid, 1.0, 1.0).maxMagnitude());
+    }
+
+    @Test
+    void rebuildKeepsWritesThatLandWhileItLoads() {
+        Sinks.Many<EarthquakeEntity> table = Sinks.many().unicast().onBackpressureBuffer();
+        when(repository.findByEventTimeAfter(any())).thenReturn(table.asFlux());
+        heatmap.apply(earthquake("removed", 5.5, 5.5, 4.0, RECENT));
+
+        heatmap.rebuild().subscribe();
+        // The snapshot still holds the old row for "revised" and a row that is deleted before the load ends
+        table.tryEmitNext(earthquake("revised", 1.5, 1.5, 4.0, RECENT));
+        table.tryEmitNext(earthquake("removed", 5.5, 5.5, 4.0, RECENT));
+        heatmap.apply(earthquake("revised", 2.5, 2.5, 6.0, RECENT));
+        heatmap.apply(earthquake("new", 3.5, 3.5, 4.5, RECENT));
+        heatmap.remove("removed");
+        table.tryEmitComplete();
+
+        EarthquakeHeatmap grid = heatmap.heatmap(1.0, null, null);
+        assertEquals(2, grid.eventCount());
+        assertEquals(6.0, cellAt(grid, 2.0, 2.0).maxMagnitude());
+        assertEquals(4.5, cellAt(grid, 3.0, 3.0).maxMagnitude());
+        assertTrue(grid.cells().stream().noneMatch(cell -> cell.latitude() == 1.0 || cell.latitude() == 5.0));
+    }
+
+    private static EarthquakeEntity earthquake(String id, double latitude, double longitude, double magnitude, Instant time) {
+        EarthquakeEntity entity = new EarthquakeEntity();
+        entity.setPreferred_event_id(id);
+        entity.setEpicenter_latitude(latitude);
+        entity.setEpicenter_longitude(longitude);
+        entity.setMagnitude(magnitude);
+        entity.setEvent_time(time);
+        entity.setEvent_type("earthquake");
+        return entity;
+    }
+
+    private static EarthquakeHeatmap.Cell cellAt(EarthquakeHeatmap grid, double latitude, double longitude) {
+        List<EarthquakeHeatmap.Cell> matches = grid.cells().stream()
+                .filter(cell -> cell.latitude() == latitude && cell.longitude() == longitude)
+                .toList();
+        assertEquals(1, matches.size(), "cell at " + latitude + "," + longitude + " in " + grid.cells());
+        return matches.get(0);
+    }
+
+    private static double energy(double magnitude) {
+        return Math.pow(10.0, 1.5 * magnitude + 4.8);
+    }
+}
@@ -0,0 +1,56 @@
+package com.application.server.service;
+
+import com.application.server.logging.IngestionLog;
+import com.application.server.model.Earthquake.Earthquake;
+import com.application.server.model.Earthquake.EarthquakeEntity;
+import com.application.server.repository.EarthquakeQueryRepository;
+import com.application.server.repository.EarthquakeRepository;
+import com.application.server.repository.IngestWatermarkRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EarthquakeServiceTests {
+    private EarthquakeRepository repository;
+    private EarthquakeService earthquakes;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(EarthquakeRepository.class);
+        earthquakes = new EarthquakeService(mock(WebClient.Builder.class), repository, mock(EarthquakeQueryRepository.class),
+                mock(IngestWatermarkRepository.class), mock(ChangeNotificationService.class), mock(EarthquakeHeatmapService.class),
+                mock(EarthquakeRollupService.class), mock(IngestionLog.class), mock(SyncJournalService.class),
+                mock(ReactiveTransactionManager.class), new ObjectMapper());
+    }
+
+    // After a restart no hashes are cached, so unchanged events are confirmed against the table; they must not be announced
+    @Test
+    void unchangedRowsConfirmedByTheDatabaseAreNotEmitted() {
+        EarthquakeEntity stored = new EarthquakeEntity();
+        stored.setPreferred_event_id("us7000abcd");
+        stored.setContent_hash(42L);
+        when(repository.findByEarthquakeId("us7000abcd")).thenReturn(Mono.just(stored));
+        Earthquake feed = mock(Earthquake.class);
+        when(feed.getEarthquakeId()).thenReturn("us7000abcd");
+        when(feed.getContentHash()).thenReturn(42L);
+
+        assertNull(earthquakes.UpdateEarthquakeDatabase(feed, mock(IngestionLog.Run.class)).block());
+        verify(repository, never()).save(any());
+        // Not taken for a new event either
+        verify(feed, never()).getProperties();
+
+        // The second poll is answered from the hash cache
+        assertNull(earthquakes.UpdateEarthquakeDatabase(feed, mock(IngestionLog.Run.class)).block());
+        verify(repository).findByEarthquakeId("us7000abcd");
+    }
+}
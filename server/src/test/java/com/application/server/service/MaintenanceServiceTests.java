@@ -0,0 +1,85 @@
+package com.application.server.service;
+
+import com.application.server.repository.DatabaseStatsRepository;
+import com.application.server.repository.DatabaseStatsRepository.IndexStats;
+import com.application.server.repository.DatabaseStatsRepository.TableStats;
+import com.application.server.repository.MaintenanceRunRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class MaintenanceServiceTests {
+    private static final long MIB = 1024 * 1024;
+
+    private MaintenanceService maintenance;
+
+    @BeforeEach
+    void setUp() {
+        maintenance = new MaintenanceService(mock(DatabaseStatsRepository.class), mock(MaintenanceRunRepository.class));
+        // The defaults from application.properties
+        ReflectionTestUtils.setField(maintenance, "vacuumMinDeadTuples", 1000L);
+        ReflectionTestUtils.setField(maintenance, "vacuumDeadRatio", 0.1);
+        ReflectionTestUtils.setField(maintenance, "analyzeMinModified", 500L);
+        ReflectionTestUtils.setField(maintenance, "analyzeModifiedRatio", 0.1);
+        ReflectionTestUtils.setField(maintenance, "reindexMinBytes", 8 * MIB);
+        ReflectionTestUtils.setField(maintenance, "reindexBloatRatio", 2.0);
+    }
+
+    @Test
+    void vacuumsOnlyPastBothDeadTupleThresholds() {
+        assertTrue(maintenance.plan(List.of(table("few_dead", 100, 999, 0)), List.of()).isEmpty());
+        assertTrue(maintenance.plan(List.of(table("low_ratio", 100_000, 5_000, 0)), List.of()).isEmpty());
+
+        MaintenanceService.Planned vacuum = only(maintenance.plan(List.of(table("earthquakes", 9_000, 1_000, 0)), List.of()));
+        assertEquals("VACUUM", vacuum.operation());
+        assertEquals("VACUUM earthquakes", vacuum.sql());
+        assertEquals("earthquakes", vacuum.sizeTarget());
+        assertEquals("1000 dead tuples (10.0% of rows)", vacuum.reason());
+    }
+
+    @Test
+    void analyzesOnlyPastBothModificationThresholds() {
+        assertTrue(maintenance.plan(List.of(table("few_modified", 100, 0, 499)), List.of()).isEmpty());
+        assertTrue(maintenance.plan(List.of(table("low_ratio", 100_000, 0, 9_999)), List.of()).isEmpty());
+
+        MaintenanceService.Planned analyze = only(maintenance.plan(List.of(table("satellites", 5_000, 0, 500)), List.of()));
+        assertEquals("ANALYZE", analyze.operation());
+        assertEquals("ANALYZE satellites", analyze.sql());
+        assertNull(analyze.sizeTarget());
+
+        // Both due: one VACUUM (ANALYZE) pass
+        MaintenanceService.Planned both = only(maintenance.plan(List.of(table("earthquakes", 5_000, 2_000, 3_000)), List.of()));
+        assertEquals("VACUUM ANALYZE", both.operation());
+        assertEquals("VACUUM (ANALYZE) earthquakes", both.sql());
+    }
+
+    @Test
+    void reindexesLargeBloatedAnalyzedIndexes() {
+        assertTrue(maintenance.plan(List.of(), List.of(
+                new IndexStats("small_idx", "t", 8 * MIB - 1, 10, 1 * MIB),
+                new IndexStats("compact_idx", "t", 40 * MIB, 10, 20 * MIB + 1),
+                new IndexStats("unanalyzed_idx", "t", 40 * MIB, 10, null))).isEmpty());
+
+        MaintenanceService.Planned reindex = only(maintenance.plan(List.of(),
+                List.of(new IndexStats("earthquakes_event_time_id_idx", "earthquakes", 40 * MIB, 10, 20 * MIB))));
+        assertEquals("REINDEX", reindex.operation());
+        assertEquals("REINDEX INDEX CONCURRENTLY earthquakes_event_time_id_idx", reindex.sql());
+        assertEquals("earthquakes_event_time_id_idx", reindex.sizeTarget());
+    }
+
+    private static TableStats table(String name, long live, long dead, long modified) {
+        return new TableStats(name, name, live, dead, modified, 0);
+    }
+
+    private static MaintenanceService.Planned only(List<MaintenanceService.Planned> plan) {
+        assertEquals(1, plan.size(), plan.toString());
+        return plan.get(0);
+    }
+}
@@ -0,0 +1,56 @@
+package com.application.server.service;
+
+import com.application.server.model.Satellite.SatelliteEntity;
+import com.application.server.orbit.PositionSnapshot;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SatellitePositionServiceTests {
+    private static final Instant TIME = Instant.parse("2006-06-26T12:00:00Z");
+
+    @Test
+    void dropsPropagatorsOfRemovedObjects() {
+        SatelliteCatalog catalog = new SatelliteCatalog();
+        catalog.put(satellite(6251, "1 06251U 62025E   06176.82412014  .00008885  00000-0  12808-3 0  3985",
+                "2 06251  58.0579  54.0425 0030035 139.1568 221.1854 15.56387291  6774"));
+        catalog.put(satellite(8195, "1 08195U 75081A   06176.33215444  .00000099  00000-0  11873-3 0   813",
+                "2 08195  64.1586 279.0717 6877146 264.7651  20.2257  2.00491383225656"));
+        catalog.bumpVersion();
+
+        SatellitePositionService positions = new SatellitePositionService(catalog);
+        ReflectionTestUtils.setField(positions, "bucketSeconds", 10L);
+        ReflectionTestUtils.setField(positions, "maxBuckets", 8);
+        ReflectionTestUtils.setField(positions, "vectorEnabled", false);
+        ReflectionTestUtils.invokeMethod(positions, "init");
+
+        assertEquals(2, positions.positionsAt(TIME).size());
+        assertEquals(Set.of(6251, 8195), propagators(positions).keySet());
+
+        catalog.remove(8195);
+        catalog.bumpVersion();
+
+        PositionSnapshot snapshot = positions.positionsAt(TIME);
+        assertEquals(1, snapshot.size());
+        assertEquals(Set.of(6251), propagators(positions).keySet());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Integer, ?> propagators(SatellitePositionService positions) {
+        return (Map<Integer, ?>) ReflectionTestUtils.getField(positions, "propagators");
+    }
+
+    private static SatelliteEntity satellite(int noradCatId, String line1, String line2) {
+        SatelliteEntity entity = new SatelliteEntity();
+        entity.setNoradCatId(noradCatId);
+        entity.setObjectName("OBJECT " + noradCatId);
+        entity.setTleLine1(line1);
+        entity.setTleLine2(line2);
+        return entity;
+    }
+}
@@ -0,0 +1,152 @@
+package com.application.server.service;
+
+import com.application.server.logging.IngestionLog;
+import com.application.server.model.Satellite.SatelliteEntity;
+import com.application.server.model.Sync.SyncRun;
+import com.application.server.repository.SatelliteBulkRepository;
+import com.application.server.repository.SatelliteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SatelliteServiceTests {
+    private static final Instant RUN_START = Instant.parse("2026-10-19T06:00:00Z");
+
+    private SatelliteRepository satelliteRepository;
+    private SatelliteCatalog catalog;
+    private CatalogSnapshotService snapshotService;
+    private ChangeNotificationService notificationService;
+    private SyncJournalService journalService;
+    private CatalogChangeService changeService;
+    private SatelliteService satellites;
+
+    @BeforeEach
+    void setUp() {
+        satelliteRepository = mock(SatelliteRepository.class);
+        catalog = new SatelliteCatalog();
+        snapshotService = mock(CatalogSnapshotService.class);
+        notificationService = mock(ChangeNotificationService.class);
+        journalService = mock(SyncJournalService.class);
+        changeService = mock(CatalogChangeService.class);
+        satellites = new SatelliteService(mock(WebClient.Builder.class), mock(SpaceTrackAuthService.class), satelliteRepository,
+                mock(SatelliteBulkRepository.class), catalog, snapshotService, notificationService,
+                mock(CatalogIndexService.class), mock(IngestionLog.class), journalService, changeService);
+        // The default from application.properties
+        ReflectionTestUtils.setField(satellites, "pruneMaxFraction", 0.05);
+
+        when(changeService.recordUpserted(anyString(), anyCollection())).thenReturn(Mono.empty());
+        when(changeService.deleteSatellites(anyString(), anyCollection())).thenReturn(Mono.empty());
+        when(journalService.checkpoint(any(), any(), any(), any())).thenReturn(Mono.empty());
+        when(snapshotService.writeSnapshotAsync()).thenReturn(Mono.empty());
+        when(notificationService.publish(anyString(), anyCollection())).thenReturn(Mono.empty());
+    }
+
+    @Test
+    void recordsOnlyObjectsThatChanged() {
+        SatelliteEntity cached = cachedEntity(1, RUN_START.minusSeconds(3600));
+        SatelliteEntity updated = entity(2, RUN_START.plusSeconds(60));
+
+        satellites.commitBatch(journalRun(), mock(IngestionLog.Run.class), List.of(cached, updated), Instant.MAX).block();
+
+        verify(changeService).recordUpserted("satellites", List.of(2));
+        verify(journalService).checkpoint(any(), eq(2), any(), any());
+    }
+
+    @Test
+    void replaysObjectsWrittenSinceAnUnfinishedRun() {
+        // 1 was written by a run that died after committing it and before recording it; 3 predates that run
+        SatelliteEntity written = cachedEntity(1, RUN_START.plusSeconds(5));
+        SatelliteEntity unchanged = cachedEntity(3, RUN_START.minusSeconds(3600));
+
+        satellites.commitBatch(journalRun(), mock(IngestionLog.Run.class), List.of(written, unchanged), RUN_START).block();
+
+        verify(changeService).recordUpserted("satellites", List.of(1));
+    }
+
+    @Test
+    void deletesObjectsThatLeftTheFeed() {
+        when(satelliteRepository.findAllNoradCatIds()).thenReturn(Flux.range(1, 100));
+
+        assertEquals(List.of(99, 100), satellites.deleteDropped(Set.copyOf(Flux.range(1, 98).collectList().block())).block());
+        verify(changeService).deleteSatellites("satellites", List.of(99, 100));
+    }
+
+    @Test
+    void keepsTheCatalogWhenTheFeedLooksTruncated() {
+        when(satelliteRepository.findAllNoradCatIds()).thenReturn(Flux.range(1, 100));
+
+        // 6 of 100 missing is past the 5% limit
+        assertEquals(List.of(), satellites.deleteDropped(Set.copyOf(Flux.range(1, 94).collectList().block())).block());
+        verify(changeService, never()).deleteSatellites(anyString(), anyCollection());
+    }
+
+    @Test
+    void publishesWhatAFailedRunAlreadyPut() {
+        SatelliteEntity unchanged = cachedEntity(1, RUN_START.minusSeconds(3600));
+        long version = catalog.getVersion();
+        Flux<SatelliteEntity> persisted = Flux.concat(Flux.just(unchanged, entity(2, RUN_START)), Flux.error(new IllegalStateException("feed closed")));
+
+        assertThrows(IllegalStateException.class, () -> satellites.publishToCatalog(persisted, Mono.just(List.of(3))).blockLast());
+
+        // Removals are only applied by a complete run
+        assertEquals(version + 1, catalog.getVersion());
+        verify(notificationService).publish(ChangeNotificationService.TOPIC_SATELLITES, Set.of(2));
+    }
+
+    @Test
+    void publishesWhatACancelledRunAlreadyPut() {
+        long version = catalog.getVersion();
+        Flux<SatelliteEntity> persisted = Flux.concat(Flux.just(entity(2, RUN_START)), Flux.never());
+
+        satellites.publishToCatalog(persisted, Mono.just(List.of())).take(1).blockLast();
+
+        assertEquals(version + 1, catalog.getVersion());
+        verify(notificationService).publish(ChangeNotificationService.TOPIC_SATELLITES, Set.of(2));
+    }
+
+    @Test
+    void publishesACompleteRunOnce() {
+        long version = catalog.getVersion();
+
+        assertEquals(1, satellites.publishToCatalog(Flux.just(entity(2, RUN_START)), Mono.just(List.of(3))).collectList().block().size());
+
+        assertEquals(version + 1, catalog.getVersion());
+        verify(notificationService).publish(ChangeNotificationService.TOPIC_SATELLITES, Set.of(2, 3));
+    }
+
+    private SatelliteEntity cachedEntity(int noradCatId, Instant lastUpdated) {
+        SatelliteEntity entity = entity(noradCatId, lastUpdated);
+        catalog.put(entity);
+        return entity;
+    }
+
+    private static SatelliteEntity entity(int noradCatId, Instant lastUpdated) {
+        SatelliteEntity entity = new SatelliteEntity();
+        entity.setNoradCatId(noradCatId);
+        entity.setLastUpdated(lastUpdated);
+        return entity;
+    }
+
+    private static SyncRun journalRun() {
+        return new SyncRun(7, "satellites", SyncRun.RUNNING, null, RUN_START, RUN_START, null, null, null,
+                0, 0, 0, 0, 0, 0, 0, null);
+    }
+}
@@ -0,0 +1,182 @@
+package com.application.server.service;
+
+import com.application.server.model.Satellite.SatelliteGroup;
+import com.application.server.model.Satellite.SimulationFrame;
+import com.application.server.orbit.PositionSnapshot;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.Disposable;
+
+import java.time.Instant;
+import java.util.Base64;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SimulationServiceTests {
+    private static final Instant TIME = Instant.parse("2025-03-01T12:00:00Z");
+    private static final int LONGITUDE_WRAP = (int) (360 * SimulationFrame.ANGLE_UNITS_PER_DEGREE);
+
+    @Test
+    void encodesKeyframesAsZigzagVarints() {
+        SimulationService.State state = SimulationService.quantize(0, snapshot(new int[]{1}, new float[]{-0.0001f}, new float[]{0.0064f}, new float[]{0.0f}));
+        SimulationFrame keyframe = state.keyframe();
+
+        assertTrue(keyframe.keyframe());
+        assertEquals(1, keyframe.count());
+        // count 1, ID delta 1, latitude -1, longitude 64 (two bytes), altitude 0
+        assertArrayEquals(new byte[]{0x02, 0x02, 0x01, (byte) 0x80, 0x01, 0x00}, Base64.getDecoder().decode(keyframe.data()));
+        assertEquals(keyframe, state.keyframe());
+    }
+
+    @Test
+    void deltasReproduceTheNextFrame() {
+        int[] ids = {5, 25544, 25545, 48274};
+        SimulationService.State first = SimulationService.quantize(7, snapshot(ids,
+                new float[]{-33.8688f, 51.6416f, 0.0f, 89.9999f},
+                new float[]{179.9912f, -122.4194f, -179.9950f, 0.0f},
+                new float[]{35786.0f, 418.25f, 6.0f, 20200.0f}));
+        SimulationService.State second = SimulationService.quantize(8, snapshot(ids,
+                new float[]{-33.8601f, 51.2200f, -0.0003f, 89.9998f},
+                new float[]{-179.9977f, -121.0002f, 179.9990f, 0.0001f},
+                new float[]{35786.01f, 417.90f, 5.5f, 20200.0f}));
+
+        int[][] decoded = decodeKeyframe(first.keyframe());
+        assertArrayEquals(ids, decoded[0]);
+        assertArrayEquals(new int[]{-338688, 516416, 0, 899999}, decoded[1]);
+        assertArrayEquals(new int[]{1799912, -1224194, -1799950, 0}, decoded[2]);
+        assertArrayEquals(new int[]{3578600, 41825, 600, 2020000}, decoded[3]);
+
+        SimulationFrame delta = SimulationService.encodeDelta(first, second);
+        assertFalse(delta.keyframe());
+        assertEquals(8, delta.index());
+        assertEquals(ids.length, delta.count());
+
+        // Applying the delta to the decoded keyframe gives the next frame's keyframe, with longitudes
+        // crossing the antimeridian both ways wrapped back into [-180, 180)
+        int[][] applied = applyDelta(decoded, delta);
+        int[][] expected = decodeKeyframe(second.keyframe());
+        for (int column = 1; column < 4; column++) {
+            assertArrayEquals(expected[column], applied[column], "column " + column);
+        }
+
+        // The antimeridian crossings are sent as a short step east and west, not a 360 degree jump
+        int[] steps = decodeVarints(Base64.getDecoder().decode(delta.data()));
+        assertEquals(3 * ids.length, steps.length);
+        assertEquals(111, steps[1], 1);
+        assertEquals(-60, steps[7], 1);
+    }
+
+    @Test
+    void sharedTimelinesStayWithinTheToleranceOfSimulatedTime() {
+        long now = 1_740_830_400_000L;
+        Instant start = Instant.ofEpochMilli(now - 86_400_000L);
+
+        // Requests 230 ms apart at 1x round to the same 500 ms step of simulated time
+        assertEquals(SimulationService.timelineOffset(start, 1.0, now + 260, 500),
+                SimulationService.timelineOffset(start, 1.0, now + 490, 500));
+        // At 1000x the same 230 ms is 230 simulated seconds, so they must not share
+        assertNotEquals(SimulationService.timelineOffset(start, 1000.0, now + 260, 500),
+                SimulationService.timelineOffset(start, 1000.0, now + 490, 500));
+
+        for (double multiplier : new double[]{1.0, -60.0, 1000.0, 10000.0}) {
+            for (long wall = now; wall < now + 2000; wall += 37) {
+                long offset = SimulationService.timelineOffset(start, multiplier, wall, 500);
+                double simulated = offset + wall * multiplier;
+                assertTrue(Math.abs(simulated - start.toEpochMilli()) <= 250 + Math.ulp(simulated),
+                        "multiplier " + multiplier + " at " + wall + " runs " + (simulated - start.toEpochMilli()) + " ms off");
+            }
+        }
+    }
+
+    @Test
+    void rejectsNewTimelinesPastTheLimit() {
+        SatellitePositionService positions = mock(SatellitePositionService.class);
+        when(positions.positionsOf(any(), any())).thenReturn(snapshot(new int[0], new float[0], new float[0], new float[0]));
+        SimulationService simulation = new SimulationService(positions);
+        ReflectionTestUtils.setField(simulation, "maxFps", 30);
+        ReflectionTestUtils.setField(simulation, "maxMultiplier", 10000.0);
+        ReflectionTestUtils.setField(simulation, "keyframeSeconds", 2.0);
+        ReflectionTestUtils.setField(simulation, "idleSeconds", 5L);
+        ReflectionTestUtils.setField(simulation, "bufferFrames", 8);
+        ReflectionTestUtils.setField(simulation, "shareToleranceMillis", 500L);
+        ReflectionTestUtils.setField(simulation, "maxTimelines", 1);
+
+        // Real time from now is the same clock whenever it is asked for
+        Disposable first = simulation.stream(SatelliteGroup.STARLINK, null, 1.0, 30).subscribe();
+        try {
+            // The same clock joins the running timeline; another one would be a second timeline
+            assertEquals("keyframe", simulation.stream(SatelliteGroup.STARLINK, null, 1.0, 30).blockFirst().event());
+            ResponseStatusException rejected = assertThrows(ResponseStatusException.class,
+                    () -> simulation.stream(SatelliteGroup.STARLINK, null, 60.0, 30).blockFirst());
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getStatusCode());
+        } finally {
+            first.dispose();
+        }
+    }
+
+    private static PositionSnapshot snapshot(int[] ids, float[] latitudes, float[] longitudes, float[] altitudes) {
+        return new PositionSnapshot(TIME, 1, ids.length, ids, new byte[ids.length], latitudes, longitudes, altitudes);
+    }
+
+    // Columns: NORAD IDs, latitudes, longitudes, altitudes
+    private static int[][] decodeKeyframe(SimulationFrame keyframe) {
+        int[] values = decodeVarints(Base64.getDecoder().decode(keyframe.data()));
+        int count = values[0];
+        assertEquals(1 + 4 * count, values.length);
+        int[][] columns = new int[4][count];
+        int previousId = 0;
+        for (int i = 0; i < count; i++) {
+            previousId += values[1 + 4 * i];
+            columns[0][i] = previousId;
+            for (int column = 1; column < 4; column++) {
+                columns[column][i] = values[1 + 4 * i + column];
+            }
+        }
+        return columns;
+    }
+
+    private static int[][] applyDelta(int[][] previous, SimulationFrame delta) {
+        int count = delta.count();
+        int[] steps = decodeVarints(Base64.getDecoder().decode(delta.data()));
+        int[][] next = new int[4][];
+        next[0] = previous[0].clone();
+        for (int column = 1; column < 4; column++) {
+            next[column] = new int[count];
+            for (int i = 0; i < count; i++) {
+                next[column][i] = previous[column][i] + steps[3 * i + column - 1];
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            next[2][i] = Math.floorMod(next[2][i] + LONGITUDE_WRAP / 2, LONGITUDE_WRAP) - LONGITUDE_WRAP / 2;
+        }
+        return next;
+    }
+
+    private static int[] decodeVarints(byte[] data) {
+        IntStream.Builder values = IntStream.builder();
+        int position = 0;
+        while (position < data.length) {
+            int zigzag = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                zigzag |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            values.add((zigzag >>> 1) ^ -(zigzag & 1));
+        }
+        return values.build().toArray();
+    }
+}